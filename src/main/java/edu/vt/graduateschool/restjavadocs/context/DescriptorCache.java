@@ -0,0 +1,544 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.context;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.payload.SubsectionDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.springframework.restdocs.snippet.AbstractDescriptor;
+import org.springframework.restdocs.snippet.Attributes;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+
+/**
+ * Memoizes generated descriptors keyed by the source file, its content hash, the documented class, the annotation
+ * filter and the request mapping filter. Descriptors are mutable, so every lookup returns newly built copies of the
+ * computed descriptors and callers are free to modify them. Misses may be served from a
+ * {@link PersistentDescriptorCache} so descriptors survive across builds.<br>
+ * <br>
+ * Entries are kept in least recently used order and bounded by count. Memoizing descriptors of a new content of a
+ * source file drops the entries of its previous contents, so a long-lived cache does not accumulate entries of edited
+ * files.
+ *
+ * @author Graduate School
+ */
+public final class DescriptorCache
+{
+
+  /**
+   * Default maximum number of memoized descriptor arrays.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+  /**
+   * Memoized descriptors in access order.
+   */
+  private final Map<CacheKey, Object[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Content hash of each source file as last memoized, one small entry per source file.
+   */
+  private final Map<Path, String> contentHashes = new HashMap<>();
+
+  /**
+   * Maximum number of memoized descriptor arrays.
+   */
+  private final int maxEntries;
+
+  /**
+   * Number of lookups served from the cache.
+   */
+  private final AtomicLong hitCount = new AtomicLong();
+
+  /**
+   * Number of lookups which required generating descriptors.
+   */
+  private final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * Second level cache consulted on misses (null means disabled).
+   */
+  private final PersistentDescriptorCache persistentCache;
+
+  /**
+   * Default constructor, descriptors are only kept in memory.
+   */
+  public DescriptorCache()
+  {
+    this(null);
+  }
+
+  /**
+   * Constructor with a second level cache.
+   *
+   * @param persistentCacheParam cache consulted on misses, null keeps descriptors in memory only
+   */
+  public DescriptorCache(final PersistentDescriptorCache persistentCacheParam)
+  {
+    this(persistentCacheParam, DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Constructor with a second level cache and a bound.
+   *
+   * @param persistentCacheParam cache consulted on misses, null keeps descriptors in memory only
+   * @param maxEntriesParam maximum number of memoized descriptor arrays
+   */
+  public DescriptorCache(final PersistentDescriptorCache persistentCacheParam, final int maxEntriesParam)
+  {
+    if (maxEntriesParam < 0) {
+      throw new IllegalArgumentException("maxEntries cannot be negative");
+    }
+    this.persistentCache = persistentCacheParam;
+    this.maxEntries = maxEntriesParam;
+  }
+
+  /**
+   * Returns memoized field descriptors, generating them with the loader on a miss.
+   *
+   * @param sourceFile path to the .java file
+   * @param contentHash content hash of the .java file
+   * @param beanClass documented class
+   * @param annotated annotation filter, may be null
+   * @param paginated whether or not pagination fields are included
+   * @param loader generates the descriptors on a miss
+   * @return copies of the memoized descriptors
+   */
+  public FieldDescriptor[] fields(final Path sourceFile, final String contentHash, final Class beanClass,
+          final Class<? extends Annotation> annotated, final boolean paginated,
+          final Supplier<FieldDescriptor[]> loader)
+  {
+    final CacheKey key = new CacheKey(sourceFile, contentHash, beanClass,
+            paginated ? Kind.PAGINATED_FIELDS : Kind.FIELDS, annotated, null);
+    final Object[] descriptors = get(key, loader);
+    final FieldDescriptor[] copies = new FieldDescriptor[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      copies[i] = copy((FieldDescriptor) descriptors[i]);
+    }
+    return copies;
+  }
+
+  /**
+   * Returns memoized parameter descriptors, generating them with the loader on a miss.
+   *
+   * @param sourceFile path to the .java file
+   * @param contentHash content hash of the .java file
+   * @param controllerClass documented class
+   * @param annotationFilterValues value map to filter for matching annotation attributes, may be null
+   * @param loader generates the descriptors on a miss
+   * @return copies of the memoized descriptors
+   */
+  public ParameterDescriptor[] descriptors(final Path sourceFile, final String contentHash,
+          final Class controllerClass, final Map<String, String[]> annotationFilterValues,
+          final Supplier<ParameterDescriptor[]> loader)
+  {
+    return descriptors(new CacheKey(sourceFile, contentHash, controllerClass, Kind.PARAMETERS, null,
+            canonicalFilter(annotationFilterValues)), loader);
+  }
+
+  /**
+   * Removes all memoized descriptors, counters are retained.
+   */
+  public synchronized void clear()
+  {
+    entries.clear();
+    contentHashes.clear();
+  }
+
+  /**
+   * Returns the number of memoized descriptor arrays.
+   *
+   * @return size
+   */
+  public synchronized int size()
+  {
+    return entries.size();
+  }
+
+  /**
+   * Getter for maxEntries.
+   *
+   * @return maxEntries
+   */
+  public int getMaxEntries()
+  {
+    return maxEntries;
+  }
+
+  /**
+   * Getter for persistentCache.
+   *
+   * @return persistentCache, null if descriptors are only kept in memory
+   */
+  public PersistentDescriptorCache getPersistentCache()
+  {
+    return persistentCache;
+  }
+
+  /**
+   * Getter for hitCount.
+   *
+   * @return hitCount
+   */
+  public long getHitCount()
+  {
+    return hitCount.get();
+  }
+
+  /**
+   * Getter for missCount.
+   *
+   * @return missCount
+   */
+  public long getMissCount()
+  {
+    return missCount.get();
+  }
+
+  @Override
+  public synchronized String toString()
+  {
+    return "DescriptorCache{size=" + entries.size() + ", hits=" + hitCount.get() + ", misses=" + missCount.get() +
+            '}';
+  }
+
+  /**
+   * Returns copies of memoized parameter descriptors.
+   *
+   * @param key cache key
+   * @param loader generates the descriptors on a miss
+   * @return copies of the memoized descriptors
+   */
+  private ParameterDescriptor[] descriptors(final CacheKey key, final Supplier<ParameterDescriptor[]> loader)
+  {
+    final Object[] descriptors = get(key, loader);
+    final ParameterDescriptor[] copies = new ParameterDescriptor[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      copies[i] = copy((ParameterDescriptor) descriptors[i]);
+    }
+    return copies;
+  }
+
+  /**
+   * Returns the memoized descriptors for a key, generating them with the loader on a miss.
+   *
+   * @param key cache key
+   * @param loader generates the descriptors on a miss
+   * @return memoized descriptors, must not be modified
+   */
+  private Object[] get(final CacheKey key, final Supplier<? extends Object[]> loader)
+  {
+    final Object[] cached;
+    synchronized (this) {
+      cached = entries.get(key);
+    }
+    if (cached != null) {
+      hitCount.incrementAndGet();
+      return cached;
+    }
+    missCount.incrementAndGet();
+    final Object[] generated = load(key, loader);
+    put(key, copy(generated));
+    return generated;
+  }
+
+  /**
+   * Memoizes descriptors, dropping the entries of other contents of the same source file and the least recently used
+   * entries exceeding the bound.
+   *
+   * @param key cache key
+   * @param descriptors descriptors to memoize
+   */
+  private synchronized void put(final CacheKey key, final Object[] descriptors)
+  {
+    final String previousHash = contentHashes.put(key.sourceFile, key.contentHash);
+    if (previousHash != null && !previousHash.equals(key.contentHash)) {
+      entries.keySet().removeIf(other -> other.sourceFile.equals(key.sourceFile) &&
+              !other.contentHash.equals(key.contentHash));
+    }
+    entries.put(key, descriptors);
+    final Iterator<CacheKey> iterator = entries.keySet().iterator();
+    while (iterator.hasNext() && entries.size() > maxEntries) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Returns descriptors from the second level cache if available, otherwise generates and stores them.
+   *
+   * @param key cache key
+   * @param loader generates the descriptors on a miss
+   * @return descriptors
+   */
+  private Object[] load(final CacheKey key, final Supplier<? extends Object[]> loader)
+  {
+    if (persistentCache == null) {
+      return loader.get();
+    }
+    final String persistentKey = key.toString();
+    final DescriptorModel[] models = persistentCache.get(persistentKey);
+    if (models != null) {
+      return toDescriptors(key.kind, models);
+    }
+    final Object[] generated = loader.get();
+    final DescriptorModel[] generatedModels = toModels(generated);
+    if (generatedModels != null) {
+      persistentCache.put(persistentKey, generatedModels);
+    }
+    return generated;
+  }
+
+  /**
+   * Creates descriptors from models.
+   *
+   * @param kind kind of descriptors
+   * @param models models
+   * @return {@link FieldDescriptor}[] or {@link ParameterDescriptor}[]
+   */
+  private static Object[] toDescriptors(final Kind kind, final DescriptorModel[] models)
+  {
+    final Object[] descriptors = kind == Kind.PARAMETERS ? new ParameterDescriptor[models.length] :
+            new FieldDescriptor[models.length];
+    for (int i = 0; i < models.length; i++) {
+      descriptors[i] = kind == Kind.PARAMETERS ? models[i].toParameterDescriptor() : models[i].toFieldDescriptor();
+    }
+    return descriptors;
+  }
+
+  /**
+   * Creates models of descriptors.
+   *
+   * @param descriptors {@link FieldDescriptor}s or {@link ParameterDescriptor}s
+   * @return models or null if a descriptor cannot be modeled
+   */
+  private static DescriptorModel[] toModels(final Object[] descriptors)
+  {
+    final DescriptorModel[] models = new DescriptorModel[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      if (!DescriptorModel.isRepresentable((AbstractDescriptor<?>) descriptors[i])) {
+        return null;
+      }
+      models[i] = descriptors[i] instanceof FieldDescriptor ? DescriptorModel.of((FieldDescriptor) descriptors[i]) :
+              DescriptorModel.of((ParameterDescriptor) descriptors[i]);
+    }
+    return models;
+  }
+
+  /**
+   * Returns copies of descriptors so the memoized instances are never handed out.
+   *
+   * @param descriptors descriptors to copy
+   * @return copies
+   */
+  private static Object[] copy(final Object[] descriptors)
+  {
+    final Object[] copies = new Object[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      if (descriptors[i] instanceof FieldDescriptor) {
+        copies[i] = copy((FieldDescriptor) descriptors[i]);
+      } else {
+        copies[i] = copy((ParameterDescriptor) descriptors[i]);
+      }
+    }
+    return copies;
+  }
+
+  /**
+   * Returns a copy of a {@link FieldDescriptor}.
+   *
+   * @param descriptor descriptor to copy
+   * @return copy
+   */
+  private static FieldDescriptor copy(final FieldDescriptor descriptor)
+  {
+    final FieldDescriptor copy = descriptor instanceof SubsectionDescriptor ?
+            subsectionWithPath(descriptor.getPath()) : fieldWithPath(descriptor.getPath());
+    copyAttributes(descriptor, copy);
+    if (descriptor.getType() != null) {
+      copy.type(descriptor.getType());
+    }
+    if (descriptor.isOptional()) {
+      copy.optional();
+    }
+    if (descriptor.isIgnored()) {
+      copy.ignored();
+    }
+    return copy;
+  }
+
+  /**
+   * Returns a copy of a {@link ParameterDescriptor}.
+   *
+   * @param descriptor descriptor to copy
+   * @return copy
+   */
+  private static ParameterDescriptor copy(final ParameterDescriptor descriptor)
+  {
+    final ParameterDescriptor copy = parameterWithName(descriptor.getName());
+    copyAttributes(descriptor, copy);
+    if (descriptor.isOptional()) {
+      copy.optional();
+    }
+    if (descriptor.isIgnored()) {
+      copy.ignored();
+    }
+    return copy;
+  }
+
+  /**
+   * Copies the description and attributes of a descriptor.
+   *
+   * @param source descriptor to copy from
+   * @param target descriptor to copy to
+   */
+  private static void copyAttributes(final AbstractDescriptor<?> source, final AbstractDescriptor<?> target)
+  {
+    target.description(source.getDescription());
+    for (final Map.Entry<String, Object> attribute : source.getAttributes().entrySet()) {
+      target.attributes(Attributes.key(attribute.getKey()).value(attribute.getValue()));
+    }
+  }
+
+  /**
+   * Returns an immutable, order independent representation of a filter map usable as a key.
+   *
+   * @param filterMap filter map
+   * @return canonical filter
+   */
+  private static Map<String, Object> canonicalFilter(final Map<String, String[]> filterMap)
+  {
+    final Map<String, Object> canonical = new TreeMap<>();
+    if (filterMap != null) {
+      for (final Map.Entry<String, String[]> entry : filterMap.entrySet()) {
+        canonical.put(entry.getKey(), entry.getValue() == null ? null :
+                Collections.unmodifiableList(Arrays.asList(entry.getValue().clone())));
+      }
+    }
+    return Collections.unmodifiableMap(canonical);
+  }
+
+  /**
+   * Kind of memoized descriptors.
+   */
+  private enum Kind
+  {
+
+    /**
+     * {@link FieldDescriptor}s.
+     */
+    FIELDS,
+
+    /**
+     * {@link FieldDescriptor}s with pagination fields.
+     */
+    PAGINATED_FIELDS,
+
+    /**
+     * {@link ParameterDescriptor}s.
+     */
+    PARAMETERS
+
+  }
+
+  /**
+   * Cache key.
+   */
+  private static final class CacheKey
+  {
+
+    /**
+     * Path to the .java file.
+     */
+    private final Path sourceFile;
+
+    /**
+     * Content hash of the .java file.
+     */
+    private final String contentHash;
+
+    /**
+     * Documented class name.
+     */
+    private final String className;
+
+    /**
+     * Kind of descriptors.
+     */
+    private final Kind kind;
+
+    /**
+     * Annotation filter name.
+     */
+    private final String annotated;
+
+    /**
+     * Request mapping filter.
+     */
+    private final Object filter;
+
+    /**
+     * Constructor with values.
+     *
+     * @param sourceFileParam path to the .java file
+     * @param contentHashParam content hash of the .java file
+     * @param documentedClass documented class
+     * @param kindParam kind of descriptors
+     * @param annotatedParam annotation filter
+     * @param filterParam request mapping filter
+     */
+    CacheKey(final Path sourceFileParam, final String contentHashParam, final Class documentedClass,
+            final Kind kindParam, final Class<? extends Annotation> annotatedParam, final Object filterParam)
+    {
+      this.sourceFile = sourceFileParam;
+      this.contentHash = contentHashParam;
+      this.className = documentedClass.getName();
+      this.kind = kindParam;
+      this.annotated = annotatedParam == null ? null : annotatedParam.getName();
+      this.filter = filterParam;
+    }
+
+    @Override
+    public boolean equals(final Object obj)
+    {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      final CacheKey other = (CacheKey) obj;
+      return sourceFile.equals(other.sourceFile) && contentHash.equals(other.contentHash) &&
+              className.equals(other.className) && kind == other.kind && Objects.equals(annotated, other.annotated) &&
+              Objects.equals(filter, other.filter);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(sourceFile, contentHash, className, kind, annotated, filter);
+    }
+
+    @Override
+    public String toString()
+    {
+      return kind + "|" + className + "|" + annotated + "|" + filter + "|" + sourceFile + "|" + contentHash;
+    }
+
+  }
+
+}
@@ -0,0 +1,697 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.context;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.index.SourceRootIndex;
+import edu.vt.graduateschool.restjavadocs.index.SourceRootIndexer;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import edu.vt.graduateschool.restjavadocs.util.CompilationUnitCache;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import edu.vt.graduateschool.restjavadocs.util.ParserProfile;
+import org.json.JSONException;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+
+import static edu.vt.graduateschool.restjavadocs.util.LangUtils.JAVA_SOURCE_MAIN_PATH;
+
+/**
+ * Long-lived documentation context which keeps one parser configuration, one symbol solver and one
+ * {@link SourceRoot} per source root for as long as the context is referenced. The static entry points of
+ * {@link PayloadDocumentation} and {@link RequestDocumentation} build all of those on every call, a context is
+ * intended to be created once (i.e. as a static field of a test class) and reused for every snippet. Parsed sources
+ * are kept in a bounded {@link CompilationUnitCache} shared by all source roots of the context, generated descriptors
+ * may optionally be memoized by a {@link DescriptorCache}. A source root may also be indexed up front by
+ * {@link #index(String)}, after which its classes are documented by lookups alone.<br>
+ * <br>
+ * A context may be used from several threads at once, concurrent parses of the same source file are coalesced by the
+ * {@link CompilationUnitCache} and type lookups of a symbol solver are guarded by striped locks.
+ *
+ * @author Graduate School
+ */
+public final class DocumentationContext
+{
+
+  /**
+   * Source root used when none is provided.
+   */
+  private final String defaultSourceRoot;
+
+  /**
+   * Cache of parsed compilation units shared by all source roots.
+   */
+  private final CompilationUnitCache compilationUnitCache;
+
+  /**
+   * Cache of generated descriptors (null means disabled).
+   */
+  private final DescriptorCache descriptorCache;
+
+  /**
+   * Parser profile of the source roots, decided once so the compilation unit cache holds a single profile.
+   */
+  private final ParserProfile parserProfile;
+
+  /**
+   * Configured source roots by their normalized absolute path.
+   */
+  private final Map<String, SourceRoot> sourceRoots = new ConcurrentHashMap<>();
+
+  /**
+   * Indexes of pre-indexed source roots by their normalized absolute path.
+   */
+  private final Map<String, SourceRootIndex> indexes = new ConcurrentHashMap<>();
+
+  /**
+   * Default constructor, uses
+   * <a href="https://maven.apache.org/guides/introduction/introduction-to-the-standard-directory-layout.html">
+   * "./src/main/java/"</a> as the default source root.
+   */
+  public DocumentationContext()
+  {
+    this(JAVA_SOURCE_MAIN_PATH);
+  }
+
+  /**
+   * Constructor with a default source root.
+   *
+   * @param defaultSourceRootParam base path of the sources folder used when none is provided
+   */
+  public DocumentationContext(final String defaultSourceRootParam)
+  {
+    this(defaultSourceRootParam, new CompilationUnitCache());
+  }
+
+  /**
+   * Constructor with a default source root and a compilation unit cache.
+   *
+   * @param defaultSourceRootParam base path of the sources folder used when none is provided
+   * @param compilationUnitCacheParam cache of parsed compilation units
+   */
+  public DocumentationContext(final String defaultSourceRootParam,
+          final CompilationUnitCache compilationUnitCacheParam)
+  {
+    this(defaultSourceRootParam, compilationUnitCacheParam, null);
+  }
+
+  /**
+   * Constructor with a default source root, a compilation unit cache and a descriptor cache.
+   *
+   * @param defaultSourceRootParam base path of the sources folder used when none is provided
+   * @param compilationUnitCacheParam cache of parsed compilation units
+   * @param descriptorCacheParam cache of generated descriptors, null disables descriptor memoization
+   */
+  public DocumentationContext(final String defaultSourceRootParam,
+          final CompilationUnitCache compilationUnitCacheParam, final DescriptorCache descriptorCacheParam)
+  {
+    if (defaultSourceRootParam == null || compilationUnitCacheParam == null) {
+      throw new IllegalArgumentException("neither defaultSourceRoot nor compilationUnitCache may be null");
+    }
+    this.defaultSourceRoot = defaultSourceRootParam;
+    this.compilationUnitCache = compilationUnitCacheParam;
+    this.descriptorCache = descriptorCacheParam;
+    this.parserProfile = ParserProfile.forDocumentation();
+  }
+
+  /**
+   * Getter for defaultSourceRoot.
+   *
+   * @return defaultSourceRoot
+   */
+  public String getDefaultSourceRoot()
+  {
+    return defaultSourceRoot;
+  }
+
+  /**
+   * Getter for compilationUnitCache.
+   *
+   * @return compilationUnitCache
+   */
+  public CompilationUnitCache getCompilationUnitCache()
+  {
+    return compilationUnitCache;
+  }
+
+  /**
+   * Getter for descriptorCache.
+   *
+   * @return descriptorCache, null if descriptor memoization is disabled
+   */
+  public DescriptorCache getDescriptorCache()
+  {
+    return descriptorCache;
+  }
+
+  /**
+   * Getter for parserProfile.
+   *
+   * @return {@link ParserProfile#RESOLVING}, or {@link ParserProfile#LEAN} if symbol solving was disabled when the
+   * context was created
+   */
+  public ParserProfile getParserProfile()
+  {
+    return parserProfile;
+  }
+
+  /**
+   * Returns the configured {@link SourceRoot} of the context's {@link ParserProfile} for a given path, creating it on
+   * first use.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @return Configured {@link SourceRoot}
+   */
+  public SourceRoot getSourceRoot(final String sourceRoot)
+  {
+    final String sourcesBasePath = sourceRoot == null ? defaultSourceRoot : sourceRoot;
+    return sourceRoots.computeIfAbsent(getKey(sourcesBasePath), path -> newSourceRoot(sourcesBasePath));
+  }
+
+  /**
+   * Returns a new {@link SourceRoot} of the context's {@link ParserProfile} parsing through the context's
+   * {@link CompilationUnitCache}.
+   *
+   * @param sourceRoot base path of the sources folder
+   * @return Configured {@link SourceRoot}
+   */
+  private SourceRoot newSourceRoot(final String sourceRoot)
+  {
+    return JavaParserUtils.getSourceRoot(sourceRoot, parserProfile, compilationUnitCache);
+  }
+
+  /**
+   * Parses every source file of a source root in parallel, using as many threads as there are available processors,
+   * and keeps the resulting {@link SourceRootIndex}. Classes of the source root are then documented without parsing.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @return {@link SourceRootIndex}
+   * @throws IOException if the source root cannot be walked or indexing is interrupted
+   */
+  public SourceRootIndex index(final String sourceRoot) throws IOException
+  {
+    return index(sourceRoot, new SourceRootIndexer());
+  }
+
+  /**
+   * Parses every source file of a source root in parallel and keeps the resulting {@link SourceRootIndex}. Classes of
+   * the source root are then documented without parsing.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param parallelism number of source files parsed concurrently
+   * @return {@link SourceRootIndex}
+   * @throws IOException if the source root cannot be walked or indexing is interrupted
+   */
+  public SourceRootIndex index(final String sourceRoot, final int parallelism) throws IOException
+  {
+    return index(sourceRoot, new SourceRootIndexer(parallelism));
+  }
+
+  /**
+   * Returns the index of a source root.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @return {@link SourceRootIndex} or null if the source root has not been indexed
+   */
+  public SourceRootIndex getIndex(final String sourceRoot)
+  {
+    return indexes.get(getKey(sourceRoot == null ? defaultSourceRoot : sourceRoot));
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs.
+   *
+   * @param beanClass The class of the bean that contains JacksonAnnotation fields
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#fields(java.lang.Class)
+   */
+  public FieldDescriptor[] fields(final Class beanClass)
+          throws ParseProblemException
+  {
+    return fields(null, beanClass, null);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param beanClass The class of the bean that contains JacksonAnnotation fields
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#fields(java.lang.String, java.lang.Class)
+   */
+  public FieldDescriptor[] fields(final String sourceRoot, final Class beanClass)
+          throws ParseProblemException
+  {
+    return fields(sourceRoot, beanClass, null);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs.
+   *
+   * @param beanClass The class of the bean that contains JacksonAnnotation fields
+   * @param annotated specified annotation on fields
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#fields(java.lang.Class, java.lang.Class)
+   */
+  public FieldDescriptor[] fields(final Class beanClass, final Class<? extends Annotation> annotated)
+          throws ParseProblemException
+  {
+    return fields(null, beanClass, annotated);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param beanClass The class of the bean that contains JacksonAnnotation fields
+   * @param annotated specified annotation on fields
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#fields(java.lang.String, java.lang.Class, java.lang.Class)
+   */
+  public FieldDescriptor[] fields(final String sourceRoot, final Class beanClass,
+          final Class<? extends Annotation> annotated)
+          throws ParseProblemException
+  {
+    final FieldDescriptor[] indexed = findIndexedFields(sourceRoot, beanClass, annotated);
+    if (indexed != null) {
+      return indexed;
+    }
+    final SourceRoot root = getSourceRoot(sourceRoot);
+    final Supplier<FieldDescriptor[]> loader = () -> generateFields(root, beanClass, annotated, false);
+    final Path sourceFile = getSourceFile(root, beanClass);
+    final String contentHash = getContentHash(sourceFile);
+    if (contentHash == null) {
+      return loader.get();
+    }
+    return descriptorCache.fields(sourceFile, contentHash, beanClass, annotated, false, loader);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] of the properties an {@link ObjectMapper} serializes for a given class, described
+   * by the Javadocs of their fields or getters. Descriptors of this mode are neither indexed nor memoized.
+   *
+   * @param mapper mapper deciding the property names, ignorals and required flags
+   * @param beanClass The class of the bean
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#introspectedFields(com.fasterxml.jackson.databind.ObjectMapper,
+   * com.github.javaparser.utils.SourceRoot, java.lang.Class, java.lang.Class)
+   */
+  public FieldDescriptor[] introspectedFields(final ObjectMapper mapper, final Class beanClass)
+          throws ParseProblemException
+  {
+    return introspectedFields(mapper, null, beanClass, null);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] of the properties an {@link ObjectMapper} serializes for a given class, described
+   * by the Javadocs of their fields or getters. Descriptors of this mode are neither indexed nor memoized.
+   *
+   * @param mapper mapper deciding the property names, ignorals and required flags
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param beanClass The class of the bean
+   * @param annotated specified annotation on fields
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#introspectedFields(com.fasterxml.jackson.databind.ObjectMapper,
+   * com.github.javaparser.utils.SourceRoot, java.lang.Class, java.lang.Class)
+   */
+  public FieldDescriptor[] introspectedFields(final ObjectMapper mapper, final String sourceRoot,
+          final Class beanClass, final Class<? extends Annotation> annotated)
+          throws ParseProblemException
+  {
+    return PayloadDocumentation.introspectedFields(mapper, getSourceRoot(sourceRoot), beanClass, annotated);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs with basic Spring
+   * pagination fields appended.
+   *
+   * @param beanClass beanClass
+   * @return {@link FieldDescriptor}[]
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#paginatedFields(java.lang.Class)
+   */
+  public FieldDescriptor[] paginatedFields(final Class beanClass)
+          throws ParseProblemException
+  {
+    return paginatedFields(null, beanClass, null);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs with basic Spring
+   * pagination fields appended.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param beanClass beanClass
+   * @return {@link FieldDescriptor}[]
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#paginatedFields(java.lang.String, java.lang.Class)
+   */
+  public FieldDescriptor[] paginatedFields(final String sourceRoot, final Class beanClass)
+          throws ParseProblemException
+  {
+    return paginatedFields(sourceRoot, beanClass, null);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs with basic Spring
+   * pagination fields appended.
+   *
+   * @param beanClass beanClass
+   * @param annotated specified annotation on fields
+   * @return {@link FieldDescriptor}[]
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#paginatedFields(java.lang.Class, java.lang.Class)
+   */
+  public FieldDescriptor[] paginatedFields(final Class beanClass, final Class<? extends Annotation> annotated)
+          throws ParseProblemException
+  {
+    return paginatedFields(null, beanClass, annotated);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs with basic Spring
+   * pagination fields appended.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param beanClass beanClass
+   * @param annotated specified annotation on fields
+   * @return {@link FieldDescriptor}[]
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see PayloadDocumentation#paginatedFields(java.lang.String, java.lang.Class, java.lang.Class)
+   */
+  public FieldDescriptor[] paginatedFields(final String sourceRoot, final Class beanClass,
+          final Class<? extends Annotation> annotated)
+          throws ParseProblemException
+  {
+    final FieldDescriptor[] indexed = findIndexedFields(sourceRoot, beanClass, annotated);
+    if (indexed != null) {
+      return PayloadDocumentation.paginatedFields(indexed);
+    }
+    final SourceRoot root = getSourceRoot(sourceRoot);
+    final Supplier<FieldDescriptor[]> loader = () -> generateFields(root, beanClass, annotated, true);
+    final Path sourceFile = getSourceFile(root, beanClass);
+    final String contentHash = getContentHash(sourceFile);
+    if (contentHash == null) {
+      return loader.get();
+    }
+    return descriptorCache.fields(sourceFile, contentHash, beanClass, annotated, true, loader);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param controllerClass class of the rest controller (will return all matching
+   * {@link org.springframework.web.bind.annotation.RequestMapping} marker annotations)
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.Class)
+   */
+  public ParameterDescriptor[] descriptors(final Class controllerClass)
+          throws ParseProblemException
+  {
+    return descriptors(null, controllerClass, (Map<String, String[]>) null);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param controllerClass class of the rest controller
+   * @param filter filter for matching annotation attributes in JSON format
+   * @return Generated descriptors from Javadocs
+   * @throws JSONException if the input is not of the proper structure
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.Class, java.lang.String)
+   */
+  public ParameterDescriptor[] descriptors(final Class controllerClass, final String filter)
+          throws ParseProblemException, JSONException
+  {
+    return descriptors(null, controllerClass, filter);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param controllerClass class of the rest controller
+   * @param filter filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.Class, RequestMappingFilter)
+   */
+  public ParameterDescriptor[] descriptors(final Class controllerClass, final RequestMappingFilter filter)
+          throws ParseProblemException
+  {
+    return descriptors(null, controllerClass, filter);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param controllerClass class of the rest controller
+   * @param annotationFilterValues value map to filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.Class, java.util.Map)
+   */
+  public ParameterDescriptor[] descriptors(final Class controllerClass,
+          final Map<String, String[]> annotationFilterValues)
+          throws ParseProblemException
+  {
+    return descriptors(null, controllerClass, annotationFilterValues);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param controllerClass class of the rest controller (will return all matching
+   * {@link org.springframework.web.bind.annotation.RequestMapping} marker annotations)
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.String, java.lang.Class)
+   */
+  public ParameterDescriptor[] descriptors(final String sourceRoot, final Class controllerClass)
+          throws ParseProblemException
+  {
+    return descriptors(sourceRoot, controllerClass, (Map<String, String[]>) null);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param controllerClass class of the rest controller
+   * @param filter filter for matching annotation attributes in JSON format
+   * @return Generated descriptors from Javadocs
+   * @throws JSONException if the input is not of the proper structure
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.String, java.lang.Class, java.lang.String)
+   */
+  public ParameterDescriptor[] descriptors(final String sourceRoot, final Class controllerClass,
+          final String filter)
+          throws ParseProblemException, JSONException
+  {
+    return descriptors(sourceRoot, controllerClass, RequestMappingMatcher.parse(filter));
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param controllerClass class of the rest controller
+   * @param filter filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.String, java.lang.Class, RequestMappingFilter)
+   */
+  public ParameterDescriptor[] descriptors(final String sourceRoot, final Class controllerClass,
+          final RequestMappingFilter filter)
+          throws ParseProblemException
+  {
+    return descriptors(sourceRoot, controllerClass, RequestMappingMatcher.compile(filter));
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param controllerClass class of the rest controller
+   * @param annotationFilterValues value map to filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.String, java.lang.Class, java.util.Map)
+   */
+  public ParameterDescriptor[] descriptors(final String sourceRoot, final Class controllerClass,
+          final Map<String, String[]> annotationFilterValues)
+          throws ParseProblemException
+  {
+    return descriptors(sourceRoot, controllerClass, RequestMappingMatcher.compile(annotationFilterValues));
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param controllerClass class of the rest controller
+   * @param matcher compiled filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws ParseProblemException {@link ParseProblemException} is thrown if the source could not be parsed
+   * @see RequestDocumentation#descriptors(java.lang.String, java.lang.Class, RequestMappingMatcher)
+   */
+  public ParameterDescriptor[] descriptors(final String sourceRoot, final Class controllerClass,
+          final RequestMappingMatcher matcher)
+          throws ParseProblemException
+  {
+    if (matcher == null) {
+      throw new IllegalArgumentException("matcher cannot be null");
+    }
+    final ParameterDescriptor[] indexed = findIndexedDescriptors(sourceRoot, controllerClass, matcher);
+    if (indexed != null) {
+      return indexed;
+    }
+    final SourceRoot root = getSourceRoot(sourceRoot);
+    final Supplier<ParameterDescriptor[]> loader = () -> generateDescriptors(root, controllerClass, matcher);
+    final Path sourceFile = getSourceFile(root, controllerClass);
+    final String contentHash = getContentHash(sourceFile);
+    if (contentHash == null) {
+      return loader.get();
+    }
+    return descriptorCache.descriptors(sourceFile, contentHash, controllerClass, matcher.toFilterMap(), loader);
+  }
+
+  /**
+   * Indexes a source root and keeps the index.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param indexer indexer to use
+   * @return {@link SourceRootIndex}
+   * @throws IOException if the source root cannot be walked or indexing is interrupted
+   */
+  private SourceRootIndex index(final String sourceRoot, final SourceRootIndexer indexer) throws IOException
+  {
+    final String sourcesBasePath = sourceRoot == null ? defaultSourceRoot : sourceRoot;
+    final SourceRootIndex index = indexer.index(sourcesBasePath);
+    indexes.put(getKey(sourcesBasePath), index);
+    return index;
+  }
+
+  /**
+   * Returns the indexed field descriptors of a class if its source root has been indexed.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param beanClass documented class
+   * @param annotated specified annotation on fields
+   * @return {@link FieldDescriptor}[] or null
+   */
+  private FieldDescriptor[] findIndexedFields(final String sourceRoot, final Class beanClass,
+          final Class<? extends Annotation> annotated)
+  {
+    final SourceRootIndex index = indexes.isEmpty() ? null : getIndex(sourceRoot);
+    return index == null ? null : index.fields(beanClass, annotated);
+  }
+
+  /**
+   * Returns the indexed parameter descriptors of a class if its source root has been indexed.
+   *
+   * @param sourceRoot base path of the sources folder (if null the default source root is used)
+   * @param controllerClass documented class
+   * @param matcher compiled filter for matching annotation attributes
+   * @return {@link ParameterDescriptor}[] or null
+   */
+  private ParameterDescriptor[] findIndexedDescriptors(final String sourceRoot, final Class controllerClass,
+          final RequestMappingMatcher matcher)
+  {
+    final SourceRootIndex index = indexes.isEmpty() ? null : getIndex(sourceRoot);
+    return index == null ? null : index.matchingDescriptors(controllerClass, matcher);
+  }
+
+  /**
+   * Returns the key of a source root.
+   *
+   * @param sourcesBasePath base path of the sources folder
+   * @return normalized absolute path
+   */
+  private static String getKey(final String sourcesBasePath)
+  {
+    return Paths.get(sourcesBasePath).toAbsolutePath().normalize().toString();
+  }
+
+  /**
+   * Generates field descriptors from source.
+   *
+   * @param root source root
+   * @param beanClass documented class
+   * @param annotated specified annotation on fields
+   * @param paginated whether or not pagination fields are appended
+   * @return {@link FieldDescriptor}[]
+   */
+  private static FieldDescriptor[] generateFields(final SourceRoot root, final Class beanClass,
+          final Class<? extends Annotation> annotated, final boolean paginated)
+  {
+    return paginated ? PayloadDocumentation.paginatedFields(root, beanClass, annotated) :
+            PayloadDocumentation.fields(root, beanClass, annotated);
+  }
+
+  /**
+   * Generates parameter descriptors from source.
+   *
+   * @param root source root
+   * @param controllerClass documented class
+   * @param matcher compiled filter for matching annotation attributes
+   * @return {@link ParameterDescriptor}[]
+   */
+  private static ParameterDescriptor[] generateDescriptors(final SourceRoot root, final Class controllerClass,
+          final RequestMappingMatcher matcher)
+  {
+    return RequestDocumentation.descriptorsFromRoot(root, controllerClass, matcher);
+  }
+
+  /**
+   * Returns the absolute path to the source file of a class.
+   *
+   * @param root source root
+   * @param documentedClass documented class
+   * @return {@link Path}
+   */
+  private static Path getSourceFile(final SourceRoot root, final Class documentedClass)
+  {
+    return root.getRoot().resolve(JavaParserUtils.getFilePathFromClass(documentedClass)).toAbsolutePath()
+            .normalize();
+  }
+
+  /**
+   * Returns the content hash of a source file if descriptors are memoized.
+   *
+   * @param sourceFile source file
+   * @return content hash, null if descriptors are not memoized or the file could not be read
+   */
+  private String getContentHash(final Path sourceFile)
+  {
+    if (descriptorCache == null) {
+      return null;
+    }
+    try {
+      return LangUtils.contentHash(Files.readAllBytes(sourceFile));
+    } catch (final IOException ex) {
+      return null;
+    }
+  }
+
+}
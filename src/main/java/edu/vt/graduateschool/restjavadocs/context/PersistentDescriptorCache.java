@@ -0,0 +1,331 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.context;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+
+/**
+ * Stores descriptor models on disk so unchanged sources are not parsed again by later builds. Every entry is a single
+ * file named after the hash of its key and the library version, keys are expected to contain the content hash of the
+ * source file. Entries are written to a temporary file which is atomically renamed into place, so concurrent readers
+ * and writers (e.g. several Surefire forks) only ever observe complete entries. Unreadable entries are treated as
+ * misses and overwritten.
+ *
+ * @author Graduate School
+ */
+public final class PersistentDescriptorCache
+{
+
+  /**
+   * Default cache directory relative to the working directory.
+   */
+  public static final String DEFAULT_DIRECTORY = "target/restjavadocs-cache";
+
+  /**
+   * Extension of cache entry files.
+   */
+  public static final String ENTRY_EXTENSION = ".rjd";
+
+  /**
+   * Marks the beginning of a cache entry file.
+   */
+  private static final int MAGIC = 0x524A4443;
+
+  /**
+   * Version of the entry file layout and of the filtering rules the cached descriptors were generated with.
+   */
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(PersistentDescriptorCache.class.getName());
+
+  /**
+   * Directory holding the cache entries.
+   */
+  private final Path directory;
+
+  /**
+   * Version of the library written to and expected in entries.
+   */
+  private final String libraryVersion;
+
+  /**
+   * Number of lookups served from disk.
+   */
+  private final AtomicLong hitCount = new AtomicLong();
+
+  /**
+   * Number of lookups which found no usable entry.
+   */
+  private final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * Number of entries written.
+   */
+  private final AtomicLong writeCount = new AtomicLong();
+
+  /**
+   * Constructor using {@link #DEFAULT_DIRECTORY}.
+   */
+  public PersistentDescriptorCache()
+  {
+    this(Paths.get(DEFAULT_DIRECTORY));
+  }
+
+  /**
+   * Constructor with a cache directory, which is created on the first write.
+   *
+   * @param directoryParam directory holding the cache entries
+   */
+  public PersistentDescriptorCache(final Path directoryParam)
+  {
+    this(directoryParam, LangUtils.getLibraryVersion());
+  }
+
+  /**
+   * Constructor with a cache directory and library version.
+   *
+   * @param directoryParam directory holding the cache entries
+   * @param libraryVersionParam version of the library entries are valid for
+   */
+  PersistentDescriptorCache(final Path directoryParam, final String libraryVersionParam)
+  {
+    if (directoryParam == null || libraryVersionParam == null) {
+      throw new IllegalArgumentException("neither directory nor library version may be null");
+    }
+    this.directory = directoryParam.toAbsolutePath().normalize();
+    this.libraryVersion = libraryVersionParam;
+  }
+
+  /**
+   * Getter for directory.
+   *
+   * @return directory
+   */
+  public Path getDirectory()
+  {
+    return directory;
+  }
+
+  /**
+   * Getter for libraryVersion.
+   *
+   * @return libraryVersion
+   */
+  public String getLibraryVersion()
+  {
+    return libraryVersion;
+  }
+
+  /**
+   * Getter for hitCount.
+   *
+   * @return hitCount
+   */
+  public long getHitCount()
+  {
+    return hitCount.get();
+  }
+
+  /**
+   * Getter for missCount.
+   *
+   * @return missCount
+   */
+  public long getMissCount()
+  {
+    return missCount.get();
+  }
+
+  /**
+   * Getter for writeCount.
+   *
+   * @return writeCount
+   */
+  public long getWriteCount()
+  {
+    return writeCount.get();
+  }
+
+  /**
+   * Returns the stored models of a key.
+   *
+   * @param key cache key
+   * @return models or null if there is no usable entry
+   */
+  public DescriptorModel[] get(final String key)
+  {
+    if (key == null) {
+      throw new IllegalArgumentException("key cannot be null");
+    }
+    final Path entry = entryPath(key);
+    DescriptorModel[] models = null;
+    try {
+      models = read(entry, key);
+    } catch (final NoSuchFileException ex) {
+      LOGGER.log(Level.FINEST, "no cache entry {0}", entry);
+    } catch (final IOException | NegativeArraySizeException ex) {
+      LOGGER.log(Level.FINE, "ignoring unreadable cache entry " + entry, ex);
+    }
+    if (models == null) {
+      missCount.incrementAndGet();
+    } else {
+      hitCount.incrementAndGet();
+    }
+    return models;
+  }
+
+  /**
+   * Stores the models of a key, replacing any existing entry. Failures are logged and otherwise ignored since the
+   * models can always be generated again.
+   *
+   * @param key cache key
+   * @param models models to store
+   */
+  public void put(final String key, final DescriptorModel[] models)
+  {
+    if (key == null || models == null) {
+      throw new IllegalArgumentException("neither key nor models may be null");
+    }
+    Path temp = null;
+    try {
+      Files.createDirectories(directory);
+      temp = Files.createTempFile(directory, "entry", ".tmp");
+      try (OutputStream os = Files.newOutputStream(temp);
+              DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(libraryVersion);
+        out.writeUTF(key);
+        out.writeInt(models.length);
+        for (final DescriptorModel model : models) {
+          model.writeTo(out);
+        }
+      }
+      move(temp, entryPath(key));
+      temp = null;
+      writeCount.incrementAndGet();
+    } catch (final IOException ex) {
+      LOGGER.log(Level.FINE, "could not write cache entry for " + key, ex);
+    } finally {
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (final IOException ex) {
+          LOGGER.log(Level.FINEST, "could not delete " + temp, ex);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether or not an entry file exists for a key, regardless of whether it is usable.
+   *
+   * @param key cache key
+   * @return true if an entry file exists
+   */
+  public boolean contains(final String key)
+  {
+    if (key == null) {
+      throw new IllegalArgumentException("key cannot be null");
+    }
+    return Files.isRegularFile(entryPath(key));
+  }
+
+  /**
+   * Deletes all entries of the cache directory, counters are retained.
+   *
+   * @throws IOException if entries cannot be deleted
+   */
+  public void clear() throws IOException
+  {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + ENTRY_EXTENSION)) {
+      for (final Path entry : entries) {
+        Files.deleteIfExists(entry);
+      }
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "PersistentDescriptorCache{directory=" + directory + ", hits=" + hitCount.get() + ", misses=" +
+            missCount.get() + ", writes=" + writeCount.get() + '}';
+  }
+
+  /**
+   * Returns the file of an entry.
+   *
+   * @param key cache key
+   * @return entry path
+   */
+  private Path entryPath(final String key)
+  {
+    return directory.resolve(LangUtils.contentHash((libraryVersion + '\n' + key).getBytes(StandardCharsets.UTF_8)) +
+            ENTRY_EXTENSION);
+  }
+
+  /**
+   * Reads the models of an entry file.
+   *
+   * @param entry entry file
+   * @param key cache key
+   * @return models or null if the entry was written for another key, library version or file layout
+   * @throws IOException if the entry cannot be read
+   */
+  private DescriptorModel[] read(final Path entry, final String key) throws IOException
+  {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !libraryVersion.equals(in.readUTF()) ||
+              !key.equals(in.readUTF())) {
+        return null;
+      }
+      final DescriptorModel[] models = new DescriptorModel[in.readInt()];
+      for (int i = 0; i < models.length; i++) {
+        models[i] = DescriptorModel.readFrom(in);
+      }
+      return models;
+    }
+  }
+
+  /**
+   * Atomically replaces the target with the source, falling back to a plain replacing move if the file system does
+   * not support atomic moves.
+   *
+   * @param source file to move
+   * @param target file to replace
+   * @throws IOException if the file cannot be moved
+   */
+  private static void move(final Path source, final Path target) throws IOException
+  {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (final AtomicMoveNotSupportedException ex) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+}
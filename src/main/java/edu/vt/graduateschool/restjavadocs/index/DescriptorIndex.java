@@ -0,0 +1,131 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+
+/**
+ * Looks up {@link SourceModel}s written at compile time by
+ * {@link edu.vt.graduateschool.restjavadocs.processor.DescriptorIndexProcessor} as classpath resources under
+ * {@link #RESOURCE_DIRECTORY}. Lookups are cached per class, including the absence of an index. Setting the system
+ * property {@link #ENABLED_PROPERTY} to false disables the index so sources are always parsed.
+ *
+ * @author Graduate School
+ */
+public final class DescriptorIndex
+{
+
+  /**
+   * Directory of the index resources.
+   */
+  public static final String RESOURCE_DIRECTORY = "META-INF/restjavadocs/";
+
+  /**
+   * Extension of the index resources.
+   */
+  public static final String RESOURCE_EXTENSION = ".idx";
+
+  /**
+   * System property which disables the index when set to false.
+   */
+  public static final String ENABLED_PROPERTY = "restjavadocs.index";
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(DescriptorIndex.class.getName());
+
+  /**
+   * Index entries per class.
+   */
+  private static final ClassValue<Optional<SourceModel>> MODELS = new ClassValue<Optional<SourceModel>>()
+  {
+    @Override
+    protected Optional<SourceModel> computeValue(final Class<?> type)
+    {
+      return Optional.ofNullable(read(type));
+    }
+  };
+
+  /**
+   * Private constructor.
+   */
+  private DescriptorIndex()
+  {
+  }
+
+  /**
+   * Returns the resource name of the index entry of a class.
+   *
+   * @param className binary name of the class
+   * @return resource name
+   */
+  public static String getResourceName(final String className)
+  {
+    if (className == null) {
+      throw new IllegalArgumentException("className cannot be null");
+    }
+    return RESOURCE_DIRECTORY + className + RESOURCE_EXTENSION;
+  }
+
+  /**
+   * Returns whether or not the index is consulted.
+   *
+   * @return false if {@link #ENABLED_PROPERTY} is set to false
+   */
+  public static boolean isEnabled()
+  {
+    return !Boolean.FALSE.toString().equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+  }
+
+  /**
+   * Returns the indexed model of a class.
+   *
+   * @param type documented class
+   * @return {@link SourceModel} or null if the class is not indexed or the index is disabled
+   */
+  public static SourceModel find(final Class<?> type)
+  {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+    return isEnabled() ? MODELS.get(type).orElse(null) : null;
+  }
+
+  /**
+   * Reads the index entry of a class from its class loader.
+   *
+   * @param type documented class
+   * @return {@link SourceModel} or null if there is no usable entry
+   */
+  private static SourceModel read(final Class<?> type)
+  {
+    final ClassLoader classLoader = type.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+    final String resourceName = getResourceName(type.getName());
+    SourceModel model = null;
+    try (InputStream resource = classLoader.getResourceAsStream(resourceName)) {
+      if (resource != null) {
+        model = SourceModel.readFrom(new DataInputStream(new BufferedInputStream(resource)));
+        if (!type.getName().equals(model.getClassName())) {
+          LOGGER.log(Level.WARNING, "ignoring index entry {0} of another class", resourceName);
+          model = null;
+        }
+      }
+    } catch (final IOException ex) {
+      LOGGER.log(Level.WARNING, "ignoring unreadable index entry " + resourceName, ex);
+      model = null;
+    }
+    return model;
+  }
+
+}
@@ -0,0 +1,228 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import edu.vt.graduateschool.restjavadocs.request.PathPattern;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+
+/**
+ * Index of the mapped methods of a single controller, built once so that filtering by request mapping attributes does
+ * not re-evaluate every mapping annotation. Endpoints are looked up by HTTP method and by path pattern in a
+ * {@link PathTrie} of their paths, combined with the class level paths. The remaining filter attributes (i.e.
+ * consumes, produces, headers, params or name) are then checked on the few candidates by
+ * {@link EndpointModel#matches(RequestMappingMatcher)}, so results are the same as those of a linear scan.
+ *
+ * @author Graduate School
+ */
+public final class EndpointIndex
+{
+
+  /**
+   * Indexed endpoints in declaration order.
+   */
+  private final EndpointModel[] endpoints;
+
+  /**
+   * Positions of the endpoints by path, including the paths combined with the class level paths.
+   */
+  private final PathTrie byPath = new PathTrie();
+
+  /**
+   * Positions of the endpoints mapped by RequestMapping by method attribute value.
+   */
+  private final Map<String, int[]> byMethod = new HashMap<>();
+
+  /**
+   * Endpoints without any explicit mapping attribute, which match every filter.
+   */
+  private final BitSet unconstrained = new BitSet();
+
+  /**
+   * Endpoints which match every HTTP method filter, being either unconstrained or mapped by a shortcut annotation.
+   */
+  private final BitSet methodAgnostic = new BitSet();
+
+  /**
+   * Constructor with values.
+   *
+   * @param endpointsParam endpoints in declaration order
+   */
+  public EndpointIndex(final EndpointModel[] endpointsParam)
+  {
+    if (endpointsParam == null) {
+      throw new IllegalArgumentException("endpoints cannot be null");
+    }
+    this.endpoints = endpointsParam.clone();
+    final Map<String, BitSet> methods = new HashMap<>();
+    for (int i = 0; i < endpoints.length; i++) {
+      final EndpointModel endpoint = endpoints[i];
+      if (isUnconstrained(endpoint)) {
+        unconstrained.set(i);
+      }
+      if (isUnconstrained(endpoint) || !endpoint.isRequestMapping()) {
+        methodAgnostic.set(i);
+      }
+      for (final String path : endpoint.getPaths()) {
+        byPath.add(path, i);
+      }
+      if (endpoint.isRequestMapping()) {
+        post(methods, endpoint.getAttribute(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_METHOD), i);
+      }
+    }
+    methods.forEach((key, positions) -> byMethod.put(key, positions.stream().toArray()));
+  }
+
+  /**
+   * Returns the number of indexed endpoints.
+   *
+   * @return number of indexed endpoints
+   */
+  public int size()
+  {
+    return endpoints.length;
+  }
+
+  /**
+   * Returns an indexed endpoint.
+   *
+   * @param position position of the endpoint in declaration order
+   * @return {@link EndpointModel}
+   */
+  public EndpointModel getEndpoint(final int position)
+  {
+    return endpoints[position];
+  }
+
+  /**
+   * Returns the positions of the endpoints matching a filter, following the rules of
+   * {@link EndpointModel#matches(Map)}.
+   *
+   * @param filterMap values to filter by, null or empty matches every endpoint
+   * @return positions in declaration order
+   * @throws IllegalArgumentException if a filter value is null
+   */
+  public int[] find(final Map<String, String[]> filterMap) throws IllegalArgumentException
+  {
+    return findMatching(RequestMappingMatcher.compile(filterMap));
+  }
+
+  /**
+   * Returns the positions of the endpoints matching a compiled filter.
+   *
+   * @param matcher compiled filter
+   * @return positions in declaration order
+   */
+  public int[] findMatching(final RequestMappingMatcher matcher)
+  {
+    final BitSet candidates = new BitSet();
+    candidates.set(0, endpoints.length);
+    restrict(candidates, matcher.getPathPatterns(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH));
+    restrict(candidates, matcher.getPathPatterns(LangUtils.ANNOTATION_EXPRESSION_VALUE));
+    restrict(candidates, matcher.getValues(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_METHOD), byMethod,
+            methodAgnostic);
+    final int[] matches = new int[candidates.cardinality()];
+    int count = 0;
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      if (endpoints[i].matches(matcher)) {
+        matches[count++] = i;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  /**
+   * Returns the endpoints matching a filter.
+   *
+   * @param filterMap values to filter by, null or empty matches every endpoint
+   * @return {@link EndpointModel}s in declaration order
+   * @throws IllegalArgumentException if a filter value is null
+   */
+  public List<EndpointModel> findEndpoints(final Map<String, String[]> filterMap) throws IllegalArgumentException
+  {
+    return findMatchingEndpoints(RequestMappingMatcher.compile(filterMap));
+  }
+
+  /**
+   * Returns the endpoints matching a compiled filter.
+   *
+   * @param matcher compiled filter
+   * @return {@link EndpointModel}s in declaration order
+   */
+  public List<EndpointModel> findMatchingEndpoints(final RequestMappingMatcher matcher)
+  {
+    return Arrays.stream(findMatching(matcher)).mapToObj(this::getEndpoint).toList();
+  }
+
+  /**
+   * Whether or not an endpoint declares no mapping attribute and therefore matches every filter.
+   *
+   * @param endpoint endpoint
+   * @return true if unconstrained
+   */
+  private static boolean isUnconstrained(final EndpointModel endpoint)
+  {
+    return endpoint.getAttributeNames().isEmpty();
+  }
+
+  /**
+   * Adds the position of an endpoint to the postings of each of its attribute values.
+   *
+   * @param postings postings by attribute value
+   * @param values attribute values, may be null
+   * @param position position of the endpoint
+   */
+  private static void post(final Map<String, BitSet> postings, final String[] values, final int position)
+  {
+    if (values != null) {
+      for (final String value : values) {
+        postings.computeIfAbsent(value, key -> new BitSet()).set(position);
+      }
+    }
+  }
+
+  /**
+   * Restricts candidates to the endpoints with a path matching every pattern, looked up in the path trie.
+   *
+   * @param candidates candidate endpoints
+   * @param patterns path patterns, null leaves the candidates untouched
+   */
+  private void restrict(final BitSet candidates, final PathPattern[] patterns)
+  {
+    if (patterns != null) {
+      for (final PathPattern pattern : patterns) {
+        final BitSet allowed = byPath.find(pattern);
+        allowed.or(unconstrained);
+        candidates.and(allowed);
+      }
+    }
+  }
+
+  /**
+   * Restricts candidates to the endpoints posted under the first filter value. Every value must be declared by a
+   * matching endpoint, so looking up one of them is enough to rule out the others.
+   *
+   * @param candidates candidate endpoints
+   * @param values filter values, null or empty leaves the candidates untouched
+   * @param postings postings by attribute value
+   * @param unrestricted endpoints which are always kept
+   */
+  private static void restrict(final BitSet candidates, final String[] values, final Map<String, int[]> postings,
+          final BitSet unrestricted)
+  {
+    if (values != null && values.length > 0) {
+      final BitSet allowed = (BitSet) unrestricted.clone();
+      for (final int position : postings.getOrDefault(values[0], new int[0])) {
+        allowed.set(position);
+      }
+      candidates.and(allowed);
+    }
+  }
+
+}
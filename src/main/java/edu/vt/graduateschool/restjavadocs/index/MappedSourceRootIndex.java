@@ -0,0 +1,910 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+
+/**
+ * Read-only index of a source root kept in a binary file which is memory-mapped rather than read, so every JVM (e.g.
+ * each Surefire fork) opening it shares the operating system page cache and only touches the pages of the classes it
+ * looks up. Nothing is deserialized up front: lookups hash the class name into the hash section, then read the fixed
+ * width records of that class and decode only the strings of the descriptors they build.<br>
+ * <br>
+ * The file consists of a header of counts, a string table (offsets followed by UTF-8 bytes), an open addressing hash
+ * section of class rows keyed by {@link String#hashCode()} of the binary class name, and fixed width int records of
+ * classes, properties, annotations, endpoints, mapping attributes, attribute values and request parameters. It is
+ * written by {@link #write(SourceRootIndex, Path)} (see {@link SourceRootIndexer#index(String, Path)}) with an atomic
+ * rename, so forks may open it while it is rewritten. The file is not checked against the sources, it should be
+ * rewritten whenever they change.<br>
+ * <br>
+ * Setting the system property {@link #FILE_PROPERTY} to the path of an index file makes
+ * {@link edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation} and
+ * {@link edu.vt.graduateschool.restjavadocs.request.RequestDocumentation} look classes up in it before parsing their
+ * sources when called without a source root (see {@link #getShared()}), calls naming a source root always parse it.
+ * Instances are immutable and may be shared between threads.
+ *
+ * @author Graduate School
+ */
+public final class MappedSourceRootIndex
+{
+
+  /**
+   * System property holding the path of the index file used by the static entry points.
+   */
+  public static final String FILE_PROPERTY = "restjavadocs.indexFile";
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(MappedSourceRootIndex.class.getName());
+
+  /**
+   * Marks the beginning of an index file.
+   */
+  private static final int MAGIC = 0x524A444D;
+
+  /**
+   * Version of the file layout.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * Number of ints of the header.
+   */
+  private static final int HEADER_INTS = 12;
+
+  /**
+   * Ints per class record: name id, first property, property count, first endpoint, endpoint count.
+   */
+  private static final int CLASS_RECORD = 5;
+
+  /**
+   * Ints per property record: name id, description id, flags, first annotation, annotation count.
+   */
+  private static final int PROPERTY_RECORD = 5;
+
+  /**
+   * Ints per annotation record: name id, simple name id.
+   */
+  private static final int ANNOTATION_RECORD = 2;
+
+  /**
+   * Ints per endpoint record: method name id, flags, first attribute, attribute count, first class path, class path
+   * count, first parameter, parameter count, problem id.
+   */
+  private static final int ENDPOINT_RECORD = 9;
+
+  /**
+   * Ints per attribute record: name id, first value, value count.
+   */
+  private static final int ATTRIBUTE_RECORD = 3;
+
+  /**
+   * Ints per parameter record: name id, description id, flags.
+   */
+  private static final int PARAMETER_RECORD = 3;
+
+  /**
+   * Flag of an endpoint mapped by RequestMapping.
+   */
+  private static final int FLAG_REQUEST_MAPPING = 1;
+
+  /**
+   * Empty hash slot.
+   */
+  private static final int EMPTY_SLOT = -1;
+
+  /**
+   * Indexes opened from {@link #FILE_PROPERTY}, including the failure to open them.
+   */
+  private static final Map<String, Optional<MappedSourceRootIndex>> SHARED = new ConcurrentHashMap<>();
+
+  /**
+   * Mapped file content, only read by absolute position.
+   */
+  private final ByteBuffer content;
+
+  /**
+   * Number of interned strings.
+   */
+  private final int symbolCount;
+
+  /**
+   * Number of hash slots, a power of two.
+   */
+  private final int hashSlots;
+
+  /**
+   * Number of indexed classes.
+   */
+  private final int classCount;
+
+  /**
+   * Byte offset of the string offsets.
+   */
+  private final int symbolOffsets;
+
+  /**
+   * Byte offset of the UTF-8 string bytes.
+   */
+  private final int strings;
+
+  /**
+   * Byte offset of the hash section.
+   */
+  private final int hash;
+
+  /**
+   * Byte offset of the class records.
+   */
+  private final int classes;
+
+  /**
+   * Byte offset of the property records.
+   */
+  private final int properties;
+
+  /**
+   * Byte offset of the annotation records.
+   */
+  private final int annotations;
+
+  /**
+   * Byte offset of the endpoint records.
+   */
+  private final int endpoints;
+
+  /**
+   * Byte offset of the attribute records.
+   */
+  private final int attributes;
+
+  /**
+   * Byte offset of the attribute values and class paths.
+   */
+  private final int values;
+
+  /**
+   * Byte offset of the parameter records.
+   */
+  private final int parameters;
+
+  /**
+   * Endpoint indexes of the classes looked up so far, by class row.
+   */
+  private final Map<Integer, EndpointIndex> endpointIndexes = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor with values.
+   *
+   * @param contentParam mapped file content
+   * @throws IOException if the content is not an index file of this version
+   */
+  private MappedSourceRootIndex(final ByteBuffer contentParam) throws IOException
+  {
+    if (contentParam.limit() < HEADER_INTS * Integer.BYTES || contentParam.getInt(0) != MAGIC ||
+            contentParam.getInt(Integer.BYTES) != FORMAT_VERSION) {
+      throw new IOException("not a restjavadocs index file of version " + FORMAT_VERSION);
+    }
+    this.content = contentParam;
+    this.symbolCount = header(2);
+    final int stringBytes = header(3);
+    this.hashSlots = header(4);
+    this.classCount = header(5);
+    this.symbolOffsets = HEADER_INTS * Integer.BYTES;
+    this.strings = symbolOffsets + (symbolCount + 1) * Integer.BYTES;
+    this.hash = strings + align(stringBytes);
+    this.classes = hash + hashSlots * Integer.BYTES;
+    this.properties = classes + classCount * CLASS_RECORD * Integer.BYTES;
+    this.annotations = properties + header(6) * PROPERTY_RECORD * Integer.BYTES;
+    this.endpoints = annotations + header(7) * ANNOTATION_RECORD * Integer.BYTES;
+    this.attributes = endpoints + header(8) * ENDPOINT_RECORD * Integer.BYTES;
+    this.values = attributes + header(9) * ATTRIBUTE_RECORD * Integer.BYTES;
+    this.parameters = values + header(10) * Integer.BYTES;
+    if (parameters + header(11) * PARAMETER_RECORD * Integer.BYTES != content.limit()) {
+      throw new IOException("truncated restjavadocs index file");
+    }
+  }
+
+  /**
+   * Maps an index file written by {@link #write(SourceRootIndex, Path)}.
+   *
+   * @param file index file
+   * @return {@link MappedSourceRootIndex}
+   * @throws IOException if the file cannot be mapped or is not an index file
+   */
+  public static MappedSourceRootIndex open(final Path file) throws IOException
+  {
+    if (file == null) {
+      throw new IllegalArgumentException("file cannot be null");
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("index file exceeds " + Integer.MAX_VALUE + " bytes: " + file);
+      }
+      return new MappedSourceRootIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Returns the index mapped from the file named by the system property {@link #FILE_PROPERTY}. A file which cannot
+   * be mapped is reported once and ignored.
+   *
+   * @return {@link MappedSourceRootIndex} or null if the property is not set, the file cannot be mapped or the index
+   * is disabled (see {@link DescriptorIndex#isEnabled()})
+   */
+  public static MappedSourceRootIndex getShared()
+  {
+    final String file = System.getProperty(FILE_PROPERTY);
+    if (file == null || file.isEmpty() || !DescriptorIndex.isEnabled()) {
+      return null;
+    }
+    return SHARED.computeIfAbsent(Paths.get(file).toAbsolutePath().normalize().toString(), path -> {
+      try {
+        return Optional.of(open(Paths.get(path)));
+      } catch (final IOException ex) {
+        LOGGER.log(Level.WARNING, "ignoring index file " + path, ex);
+        return Optional.empty();
+      }
+    }).orElse(null);
+  }
+
+  /**
+   * Writes an index to a file, replacing it atomically where the file system supports it.
+   *
+   * @param index index to write
+   * @param file index file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(final SourceRootIndex index, final Path file) throws IOException
+  {
+    if (index == null || file == null) {
+      throw new IllegalArgumentException("neither index nor file may be null");
+    }
+    final Writer writer = new Writer();
+    for (final String className : new TreeSet<>(index.getClassNames())) {
+      writer.add(index.find(className));
+    }
+    final Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream os = Files.newOutputStream(temp);
+              DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+        writer.writeTo(out);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (final AtomicMoveNotSupportedException ex) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Returns the number of indexed classes.
+   *
+   * @return number of indexed classes
+   */
+  public int size()
+  {
+    return classCount;
+  }
+
+  /**
+   * Returns the number of distinct strings held by the index.
+   *
+   * @return number of interned strings
+   */
+  public int getSymbolCount()
+  {
+    return symbolCount;
+  }
+
+  /**
+   * Returns the binary names of the indexed classes.
+   *
+   * @return binary names in lexical order
+   */
+  public List<String> getClassNames()
+  {
+    final List<String> classNames = new ArrayList<>(classCount);
+    for (int row = 0; row < classCount; row++) {
+      classNames.add(symbol(classField(row, 0)));
+    }
+    return classNames;
+  }
+
+  /**
+   * Returns new {@link FieldDescriptor}s of the documented properties of a class.
+   *
+   * @param type documented class
+   * @param annotated specified annotation on fields, null means all
+   * @return {@link FieldDescriptor}[] or null if the class is not indexed
+   */
+  public FieldDescriptor[] fields(final Class<?> type, final Class<? extends Annotation> annotated)
+  {
+    final int row = getRow(type);
+    if (row < 0) {
+      return null;
+    }
+    final int first = classField(row, 1);
+    final List<FieldDescriptor> descriptors = new ArrayList<>();
+    for (int property = first; property < first + classField(row, 2); property++) {
+      if (annotated == null || isAnnotated(property, annotated.getSimpleName())) {
+        final String path = symbol(propertyField(property, 0));
+        final int flags = propertyField(property, 2);
+        final FieldDescriptor descriptor = (flags & SourceRootIndex.FLAG_SUBSECTION) != 0 ? subsectionWithPath(path) :
+                fieldWithPath(path);
+        descriptor.description(symbol(propertyField(property, 1)));
+        descriptors.add((flags & SourceRootIndex.FLAG_OPTIONAL) != 0 ? descriptor.optional() : descriptor);
+      }
+    }
+    return descriptors.toArray(FieldDescriptor[]::new);
+  }
+
+  /**
+   * Returns new {@link ParameterDescriptor}s of the request parameters of the endpoints of a class matching the
+   * filter.
+   *
+   * @param type documented class
+   * @param annotationFilterValues value map to filter for matching annotation attributes, null means all
+   * @return {@link ParameterDescriptor}[] or null if the class is not indexed
+   * @throws IllegalArgumentException if the request parameters of a matching endpoint could not be described
+   */
+  public ParameterDescriptor[] descriptors(final Class<?> type, final Map<String, String[]> annotationFilterValues)
+          throws IllegalArgumentException
+  {
+    return matchingDescriptors(type, RequestMappingMatcher.compile(annotationFilterValues));
+  }
+
+  /**
+   * Returns new {@link ParameterDescriptor}s of the request parameters of the endpoints of a class matching a
+   * compiled filter. The mapping attributes of a class are decoded into an {@link EndpointIndex} on its first lookup.
+   *
+   * @param type documented class
+   * @param matcher compiled filter
+   * @return {@link ParameterDescriptor}[] or null if the class is not indexed
+   * @throws IllegalArgumentException if the request parameters of a matching endpoint could not be described
+   */
+  public ParameterDescriptor[] matchingDescriptors(final Class<?> type, final RequestMappingMatcher matcher)
+          throws IllegalArgumentException
+  {
+    final int row = getRow(type);
+    if (row < 0) {
+      return null;
+    }
+    final List<ParameterDescriptor> descriptors = new ArrayList<>();
+    if (classField(row, 4) > 0) {
+      final EndpointIndex endpointIndex = endpointIndexes.computeIfAbsent(row, this::readEndpointIndex);
+      for (final int position : endpointIndex.findMatching(matcher)) {
+        final int endpoint = classField(row, 3) + position;
+        if (endpointField(endpoint, 8) != SymbolTable.NONE) {
+          throw new IllegalArgumentException(symbol(endpointField(endpoint, 8)));
+        }
+        final int first = endpointField(endpoint, 6);
+        for (int parameter = first; parameter < first + endpointField(endpoint, 7); parameter++) {
+          final ParameterDescriptor descriptor = parameterWithName(symbol(parameterField(parameter, 0)))
+                  .description(symbol(parameterField(parameter, 1)));
+          if ((parameterField(parameter, 2) & SourceRootIndex.FLAG_OPTIONAL) != 0) {
+            descriptor.optional();
+          }
+          if ((parameterField(parameter, 2) & SourceRootIndex.FLAG_IGNORED) != 0) {
+            descriptor.ignored();
+          }
+          descriptors.add(descriptor);
+        }
+      }
+    }
+    return descriptors.toArray(ParameterDescriptor[]::new);
+  }
+
+  /**
+   * Returns the indexed model of a class, decoded from its records on every call.
+   *
+   * @param type documented class
+   * @return {@link SourceModel} or null if the class is not indexed
+   */
+  public SourceModel find(final Class<?> type)
+  {
+    final int row = getRow(type);
+    if (row < 0) {
+      return null;
+    }
+    final PropertyModel[] propertyModels = new PropertyModel[classField(row, 2)];
+    for (int i = 0; i < propertyModels.length; i++) {
+      final int property = classField(row, 1) + i;
+      final String[] annotationNames = new String[propertyField(property, 4)];
+      for (int j = 0; j < annotationNames.length; j++) {
+        annotationNames[j] = symbol(intAt(annotations, propertyField(property, 3) + j, ANNOTATION_RECORD, 0));
+      }
+      propertyModels[i] = new PropertyModel(symbol(propertyField(property, 0)), symbol(propertyField(property, 1)),
+              (propertyField(property, 2) & SourceRootIndex.FLAG_OPTIONAL) != 0, annotationNames);
+    }
+    final EndpointModel[] endpointModels = new EndpointModel[classField(row, 4)];
+    for (int i = 0; i < endpointModels.length; i++) {
+      endpointModels[i] = readEndpoint(classField(row, 3) + i, true);
+    }
+    return new SourceModel(type.getName(), propertyModels, endpointModels);
+  }
+
+  /**
+   * Returns the class row of a type by probing the hash section.
+   *
+   * @param type documented class
+   * @return row or -1 if the class is not indexed
+   */
+  private int getRow(final Class<?> type)
+  {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+    final byte[] name = type.getName().getBytes(StandardCharsets.UTF_8);
+    int row = -1;
+    int slot = type.getName().hashCode() & (hashSlots - 1);
+    for (int probes = 0; row < 0 && probes < hashSlots; probes++) {
+      final int candidate = content.getInt(hash + slot * Integer.BYTES);
+      if (candidate == EMPTY_SLOT) {
+        break;
+      }
+      if (symbolEquals(classField(candidate, 0), name)) {
+        row = candidate;
+      }
+      slot = (slot + 1) & (hashSlots - 1);
+    }
+    return row;
+  }
+
+  /**
+   * Whether or not a property is annotated with an annotation.
+   *
+   * @param property property
+   * @param simpleName simple name of the annotation
+   * @return true if annotated
+   */
+  private boolean isAnnotated(final int property, final String simpleName)
+  {
+    final byte[] name = simpleName.getBytes(StandardCharsets.UTF_8);
+    boolean annotated = false;
+    final int first = propertyField(property, 3);
+    for (int annotation = first; !annotated && annotation < first + propertyField(property, 4); annotation++) {
+      annotated = symbolEquals(intAt(annotations, annotation, ANNOTATION_RECORD, 1), name);
+    }
+    return annotated;
+  }
+
+  /**
+   * Decodes the endpoints of a class into an index, without their parameters.
+   *
+   * @param row class row
+   * @return {@link EndpointIndex}
+   */
+  private EndpointIndex readEndpointIndex(final int row)
+  {
+    final EndpointModel[] endpointModels = new EndpointModel[classField(row, 4)];
+    for (int i = 0; i < endpointModels.length; i++) {
+      endpointModels[i] = readEndpoint(classField(row, 3) + i, false);
+    }
+    return new EndpointIndex(endpointModels);
+  }
+
+  /**
+   * Decodes an endpoint.
+   *
+   * @param endpoint endpoint
+   * @param withParameters whether or not the parameters are decoded as well
+   * @return {@link EndpointModel}
+   */
+  private EndpointModel readEndpoint(final int endpoint, final boolean withParameters)
+  {
+    final Map<String, String[]> attributeValues = new TreeMap<>();
+    for (int i = 0; i < endpointField(endpoint, 3); i++) {
+      final int attribute = endpointField(endpoint, 2) + i;
+      attributeValues.put(symbol(intAt(attributes, attribute, ATTRIBUTE_RECORD, 0)), readValues(
+              intAt(attributes, attribute, ATTRIBUTE_RECORD, 1), intAt(attributes, attribute, ATTRIBUTE_RECORD, 2)));
+    }
+    final DescriptorModel[] parameterModels = new DescriptorModel[withParameters ? endpointField(endpoint, 7) : 0];
+    for (int i = 0; i < parameterModels.length; i++) {
+      final int parameter = endpointField(endpoint, 6) + i;
+      parameterModels[i] = new DescriptorModel(DescriptorModel.Kind.PARAMETER, symbol(parameterField(parameter, 0)),
+              symbol(parameterField(parameter, 1)), null,
+              (parameterField(parameter, 2) & SourceRootIndex.FLAG_OPTIONAL) != 0,
+              (parameterField(parameter, 2) & SourceRootIndex.FLAG_IGNORED) != 0);
+    }
+    return new EndpointModel(symbol(endpointField(endpoint, 0)),
+            (endpointField(endpoint, 1) & FLAG_REQUEST_MAPPING) != 0, attributeValues,
+            readValues(endpointField(endpoint, 4), endpointField(endpoint, 5)), parameterModels,
+            symbol(endpointField(endpoint, 8)));
+  }
+
+  /**
+   * Decodes consecutive values.
+   *
+   * @param first first value
+   * @param count number of values
+   * @return strings
+   */
+  private String[] readValues(final int first, final int count)
+  {
+    final String[] strings = new String[count];
+    for (int i = 0; i < count; i++) {
+      strings[i] = symbol(content.getInt(values + (first + i) * Integer.BYTES));
+    }
+    return strings;
+  }
+
+  /**
+   * Decodes an interned string.
+   *
+   * @param id symbol id
+   * @return string or null if the id is {@link SymbolTable#NONE}
+   */
+  private String symbol(final int id)
+  {
+    if (id == SymbolTable.NONE) {
+      return null;
+    }
+    final int start = content.getInt(symbolOffsets + id * Integer.BYTES);
+    final byte[] bytes = new byte[content.getInt(symbolOffsets + (id + 1) * Integer.BYTES) - start];
+    content.get(strings + start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Whether or not an interned string equals UTF-8 bytes, without decoding it.
+   *
+   * @param id symbol id
+   * @param bytes UTF-8 bytes
+   * @return true if equal
+   */
+  private boolean symbolEquals(final int id, final byte[] bytes)
+  {
+    final int start = content.getInt(symbolOffsets + id * Integer.BYTES);
+    boolean equal = content.getInt(symbolOffsets + (id + 1) * Integer.BYTES) - start == bytes.length;
+    for (int i = 0; equal && i < bytes.length; i++) {
+      equal = content.get(strings + start + i) == bytes[i];
+    }
+    return equal;
+  }
+
+  /**
+   * Returns an int of the header.
+   *
+   * @param position position in the header
+   * @return value
+   */
+  private int header(final int position)
+  {
+    return content.getInt(position * Integer.BYTES);
+  }
+
+  /**
+   * Returns a field of a class record.
+   *
+   * @param row class row
+   * @param field field of the record
+   * @return value
+   */
+  private int classField(final int row, final int field)
+  {
+    return intAt(classes, row, CLASS_RECORD, field);
+  }
+
+  /**
+   * Returns a field of a property record.
+   *
+   * @param property property
+   * @param field field of the record
+   * @return value
+   */
+  private int propertyField(final int property, final int field)
+  {
+    return intAt(properties, property, PROPERTY_RECORD, field);
+  }
+
+  /**
+   * Returns a field of an endpoint record.
+   *
+   * @param endpoint endpoint
+   * @param field field of the record
+   * @return value
+   */
+  private int endpointField(final int endpoint, final int field)
+  {
+    return intAt(endpoints, endpoint, ENDPOINT_RECORD, field);
+  }
+
+  /**
+   * Returns a field of a parameter record.
+   *
+   * @param parameter parameter
+   * @param field field of the record
+   * @return value
+   */
+  private int parameterField(final int parameter, final int field)
+  {
+    return intAt(parameters, parameter, PARAMETER_RECORD, field);
+  }
+
+  /**
+   * Returns a field of a fixed width record.
+   *
+   * @param section byte offset of the section
+   * @param record record
+   * @param width ints per record
+   * @param field field of the record
+   * @return value
+   */
+  private int intAt(final int section, final int record, final int width, final int field)
+  {
+    return content.getInt(section + (record * width + field) * Integer.BYTES);
+  }
+
+  /**
+   * Rounds a byte count up to a multiple of an int.
+   *
+   * @param bytes byte count
+   * @return aligned byte count
+   */
+  private static int align(final int bytes)
+  {
+    return (bytes + Integer.BYTES - 1) / Integer.BYTES * Integer.BYTES;
+  }
+
+  /**
+   * Collects the records of the indexed classes before they are written.
+   */
+  private static final class Writer
+  {
+
+    /**
+     * Interned strings.
+     */
+    private final SymbolTable symbols = new SymbolTable();
+
+    /**
+     * Class records.
+     */
+    private final IntColumn classRecords = new IntColumn();
+
+    /**
+     * Property records.
+     */
+    private final IntColumn propertyRecords = new IntColumn();
+
+    /**
+     * Annotation records.
+     */
+    private final IntColumn annotationRecords = new IntColumn();
+
+    /**
+     * Endpoint records.
+     */
+    private final IntColumn endpointRecords = new IntColumn();
+
+    /**
+     * Attribute records.
+     */
+    private final IntColumn attributeRecords = new IntColumn();
+
+    /**
+     * Attribute values and class paths.
+     */
+    private final IntColumn valueRecords = new IntColumn();
+
+    /**
+     * Parameter records.
+     */
+    private final IntColumn parameterRecords = new IntColumn();
+
+    /**
+     * Binary class names by class row.
+     */
+    private final List<String> classNames = new ArrayList<>();
+
+    /**
+     * Adds the records of a class.
+     *
+     * @param model model of the class
+     */
+    void add(final SourceModel model)
+    {
+      classNames.add(model.getClassName());
+      final PropertyModel[] propertyModels = model.getProperties();
+      final EndpointModel[] endpointModels = model.getEndpoints();
+      classRecords.add(symbols.intern(model.getClassName()), propertyRecords.size() / PROPERTY_RECORD,
+              propertyModels.length, endpointRecords.size() / ENDPOINT_RECORD, endpointModels.length);
+      for (final PropertyModel property : propertyModels) {
+        final String[] annotationNames = property.getAnnotations();
+        propertyRecords.add(symbols.intern(property.getName()), symbols.intern(property.getDescription()),
+                SourceRootIndex.FLAG_SUBSECTION | (property.isOptional() ? SourceRootIndex.FLAG_OPTIONAL : 0),
+                annotationRecords.size() / ANNOTATION_RECORD, annotationNames.length);
+        for (final String annotation : annotationNames) {
+          annotationRecords.add(symbols.intern(annotation),
+                  symbols.intern(annotation.substring(annotation.lastIndexOf('.') + 1)));
+        }
+      }
+      for (final EndpointModel endpoint : endpointModels) {
+        final int firstAttribute = attributeRecords.size() / ATTRIBUTE_RECORD;
+        for (final String name : endpoint.getAttributeNames()) {
+          final int firstValue = valueRecords.size();
+          final String[] attributeValues = endpoint.getAttribute(name);
+          for (final String value : attributeValues) {
+            valueRecords.add(symbols.intern(value));
+          }
+          attributeRecords.add(symbols.intern(name), firstValue, attributeValues.length);
+        }
+        final int firstClassPath = valueRecords.size();
+        for (final String classPath : endpoint.getClassPaths()) {
+          valueRecords.add(symbols.intern(classPath));
+        }
+        final int firstParameter = parameterRecords.size() / PARAMETER_RECORD;
+        for (final DescriptorModel parameter : endpoint.getParameters()) {
+          parameterRecords.add(symbols.intern(parameter.getName()), symbols.intern(parameter.getDescription()),
+                  (parameter.isOptional() ? SourceRootIndex.FLAG_OPTIONAL : 0) |
+                  (parameter.isIgnored() ? SourceRootIndex.FLAG_IGNORED : 0));
+        }
+        endpointRecords.add(symbols.intern(endpoint.getMethodName()),
+                endpoint.isRequestMapping() ? FLAG_REQUEST_MAPPING : 0, firstAttribute,
+                endpoint.getAttributeNames().size(), firstClassPath, endpoint.getClassPaths().length, firstParameter,
+                endpoint.getParameters().length, symbols.intern(endpoint.getProblem()));
+      }
+    }
+
+    /**
+     * Writes the header, string table, hash section and records.
+     *
+     * @param out output to write to
+     * @throws IOException if the output cannot be written
+     */
+    void writeTo(final DataOutputStream out) throws IOException
+    {
+      final byte[][] encoded = new byte[symbols.size()][];
+      int stringBytes = 0;
+      for (int id = 0; id < encoded.length; id++) {
+        encoded[id] = symbols.get(id).getBytes(StandardCharsets.UTF_8);
+        stringBytes += encoded[id].length;
+      }
+      final int[] slots = hashSlots();
+      for (final int value : new int[]{
+        MAGIC, FORMAT_VERSION, encoded.length, stringBytes, slots.length, classNames.size(),
+        propertyRecords.size() / PROPERTY_RECORD, annotationRecords.size() / ANNOTATION_RECORD,
+        endpointRecords.size() / ENDPOINT_RECORD, attributeRecords.size() / ATTRIBUTE_RECORD, valueRecords.size(),
+        parameterRecords.size() / PARAMETER_RECORD,
+      }) {
+        out.writeInt(value);
+      }
+      int offset = 0;
+      out.writeInt(offset);
+      for (final byte[] bytes : encoded) {
+        offset += bytes.length;
+        out.writeInt(offset);
+      }
+      for (final byte[] bytes : encoded) {
+        out.write(bytes);
+      }
+      out.write(new byte[align(stringBytes) - stringBytes]);
+      for (final int slot : slots) {
+        out.writeInt(slot);
+      }
+      for (final IntColumn column : new IntColumn[]{
+        classRecords, propertyRecords, annotationRecords, endpointRecords, attributeRecords, valueRecords,
+        parameterRecords,
+      }) {
+        column.writeTo(out);
+      }
+    }
+
+    /**
+     * Returns the hash section: class rows by the hash of their name, probed linearly, at most half full.
+     *
+     * @return hash slots
+     */
+    private int[] hashSlots()
+    {
+      final int[] slots = new int[Integer.highestOneBit(Math.max(1, classNames.size()) * 2) * 2];
+      Arrays.fill(slots, EMPTY_SLOT);
+      for (int row = 0; row < classNames.size(); row++) {
+        int slot = classNames.get(row).hashCode() & (slots.length - 1);
+        while (slots[slot] != EMPTY_SLOT) {
+          slot = (slot + 1) & (slots.length - 1);
+        }
+        slots[slot] = row;
+      }
+      return slots;
+    }
+
+  }
+
+  /**
+   * Growable column of ints.
+   */
+  private static final class IntColumn
+  {
+
+    /**
+     * Values.
+     */
+    private int[] ints = new int[64];
+
+    /**
+     * Number of values.
+     */
+    private int size;
+
+    /**
+     * Appends values.
+     *
+     * @param added values
+     */
+    void add(final int... added)
+    {
+      if (size + added.length > ints.length) {
+        ints = Arrays.copyOf(ints, Math.max(ints.length * 2, size + added.length));
+      }
+      System.arraycopy(added, 0, ints, size, added.length);
+      size += added.length;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return size
+     */
+    int size()
+    {
+      return size;
+    }
+
+    /**
+     * Writes the values.
+     *
+     * @param out output to write to
+     * @throws IOException if the output cannot be written
+     */
+    void writeTo(final DataOutputStream out) throws IOException
+    {
+      for (int i = 0; i < size; i++) {
+        out.writeInt(ints[i]);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,101 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import edu.vt.graduateschool.restjavadocs.request.PathPattern;
+
+/**
+ * Trie of endpoint paths keyed by path segment. Looking up a {@link PathPattern} walks one branch per literal segment,
+ * so the cost depends on the depth of the pattern rather than on the number of indexed paths. Only wildcard segments
+ * visit every child of a node.
+ *
+ * @author Graduate School
+ */
+final class PathTrie
+{
+
+  /**
+   * Root node, i.e. the empty path.
+   */
+  private final Node root = new Node();
+
+  /**
+   * Adds a path of an endpoint.
+   *
+   * @param path endpoint path
+   * @param position position of the endpoint
+   */
+  void add(final String path, final int position)
+  {
+    Node node = root;
+    for (final String segment : PathPattern.segments(path)) {
+      node = node.children.computeIfAbsent(segment, key -> new Node());
+    }
+    node.positions.set(position);
+  }
+
+  /**
+   * Returns the positions of the endpoints with a path matching a pattern segment by segment.
+   *
+   * @param pattern path pattern
+   * @return positions of the endpoints
+   */
+  BitSet find(final PathPattern pattern)
+  {
+    final BitSet positions = new BitSet();
+    find(root, pattern, 0, positions);
+    return positions;
+  }
+
+  /**
+   * Collects the positions of the endpoints below a node matching the pattern from a segment on.
+   *
+   * @param node current node
+   * @param pattern path pattern
+   * @param index index of the pattern segment to match
+   * @param positions positions found so far
+   */
+  private static void find(final Node node, final PathPattern pattern, final int index, final BitSet positions)
+  {
+    if (index == pattern.getSegmentCount()) {
+      positions.or(node.positions);
+    } else if (pattern.isMultiSegmentWildcard(index)) {
+      find(node, pattern, index + 1, positions);
+      for (final Node child : node.children.values()) {
+        find(child, pattern, index, positions);
+      }
+    } else if (pattern.getLiteralSegment(index) != null) {
+      final Node child = node.children.get(pattern.getLiteralSegment(index));
+      if (child != null) {
+        find(child, pattern, index + 1, positions);
+      }
+    } else {
+      for (final Map.Entry<String, Node> child : node.children.entrySet()) {
+        if (pattern.matchesSegment(index, child.getKey())) {
+          find(child.getValue(), pattern, index + 1, positions);
+        }
+      }
+    }
+  }
+
+  /**
+   * Node of the trie.
+   */
+  private static final class Node
+  {
+
+    /**
+     * Children by path segment.
+     */
+    private final Map<String, Node> children = new HashMap<>();
+
+    /**
+     * Positions of the endpoints whose path ends at this node.
+     */
+    private final BitSet positions = new BitSet();
+
+  }
+
+}
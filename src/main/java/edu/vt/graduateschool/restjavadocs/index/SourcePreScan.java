@@ -0,0 +1,143 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Byte level pre-filter of the source files of a source root. A file is memory-mapped and searched for the simple
+ * names of the annotations which make it worth parsing, so files mentioning none of them never reach the parser.
+ * Names are searched as plain bytes anywhere in the file, a file mentioning a name in a comment or import is a
+ * candidate as well. The filter does leave out files the parser would have indexed something of, such as a bean whose
+ * fields carry Javadocs but no Jackson annotation, those are not indexed and are parsed when documented instead. Names
+ * are expected to be ASCII, as are the annotation names of the source encodings in use (i.e. UTF-8 and ISO-8859-1).
+ *
+ * @author Graduate School
+ */
+public final class SourcePreScan
+{
+
+  /**
+   * Simple name fragments of the Spring MVC controller and request mapping annotations, i.e.
+   * {@code @RestController}, {@code @Controller}, {@code @RequestMapping} and {@code @GetMapping}.
+   */
+  public static final List<String> CONTROLLER_NAMES = List.of("Controller", "Mapping");
+
+  /**
+   * Simple name prefix of the Jackson annotations documented beans are scanned for, i.e. {@code @JsonProperty}.
+   */
+  public static final List<String> JACKSON_NAMES = List.of("Json");
+
+  /**
+   * Pre-scan for controllers and Jackson annotated beans.
+   */
+  public static final SourcePreScan DEFAULT = new SourcePreScan(concat(CONTROLLER_NAMES, JACKSON_NAMES));
+
+  /**
+   * Pre-scan which lets every file through.
+   */
+  public static final SourcePreScan NONE = new SourcePreScan(Collections.emptyList());
+
+  /**
+   * Names searched for, as bytes.
+   */
+  private final byte[][] names;
+
+  /**
+   * Constructor with values.
+   *
+   * @param namesParam names searched for, a file containing any of them is a candidate (empty means every file)
+   */
+  public SourcePreScan(final Collection<String> namesParam)
+  {
+    if (namesParam == null || namesParam.stream().anyMatch(name -> name == null || name.isEmpty())) {
+      throw new IllegalArgumentException("names cannot be null or contain null or empty names");
+    }
+    this.names = namesParam.stream().map(name -> name.getBytes(StandardCharsets.US_ASCII)).toArray(byte[][]::new);
+  }
+
+  /**
+   * Returns whether or not a source file contains any of the names and should be parsed.
+   *
+   * @param file source file
+   * @return true if the file contains any name, or if there are no names
+   * @throws IOException if the file could not be read
+   */
+  public boolean isCandidate(final Path file)
+          throws IOException
+  {
+    if (file == null) {
+      throw new IllegalArgumentException("file cannot be null");
+    }
+    if (names.length == 0) {
+      return true;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return contains(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Whether or not mapped content contains any of the names.
+   *
+   * @param content mapped file content
+   * @return true if any name is found
+   */
+  private boolean contains(final MappedByteBuffer content)
+  {
+    final int limit = content.limit();
+    for (int position = 0; position < limit; position++) {
+      final byte current = content.get(position);
+      for (final byte[] name : names) {
+        if (current == name[0] && matches(content, position, name)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Whether or not a name is found at a position of mapped content.
+   *
+   * @param content mapped file content
+   * @param position position in the content
+   * @param name name
+   * @return true if the content has the name at the position
+   */
+  private static boolean matches(final MappedByteBuffer content, final int position, final byte[] name)
+  {
+    if (position + name.length > content.limit()) {
+      return false;
+    }
+    for (int i = 1; i < name.length; i++) {
+      if (content.get(position + i) != name[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the concatenation of two lists of names.
+   *
+   * @param first first names
+   * @param second second names
+   * @return names
+   */
+  private static List<String> concat(final List<String> first, final List<String> second)
+  {
+    final List<String> names = new ArrayList<>(first);
+    names.addAll(second);
+    return names;
+  }
+
+}
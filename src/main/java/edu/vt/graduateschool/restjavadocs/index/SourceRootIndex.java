@@ -0,0 +1,564 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+
+/**
+ * Immutable in-memory index of the {@link SourceModel}s of every class of a source root, as built by
+ * {@link SourceRootIndexer}. Lookups do not touch the sources.<br>
+ * <br>
+ * Models are not kept as such. Class names, property paths, parameter names, descriptions and annotation names are
+ * interned into a {@link SymbolTable} shared by every class of the source root, so a description repeated across many
+ * classes is held once, and properties and request parameters are stored as parallel primitive columns of symbol ids
+ * and flags. Mapped methods are kept in an {@link EndpointIndex} per controller, without their parameters.
+ * {@link FieldDescriptor}s and {@link ParameterDescriptor}s are only built by {@link #fields(Class, Class)} and
+ * {@link #descriptors(Class, Map)}.
+ *
+ * @author Graduate School
+ */
+public final class SourceRootIndex
+{
+
+  /**
+   * Flag of an optional property or parameter.
+   */
+  public static final int FLAG_OPTIONAL = 1;
+
+  /**
+   * Flag of a property documented as a subsection.
+   */
+  public static final int FLAG_SUBSECTION = 1 << 1;
+
+  /**
+   * Flag of an ignored parameter.
+   */
+  public static final int FLAG_IGNORED = 1 << 2;
+
+  /**
+   * Indexed source root.
+   */
+  private final Path root;
+
+  /**
+   * Interned strings of every indexed class.
+   */
+  private final SymbolTable symbols;
+
+  /**
+   * Symbol id of the binary name of each class, by class row.
+   */
+  private final int[] classNameIds;
+
+  /**
+   * Class row of each symbol id, -1 if the symbol is not a class name.
+   */
+  private final int[] classRows;
+
+  /**
+   * First property of each class row, followed by the number of properties.
+   */
+  private final int[] propertyStarts;
+
+  /**
+   * Symbol id of the path of each property.
+   */
+  private final int[] propertyNameIds;
+
+  /**
+   * Symbol id of the description of each property.
+   */
+  private final int[] propertyDescriptionIds;
+
+  /**
+   * Flags of each property.
+   */
+  private final int[] propertyFlags;
+
+  /**
+   * First annotation of each property, followed by the number of annotations.
+   */
+  private final int[] annotationStarts;
+
+  /**
+   * Symbol id of the name of each annotation, as written in the source.
+   */
+  private final int[] annotationNameIds;
+
+  /**
+   * Symbol id of the simple name of each annotation.
+   */
+  private final int[] annotationSimpleNameIds;
+
+  /**
+   * Mapped methods of each class row without their parameters, null if the class maps none.
+   */
+  private final EndpointIndex[] endpointIndexes;
+
+  /**
+   * First endpoint of each class row, followed by the number of endpoints.
+   */
+  private final int[] endpointStarts;
+
+  /**
+   * First parameter of each endpoint, followed by the number of parameters.
+   */
+  private final int[] parameterStarts;
+
+  /**
+   * Symbol id of the name of each parameter.
+   */
+  private final int[] parameterNameIds;
+
+  /**
+   * Symbol id of the description of each parameter.
+   */
+  private final int[] parameterDescriptionIds;
+
+  /**
+   * Flags of each parameter.
+   */
+  private final int[] parameterFlags;
+
+  /**
+   * Constructor with values.
+   *
+   * @param rootParam indexed source root
+   * @param modelsParam models by binary class name
+   */
+  public SourceRootIndex(final Path rootParam, final Map<String, SourceModel> modelsParam)
+  {
+    if (rootParam == null || modelsParam == null) {
+      throw new IllegalArgumentException("neither root nor models may be null");
+    }
+    this.root = rootParam;
+    final List<SourceModel> models = new ArrayList<>(new TreeMap<>(modelsParam).values());
+    int properties = 0;
+    int annotations = 0;
+    int endpoints = 0;
+    int parameters = 0;
+    for (final SourceModel model : models) {
+      for (final PropertyModel property : model.getProperties()) {
+        properties++;
+        annotations += property.getAnnotations().length;
+      }
+      for (final EndpointModel endpoint : model.getEndpoints()) {
+        endpoints++;
+        parameters += endpoint.getParameters().length;
+      }
+    }
+    this.symbols = new SymbolTable();
+    this.classNameIds = new int[models.size()];
+    this.propertyStarts = new int[models.size() + 1];
+    this.propertyNameIds = new int[properties];
+    this.propertyDescriptionIds = new int[properties];
+    this.propertyFlags = new int[properties];
+    this.annotationStarts = new int[properties + 1];
+    this.annotationNameIds = new int[annotations];
+    this.annotationSimpleNameIds = new int[annotations];
+    this.endpointIndexes = new EndpointIndex[models.size()];
+    this.endpointStarts = new int[models.size() + 1];
+    this.parameterStarts = new int[endpoints + 1];
+    this.parameterNameIds = new int[parameters];
+    this.parameterDescriptionIds = new int[parameters];
+    this.parameterFlags = new int[parameters];
+    for (int row = 0; row < models.size(); row++) {
+      final SourceModel model = models.get(row);
+      classNameIds[row] = symbols.intern(model.getClassName());
+      addProperties(row, model.getProperties());
+      addEndpoints(row, model.getEndpoints());
+    }
+    symbols.trim();
+    this.classRows = new int[symbols.size()];
+    Arrays.fill(classRows, -1);
+    for (int row = 0; row < classNameIds.length; row++) {
+      classRows[classNameIds[row]] = row;
+    }
+  }
+
+  /**
+   * Getter for root.
+   *
+   * @return root
+   */
+  public Path getRoot()
+  {
+    return root;
+  }
+
+  /**
+   * Returns the binary names of the indexed classes.
+   *
+   * @return new unmodifiable {@link Set}
+   */
+  public Set<String> getClassNames()
+  {
+    final Set<String> classNames = new HashSet<>();
+    for (final int classNameId : classNameIds) {
+      classNames.add(symbols.get(classNameId));
+    }
+    return Collections.unmodifiableSet(classNames);
+  }
+
+  /**
+   * Returns the number of indexed classes.
+   *
+   * @return number of indexed classes
+   */
+  public int size()
+  {
+    return classNameIds.length;
+  }
+
+  /**
+   * Returns the number of distinct strings held by the index.
+   *
+   * @return number of interned strings
+   */
+  public int getSymbolCount()
+  {
+    return symbols.size();
+  }
+
+  /**
+   * Returns new {@link FieldDescriptor}s of the documented properties of a class.
+   *
+   * @param type documented class
+   * @param annotated specified annotation on fields, null means all
+   * @return {@link FieldDescriptor}[] or null if the class is not indexed
+   */
+  public FieldDescriptor[] fields(final Class<?> type, final Class<? extends Annotation> annotated)
+  {
+    final int row = getRow(type);
+    if (row < 0) {
+      return null;
+    }
+    final int annotationId = annotated == null ? SymbolTable.NONE : symbols.find(annotated.getSimpleName());
+    final List<FieldDescriptor> descriptors = new ArrayList<>();
+    for (int property = propertyStarts[row]; property < propertyStarts[row + 1]; property++) {
+      if (annotated == null || isAnnotated(property, annotationId)) {
+        descriptors.add(toFieldDescriptor(property));
+      }
+    }
+    return descriptors.toArray(FieldDescriptor[]::new);
+  }
+
+  /**
+   * Returns new {@link ParameterDescriptor}s of the request parameters of the endpoints of a class matching the
+   * filter.
+   *
+   * @param type documented class
+   * @param annotationFilterValues value map to filter for matching annotation attributes, null means all
+   * @return {@link ParameterDescriptor}[] or null if the class is not indexed
+   * @throws IllegalArgumentException if the request parameters of a matching endpoint could not be described
+   */
+  public ParameterDescriptor[] descriptors(final Class<?> type, final Map<String, String[]> annotationFilterValues)
+          throws IllegalArgumentException
+  {
+    return matchingDescriptors(type, RequestMappingMatcher.compile(annotationFilterValues));
+  }
+
+  /**
+   * Returns new {@link ParameterDescriptor}s of the request parameters of the endpoints of a class matching a
+   * compiled filter.
+   *
+   * @param type documented class
+   * @param matcher compiled filter
+   * @return {@link ParameterDescriptor}[] or null if the class is not indexed
+   * @throws IllegalArgumentException if the request parameters of a matching endpoint could not be described
+   */
+  public ParameterDescriptor[] matchingDescriptors(final Class<?> type, final RequestMappingMatcher matcher)
+          throws IllegalArgumentException
+  {
+    final int row = getRow(type);
+    if (row < 0) {
+      return null;
+    }
+    final List<ParameterDescriptor> descriptors = new ArrayList<>();
+    if (endpointIndexes[row] != null) {
+      for (final int position : endpointIndexes[row].findMatching(matcher)) {
+        final String problem = endpointIndexes[row].getEndpoint(position).getProblem();
+        if (problem != null) {
+          throw new IllegalArgumentException(problem);
+        }
+        final int endpoint = endpointStarts[row] + position;
+        for (int parameter = parameterStarts[endpoint]; parameter < parameterStarts[endpoint + 1]; parameter++) {
+          descriptors.add(toParameterDescriptor(parameter));
+        }
+      }
+    }
+    return descriptors.toArray(ParameterDescriptor[]::new);
+  }
+
+  /**
+   * Returns the indexed model of a class. The model is rebuilt from the columns on every call, documentation should
+   * rather use {@link #fields(Class, Class)} and {@link #descriptors(Class, Map)}.
+   *
+   * @param type documented class
+   * @return {@link SourceModel} or null if the class is not indexed
+   */
+  public SourceModel find(final Class<?> type)
+  {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+    return find(type.getName());
+  }
+
+  /**
+   * Returns the indexed model of a class by name, see {@link #find(Class)}.
+   *
+   * @param className binary name of the documented class
+   * @return {@link SourceModel} or null if the class is not indexed
+   */
+  public SourceModel find(final String className)
+  {
+    final int row = getRow(className);
+    if (row < 0) {
+      return null;
+    }
+    final PropertyModel[] properties = new PropertyModel[propertyStarts[row + 1] - propertyStarts[row]];
+    for (int i = 0; i < properties.length; i++) {
+      properties[i] = toPropertyModel(propertyStarts[row] + i);
+    }
+    final EndpointModel[] endpoints = new EndpointModel[endpointStarts[row + 1] - endpointStarts[row]];
+    for (int i = 0; i < endpoints.length; i++) {
+      endpoints[i] = toEndpointModel(endpointIndexes[row].getEndpoint(i), endpointStarts[row] + i);
+    }
+    return new SourceModel(symbols.get(classNameIds[row]), properties, endpoints);
+  }
+
+  /**
+   * Returns the class row of a type.
+   *
+   * @param type documented class
+   * @return row or -1 if the class is not indexed
+   */
+  private int getRow(final Class<?> type)
+  {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+    return getRow(type.getName());
+  }
+
+  /**
+   * Returns the class row of a class name.
+   *
+   * @param className binary name of the documented class
+   * @return row or -1 if the class is not indexed
+   */
+  private int getRow(final String className)
+  {
+    if (className == null) {
+      throw new IllegalArgumentException("className cannot be null");
+    }
+    final int id = symbols.find(className);
+    return id == SymbolTable.NONE ? -1 : classRows[id];
+  }
+
+  /**
+   * Adds the properties of a class to the columns.
+   *
+   * @param row class row
+   * @param properties properties in declaration order
+   */
+  private void addProperties(final int row, final PropertyModel[] properties)
+  {
+    final int first = propertyStarts[row];
+    for (int i = 0; i < properties.length; i++) {
+      final int property = first + i;
+      propertyNameIds[property] = symbols.intern(properties[i].getName());
+      propertyDescriptionIds[property] = symbols.intern(properties[i].getDescription());
+      propertyFlags[property] = FLAG_SUBSECTION | (properties[i].isOptional() ? FLAG_OPTIONAL : 0);
+      final String[] annotations = properties[i].getAnnotations();
+      final int firstAnnotation = annotationStarts[property];
+      for (int j = 0; j < annotations.length; j++) {
+        annotationNameIds[firstAnnotation + j] = symbols.intern(annotations[j]);
+        annotationSimpleNameIds[firstAnnotation + j] = symbols.intern(
+                annotations[j].substring(annotations[j].lastIndexOf('.') + 1));
+      }
+      annotationStarts[property + 1] = firstAnnotation + annotations.length;
+    }
+    propertyStarts[row + 1] = first + properties.length;
+  }
+
+  /**
+   * Adds the endpoints of a class to the columns and indexes them without their parameters.
+   *
+   * @param row class row
+   * @param endpoints endpoints in declaration order
+   */
+  private void addEndpoints(final int row, final EndpointModel[] endpoints)
+  {
+    final int first = endpointStarts[row];
+    final EndpointModel[] stripped = new EndpointModel[endpoints.length];
+    for (int i = 0; i < endpoints.length; i++) {
+      final int endpoint = first + i;
+      final DescriptorModel[] parameters = endpoints[i].getParameters();
+      final int firstParameter = parameterStarts[endpoint];
+      for (int j = 0; j < parameters.length; j++) {
+        parameterNameIds[firstParameter + j] = symbols.intern(parameters[j].getName());
+        parameterDescriptionIds[firstParameter + j] = symbols.intern(parameters[j].getDescription());
+        parameterFlags[firstParameter + j] = (parameters[j].isOptional() ? FLAG_OPTIONAL : 0) |
+                (parameters[j].isIgnored() ? FLAG_IGNORED : 0);
+      }
+      parameterStarts[endpoint + 1] = firstParameter + parameters.length;
+      stripped[i] = strip(endpoints[i]);
+    }
+    endpointStarts[row + 1] = first + endpoints.length;
+    endpointIndexes[row] = endpoints.length == 0 ? null : new EndpointIndex(stripped);
+  }
+
+  /**
+   * Returns a copy of an endpoint without parameters, its strings replaced by their interned instances.
+   *
+   * @param endpoint endpoint
+   * @return {@link EndpointModel}
+   */
+  private EndpointModel strip(final EndpointModel endpoint)
+  {
+    final Map<String, String[]> attributes = new TreeMap<>();
+    for (final String name : endpoint.getAttributeNames()) {
+      attributes.put(interned(name), interned(endpoint.getAttribute(name)));
+    }
+    return new EndpointModel(interned(endpoint.getMethodName()), endpoint.isRequestMapping(), attributes,
+            interned(endpoint.getClassPaths()), new DescriptorModel[0], endpoint.getProblem());
+  }
+
+  /**
+   * Returns the interned instance of a string.
+   *
+   * @param value string
+   * @return interned string
+   */
+  private String interned(final String value)
+  {
+    return symbols.get(symbols.intern(value));
+  }
+
+  /**
+   * Replaces strings by their interned instances.
+   *
+   * @param values strings, replaced in place
+   * @return values
+   */
+  private String[] interned(final String[] values)
+  {
+    for (int i = 0; i < values.length; i++) {
+      values[i] = interned(values[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Whether or not a property is annotated with an annotation.
+   *
+   * @param property property
+   * @param annotationId symbol id of the simple name of the annotation
+   * @return true if annotated
+   */
+  private boolean isAnnotated(final int property, final int annotationId)
+  {
+    boolean annotated = false;
+    for (int i = annotationStarts[property]; !annotated && i < annotationStarts[property + 1]; i++) {
+      annotated = annotationId != SymbolTable.NONE && annotationSimpleNameIds[i] == annotationId;
+    }
+    return annotated;
+  }
+
+  /**
+   * Creates a new {@link FieldDescriptor} of a property.
+   *
+   * @param property property
+   * @return {@link FieldDescriptor}
+   */
+  private FieldDescriptor toFieldDescriptor(final int property)
+  {
+    final String path = symbols.get(propertyNameIds[property]);
+    final FieldDescriptor descriptor = (propertyFlags[property] & FLAG_SUBSECTION) != 0 ? subsectionWithPath(path) :
+            fieldWithPath(path);
+    descriptor.description(symbols.get(propertyDescriptionIds[property]));
+    return (propertyFlags[property] & FLAG_OPTIONAL) != 0 ? descriptor.optional() : descriptor;
+  }
+
+  /**
+   * Creates a new {@link ParameterDescriptor} of a parameter.
+   *
+   * @param parameter parameter
+   * @return {@link ParameterDescriptor}
+   */
+  private ParameterDescriptor toParameterDescriptor(final int parameter)
+  {
+    final ParameterDescriptor descriptor = parameterWithName(symbols.get(parameterNameIds[parameter]))
+            .description(symbols.get(parameterDescriptionIds[parameter]));
+    if ((parameterFlags[parameter] & FLAG_OPTIONAL) != 0) {
+      descriptor.optional();
+    }
+    if ((parameterFlags[parameter] & FLAG_IGNORED) != 0) {
+      descriptor.ignored();
+    }
+    return descriptor;
+  }
+
+  /**
+   * Rebuilds the model of a property.
+   *
+   * @param property property
+   * @return {@link PropertyModel}
+   */
+  private PropertyModel toPropertyModel(final int property)
+  {
+    final String[] annotations = new String[annotationStarts[property + 1] - annotationStarts[property]];
+    for (int i = 0; i < annotations.length; i++) {
+      annotations[i] = symbols.get(annotationNameIds[annotationStarts[property] + i]);
+    }
+    return new PropertyModel(symbols.get(propertyNameIds[property]), symbols.get(propertyDescriptionIds[property]),
+            (propertyFlags[property] & FLAG_OPTIONAL) != 0, annotations);
+  }
+
+  /**
+   * Rebuilds the model of an endpoint along with its parameters.
+   *
+   * @param stripped endpoint without parameters
+   * @param endpoint endpoint
+   * @return {@link EndpointModel}
+   */
+  private EndpointModel toEndpointModel(final EndpointModel stripped, final int endpoint)
+  {
+    final DescriptorModel[] parameters = new DescriptorModel[parameterStarts[endpoint + 1] -
+            parameterStarts[endpoint]];
+    for (int i = 0; i < parameters.length; i++) {
+      final int parameter = parameterStarts[endpoint] + i;
+      parameters[i] = new DescriptorModel(DescriptorModel.Kind.PARAMETER, symbols.get(parameterNameIds[parameter]),
+              symbols.get(parameterDescriptionIds[parameter]), null, (parameterFlags[parameter] & FLAG_OPTIONAL) != 0,
+              (parameterFlags[parameter] & FLAG_IGNORED) != 0);
+    }
+    final Map<String, String[]> attributes = new TreeMap<>();
+    for (final String name : stripped.getAttributeNames()) {
+      attributes.put(name, stripped.getAttribute(name));
+    }
+    return new EndpointModel(stripped.getMethodName(), stripped.isRequestMapping(), attributes,
+            stripped.getClassPaths(), parameters, stripped.getProblem());
+  }
+
+}
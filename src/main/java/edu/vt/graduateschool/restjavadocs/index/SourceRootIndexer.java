@@ -0,0 +1,357 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+import edu.vt.graduateschool.restjavadocs.util.CachingSourceRoot;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import edu.vt.graduateschool.restjavadocs.visitor.JacksonAwarePropertyModelListVisitor;
+import edu.vt.graduateschool.restjavadocs.visitor.SpringWebEndpointModelListVisitor;
+import edu.vt.graduateschool.restjavadocs.visitor.VisitorContext;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingParserConfiguration;
+
+/**
+ * Builds a {@link SourceRootIndex} of a whole source root up front. The source root is walked and its files are
+ * parsed in parallel on a dedicated {@link ForkJoinPool}, every worker thread using its own parser and symbol solver
+ * since those are not safe to share between threads. Files are pre-scanned by a {@link SourcePreScan} before parsing,
+ * files it rules out are not indexed and are parsed when documented directly. Each parsed file is visited by the same
+ * Jackson aware field and Spring MVC method logic used when documenting a single class, and only the resulting models
+ * are kept.<br>
+ * <br>
+ * Files which cannot be parsed or visited are left out of the index and are reported when documented directly.
+ *
+ * @author Graduate School
+ */
+public final class SourceRootIndexer
+{
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(SourceRootIndexer.class.getName());
+
+  /**
+   * Stateless visitor of the properties, shared by every worker thread.
+   */
+  private static final JacksonAwarePropertyModelListVisitor PROPERTY_VISITOR =
+          new JacksonAwarePropertyModelListVisitor();
+
+  /**
+   * Stateless visitor of the endpoints, shared by every worker thread.
+   */
+  private static final SpringWebEndpointModelListVisitor ENDPOINT_VISITOR = new SpringWebEndpointModelListVisitor();
+
+  /**
+   * Stateless visitor of the endpoints of directly documented classes, which keeps the problems of malformed Javadocs.
+   */
+  private static final SpringWebEndpointModelListVisitor DOCUMENTED_ENDPOINT_VISITOR =
+          new SpringWebEndpointModelListVisitor(true, true);
+
+  /**
+   * Extractor of the models of directly documented classes, the same instance so extracted models are cached.
+   */
+  private static final Function<CompilationUnit, SourceModel> DOCUMENTATION_MODEL =
+          SourceRootIndexer::createDocumentationModel;
+
+  /**
+   * Number of source files parsed concurrently.
+   */
+  private final int parallelism;
+
+  /**
+   * Pre-scan deciding which source files are parsed.
+   */
+  private final SourcePreScan preScan;
+
+  /**
+   * Default constructor, parses as many files concurrently as there are available processors.
+   */
+  public SourceRootIndexer()
+  {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor with a parallelism level, files are pre-scanned by {@link SourcePreScan#DEFAULT}.
+   *
+   * @param parallelismParam number of source files parsed concurrently, must be positive
+   */
+  public SourceRootIndexer(final int parallelismParam)
+  {
+    this(parallelismParam, SourcePreScan.DEFAULT);
+  }
+
+  /**
+   * Constructor with a parallelism level and a pre-scan.
+   *
+   * @param parallelismParam number of source files parsed concurrently, must be positive
+   * @param preScanParam pre-scan deciding which source files are parsed ({@link SourcePreScan#NONE} parses all)
+   */
+  public SourceRootIndexer(final int parallelismParam, final SourcePreScan preScanParam)
+  {
+    if (parallelismParam < 1) {
+      throw new IllegalArgumentException("parallelism must be positive");
+    }
+    if (preScanParam == null) {
+      throw new IllegalArgumentException("preScan cannot be null");
+    }
+    this.parallelism = parallelismParam;
+    this.preScan = preScanParam;
+  }
+
+  /**
+   * Getter for parallelism.
+   *
+   * @return parallelism
+   */
+  public int getParallelism()
+  {
+    return parallelism;
+  }
+
+  /**
+   * Getter for preScan.
+   *
+   * @return preScan
+   */
+  public SourcePreScan getPreScan()
+  {
+    return preScan;
+  }
+
+  /**
+   * Parses every source file under a source root which passes the pre-scan and returns the index of their models.
+   *
+   * @param sourceRoot base path of the sources folder
+   * @return {@link SourceRootIndex}
+   * @throws IOException if the source root cannot be walked or indexing is interrupted
+   */
+  public SourceRootIndex index(final String sourceRoot) throws IOException
+  {
+    if (sourceRoot == null) {
+      throw new IllegalArgumentException("sourceRoot cannot be null");
+    }
+    final Path root = Paths.get(sourceRoot).toAbsolutePath().normalize();
+    final ThreadLocal<JavaParser> parsers = ThreadLocal.withInitial(() -> createParser(sourceRoot));
+    final AtomicInteger sourceFiles = new AtomicInteger();
+    final AtomicInteger candidates = new AtomicInteger();
+    final ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      final Map<String, SourceModel> models = new HashMap<>();
+      for (final SourceModel model : pool.submit(() -> indexFiles(root, parsers, sourceFiles, candidates)).get()) {
+        models.put(model.getClassName(), model);
+      }
+      LOGGER.log(Level.FINE, "indexed {0} of {1} candidates of {2} source files", new Object[]{
+        models.size(), candidates.get(), sourceFiles.get(),
+      });
+      return new SourceRootIndex(root, models);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("indexing " + root + " was interrupted");
+    } catch (final ExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      if (ex.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) ex.getCause()).getCause();
+      }
+      throw new IllegalStateException("could not index " + root, ex.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Indexes a source root and writes the index to a file which other JVMs map (see {@link MappedSourceRootIndex}).
+   *
+   * @param sourceRoot base path of the sources folder
+   * @param indexFile file the index is written to, replaced if it exists
+   * @return {@link SourceRootIndex}
+   * @throws IOException if the source root cannot be walked, indexing is interrupted or the file cannot be written
+   */
+  public SourceRootIndex index(final String sourceRoot, final Path indexFile) throws IOException
+  {
+    if (indexFile == null) {
+      throw new IllegalArgumentException("indexFile cannot be null");
+    }
+    final SourceRootIndex index = index(sourceRoot);
+    MappedSourceRootIndex.write(index, indexFile);
+    return index;
+  }
+
+  /**
+   * Builds the {@link SourceModel} of the primary class of a compilation unit. Nested classes are visited as part of
+   * their top level class, the same as when documenting a single class.
+   *
+   * @param compilationUnit parsed compilation unit
+   * @return {@link SourceModel} or null if the compilation unit was not parsed from a file or declares no types
+   */
+  public static SourceModel createModel(final CompilationUnit compilationUnit)
+  {
+    return createModel(compilationUnit, ENDPOINT_VISITOR);
+  }
+
+  /**
+   * Builds the {@link SourceModel} of a directly documented compilation unit. Unlike {@link #createModel}, mapped
+   * methods whose Javadocs cannot be parsed are kept along with the problem, which is raised only when descriptors of
+   * such a method are requested.
+   *
+   * @param compilationUnit parsed compilation unit
+   * @return {@link SourceModel} or null if the compilation unit was not parsed from a file or declares no types
+   */
+  public static SourceModel createDocumentationModel(final CompilationUnit compilationUnit)
+  {
+    return createModel(compilationUnit, DOCUMENTED_ENDPOINT_VISITOR);
+  }
+
+  /**
+   * Returns the {@link SourceModel} of a directly documented source file. Models of a {@link CachingSourceRoot} are
+   * cached by its {@link edu.vt.graduateschool.restjavadocs.util.CompilationUnitCache} in place of the compilation
+   * unit, which is released as soon as the model is extracted.
+   *
+   * @param sourceRoot source root
+   * @param sourceFile path to the .java file relative to the source root
+   * @return {@link SourceModel} or null if the source file declares no types
+   * @throws ParseProblemException if the source file could not be read or parsed
+   */
+  public static SourceModel getDocumentationModel(final SourceRoot sourceRoot, final String sourceFile)
+          throws ParseProblemException
+  {
+    if (sourceRoot instanceof CachingSourceRoot) {
+      return ((CachingSourceRoot) sourceRoot).extract("", sourceFile, DOCUMENTATION_MODEL);
+    }
+    return createDocumentationModel(sourceRoot.parse("", sourceFile));
+  }
+
+  /**
+   * Builds the {@link SourceModel} of the primary class of a compilation unit.
+   *
+   * @param compilationUnit parsed compilation unit
+   * @param endpointVisitor visitor of the endpoints
+   * @return {@link SourceModel} or null if the compilation unit was not parsed from a file or declares no types
+   */
+  private static SourceModel createModel(final CompilationUnit compilationUnit,
+          final SpringWebEndpointModelListVisitor endpointVisitor)
+  {
+    final Optional<String> typeName = compilationUnit.getPrimaryTypeName();
+    if (typeName.isEmpty() || compilationUnit.getTypes().isEmpty()) {
+      return null;
+    }
+    final String packageName = compilationUnit.getPackageDeclaration().map(PackageDeclaration::getNameAsString)
+            .orElse(null);
+    return new SourceModel(packageName == null ? typeName.get() : packageName + "." + typeName.get(),
+            compilationUnit.accept(PROPERTY_VISITOR, VisitorContext.DEFAULT).toArray(PropertyModel[]::new),
+            compilationUnit.accept(endpointVisitor, VisitorContext.DEFAULT).toArray(EndpointModel[]::new));
+  }
+
+  /**
+   * Walks a source root and indexes the source files passing the pre-scan, meant to run on the indexing pool.
+   *
+   * @param root source root
+   * @param parsers parser of each worker thread
+   * @param sourceFiles counts the source files walked
+   * @param candidates counts the source files passing the pre-scan
+   * @return models of the files which could be indexed
+   * @throws IOException if the source root cannot be walked
+   */
+  private List<SourceModel> indexFiles(final Path root, final ThreadLocal<JavaParser> parsers,
+          final AtomicInteger sourceFiles, final AtomicInteger candidates)
+          throws IOException
+  {
+    try (Stream<Path> paths = Files.walk(root)) {
+      return paths.parallel().filter(SourceRootIndexer::isSourceFile).peek(file -> sourceFiles.incrementAndGet())
+              .filter(this::isCandidate).peek(file -> candidates.incrementAndGet())
+              .map(file -> indexFile(parsers.get(), file)).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Whether or not a source file passes the pre-scan, a file which cannot be pre-scanned is left to the parser.
+   *
+   * @param file source file
+   * @return true if the file should be parsed
+   */
+  private boolean isCandidate(final Path file)
+  {
+    try {
+      return preScan.isCandidate(file);
+    } catch (final IOException ex) {
+      LOGGER.log(Level.FINE, "could not pre-scan source file " + file, ex);
+      return true;
+    }
+  }
+
+  /**
+   * Parses and visits a single source file.
+   *
+   * @param parser parser of the current thread
+   * @param file source file
+   * @return {@link SourceModel} or null if the file could not be indexed
+   */
+  private static SourceModel indexFile(final JavaParser parser, final Path file)
+  {
+    SourceModel model = null;
+    try {
+      final ParseResult<CompilationUnit> result = parser.parse(file);
+      if (result.isSuccessful() && result.getResult().isPresent()) {
+        model = createModel(result.getResult().get());
+      } else {
+        LOGGER.log(Level.WARNING, "skipping unparsable source file {0}", file);
+      }
+    } catch (final IOException | RuntimeException ex) {
+      LOGGER.log(Level.WARNING, "skipping source file " + file, ex);
+    }
+    return model;
+  }
+
+  /**
+   * Returns a new parser resolving symbols against a source root.
+   *
+   * @param sourceRoot base path of the sources folder
+   * @return {@link JavaParser}
+   */
+  private static JavaParser createParser(final String sourceRoot)
+  {
+    return new JavaParser(getResolvingParserConfiguration(sourceRoot));
+  }
+
+  /**
+   * Whether or not a path is a Java source file.
+   *
+   * @param path path
+   * @return true if a regular file with the Java extension
+   */
+  private static boolean isSourceFile(final Path path)
+  {
+    return Files.isRegularFile(path) && path.getFileName().toString().endsWith(LangUtils.JAVA_FILE_EXTENSION);
+  }
+
+}
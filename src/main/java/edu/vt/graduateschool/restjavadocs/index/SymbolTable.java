@@ -0,0 +1,108 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table of interned strings identified by dense int ids, so that the class names, paths and descriptions repeated
+ * across the documented classes of a source root are each held once and can be stored in primitive columns. Ids are
+ * assigned in order of first interning, starting at 0.<br>
+ * <br>
+ * Strings are interned while an index is built, which is not safe to share between threads. Once built and safely
+ * published, lookups may be shared.
+ *
+ * @author Graduate School
+ */
+public final class SymbolTable
+{
+
+  /**
+   * Id of the absent (null) symbol.
+   */
+  public static final int NONE = -1;
+
+  /**
+   * Ids by symbol.
+   */
+  private final Map<String, Integer> ids = new HashMap<>();
+
+  /**
+   * Symbols by id.
+   */
+  private String[] symbols = new String[16];
+
+  /**
+   * Number of symbols.
+   */
+  private int size;
+
+  /**
+   * Returns the id of a string, interning it if it is not in the table yet.
+   *
+   * @param symbol string to intern, may be null
+   * @return id or {@link #NONE} if the string is null
+   */
+  public int intern(final String symbol)
+  {
+    if (symbol == null) {
+      return NONE;
+    }
+    final Integer id = ids.get(symbol);
+    if (id != null) {
+      return id;
+    }
+    if (size == symbols.length) {
+      symbols = Arrays.copyOf(symbols, Math.max(16, size * 2));
+    }
+    symbols[size] = symbol;
+    ids.put(symbol, size);
+    return size++;
+  }
+
+  /**
+   * Returns the id of a string without interning it.
+   *
+   * @param symbol string to look up, may be null
+   * @return id or {@link #NONE} if the string is null or not in the table
+   */
+  public int find(final String symbol)
+  {
+    final Integer id = symbol == null ? null : ids.get(symbol);
+    return id == null ? NONE : id;
+  }
+
+  /**
+   * Returns the string of an id.
+   *
+   * @param id id returned by {@link #intern(String)}
+   * @return interned string or null if the id is {@link #NONE}
+   */
+  public String get(final int id)
+  {
+    if (id < NONE || id >= size) {
+      throw new IllegalArgumentException("unknown symbol id " + id);
+    }
+    return id == NONE ? null : symbols[id];
+  }
+
+  /**
+   * Returns the number of interned strings.
+   *
+   * @return size
+   */
+  public int size()
+  {
+    return size;
+  }
+
+  /**
+   * Releases the unused capacity of the table once every string is interned.
+   */
+  public void trim()
+  {
+    symbols = Arrays.copyOf(symbols, size);
+  }
+
+}
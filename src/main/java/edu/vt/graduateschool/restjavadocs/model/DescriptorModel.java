@@ -0,0 +1,344 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.restdocs.payload.SubsectionDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.springframework.restdocs.snippet.AbstractDescriptor;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+
+/**
+ * Immutable, source independent representation of a generated descriptor. Only the values this library produces are
+ * modeled: the path or name, description, {@link JsonFieldType}, optional and ignored flags. Descriptors carrying
+ * attributes or custom types are not representable, see {@link #isRepresentable(AbstractDescriptor)}.
+ *
+ * @author Graduate School
+ */
+public final class DescriptorModel
+{
+
+  /**
+   * Kind of descriptor.
+   */
+  public enum Kind
+  {
+
+    /**
+     * {@link FieldDescriptor} created with fieldWithPath.
+     */
+    FIELD,
+
+    /**
+     * {@link SubsectionDescriptor}.
+     */
+    SUBSECTION,
+
+    /**
+     * {@link ParameterDescriptor}.
+     */
+    PARAMETER
+
+  }
+
+  /**
+   * Kind of descriptor.
+   */
+  private final Kind kind;
+
+  /**
+   * Field path or parameter name.
+   */
+  private final String name;
+
+  /**
+   * Description, may be null.
+   */
+  private final String description;
+
+  /**
+   * Field type, may be null.
+   */
+  private final JsonFieldType type;
+
+  /**
+   * Whether or not the descriptor is optional.
+   */
+  private final boolean optional;
+
+  /**
+   * Whether or not the descriptor is ignored.
+   */
+  private final boolean ignored;
+
+  /**
+   * Constructor with values.
+   *
+   * @param kindParam kind of descriptor
+   * @param nameParam field path or parameter name
+   * @param descriptionParam description, may be null
+   * @param typeParam field type, may be null
+   * @param optionalParam whether or not the descriptor is optional
+   * @param ignoredParam whether or not the descriptor is ignored
+   */
+  public DescriptorModel(final Kind kindParam, final String nameParam, final String descriptionParam,
+          final JsonFieldType typeParam, final boolean optionalParam, final boolean ignoredParam)
+  {
+    if (kindParam == null || nameParam == null) {
+      throw new IllegalArgumentException("neither kind nor name may be null");
+    }
+    if (kindParam == Kind.PARAMETER && typeParam != null) {
+      throw new IllegalArgumentException("parameter descriptors cannot have a type");
+    }
+    this.kind = kindParam;
+    this.name = nameParam;
+    this.description = descriptionParam;
+    this.type = typeParam;
+    this.optional = optionalParam;
+    this.ignored = ignoredParam;
+  }
+
+  /**
+   * Getter for kind.
+   *
+   * @return kind
+   */
+  public Kind getKind()
+  {
+    return kind;
+  }
+
+  /**
+   * Getter for name.
+   *
+   * @return name
+   */
+  public String getName()
+  {
+    return name;
+  }
+
+  /**
+   * Getter for description.
+   *
+   * @return description
+   */
+  public String getDescription()
+  {
+    return description;
+  }
+
+  /**
+   * Getter for type.
+   *
+   * @return type
+   */
+  public JsonFieldType getType()
+  {
+    return type;
+  }
+
+  /**
+   * Getter for optional.
+   *
+   * @return optional
+   */
+  public boolean isOptional()
+  {
+    return optional;
+  }
+
+  /**
+   * Getter for ignored.
+   *
+   * @return ignored
+   */
+  public boolean isIgnored()
+  {
+    return ignored;
+  }
+
+  /**
+   * Returns whether or not a descriptor can be modeled without losing information.
+   *
+   * @param descriptor descriptor to check
+   * @return true if {@link #of(FieldDescriptor)} or {@link #of(ParameterDescriptor)} preserve all of its values
+   */
+  public static boolean isRepresentable(final AbstractDescriptor<?> descriptor)
+  {
+    boolean representable = descriptor != null && descriptor.getAttributes().isEmpty() &&
+            (descriptor.getDescription() == null || descriptor.getDescription() instanceof String);
+    if (representable && descriptor instanceof FieldDescriptor) {
+      final Object fieldType = ((FieldDescriptor) descriptor).getType();
+      representable = fieldType == null || fieldType instanceof JsonFieldType;
+    } else {
+      representable = representable && descriptor instanceof ParameterDescriptor;
+    }
+    return representable;
+  }
+
+  /**
+   * Creates a model of a {@link FieldDescriptor}.
+   *
+   * @param descriptor field descriptor
+   * @return {@link DescriptorModel}
+   */
+  public static DescriptorModel of(final FieldDescriptor descriptor)
+  {
+    if (!isRepresentable(descriptor)) {
+      throw new IllegalArgumentException("descriptor cannot be modeled: " + descriptor);
+    }
+    return new DescriptorModel(descriptor instanceof SubsectionDescriptor ? Kind.SUBSECTION : Kind.FIELD,
+            descriptor.getPath(), (String) descriptor.getDescription(), (JsonFieldType) descriptor.getType(),
+            descriptor.isOptional(), descriptor.isIgnored());
+  }
+
+  /**
+   * Creates a model of a {@link ParameterDescriptor}.
+   *
+   * @param descriptor parameter descriptor
+   * @return {@link DescriptorModel}
+   */
+  public static DescriptorModel of(final ParameterDescriptor descriptor)
+  {
+    if (!isRepresentable(descriptor)) {
+      throw new IllegalArgumentException("descriptor cannot be modeled: " + descriptor);
+    }
+    return new DescriptorModel(Kind.PARAMETER, descriptor.getName(), (String) descriptor.getDescription(), null,
+            descriptor.isOptional(), descriptor.isIgnored());
+  }
+
+  /**
+   * Creates a new {@link FieldDescriptor} from this model.
+   *
+   * @return {@link FieldDescriptor}
+   */
+  public FieldDescriptor toFieldDescriptor()
+  {
+    if (kind == Kind.PARAMETER) {
+      throw new IllegalStateException("parameter models cannot be converted to field descriptors");
+    }
+    final FieldDescriptor descriptor = kind == Kind.SUBSECTION ? subsectionWithPath(name) : fieldWithPath(name);
+    descriptor.description(description);
+    if (type != null) {
+      descriptor.type(type);
+    }
+    if (optional) {
+      descriptor.optional();
+    }
+    if (ignored) {
+      descriptor.ignored();
+    }
+    return descriptor;
+  }
+
+  /**
+   * Creates a new {@link ParameterDescriptor} from this model.
+   *
+   * @return {@link ParameterDescriptor}
+   */
+  public ParameterDescriptor toParameterDescriptor()
+  {
+    if (kind != Kind.PARAMETER) {
+      throw new IllegalStateException("field models cannot be converted to parameter descriptors");
+    }
+    final ParameterDescriptor descriptor = parameterWithName(name).description(description);
+    if (optional) {
+      descriptor.optional();
+    }
+    if (ignored) {
+      descriptor.ignored();
+    }
+    return descriptor;
+  }
+
+  /**
+   * Writes this model to the output.
+   *
+   * @param out output to write to
+   * @throws IOException if the output cannot be written
+   */
+  public void writeTo(final DataOutput out) throws IOException
+  {
+    out.writeByte(kind.ordinal());
+    out.writeUTF(name);
+    out.writeBoolean(description != null);
+    if (description != null) {
+      out.writeUTF(description);
+    }
+    out.writeBoolean(type != null);
+    if (type != null) {
+      out.writeUTF(type.name());
+    }
+    out.writeBoolean(optional);
+    out.writeBoolean(ignored);
+  }
+
+  /**
+   * Reads a model written by {@link #writeTo(DataOutput)}.
+   *
+   * @param in input to read from
+   * @return {@link DescriptorModel}
+   * @throws IOException if the input cannot be read or is malformed
+   */
+  public static DescriptorModel readFrom(final DataInput in) throws IOException
+  {
+    final int ordinal = in.readUnsignedByte();
+    if (ordinal >= Kind.values().length) {
+      throw new IOException("unknown descriptor kind " + ordinal);
+    }
+    final Kind kind = Kind.values()[ordinal];
+    final String name = in.readUTF();
+    final String description = in.readBoolean() ? in.readUTF() : null;
+    JsonFieldType type = null;
+    if (in.readBoolean()) {
+      try {
+        type = JsonFieldType.valueOf(in.readUTF());
+      } catch (final IllegalArgumentException ex) {
+        throw new IOException(ex);
+      }
+    }
+    final boolean optional = in.readBoolean();
+    final boolean ignored = in.readBoolean();
+    try {
+      return new DescriptorModel(kind, name, description, type, optional, ignored);
+    } catch (final IllegalArgumentException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DescriptorModel)) {
+      return false;
+    }
+    final DescriptorModel other = (DescriptorModel) obj;
+    return kind == other.kind && name.equals(other.name) && Objects.equals(description, other.description) &&
+            type == other.type && optional == other.optional && ignored == other.ignored;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(kind, name, description, type, optional, ignored);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "DescriptorModel{kind=" + kind + ", name=" + name + ", description=" + description + ", type=" + type +
+            ", optional=" + optional + ", ignored=" + ignored + '}';
+  }
+
+}
@@ -0,0 +1,345 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+
+/**
+ * Immutable model of a controller method mapped by a Spring MVC annotation along with its documented request
+ * parameters. A model may carry the problem which prevented describing its parameters instead, so a malformed Javadoc
+ * only fails the documentation of the endpoints it is matched for.
+ *
+ * @author Graduate School
+ */
+public final class EndpointModel
+{
+
+  /**
+   * Name of the controller method.
+   */
+  private final String methodName;
+
+  /**
+   * Whether the method is mapped by RequestMapping, rather than by a shortcut such as GetMapping.
+   */
+  private final boolean requestMapping;
+
+  /**
+   * Explicitly declared attributes of the mapping annotation, path and value are aliases of each other.
+   */
+  private final Map<String, String[]> attributes;
+
+  /**
+   * Paths of the class level mapping, empty if none.
+   */
+  private final String[] classPaths;
+
+  /**
+   * Attribute values pre-hashed for matching, including the paths combined with the class level paths.
+   */
+  private final Map<String, Set<String>> attributeSets;
+
+  /**
+   * Documented request parameters.
+   */
+  private final DescriptorModel[] parameters;
+
+  /**
+   * Why the request parameters could not be described, null if they were.
+   */
+  private final String problem;
+
+  /**
+   * Constructor with values of a method of a class without class level mapping paths.
+   *
+   * @param methodNameParam name of the controller method
+   * @param requestMappingParam whether the method is mapped by RequestMapping
+   * @param attributesParam explicitly declared attributes of the mapping annotation
+   * @param parametersParam documented request parameters
+   */
+  public EndpointModel(final String methodNameParam, final boolean requestMappingParam,
+          final Map<String, String[]> attributesParam, final DescriptorModel[] parametersParam)
+  {
+    this(methodNameParam, requestMappingParam, attributesParam, new String[0], parametersParam);
+  }
+
+  /**
+   * Constructor with values.
+   *
+   * @param methodNameParam name of the controller method
+   * @param requestMappingParam whether the method is mapped by RequestMapping
+   * @param attributesParam explicitly declared attributes of the mapping annotation
+   * @param classPathsParam paths of the class level mapping, empty if none
+   * @param parametersParam documented request parameters
+   */
+  public EndpointModel(final String methodNameParam, final boolean requestMappingParam,
+          final Map<String, String[]> attributesParam, final String[] classPathsParam,
+          final DescriptorModel[] parametersParam)
+  {
+    this(methodNameParam, requestMappingParam, attributesParam, classPathsParam, parametersParam, null);
+  }
+
+  /**
+   * Constructor with values and the problem which prevented describing the request parameters.
+   *
+   * @param methodNameParam name of the controller method
+   * @param requestMappingParam whether the method is mapped by RequestMapping
+   * @param attributesParam explicitly declared attributes of the mapping annotation
+   * @param classPathsParam paths of the class level mapping, empty if none
+   * @param parametersParam documented request parameters
+   * @param problemParam why the request parameters could not be described, null if they were
+   */
+  public EndpointModel(final String methodNameParam, final boolean requestMappingParam,
+          final Map<String, String[]> attributesParam, final String[] classPathsParam,
+          final DescriptorModel[] parametersParam, final String problemParam)
+  {
+    if (methodNameParam == null || attributesParam == null || classPathsParam == null || parametersParam == null) {
+      throw new IllegalArgumentException("neither method name, attributes, class paths nor parameters may be null");
+    }
+    for (final DescriptorModel parameter : parametersParam) {
+      if (parameter.getKind() != DescriptorModel.Kind.PARAMETER) {
+        throw new IllegalArgumentException("endpoint parameters must be parameter descriptors");
+      }
+    }
+    final Map<String, String[]> attributesCopy = new TreeMap<>();
+    for (final Map.Entry<String, String[]> attribute : attributesParam.entrySet()) {
+      attributesCopy.put(attribute.getKey(), attribute.getValue().clone());
+    }
+    this.methodName = methodNameParam;
+    this.requestMapping = requestMappingParam;
+    this.attributes = Collections.unmodifiableMap(attributesCopy);
+    this.classPaths = classPathsParam.clone();
+    this.attributeSets = RequestMappingMatcher.hash(attributesCopy, classPaths);
+    this.parameters = parametersParam.clone();
+    this.problem = problemParam;
+  }
+
+  /**
+   * Getter for methodName.
+   *
+   * @return methodName
+   */
+  public String getMethodName()
+  {
+    return methodName;
+  }
+
+  /**
+   * Getter for requestMapping.
+   *
+   * @return requestMapping
+   */
+  public boolean isRequestMapping()
+  {
+    return requestMapping;
+  }
+
+  /**
+   * Returns the names of the explicitly declared mapping attributes.
+   *
+   * @return unmodifiable {@link Set} of attribute names
+   */
+  public Set<String> getAttributeNames()
+  {
+    return attributes.keySet();
+  }
+
+  /**
+   * Returns the values of a mapping attribute.
+   *
+   * @param name attribute name
+   * @return copy of the values or null if the attribute is not declared
+   */
+  public String[] getAttribute(final String name)
+  {
+    final String[] values = attributes.get(name);
+    return values == null ? null : values.clone();
+  }
+
+  /**
+   * Getter for classPaths.
+   *
+   * @return copy of classPaths
+   */
+  public String[] getClassPaths()
+  {
+    return classPaths.clone();
+  }
+
+  /**
+   * Returns the paths matched by path filters, i.e. the declared paths along with their combinations with the class
+   * level paths.
+   *
+   * @return unmodifiable {@link Set} of paths, empty if no path is declared
+   */
+  public Set<String> getPaths()
+  {
+    return attributeSets.getOrDefault(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH, Collections.emptySet());
+  }
+
+  /**
+   * Getter for parameters.
+   *
+   * @return copy of parameters
+   */
+  public DescriptorModel[] getParameters()
+  {
+    return parameters.clone();
+  }
+
+  /**
+   * Getter for problem.
+   *
+   * @return why the request parameters could not be described, null if they were
+   */
+  public String getProblem()
+  {
+    return problem;
+  }
+
+  /**
+   * Whether or not the mapping annotation contains the values provided in the filter map, following the rules of
+   * {@link edu.vt.graduateschool.restjavadocs.util.JavaParserUtils#filterAnnotationExpression}. The method
+   * expression is ignored unless the endpoint is mapped by RequestMapping.
+   *
+   * @param filterMap values to filter by, null or empty matches every endpoint
+   * @return true if a match is found
+   * @throws IllegalArgumentException if a filter value is null
+   */
+  public boolean matches(final Map<String, String[]> filterMap) throws IllegalArgumentException
+  {
+    return matches(RequestMappingMatcher.compile(filterMap));
+  }
+
+  /**
+   * Whether or not the mapping annotation matches a compiled filter. Endpoints without any explicit mapping attribute
+   * match every filter.
+   *
+   * @param matcher compiled filter
+   * @return true if a match is found
+   */
+  public boolean matches(final RequestMappingMatcher matcher)
+  {
+    return attributes.isEmpty() || matcher.matches(attributeSets, requestMapping);
+  }
+
+  /**
+   * Writes this model to the output.
+   *
+   * @param out output to write to
+   * @throws IOException if the output cannot be written
+   */
+  public void writeTo(final DataOutput out) throws IOException
+  {
+    out.writeUTF(methodName);
+    out.writeBoolean(requestMapping);
+    out.writeShort(attributes.size());
+    for (final Map.Entry<String, String[]> attribute : attributes.entrySet()) {
+      out.writeUTF(attribute.getKey());
+      out.writeShort(attribute.getValue().length);
+      for (final String value : attribute.getValue()) {
+        out.writeUTF(value);
+      }
+    }
+    out.writeShort(classPaths.length);
+    for (final String classPath : classPaths) {
+      out.writeUTF(classPath);
+    }
+    out.writeShort(parameters.length);
+    for (final DescriptorModel parameter : parameters) {
+      parameter.writeTo(out);
+    }
+    out.writeBoolean(problem != null);
+    if (problem != null) {
+      out.writeUTF(problem);
+    }
+  }
+
+  /**
+   * Reads a model written by {@link #writeTo(DataOutput)}.
+   *
+   * @param in input to read from
+   * @return {@link EndpointModel}
+   * @throws IOException if the input cannot be read or is malformed
+   */
+  public static EndpointModel readFrom(final DataInput in) throws IOException
+  {
+    final String methodName = in.readUTF();
+    final boolean requestMapping = in.readBoolean();
+    final Map<String, String[]> attributes = new TreeMap<>();
+    final int attributeCount = in.readUnsignedShort();
+    for (int i = 0; i < attributeCount; i++) {
+      final String name = in.readUTF();
+      final String[] values = new String[in.readUnsignedShort()];
+      for (int j = 0; j < values.length; j++) {
+        values[j] = in.readUTF();
+      }
+      attributes.put(name, values);
+    }
+    final String[] classPaths = new String[in.readUnsignedShort()];
+    for (int i = 0; i < classPaths.length; i++) {
+      classPaths[i] = in.readUTF();
+    }
+    final DescriptorModel[] parameters = new DescriptorModel[in.readUnsignedShort()];
+    for (int i = 0; i < parameters.length; i++) {
+      parameters[i] = DescriptorModel.readFrom(in);
+    }
+    final String problem = in.readBoolean() ? in.readUTF() : null;
+    try {
+      return new EndpointModel(methodName, requestMapping, attributes, classPaths, parameters, problem);
+    } catch (final IllegalArgumentException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof EndpointModel)) {
+      return false;
+    }
+    final EndpointModel other = (EndpointModel) obj;
+    if (!methodName.equals(other.methodName) || requestMapping != other.requestMapping ||
+            !attributes.keySet().equals(other.attributes.keySet()) || !Arrays.equals(classPaths, other.classPaths) ||
+            !Arrays.equals(parameters, other.parameters) || !Objects.equals(problem, other.problem)) {
+      return false;
+    }
+    for (final Map.Entry<String, String[]> attribute : attributes.entrySet()) {
+      if (!Arrays.equals(attribute.getValue(), other.attributes.get(attribute.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(methodName, requestMapping, attributes.keySet()) * 31 + Arrays.hashCode(parameters);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder("EndpointModel{methodName=").append(methodName)
+            .append(", requestMapping=").append(requestMapping).append(", attributes={");
+    for (final Map.Entry<String, String[]> attribute : attributes.entrySet()) {
+      sb.append(attribute.getKey()).append('=').append(Arrays.toString(attribute.getValue())).append(' ');
+    }
+    return sb.append("}, classPaths=").append(Arrays.toString(classPaths)).append(", parameters=")
+            .append(Arrays.toString(parameters)).append(", problem=").append(problem).append('}').toString();
+  }
+
+}
@@ -0,0 +1,192 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Objects;
+import org.springframework.restdocs.payload.FieldDescriptor;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+
+/**
+ * Immutable model of a documented bean property, i.e. a field as seen through its Jackson annotations.
+ *
+ * @author Graduate School
+ */
+public final class PropertyModel
+{
+
+  /**
+   * Name of the property in the payload.
+   */
+  private final String name;
+
+  /**
+   * Description of the property.
+   */
+  private final String description;
+
+  /**
+   * Whether or not the property is optional.
+   */
+  private final boolean optional;
+
+  /**
+   * Names of the annotations present on the field, either qualified or as written in the source.
+   */
+  private final String[] annotations;
+
+  /**
+   * Constructor with values.
+   *
+   * @param nameParam name of the property in the payload
+   * @param descriptionParam description of the property
+   * @param optionalParam whether or not the property is optional
+   * @param annotationsParam names of the annotations present on the field, either qualified or as written
+   */
+  public PropertyModel(final String nameParam, final String descriptionParam, final boolean optionalParam,
+          final String[] annotationsParam)
+  {
+    if (nameParam == null || descriptionParam == null || annotationsParam == null) {
+      throw new IllegalArgumentException("neither name, description nor annotations may be null");
+    }
+    this.name = nameParam;
+    this.description = descriptionParam;
+    this.optional = optionalParam;
+    this.annotations = annotationsParam.clone();
+  }
+
+  /**
+   * Getter for name.
+   *
+   * @return name
+   */
+  public String getName()
+  {
+    return name;
+  }
+
+  /**
+   * Getter for description.
+   *
+   * @return description
+   */
+  public String getDescription()
+  {
+    return description;
+  }
+
+  /**
+   * Getter for optional.
+   *
+   * @return optional
+   */
+  public boolean isOptional()
+  {
+    return optional;
+  }
+
+  /**
+   * Getter for annotations.
+   *
+   * @return copy of annotations
+   */
+  public String[] getAnnotations()
+  {
+    return annotations.clone();
+  }
+
+  /**
+   * Returns whether or not the field is annotated with the given annotation. Annotations are compared by simple name,
+   * the same way the source parser compares them.
+   *
+   * @param annotation annotation class, null matches every property
+   * @return true if annotated or no annotation is given
+   */
+  public boolean isAnnotated(final Class<? extends Annotation> annotation)
+  {
+    boolean annotated = annotation == null;
+    for (int i = 0; !annotated && i < annotations.length; i++) {
+      annotated = annotations[i].substring(annotations[i].lastIndexOf('.') + 1).equals(annotation.getSimpleName());
+    }
+    return annotated;
+  }
+
+  /**
+   * Creates a new {@link FieldDescriptor} of this property.
+   *
+   * @return {@link FieldDescriptor}
+   */
+  public FieldDescriptor toFieldDescriptor()
+  {
+    final FieldDescriptor descriptor = subsectionWithPath(name).description(description);
+    return optional ? descriptor.optional() : descriptor;
+  }
+
+  /**
+   * Writes this model to the output.
+   *
+   * @param out output to write to
+   * @throws IOException if the output cannot be written
+   */
+  public void writeTo(final DataOutput out) throws IOException
+  {
+    out.writeUTF(name);
+    out.writeUTF(description);
+    out.writeBoolean(optional);
+    out.writeShort(annotations.length);
+    for (final String annotation : annotations) {
+      out.writeUTF(annotation);
+    }
+  }
+
+  /**
+   * Reads a model written by {@link #writeTo(DataOutput)}.
+   *
+   * @param in input to read from
+   * @return {@link PropertyModel}
+   * @throws IOException if the input cannot be read
+   */
+  public static PropertyModel readFrom(final DataInput in) throws IOException
+  {
+    final String name = in.readUTF();
+    final String description = in.readUTF();
+    final boolean optional = in.readBoolean();
+    final String[] annotations = new String[in.readUnsignedShort()];
+    for (int i = 0; i < annotations.length; i++) {
+      annotations[i] = in.readUTF();
+    }
+    return new PropertyModel(name, description, optional, annotations);
+  }
+
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof PropertyModel)) {
+      return false;
+    }
+    final PropertyModel other = (PropertyModel) obj;
+    return name.equals(other.name) && description.equals(other.description) && optional == other.optional &&
+            Arrays.equals(annotations, other.annotations);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(name, description, optional) * 31 + Arrays.hashCode(annotations);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "PropertyModel{name=" + name + ", description=" + description + ", optional=" + optional +
+            ", annotations=" + Arrays.toString(annotations) + '}';
+  }
+
+}
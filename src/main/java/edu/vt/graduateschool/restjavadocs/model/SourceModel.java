@@ -0,0 +1,231 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import edu.vt.graduateschool.restjavadocs.index.EndpointIndex;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+
+/**
+ * Immutable documentation model of a single class: its documented bean properties and its mapped controller methods.
+ * Both are kept in declaration order so the generated descriptors follow the source. A model holds only names, types,
+ * mapping attributes and Javadoc text, nothing of the parsed source, so it is far smaller than the compilation unit it
+ * was extracted from, which may be released right after.
+ *
+ * @author Graduate School
+ */
+public final class SourceModel
+{
+
+  /**
+   * Marks the beginning of a serialized source model.
+   */
+  private static final int MAGIC = 0x524A4458;
+
+  /**
+   * Version of the serialized layout.
+   */
+  private static final int FORMAT_VERSION = 3;
+
+  /**
+   * Binary name of the class.
+   */
+  private final String className;
+
+  /**
+   * Documented bean properties.
+   */
+  private final PropertyModel[] properties;
+
+  /**
+   * Mapped controller methods.
+   */
+  private final EndpointModel[] endpoints;
+
+  /**
+   * Index of the mapped controller methods.
+   */
+  private final EndpointIndex endpointIndex;
+
+  /**
+   * Constructor with values.
+   *
+   * @param classNameParam binary name of the class
+   * @param propertiesParam documented bean properties
+   * @param endpointsParam mapped controller methods
+   */
+  public SourceModel(final String classNameParam, final PropertyModel[] propertiesParam,
+          final EndpointModel[] endpointsParam)
+  {
+    if (classNameParam == null || propertiesParam == null || endpointsParam == null) {
+      throw new IllegalArgumentException("neither class name, properties nor endpoints may be null");
+    }
+    this.className = classNameParam;
+    this.properties = propertiesParam.clone();
+    this.endpoints = endpointsParam.clone();
+    this.endpointIndex = new EndpointIndex(endpoints);
+  }
+
+  /**
+   * Getter for className.
+   *
+   * @return className
+   */
+  public String getClassName()
+  {
+    return className;
+  }
+
+  /**
+   * Getter for properties.
+   *
+   * @return copy of properties
+   */
+  public PropertyModel[] getProperties()
+  {
+    return properties.clone();
+  }
+
+  /**
+   * Getter for endpoints.
+   *
+   * @return copy of endpoints
+   */
+  public EndpointModel[] getEndpoints()
+  {
+    return endpoints.clone();
+  }
+
+  /**
+   * Returns new {@link FieldDescriptor}s of the documented properties.
+   *
+   * @param annotated specified annotation on fields, null means all
+   * @return {@link FieldDescriptor}[]
+   */
+  public FieldDescriptor[] fields(final Class<? extends Annotation> annotated)
+  {
+    final List<FieldDescriptor> descriptors = new ArrayList<>(properties.length);
+    for (final PropertyModel property : properties) {
+      if (property.isAnnotated(annotated)) {
+        descriptors.add(property.toFieldDescriptor());
+      }
+    }
+    return descriptors.toArray(FieldDescriptor[]::new);
+  }
+
+  /**
+   * Returns new {@link ParameterDescriptor}s of the request parameters of all endpoints matching the filter.
+   *
+   * @param annotationFilterValues value map to filter for matching annotation attributes, null means all
+   * @return {@link ParameterDescriptor}[]
+   * @throws IllegalArgumentException if the request parameters of a matching endpoint could not be described
+   */
+  public ParameterDescriptor[] descriptors(final Map<String, String[]> annotationFilterValues)
+          throws IllegalArgumentException
+  {
+    return matchingDescriptors(RequestMappingMatcher.compile(annotationFilterValues));
+  }
+
+  /**
+   * Returns new {@link ParameterDescriptor}s of the request parameters of all endpoints matching a compiled filter.
+   *
+   * @param matcher compiled filter
+   * @return {@link ParameterDescriptor}[]
+   * @throws IllegalArgumentException if the request parameters of a matching endpoint could not be described
+   */
+  public ParameterDescriptor[] matchingDescriptors(final RequestMappingMatcher matcher)
+          throws IllegalArgumentException
+  {
+    final List<ParameterDescriptor> descriptors = new ArrayList<>();
+    for (final EndpointModel endpoint : endpointIndex.findMatchingEndpoints(matcher)) {
+      if (endpoint.getProblem() != null) {
+        throw new IllegalArgumentException(endpoint.getProblem());
+      }
+      for (final DescriptorModel parameter : endpoint.getParameters()) {
+        descriptors.add(parameter.toParameterDescriptor());
+      }
+    }
+    return descriptors.toArray(ParameterDescriptor[]::new);
+  }
+
+  /**
+   * Writes this model to the output.
+   *
+   * @param out output to write to
+   * @throws IOException if the output cannot be written
+   */
+  public void writeTo(final DataOutput out) throws IOException
+  {
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeUTF(className);
+    out.writeShort(properties.length);
+    for (final PropertyModel property : properties) {
+      property.writeTo(out);
+    }
+    out.writeShort(endpoints.length);
+    for (final EndpointModel endpoint : endpoints) {
+      endpoint.writeTo(out);
+    }
+  }
+
+  /**
+   * Reads a model written by {@link #writeTo(DataOutput)}.
+   *
+   * @param in input to read from
+   * @return {@link SourceModel}
+   * @throws IOException if the input cannot be read or was not written by a compatible version
+   */
+  public static SourceModel readFrom(final DataInput in) throws IOException
+  {
+    if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+      throw new IOException("unsupported source model format");
+    }
+    final String className = in.readUTF();
+    final PropertyModel[] properties = new PropertyModel[in.readUnsignedShort()];
+    for (int i = 0; i < properties.length; i++) {
+      properties[i] = PropertyModel.readFrom(in);
+    }
+    final EndpointModel[] endpoints = new EndpointModel[in.readUnsignedShort()];
+    for (int i = 0; i < endpoints.length; i++) {
+      endpoints[i] = EndpointModel.readFrom(in);
+    }
+    return new SourceModel(className, properties, endpoints);
+  }
+
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SourceModel)) {
+      return false;
+    }
+    final SourceModel other = (SourceModel) obj;
+    return className.equals(other.className) && Arrays.equals(properties, other.properties) &&
+            Arrays.equals(endpoints, other.endpoints);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return (className.hashCode() * 31 + Arrays.hashCode(properties)) * 31 + Arrays.hashCode(endpoints);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "SourceModel{className=" + className + ", properties=" + Arrays.toString(properties) + ", endpoints=" +
+            Arrays.toString(endpoints) + '}';
+  }
+
+}
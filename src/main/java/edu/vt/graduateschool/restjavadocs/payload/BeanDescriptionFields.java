@@ -0,0 +1,281 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.payload;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import org.springframework.restdocs.payload.FieldDescriptor;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getCommentText;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getFilePathFromClass;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.hasSourceFile;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+
+/**
+ * Generates {@link FieldDescriptor}s from the serialization {@link BeanDescription} of a class as introspected by an
+ * {@link ObjectMapper}. Property names, ignorals, mixins, naming strategies and {@link JsonUnwrapped} are decided by
+ * Jackson itself, the sources are only parsed for the comment and {@link JsonProperty} of each property's field or
+ * getter, so no type is ever resolved. As in the source based documentation, a property is optional if its type is Java
+ * 8 {@link Optional}, or if Jackson does not report it as required and its field, or its getter when the field is not
+ * annotated, is annotated with {@link JsonProperty}(required=false). Properties of a class without sources under the
+ * source root are left out. An instance documents one class and is not shared between threads.
+ *
+ * @author Graduate School
+ */
+final class BeanDescriptionFields
+{
+
+  /**
+   * Mapper introspecting the classes.
+   */
+  private final ObjectMapper mapper;
+
+  /**
+   * Source root of the documented classes.
+   */
+  private final SourceRoot sourceRoot;
+
+  /**
+   * Annotation required on the field of each property (null means none).
+   */
+  private final Class<? extends Annotation> annotated;
+
+  /**
+   * Declarations of the classes looked up so far.
+   */
+  private final Map<Class<?>, Optional<ClassOrInterfaceDeclaration>> declarations = new HashMap<>();
+
+  /**
+   * Constructor with values.
+   *
+   * @param mapperParam mapper introspecting the classes
+   * @param sourceRootParam source root of the documented classes
+   * @param annotatedParam annotation required on the field of each property, null means none
+   */
+  BeanDescriptionFields(final ObjectMapper mapperParam, final SourceRoot sourceRootParam,
+          final Class<? extends Annotation> annotatedParam)
+  {
+    if (mapperParam == null || sourceRootParam == null) {
+      throw new IllegalArgumentException("neither mapper nor sourceRoot may be null");
+    }
+    this.mapper = mapperParam;
+    this.sourceRoot = sourceRootParam;
+    this.annotated = annotatedParam;
+  }
+
+  /**
+   * Returns the descriptors of the serialized properties of a class.
+   *
+   * @param beanClass class of the bean
+   * @return {@link FieldDescriptor}[]
+   * @throws ParseProblemException if a source could not be parsed
+   */
+  FieldDescriptor[] fields(final Class<?> beanClass)
+          throws ParseProblemException
+  {
+    if (beanClass == null) {
+      throw new IllegalArgumentException("beanClass cannot be null");
+    }
+    final List<FieldDescriptor> descriptors = new ArrayList<>();
+    addFields(beanClass, NameTransformer.NOP, new HashSet<>(), descriptors);
+    return descriptors.toArray(FieldDescriptor[]::new);
+  }
+
+  /**
+   * Adds the descriptors of the serialized properties of a class, the properties of unwrapped values in place.
+   *
+   * @param beanClass class of the bean
+   * @param unwrapper renames the properties of an unwrapped value
+   * @param unwrapping classes being unwrapped, guards against cycles
+   * @param descriptors generated descriptors
+   */
+  private void addFields(final Class<?> beanClass, final NameTransformer unwrapper, final Set<Class<?>> unwrapping,
+          final List<FieldDescriptor> descriptors)
+  {
+    if (!unwrapping.add(beanClass)) {
+      return;
+    }
+    final SerializationConfig config = mapper.getSerializationConfig();
+    final BeanDescription description = config.introspect(mapper.constructType(beanClass));
+    final Set<String> ignored = config.getDefaultPropertyIgnorals(beanClass, description.getClassInfo())
+            .findIgnoredForSerialization();
+    for (final BeanPropertyDefinition property : description.findProperties()) {
+      if (isDocumented(property, ignored)) {
+        final JsonUnwrapped unwrapped = property.getAccessor().getAnnotation(JsonUnwrapped.class);
+        if (unwrapped != null && unwrapped.enabled()) {
+          addFields(property.getRawPrimaryType(), NameTransformer.chainedTransformer(unwrapper,
+                  NameTransformer.simpleTransformer(unwrapped.prefix(), unwrapped.suffix())), unwrapping, descriptors);
+        } else {
+          addField(property, unwrapper, descriptors);
+        }
+      }
+    }
+    unwrapping.remove(beanClass);
+  }
+
+  /**
+   * Adds the descriptor of a property if the property is commented.
+   *
+   * @param property serialized property
+   * @param unwrapper renames the properties of an unwrapped value
+   * @param descriptors generated descriptors
+   */
+  private void addField(final BeanPropertyDefinition property, final NameTransformer unwrapper,
+          final List<FieldDescriptor> descriptors)
+  {
+    final Optional<Comment> comment = findComment(property);
+    if (comment.isPresent()) {
+      final FieldDescriptor descriptor = subsectionWithPath(unwrapper.transform(property.getName()))
+              .description(getCommentText(comment.get()));
+      descriptors.add(isOptional(property) ? descriptor.optional() : descriptor);
+    }
+  }
+
+  /**
+   * Whether or not a property is serialized and documented, properties ignored by the class, back references and
+   * properties whose field is not annotated as required are left out.
+   *
+   * @param property property of the bean
+   * @param ignored names of the properties ignored by the class
+   * @return true if documented
+   */
+  private boolean isDocumented(final BeanPropertyDefinition property, final Set<String> ignored)
+  {
+    final AnnotationIntrospector.ReferenceProperty reference = property.findReferenceType();
+    return property.couldSerialize() && property.getAccessor() != null && !ignored.contains(property.getName()) &&
+            (reference == null || !reference.isBackReference()) &&
+            (annotated == null || property.getField() != null && property.getField().hasAnnotation(annotated));
+  }
+
+  /**
+   * Returns whether or not a property is optional, either by {@link JsonProperty}(required=false) or by being a Java 8
+   * {@link Optional}. Jackson reports every {@link JsonProperty} leaving out required as not required, so the
+   * annotation of the field, or of the getter when the field is not annotated, is read from the source as well.
+   *
+   * @param property property of the bean
+   * @return true if optional
+   */
+  private boolean isOptional(final BeanPropertyDefinition property)
+  {
+    if (Optional.class.equals(property.getRawPrimaryType())) {
+      return true;
+    }
+    if (!Boolean.FALSE.equals(property.getMetadata().getRequired())) {
+      return false;
+    }
+    return findNotRequired(property.getField()).or(() -> findNotRequired(property.getGetter())).orElse(false);
+  }
+
+  /**
+   * Returns whether or not the {@link JsonProperty} of a field or getter in the source of its declaring class is
+   * annotated with required=false.
+   *
+   * @param member field or getter, may be null
+   * @return true if not required, empty if the member is not annotated with {@link JsonProperty} in its source
+   */
+  private Optional<Boolean> findNotRequired(final AnnotatedMember member)
+  {
+    return member == null ? Optional.empty() : findMemberDeclaration(member)
+            .flatMap(node -> node.getAnnotationByClass(JsonProperty.class))
+            .map(JavaParserUtils::isAnnotationNotRequired);
+  }
+
+  /**
+   * Returns the getter comment if the getter is annotated with {@link JsonProperty} or {@link JsonGetter} and the
+   * field is not annotated with {@link JsonProperty}, or if the property has no field, the field comment otherwise.
+   *
+   * @param property property of the bean
+   * @return {@link Comment} optional
+   */
+  private Optional<Comment> findComment(final BeanPropertyDefinition property)
+  {
+    final AnnotatedField field = property.getField();
+    final AnnotatedMethod getter = property.getGetter();
+    final boolean getterFirst = getter != null && (field == null || !field.hasAnnotation(JsonProperty.class) &&
+            (getter.hasAnnotation(JsonProperty.class) || getter.hasAnnotation(JsonGetter.class)));
+    Optional<Comment> comment = getterFirst ? findMemberComment(getter) : Optional.empty();
+    if (comment.isEmpty() && field != null) {
+      comment = findMemberComment(field);
+    }
+    return comment;
+  }
+
+  /**
+   * Returns the comment of a field or getter in the source of its declaring class.
+   *
+   * @param member field or getter
+   * @return {@link Comment} optional, empty if the class has no source
+   */
+  private Optional<Comment> findMemberComment(final AnnotatedMember member)
+  {
+    return findMemberDeclaration(member).flatMap(BodyDeclaration::getComment);
+  }
+
+  /**
+   * Returns the declaration of a field or getter in the source of its declaring class.
+   *
+   * @param member field or getter
+   * @return field or method {@link BodyDeclaration} optional, empty if the class has no source
+   */
+  private Optional<BodyDeclaration<?>> findMemberDeclaration(final AnnotatedMember member)
+  {
+    final Optional<ClassOrInterfaceDeclaration> declaration =
+            declarations.computeIfAbsent(member.getDeclaringClass(), this::findDeclaration);
+    if (declaration.isEmpty()) {
+      return Optional.empty();
+    }
+    if (member instanceof AnnotatedField) {
+      return declaration.get().getFieldByName(member.getName()).map(field -> field);
+    }
+    return declaration.get().getMethodsBySignature(member.getName()).stream().findFirst().map(method -> method);
+  }
+
+  /**
+   * Returns the declaration of a top level or member class from the source of its top level class.
+   *
+   * @param declaringClass class declaring a member
+   * @return {@link ClassOrInterfaceDeclaration} optional, empty if the class has no source
+   * @throws ParseProblemException if the source could not be parsed
+   */
+  private Optional<ClassOrInterfaceDeclaration> findDeclaration(final Class<?> declaringClass)
+          throws ParseProblemException
+  {
+    Class<?> topLevelClass = declaringClass;
+    while (topLevelClass.getEnclosingClass() != null) {
+      topLevelClass = topLevelClass.getEnclosingClass();
+    }
+    final String canonicalName = declaringClass.getCanonicalName();
+    final String sourceFile = getFilePathFromClass(topLevelClass);
+    if (canonicalName == null || !hasSourceFile(sourceRoot, sourceFile)) {
+      return Optional.empty();
+    }
+    final Predicate<ClassOrInterfaceDeclaration> named = declaration -> declaration.getFullyQualifiedName()
+            .filter(canonicalName::equals).isPresent();
+    return sourceRoot.parse("", sourceFile).findFirst(ClassOrInterfaceDeclaration.class, named);
+  }
+
+}
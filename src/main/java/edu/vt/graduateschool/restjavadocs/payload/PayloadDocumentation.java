@@ -2,14 +2,19 @@
 package edu.vt.graduateschool.restjavadocs.payload;
 
 import java.lang.annotation.Annotation;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.index.DescriptorIndex;
+import edu.vt.graduateschool.restjavadocs.index.MappedSourceRootIndex;
+import edu.vt.graduateschool.restjavadocs.index.SourceRootIndexer;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
 import edu.vt.graduateschool.restjavadocs.util.LangUtils;
-import edu.vt.graduateschool.restjavadocs.visitor.JacksonAwareFieldDescriptorFieldVisitor;
+import edu.vt.graduateschool.restjavadocs.util.ParserProfile;
 import org.springframework.restdocs.payload.FieldDescriptor;
 
 import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getFilePathFromClass;
-import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingSourceRoot;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getSourceRoot;
 import static edu.vt.graduateschool.restjavadocs.util.LangUtils.JAVA_SOURCE_MAIN_PATH;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
@@ -96,8 +101,7 @@ public final class PayloadDocumentation
           final Class beanClass, final Class<? extends Annotation> annotated)
           throws ParseProblemException
   {
-    final String sourcesBasePath = sourceRoot == null ? JAVA_SOURCE_MAIN_PATH : sourceRoot;
-    return paginatedFields(getResolvingSourceRoot(sourcesBasePath), beanClass, annotated);
+    return paginatedFields(fields(sourceRoot, beanClass, annotated));
   }
 
   /**
@@ -117,9 +121,20 @@ public final class PayloadDocumentation
   public static FieldDescriptor[] paginatedFields(final SourceRoot sourceRoot,
           final Class beanClass, final Class<? extends Annotation> annotated)
           throws ParseProblemException
+  {
+    return paginatedFields(fields(sourceRoot, beanClass, annotated));
+  }
+
+  /**
+   * Returns the given bean {@link FieldDescriptor}s as the content of a page with basic Spring pagination fields
+   * appended.
+   *
+   * @param beanDescriptors descriptors of the bean, which are replaced by their content[] counterparts
+   * @return {@link FieldDescriptor}[]
+   */
+  public static FieldDescriptor[] paginatedFields(final FieldDescriptor[] beanDescriptors)
   {
     final FieldDescriptor[] pageDescriptors = paginationFields();
-    final FieldDescriptor[] beanDescriptors = fields(sourceRoot, beanClass, annotated);
     final FieldDescriptor[] finalResult = new FieldDescriptor[(pageDescriptors.length - 1) +
             beanDescriptors.length];
     for (int i = 0; i < beanDescriptors.length; i++) {
@@ -227,7 +242,9 @@ public final class PayloadDocumentation
   }
 
   /**
-   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs.
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs. Without a source root
+   * the class is looked up in the compile time index (see {@link DescriptorIndex}) and the index file named by
+   * {@link MappedSourceRootIndex#FILE_PROPERTY} first, an explicit source root is always parsed.
    *
    * @param sourceRoot base path of the sources folder (if null
    * <a href="https://maven.apache.org/guides/introduction/introduction-to-the-standard-directory-layout.html">
@@ -243,10 +260,83 @@ public final class PayloadDocumentation
           final Class<? extends Annotation> annotated)
           throws ParseProblemException
   {
+    final SourceModel model = sourceRoot == null ? DescriptorIndex.find(beanClass) : null;
+    if (model != null) {
+      return model.fields(annotated);
+    }
+    final FieldDescriptor[] mapped = sourceRoot == null ? mappedFields(beanClass, annotated) : null;
+    if (mapped != null) {
+      return mapped;
+    }
     final String sourcesBasePath = sourceRoot == null ? JAVA_SOURCE_MAIN_PATH : sourceRoot;
     return fields(sourcesBasePath, getFilePathFromClass(beanClass), annotated);
   }
 
+  /**
+   * Returns {@link FieldDescriptor}[] of the properties an {@link ObjectMapper} serializes for a given class, described
+   * by the Javadocs of their fields or getters.
+   *
+   * @param mapper mapper deciding the property names, ignorals and required flags
+   * @param beanClass The class of the bean
+   * @see #introspectedFields(com.fasterxml.jackson.databind.ObjectMapper, com.github.javaparser.utils.SourceRoot,
+   * java.lang.Class, java.lang.Class)
+   * @return Generated descriptors from Javadocs
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static FieldDescriptor[] introspectedFields(final ObjectMapper mapper, final Class beanClass)
+          throws ParseProblemException
+  {
+    return introspectedFields(mapper, (String) null, beanClass, null);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] of the properties an {@link ObjectMapper} serializes for a given class, described
+   * by the Javadocs of their fields or getters.
+   *
+   * @param mapper mapper deciding the property names, ignorals and required flags
+   * @param sourceRoot base path of the sources folder (if null
+   * <a href="https://maven.apache.org/guides/introduction/introduction-to-the-standard-directory-layout.html">
+   * "./src/main/java/"</a> is used)
+   * @param beanClass The class of the bean
+   * @param annotated specified annotation on fields
+   * @see #introspectedFields(com.fasterxml.jackson.databind.ObjectMapper, com.github.javaparser.utils.SourceRoot,
+   * java.lang.Class, java.lang.Class)
+   * @return Generated descriptors from Javadocs
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static FieldDescriptor[] introspectedFields(final ObjectMapper mapper, final String sourceRoot,
+          final Class beanClass, final Class<? extends Annotation> annotated)
+          throws ParseProblemException
+  {
+    final String sourcesBasePath = sourceRoot == null ? JAVA_SOURCE_MAIN_PATH : sourceRoot;
+    return introspectedFields(mapper, getSourceRoot(sourcesBasePath, ParserProfile.LEAN), beanClass, annotated);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] of the properties an {@link ObjectMapper} serializes for a given class. The
+   * property names, ignorals (including mixins, naming strategies and unwrapped values) and required flags are taken
+   * from the serialization {@link com.fasterxml.jackson.databind.BeanDescription} of the class, the sources are only
+   * parsed for the Javadocs and {@link com.fasterxml.jackson.annotation.JsonProperty} of each property's field or
+   * getter and no type is resolved. Properties are optional by required=false or by being Java 8
+   * {@link java.util.Optional}, as in the source based documentation, properties without Javadocs are left out.
+   *
+   * @param mapper mapper deciding the property names, ignorals and required flags
+   * @param sourceRoot source root
+   * @param beanClass The class of the bean
+   * @param annotated specified annotation on fields
+   * @return Generated descriptors from Javadocs
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static FieldDescriptor[] introspectedFields(final ObjectMapper mapper, final SourceRoot sourceRoot,
+          final Class beanClass, final Class<? extends Annotation> annotated)
+          throws ParseProblemException
+  {
+    return new BeanDescriptionFields(mapper, sourceRoot, annotated).fields(beanClass);
+  }
+
   /**
    * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs.
    *
@@ -261,11 +351,12 @@ public final class PayloadDocumentation
           final Class<? extends Annotation> annotated)
           throws ParseProblemException
   {
-    return fields(getResolvingSourceRoot(sourceRoot), sourceFile, annotated);
+    return fields(getSourceRoot(sourceRoot, ParserProfile.forDocumentation()), sourceFile, annotated);
   }
 
   /**
-   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs.
+   * Returns {@link FieldDescriptor}[] from a given java class source by using field's Javadocs, through the
+   * {@link SourceModel} of the source so its compilation unit is not kept.
    *
    * @param sourceRoot source root
    * @param sourceFile path to the .java file
@@ -278,9 +369,22 @@ public final class PayloadDocumentation
           final Class<? extends Annotation> annotated)
           throws ParseProblemException
   {
-    final JacksonAwareFieldDescriptorFieldVisitor visitor = new JacksonAwareFieldDescriptorFieldVisitor();
-    visitor.visit(sourceRoot.parse("", sourceFile), annotated);
-    return visitor.getFieldDescriptors().toArray(FieldDescriptor[]::new);
+    final SourceModel model = SourceRootIndexer.getDocumentationModel(sourceRoot, sourceFile);
+    return model == null ? new FieldDescriptor[0] : model.fields(annotated);
+  }
+
+  /**
+   * Returns {@link FieldDescriptor}[] of a class from the index file named by
+   * {@link MappedSourceRootIndex#FILE_PROPERTY}.
+   *
+   * @param beanClass The class of the bean that contains JacksonAnnotation fields
+   * @param annotated specified annotation on fields
+   * @return Generated descriptors from the index file or null if there is none or it does not index the class
+   */
+  private static FieldDescriptor[] mappedFields(final Class beanClass, final Class<? extends Annotation> annotated)
+  {
+    final MappedSourceRootIndex index = MappedSourceRootIndex.getShared();
+    return index == null ? null : index.fields(beanClass, annotated);
   }
 
 }
@@ -0,0 +1,506 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.processor;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import edu.vt.graduateschool.restjavadocs.index.DescriptorIndex;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+
+/**
+ * Annotation processor which captures the Javadocs of beans and controllers during compilation and writes a
+ * {@link SourceModel} per top level class to {@link DescriptorIndex#RESOURCE_DIRECTORY}, so descriptors can be
+ * generated at test time without parsing sources. The rules of the Jackson aware field visitors and of the Spring MVC
+ * method visitor are followed with these differences:
+ * <ul>
+ * <li>only Javadoc comments are available to annotation processors, block and line comments are not captured
+ * <li>constant expressions in mapping annotations are evaluated by the compiler rather than kept as written
+ * <li>classes declaring nested types are not indexed and are documented by parsing their sources
+ * </ul>
+ * The processor is not registered as a service, it has to be named explicitly (i.e. with the compiler's -processor
+ * option).
+ *
+ * @author Graduate School
+ */
+@SupportedAnnotationTypes({"org.springframework.stereotype.Controller",
+  "org.springframework.web.bind.annotation.*", "com.fasterxml.jackson.annotation.*"})
+public final class DescriptorIndexProcessor extends AbstractProcessor
+{
+
+  /**
+   * Qualified name of the RequestMapping annotation.
+   */
+  private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+
+  /**
+   * Qualified names of the shortcut mapping annotations in order of precedence.
+   */
+  private static final String[] SHORTCUT_MAPPINGS = {
+    "org.springframework.web.bind.annotation.GetMapping",
+    "org.springframework.web.bind.annotation.PostMapping",
+    "org.springframework.web.bind.annotation.DeleteMapping",
+    "org.springframework.web.bind.annotation.PatchMapping",
+    "org.springframework.web.bind.annotation.PutMapping",
+  };
+
+  /**
+   * Qualified name of the RequestParam annotation.
+   */
+  private static final String REQUEST_PARAM = "org.springframework.web.bind.annotation.RequestParam";
+
+  /**
+   * Qualified name of the JsonIgnore annotation.
+   */
+  private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+
+  /**
+   * Qualified name of the JsonIgnoreProperties annotation.
+   */
+  private static final String JSON_IGNORE_PROPERTIES = "com.fasterxml.jackson.annotation.JsonIgnoreProperties";
+
+  /**
+   * Qualified name of the JsonBackReference annotation.
+   */
+  private static final String JSON_BACK_REFERENCE = "com.fasterxml.jackson.annotation.JsonBackReference";
+
+  /**
+   * Qualified name of the JsonProperty annotation.
+   */
+  private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+
+  /**
+   * Qualified name of the JsonGetter annotation.
+   */
+  private static final String JSON_GETTER = "com.fasterxml.jackson.annotation.JsonGetter";
+
+  /**
+   * Qualified name of the JsonAnyGetter annotation.
+   */
+  private static final String JSON_ANY_GETTER = "com.fasterxml.jackson.annotation.JsonAnyGetter";
+
+  /**
+   * Annotation attribute holding the annotation's value.
+   */
+  private static final String VALUE = "value";
+
+  /**
+   * Annotation attribute indicating whether or not an element is required.
+   */
+  private static final String REQUIRED = "required";
+
+  /**
+   * Javadoc block tag describing parameters.
+   */
+  private static final String PARAM_TAG = "@param";
+
+  /**
+   * Binary names of the classes already indexed by this processor.
+   */
+  private final Set<String> indexed = new HashSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion()
+  {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv)
+  {
+    for (final TypeElement annotation : annotations) {
+      for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        final TypeElement type = getTopLevelType(element);
+        if (type != null && indexed.add(processingEnv.getElementUtils().getBinaryName(type).toString())) {
+          index(type);
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Builds the {@link SourceModel} of a class.
+   *
+   * @param type top level class
+   * @return {@link SourceModel}
+   */
+  SourceModel createModel(final TypeElement type)
+  {
+    final List<PropertyModel> properties = new ArrayList<>();
+    final String[] ignoredProperties = getAnnotationValues(findAnnotation(type, JSON_IGNORE_PROPERTIES), VALUE);
+    final Set<String> ignored = new HashSet<>();
+    if (ignoredProperties != null) {
+      ignored.addAll(List.of(ignoredProperties));
+    }
+    for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      final PropertyModel property = createProperty(type, field);
+      if (property != null && !ignored.contains(property.getName())) {
+        properties.add(property);
+      }
+    }
+    final List<EndpointModel> endpoints = new ArrayList<>();
+    final String[] classPaths = getClassPaths(type);
+    for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      final EndpointModel endpoint = createEndpoint(method, classPaths);
+      if (endpoint != null) {
+        endpoints.add(endpoint);
+      }
+    }
+    return new SourceModel(processingEnv.getElementUtils().getBinaryName(type).toString(),
+            properties.toArray(PropertyModel[]::new), endpoints.toArray(EndpointModel[]::new));
+  }
+
+  /**
+   * Writes the index entry of a class, classes declaring nested types are skipped.
+   *
+   * @param type top level class
+   */
+  private void index(final TypeElement type)
+  {
+    if (!ElementFilter.typesIn(type.getEnclosedElements()).isEmpty()) {
+      return;
+    }
+    final SourceModel model = createModel(type);
+    try {
+      final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+              DescriptorIndex.getResourceName(model.getClassName()), type);
+      try (OutputStream os = resource.openOutputStream(); DataOutputStream out = new DataOutputStream(os)) {
+        model.writeTo(out);
+      }
+    } catch (final IOException ex) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+              "could not write documentation index: " + ex.getMessage(), type);
+    }
+  }
+
+  /**
+   * Builds the model of a documented field.
+   *
+   * @param type class declaring the field
+   * @param field field
+   * @return {@link PropertyModel} or null if the field is not documented
+   */
+  private PropertyModel createProperty(final TypeElement type, final VariableElement field)
+  {
+    if (field.getModifiers().contains(Modifier.STATIC) || findAnnotation(field, JSON_IGNORE) != null ||
+            findAnnotation(field, JSON_BACK_REFERENCE) != null) {
+      return null;
+    }
+    final AnnotationMirror fieldProperty = findAnnotation(field, JSON_PROPERTY);
+    String name = field.getSimpleName().toString();
+    boolean optional = isOptionalType(field.asType());
+    Element commented = field;
+    if (fieldProperty == null) {
+      final ExecutableElement getter = findGetter(type, field);
+      if (getter != null && findAnnotation(getter, JSON_IGNORE) == null) {
+        final AnnotationMirror getterProperty = findAnnotation(getter, JSON_PROPERTY);
+        final AnnotationMirror getterGetter = findAnnotation(getter, JSON_GETTER);
+        final String getterName = getterProperty != null ? getAnnotationValue(getterProperty, VALUE) :
+                getAnnotationValue(getterGetter, VALUE);
+        name = getterName == null ? name : getterName;
+        optional = optional || getterProperty != null && isNotRequired(getterProperty);
+        if (findAnnotation(getter, JSON_BACK_REFERENCE) == null && (getterProperty != null ||
+                getterGetter != null || findAnnotation(getter, JSON_ANY_GETTER) != null)) {
+          commented = getter;
+        }
+      }
+    } else {
+      final String propertyName = getAnnotationValue(fieldProperty, VALUE);
+      name = propertyName == null ? name : propertyName;
+      optional = optional || isNotRequired(fieldProperty);
+    }
+    final String comment = processingEnv.getElementUtils().getDocComment(commented);
+    if (comment == null) {
+      return null;
+    }
+    final List<String> annotations = new ArrayList<>();
+    for (final AnnotationMirror annotation : field.getAnnotationMirrors()) {
+      annotations.add(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString());
+    }
+    return new PropertyModel(name, comment.trim(), optional, annotations.toArray(String[]::new));
+  }
+
+  /**
+   * Builds the model of a mapped controller method.
+   *
+   * @param method method
+   * @param classPaths paths of the class level mapping
+   * @return {@link EndpointModel} or null if the method is not mapped
+   */
+  private EndpointModel createEndpoint(final ExecutableElement method, final String[] classPaths)
+  {
+    AnnotationMirror mapping = findAnnotation(method, REQUEST_MAPPING);
+    final boolean requestMapping = mapping != null;
+    for (int i = 0; mapping == null && i < SHORTCUT_MAPPINGS.length; i++) {
+      mapping = findAnnotation(method, SHORTCUT_MAPPINGS[i]);
+    }
+    if (mapping == null) {
+      return null;
+    }
+    final Map<String, String[]> attributes = new HashMap<>();
+    for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute :
+            mapping.getElementValues().entrySet()) {
+      final String name = attribute.getKey().getSimpleName().toString();
+      final String[] values = toStrings(attribute.getValue());
+      attributes.put(name, values);
+      if (RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH.equals(name)) {
+        attributes.put(VALUE, values);
+      }
+      if (VALUE.equals(name)) {
+        attributes.put(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH, values);
+      }
+    }
+    final Map<String, String> paramTags = getParamTags(processingEnv.getElementUtils().getDocComment(method));
+    final List<DescriptorModel> parameters = new ArrayList<>();
+    for (final VariableElement parameter : method.getParameters()) {
+      final AnnotationMirror requestParam = findAnnotation(parameter, REQUEST_PARAM);
+      final String description = paramTags.get(parameter.getSimpleName().toString());
+      if (requestParam != null && description != null) {
+        parameters.add(new DescriptorModel(DescriptorModel.Kind.PARAMETER, parameter.getSimpleName().toString(),
+                description, null, isOptionalType(parameter.asType()) || isNotRequired(requestParam), false));
+      }
+    }
+    return new EndpointModel(method.getSimpleName().toString(), requestMapping, attributes, classPaths,
+            parameters.toArray(DescriptorModel[]::new));
+  }
+
+  /**
+   * Returns the paths of the {@link #REQUEST_MAPPING} of a class, which prefix the paths of its methods.
+   *
+   * @param type class
+   * @return paths, empty if the class is not mapped or declares no path
+   */
+  private static String[] getClassPaths(final TypeElement type)
+  {
+    final AnnotationMirror mapping = findAnnotation(type, REQUEST_MAPPING);
+    String[] paths = getAnnotationValues(mapping, RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH);
+    if (paths == null) {
+      paths = getAnnotationValues(mapping, VALUE);
+    }
+    return paths == null ? new String[0] : paths;
+  }
+
+  /**
+   * Returns the getter of a field as named by bean conventions, null if none found.
+   *
+   * @param type class declaring the field
+   * @param field field
+   * @return getter or null
+   */
+  private ExecutableElement findGetter(final TypeElement type, final VariableElement field)
+  {
+    final String fieldName = field.getSimpleName().toString();
+    final String getterName = (field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get") +
+            fieldName.toUpperCase().substring(0, 1) + fieldName.substring(1);
+    for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      if (method.getSimpleName().contentEquals(getterName) && method.getParameters().isEmpty() &&
+              processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Whether or not a type is Java 8 {@link java.util.Optional}.
+   *
+   * @param type type
+   * @return true if {@link java.util.Optional}
+   */
+  private static boolean isOptionalType(final TypeMirror type)
+  {
+    return type.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) type).asElement())
+            .getQualifiedName().contentEquals(java.util.Optional.class.getName());
+  }
+
+  /**
+   * Whether or not an annotation declares required = false.
+   *
+   * @param annotation annotation
+   * @return true if not required
+   */
+  private static boolean isNotRequired(final AnnotationMirror annotation)
+  {
+    return Boolean.FALSE.toString().equals(getAnnotationValue(annotation, REQUIRED));
+  }
+
+  /**
+   * Returns the top level class or interface enclosing an element.
+   *
+   * @param element element
+   * @return enclosing top level type or null if it is neither a class nor an interface
+   */
+  private static TypeElement getTopLevelType(final Element element)
+  {
+    Element current = element;
+    while (current != null && current.getEnclosingElement() != null &&
+            current.getEnclosingElement().getKind() != ElementKind.PACKAGE &&
+            current.getEnclosingElement().getKind() != ElementKind.MODULE) {
+      current = current.getEnclosingElement();
+    }
+    if (current == null || current.getKind() != ElementKind.CLASS && current.getKind() != ElementKind.INTERFACE) {
+      return null;
+    }
+    return (TypeElement) current;
+  }
+
+  /**
+   * Returns an annotation of an element by qualified name.
+   *
+   * @param element annotated element
+   * @param annotationName qualified name of the annotation
+   * @return {@link AnnotationMirror} or null
+   */
+  private static AnnotationMirror findAnnotation(final Element element, final String annotationName)
+  {
+    for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+              .contentEquals(annotationName)) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the explicitly declared values of an annotation attribute delimited by a comma (',').
+   *
+   * @param annotation annotation, may be null
+   * @param attributeName attribute name
+   * @return value or null if not declared
+   */
+  private static String getAnnotationValue(final AnnotationMirror annotation, final String attributeName)
+  {
+    final String[] values = getAnnotationValues(annotation, attributeName);
+    return values == null ? null : String.join(",", values);
+  }
+
+  /**
+   * Returns the explicitly declared values of an annotation attribute.
+   *
+   * @param annotation annotation, may be null
+   * @param attributeName attribute name
+   * @return values or null if not declared
+   */
+  private static String[] getAnnotationValues(final AnnotationMirror annotation, final String attributeName)
+  {
+    if (annotation != null) {
+      for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute :
+              annotation.getElementValues().entrySet()) {
+        if (attribute.getKey().getSimpleName().contentEquals(attributeName)) {
+          return toStrings(attribute.getValue());
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Converts an annotation value to string literals. Enum constants are qualified by their simple type name (i.e.
+   * RequestMethod.GET) as they are usually written.
+   *
+   * @param annotationValue annotation value
+   * @return string literals
+   */
+  private static String[] toStrings(final AnnotationValue annotationValue)
+  {
+    final Object value = annotationValue.getValue();
+    final String[] values;
+    if (value instanceof List) {
+      final List<?> elements = (List<?>) value;
+      final List<String> strings = new ArrayList<>();
+      for (final Object element : elements) {
+        strings.addAll(List.of(toStrings((AnnotationValue) element)));
+      }
+      values = strings.toArray(String[]::new);
+    } else if (value instanceof VariableElement) {
+      final VariableElement constant = (VariableElement) value;
+      values = new String[]{constant.getEnclosingElement().getSimpleName() + "." + constant.getSimpleName()};
+    } else if (value instanceof TypeMirror) {
+      values = new String[]{value + ".class"};
+    } else {
+      values = new String[]{String.valueOf(value)};
+    }
+    return values;
+  }
+
+  /**
+   * Returns the descriptions of the param block tags of a Javadoc comment. Descriptions spanning multiple lines are
+   * joined by single spaces, parameters without a description are left out.
+   *
+   * @param comment Javadoc comment, may be null
+   * @return map of parameter names to descriptions
+   */
+  private static Map<String, String> getParamTags(final String comment)
+  {
+    final Map<String, String> tags = new LinkedHashMap<>();
+    if (comment == null) {
+      return tags;
+    }
+    String name = null;
+    final StringBuilder description = new StringBuilder();
+    for (final String line : comment.split("\n")) {
+      final String trimmed = line.trim();
+      if (trimmed.startsWith("@")) {
+        putParamTag(tags, name, description);
+        name = null;
+        description.setLength(0);
+        final String[] tokens = trimmed.split("\\s+", 3);
+        if (PARAM_TAG.equals(tokens[0]) && tokens.length > 1) {
+          name = tokens[1];
+          description.append(tokens.length > 2 ? tokens[2] : "");
+        }
+      } else if (name != null && !trimmed.isEmpty()) {
+        description.append(' ').append(trimmed);
+      }
+    }
+    putParamTag(tags, name, description);
+    return tags;
+  }
+
+  /**
+   * Adds a described param tag.
+   *
+   * @param tags map of parameter names to descriptions
+   * @param name parameter name, may be null
+   * @param description parameter description
+   */
+  private static void putParamTag(final Map<String, String> tags, final String name, final CharSequence description)
+  {
+    final String text = description.toString().trim().replaceAll("\\s+", " ");
+    if (name != null && !text.isEmpty()) {
+      tags.put(name, text);
+    }
+  }
+
+}
@@ -0,0 +1,292 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable Spring style path pattern used to filter request mappings by path. Patterns are matched segment by
+ * segment:
+ * <ul>
+ * <li><b>**</b> matches zero or more segments
+ * <li><b>*</b> matches exactly one segment
+ * <li><b>?</b> and <b>*</b> within a segment match one or any number of characters of that segment
+ * <li>any other segment must be equal, so a URI template variable such as <b>{id}</b> only matches the same template
+ * variable of a path
+ * </ul>
+ * Empty segments are ignored, so leading and trailing slashes are irrelevant. A pattern without any wildcard is
+ * literal and matches only the exact same path string.
+ *
+ * @author Graduate School
+ */
+public final class PathPattern
+{
+
+  /**
+   * Segment matching zero or more segments.
+   */
+  public static final String MULTI_SEGMENT_WILDCARD = "**";
+
+  /**
+   * Segment matching exactly one segment.
+   */
+  public static final String SEGMENT_WILDCARD = "*";
+
+  /**
+   * Path separator.
+   */
+  private static final String SEPARATOR = "/";
+
+  /**
+   * Pattern as given.
+   */
+  private final String pattern;
+
+  /**
+   * Non empty segments of the pattern.
+   */
+  private final String[] segments;
+
+  /**
+   * Compiled expressions of the segments containing wildcard characters, null for other segments.
+   */
+  private final Pattern[] expressions;
+
+  /**
+   * Whether the pattern contains no wildcard.
+   */
+  private final boolean literal;
+
+  /**
+   * Constructor with values.
+   *
+   * @param patternParam pattern as given
+   */
+  private PathPattern(final String patternParam)
+  {
+    this.pattern = patternParam;
+    this.segments = segments(patternParam);
+    this.expressions = new Pattern[segments.length];
+    boolean literalPattern = true;
+    for (int i = 0; i < segments.length; i++) {
+      final String segment = segments[i];
+      if (MULTI_SEGMENT_WILDCARD.equals(segment)) {
+        literalPattern = false;
+      } else if (!isVariable(segment) && (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0)) {
+        expressions[i] = toExpression(segment);
+        literalPattern = false;
+      }
+    }
+    this.literal = literalPattern;
+  }
+
+  /**
+   * Compiles a path pattern.
+   *
+   * @param pattern Spring style path pattern
+   * @return {@link PathPattern}
+   * @throws IllegalArgumentException if the pattern is null
+   */
+  public static PathPattern compile(final String pattern) throws IllegalArgumentException
+  {
+    if (pattern == null) {
+      throw new IllegalArgumentException("path pattern cannot be null");
+    }
+    return new PathPattern(pattern);
+  }
+
+  /**
+   * Splits a path into its non empty segments.
+   *
+   * @param path path
+   * @return segments
+   */
+  public static String[] segments(final String path)
+  {
+    final List<String> segments = new ArrayList<>();
+    for (final String segment : path.split(SEPARATOR)) {
+      if (!segment.isEmpty()) {
+        segments.add(segment);
+      }
+    }
+    return segments.toArray(String[]::new);
+  }
+
+  /**
+   * Combines a class level mapping path with a method level path as Spring MVC does.
+   *
+   * @param prefix class level path
+   * @param path method level path, empty means the class level path itself
+   * @return combined path
+   */
+  public static String combine(final String prefix, final String path)
+  {
+    final StringBuilder sb = new StringBuilder();
+    if (!prefix.startsWith(SEPARATOR)) {
+      sb.append(SEPARATOR);
+    }
+    sb.append(prefix);
+    if (sb.charAt(sb.length() - 1) == '/') {
+      sb.setLength(sb.length() - 1);
+    }
+    if (!path.startsWith(SEPARATOR)) {
+      sb.append(SEPARATOR);
+    }
+    sb.append(path);
+    if (path.isEmpty()) {
+      sb.setLength(Math.max(1, sb.length() - 1));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Whether or not a segment is a URI template variable such as {id}.
+   *
+   * @param segment path segment
+   * @return true if a template variable
+   */
+  public static boolean isVariable(final String segment)
+  {
+    return segment.length() > 1 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+  }
+
+  /**
+   * Getter for pattern.
+   *
+   * @return pattern
+   */
+  public String getPattern()
+  {
+    return pattern;
+  }
+
+  /**
+   * Returns the number of non empty segments.
+   *
+   * @return number of segments
+   */
+  public int getSegmentCount()
+  {
+    return segments.length;
+  }
+
+  /**
+   * Whether or not the pattern contains no wildcard.
+   *
+   * @return true if literal
+   */
+  public boolean isLiteral()
+  {
+    return literal;
+  }
+
+  /**
+   * Whether or not a segment of the pattern matches zero or more path segments.
+   *
+   * @param index segment index
+   * @return true if a multi segment wildcard
+   */
+  public boolean isMultiSegmentWildcard(final int index)
+  {
+    return MULTI_SEGMENT_WILDCARD.equals(segments[index]);
+  }
+
+  /**
+   * Whether or not a segment of the pattern matches a single path segment.
+   *
+   * @param index segment index
+   * @param segment path segment
+   * @return true if the segment matches
+   */
+  public boolean matchesSegment(final int index, final String segment)
+  {
+    final String patternSegment = segments[index];
+    if (SEGMENT_WILDCARD.equals(patternSegment)) {
+      return true;
+    }
+    if (expressions[index] != null) {
+      return expressions[index].matcher(segment).matches();
+    }
+    return patternSegment.equals(segment);
+  }
+
+  /**
+   * Returns the segment of the pattern to look up as is, null if it has to be matched against every segment.
+   *
+   * @param index segment index
+   * @return literal segment or null
+   */
+  public String getLiteralSegment(final int index)
+  {
+    final String segment = segments[index];
+    return expressions[index] != null || SEGMENT_WILDCARD.equals(segment) || MULTI_SEGMENT_WILDCARD.equals(segment) ?
+            null : segment;
+  }
+
+  /**
+   * Whether or not a path matches this pattern.
+   *
+   * @param path path
+   * @return true if the path matches
+   */
+  public boolean matches(final String path)
+  {
+    if (literal) {
+      return pattern.equals(path);
+    }
+    return matches(segments(path), 0, 0);
+  }
+
+  /**
+   * Whether or not the path segments from a position match the pattern segments from a position.
+   *
+   * @param pathSegments path segments
+   * @param patternIndex position in the pattern
+   * @param pathIndex position in the path
+   * @return true if the remaining segments match
+   */
+  private boolean matches(final String[] pathSegments, final int patternIndex, final int pathIndex)
+  {
+    boolean result;
+    if (patternIndex == segments.length) {
+      result = pathIndex == pathSegments.length;
+    } else if (isMultiSegmentWildcard(patternIndex)) {
+      result = false;
+      for (int i = pathIndex; !result && i <= pathSegments.length; i++) {
+        result = matches(pathSegments, patternIndex + 1, i);
+      }
+    } else {
+      result = pathIndex < pathSegments.length && matchesSegment(patternIndex, pathSegments[pathIndex]) &&
+              matches(pathSegments, patternIndex + 1, pathIndex + 1);
+    }
+    return result;
+  }
+
+  /**
+   * Converts a segment with wildcard characters into a regular expression.
+   *
+   * @param segment path segment
+   * @return compiled expression
+   */
+  private static Pattern toExpression(final String segment)
+  {
+    final StringBuilder sb = new StringBuilder();
+    int start = 0;
+    for (int i = 0; i < segment.length(); i++) {
+      final char c = segment.charAt(i);
+      if (c == '*' || c == '?') {
+        sb.append(Pattern.quote(segment.substring(start, i))).append(c == '*' ? ".*" : ".");
+        start = i + 1;
+      }
+    }
+    return Pattern.compile(sb.append(Pattern.quote(segment.substring(start))).toString());
+  }
+
+  @Override
+  public String toString()
+  {
+    return pattern;
+  }
+
+}
@@ -7,17 +7,20 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import com.github.javaparser.ParseProblemException;
-import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.index.DescriptorIndex;
+import edu.vt.graduateschool.restjavadocs.index.MappedSourceRootIndex;
+import edu.vt.graduateschool.restjavadocs.index.SourceRootIndexer;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
 import edu.vt.graduateschool.restjavadocs.util.LangUtils;
-import edu.vt.graduateschool.restjavadocs.visitor.SpringWebParameterDescriptorMethodVisitor;
+import edu.vt.graduateschool.restjavadocs.util.ParserProfile;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.restdocs.request.ParameterDescriptor;
 
 import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getFilePathFromClass;
-import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingSourceRoot;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getSourceRoot;
 import static edu.vt.graduateschool.restjavadocs.util.LangUtils.JAVA_SOURCE_MAIN_PATH;
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
 
@@ -178,7 +181,7 @@ public final class RequestDocumentation
           final String filter)
           throws ParseProblemException, JSONException
   {
-    return descriptors(sourceRoot, restControllerClass, jsonToFilterMap(filter));
+    return descriptors(sourceRoot, restControllerClass, RequestMappingMatcher.parse(filter));
   }
 
   /**
@@ -198,7 +201,7 @@ public final class RequestDocumentation
           final String filter)
           throws ParseProblemException, JSONException
   {
-    return descriptors(null, restControllerClass, jsonToFilterMap(filter));
+    return descriptors(null, restControllerClass, RequestMappingMatcher.parse(filter));
   }
 
   /**
@@ -216,7 +219,7 @@ public final class RequestDocumentation
           final Class restControllerClass, final RequestMappingFilter filter)
           throws ParseProblemException
   {
-    return descriptors(sourceRoot, restControllerClass, filterToMap(filter));
+    return descriptors(sourceRoot, restControllerClass, RequestMappingMatcher.compile(filter));
   }
 
   /**
@@ -235,8 +238,106 @@ public final class RequestDocumentation
           final Class controllerClass, final Map<String, String[]> annotationFilterValues)
           throws ParseProblemException
   {
-    return descriptors(sourceRoot, getFilePathFromClass(controllerClass),
-            annotationFilterValues);
+    return descriptors(sourceRoot, controllerClass, RequestMappingMatcher.compile(annotationFilterValues));
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs. Without a source
+   * root the class is looked up in the compile time index (see {@link DescriptorIndex}) and the index file named by
+   * {@link MappedSourceRootIndex#FILE_PROPERTY} first, an explicit source root is always parsed.
+   *
+   * @param sourceRoot base path of the sources folder (if null
+   * <a href="https://maven.apache.org/guides/introduction/introduction-to-the-standard-directory-layout.html">
+   * "./src/main/java/"</a> is used)
+   * @param controllerClass class of the rest controller mapping the paths
+   * @param matcher compiled filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static ParameterDescriptor[] descriptors(final String sourceRoot,
+          final Class controllerClass, final RequestMappingMatcher matcher)
+          throws ParseProblemException
+  {
+    final SourceModel model = sourceRoot == null ? DescriptorIndex.find(controllerClass) : null;
+    if (model != null) {
+      return model.matchingDescriptors(matcher);
+    }
+    final ParameterDescriptor[] mapped = sourceRoot == null ? mappedDescriptors(controllerClass, matcher) : null;
+    if (mapped != null) {
+      return mapped;
+    }
+    return descriptors(sourceRoot, getFilePathFromClass(controllerClass), matcher);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot source root
+   * @param controllerClass class of the rest controller mapping the paths
+   * @param filter filter for matching annotation attributes in JSON format (see
+   * {@link #jsonToFilterMap(java.lang.String)}
+   * @return Generated descriptors from Javadocs
+   * @throws JSONException if the input is not of the proper structure
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static ParameterDescriptor[] descriptorsFromRoot(final SourceRoot sourceRoot,
+          final Class controllerClass, final String filter)
+          throws ParseProblemException, JSONException
+  {
+    return descriptorsFromRoot(sourceRoot, controllerClass, RequestMappingMatcher.parse(filter));
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot source root
+   * @param controllerClass class of the rest controller mapping the paths
+   * @param filter filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static ParameterDescriptor[] descriptorsFromRoot(final SourceRoot sourceRoot,
+          final Class controllerClass, final RequestMappingFilter filter)
+          throws ParseProblemException
+  {
+    return descriptorsFromRoot(sourceRoot, controllerClass, RequestMappingMatcher.compile(filter));
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot source root
+   * @param controllerClass class of the rest controller mapping the paths
+   * @param annotationFilterValues value map to filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static ParameterDescriptor[] descriptorsFromRoot(final SourceRoot sourceRoot,
+          final Class controllerClass, final Map<String, String[]> annotationFilterValues)
+          throws ParseProblemException
+  {
+    return descriptorsFromRoot(sourceRoot, controllerClass, RequestMappingMatcher.compile(annotationFilterValues));
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   *
+   * @param sourceRoot source root
+   * @param controllerClass class of the rest controller mapping the paths
+   * @param matcher compiled filter for matching annotation attributes
+   * @return Generated descriptors from Javadocs
+   * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
+   * be parsed
+   */
+  public static ParameterDescriptor[] descriptorsFromRoot(final SourceRoot sourceRoot,
+          final Class controllerClass, final RequestMappingMatcher matcher)
+          throws ParseProblemException
+  {
+    return descriptors(sourceRoot, getFilePathFromClass(controllerClass), matcher);
   }
 
   /**
@@ -244,41 +345,53 @@ public final class RequestDocumentation
    *
    * @param sourceRoot base path of the sources folder
    * @param sourceFile path to the .java file
-   * @param annotationFilterValues value map to filter for matching annotation attributes
+   * @param matcher compiled filter for matching annotation attributes
    * @return Generated descriptors from Javadocs
    * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
    * be parsed
    */
   private static ParameterDescriptor[] descriptors(final String sourceRoot,
-          final String sourceFile, final Map<String, String[]> annotationFilterValues)
+          final String sourceFile, final RequestMappingMatcher matcher)
           throws ParseProblemException
   {
     final String sourcesBasePath = sourceRoot == null ? JAVA_SOURCE_MAIN_PATH : sourceRoot;
-    return descriptors(getResolvingSourceRoot(sourcesBasePath), sourceFile, annotationFilterValues);
+    return descriptors(getSourceRoot(sourcesBasePath, ParserProfile.forDocumentation()), sourceFile, matcher);
   }
 
   /**
-   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs.
+   * Returns {@link ParameterDescriptor}[] from a given java class source by using method's Javadocs, through the
+   * {@link SourceModel} of the source so its compilation unit is not kept.
    *
    * @param sourceRoot base path of the sources folder
    * @param sourceFile path to the .java file
-   * @param annotationFilterValues value map to filter for matching annotation attributes
+   * @param matcher compiled filter for matching annotation attributes
    * @return Generated descriptors from Javadocs
    * @throws com.github.javaparser.ParseProblemException {@link ParseProblemException} is thrown if the source could not
    * be parsed
+   * @throws IllegalArgumentException if the Javadocs of a matching method could not be parsed
    */
   private static ParameterDescriptor[] descriptors(final SourceRoot sourceRoot,
-          final String sourceFile, final Map<String, String[]> annotationFilterValues)
+          final String sourceFile, final RequestMappingMatcher matcher)
           throws ParseProblemException
   {
-    final List<ParameterDescriptor> descriptors = new ArrayList<>();
-    final SpringWebParameterDescriptorMethodVisitor visitor =
-            new SpringWebParameterDescriptorMethodVisitor(annotationFilterValues == null ?
-                    new HashMap<>() : annotationFilterValues);
-    final CompilationUnit compilationUnit = sourceRoot.parse("", sourceFile);
-    visitor.visit(compilationUnit, null);
-    descriptors.addAll(visitor.getParameterDescriptors());
-    return descriptors.toArray(ParameterDescriptor[]::new);
+    final SourceModel model = SourceRootIndexer.getDocumentationModel(sourceRoot, sourceFile);
+    return model == null ? new ParameterDescriptor[0] : model.matchingDescriptors(matcher);
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}[] of a class from the index file named by
+   * {@link MappedSourceRootIndex#FILE_PROPERTY}.
+   *
+   * @param controllerClass class of the rest controller mapping the paths
+   * @param matcher compiled filter for matching annotation attributes
+   * @return Generated descriptors from the index file or null if there is none or it does not index the class
+   * @throws IllegalArgumentException if the Javadocs of a matching method could not be parsed
+   */
+  private static ParameterDescriptor[] mappedDescriptors(final Class controllerClass,
+          final RequestMappingMatcher matcher)
+  {
+    final MappedSourceRootIndex index = MappedSourceRootIndex.getShared();
+    return index == null ? null : index.matchingDescriptors(controllerClass, matcher);
   }
 
   /**
@@ -295,7 +408,7 @@ public final class RequestDocumentation
    * @return {@link Map} of type <b>Map&lt;String, String[]&gt;</b>
    * @throws JSONException if the input is not proper JSON
    */
-  private static Map<String, String[]> jsonToFilterMap(final String input) throws JSONException
+  public static Map<String, String[]> jsonToFilterMap(final String input) throws JSONException
   {
     if (input == null) {
       return new HashMap<>();
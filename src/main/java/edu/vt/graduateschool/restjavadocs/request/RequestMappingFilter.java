@@ -1,6 +1,9 @@
 /* See LICENSE for licensing and NOTICE for copyright. */
 package edu.vt.graduateschool.restjavadocs.request;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * @author Graduate School
  */
@@ -48,7 +51,7 @@ public final class RequestMappingFilter
   private String name;
 
   /**
-   * path attribute.
+   * path attribute, each value being a {@link PathPattern} which must match a declared or class prefixed path.
    */
   private String[] path;
 
@@ -224,6 +227,17 @@ public final class RequestMappingFilter
     this.produces = producesParam;
   }
 
+  /**
+   * Copy constructor, arrays are copied so later changes to either instance do not affect the other.
+   *
+   * @param filter filter to copy
+   */
+  public RequestMappingFilter(final RequestMappingFilter filter)
+  {
+    this(filter.name, copy(filter.path), copy(filter.method), copy(filter.params), copy(filter.headers),
+            copy(filter.consumes), copy(filter.produces));
+  }
+
   /**
    * Getter for name
    *
@@ -384,4 +398,52 @@ public final class RequestMappingFilter
     this.produces = producesParam;
   }
 
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof RequestMappingFilter)) {
+      return false;
+    }
+    final RequestMappingFilter other = (RequestMappingFilter) obj;
+    return Objects.equals(name, other.name) && Arrays.equals(path, other.path) &&
+            Arrays.equals(method, other.method) && Arrays.equals(params, other.params) &&
+            Arrays.equals(headers, other.headers) && Arrays.equals(consumes, other.consumes) &&
+            Arrays.equals(produces, other.produces);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    int result = Objects.hashCode(name);
+    result = 31 * result + Arrays.hashCode(path);
+    result = 31 * result + Arrays.hashCode(method);
+    result = 31 * result + Arrays.hashCode(params);
+    result = 31 * result + Arrays.hashCode(headers);
+    result = 31 * result + Arrays.hashCode(consumes);
+    return 31 * result + Arrays.hashCode(produces);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "RequestMappingFilter{name=" + name + ", path=" + Arrays.toString(path) + ", method=" +
+            Arrays.toString(method) + ", params=" + Arrays.toString(params) + ", headers=" +
+            Arrays.toString(headers) + ", consumes=" + Arrays.toString(consumes) + ", produces=" +
+            Arrays.toString(produces) + '}';
+  }
+
+  /**
+   * Returns a copy of an attribute array.
+   *
+   * @param values values to copy
+   * @return copy or null
+   */
+  private static String[] copy(final String[] values)
+  {
+    return values == null ? null : values.clone();
+  }
+
 }
@@ -0,0 +1,338 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.request;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.json.JSONException;
+
+/**
+ * Immutable filter of request mapping attributes compiled once from a {@link RequestMappingFilter}, a filter map or a
+ * JSON filter, so matching does not allocate per comparison. An attribute matches if it is declared and contains all
+ * filter values, the method attribute is ignored unless the endpoint is mapped by RequestMapping. Path and value
+ * filters are {@link PathPattern}s, each of which must match one of the paths of the endpoint, combined with the class
+ * level paths if any. An endpoint declaring no path is only matched by patterns containing a wildcard, through its
+ * class level paths. Matchers parsed from identical JSON filters are interned.
+ *
+ * @author Graduate School
+ */
+public final class RequestMappingMatcher
+{
+
+  /**
+   * Maximum number of interned JSON filters, further filters are compiled on every call.
+   */
+  public static final int MAX_INTERNED = 1024;
+
+  /**
+   * Matcher of an empty filter which matches every endpoint.
+   */
+  public static final RequestMappingMatcher MATCH_ALL = new RequestMappingMatcher(new String[0], new String[0][],
+          new PathPattern[0][]);
+
+  /**
+   * Key of the pre-hashed attributes marking that the path and value sets are the class level paths of a mapping
+   * declaring no path, which only wildcard patterns match.
+   */
+  private static final String CLASS_LEVEL_PATHS = "#classLevelPaths";
+
+  /**
+   * Matchers by JSON filter.
+   */
+  private static final Map<String, RequestMappingMatcher> INTERNED = new ConcurrentHashMap<>();
+
+  /**
+   * Attribute names to filter by.
+   */
+  private final String[] names;
+
+  /**
+   * Distinct values to filter by in the order of {@link #names}.
+   */
+  private final String[][] values;
+
+  /**
+   * Compiled path patterns of the path and value filters in the order of {@link #names}, null for other filters.
+   */
+  private final PathPattern[][] patterns;
+
+  /**
+   * Constructor with values.
+   *
+   * @param namesParam attribute names to filter by
+   * @param valuesParam distinct values to filter by in the order of names
+   * @param patternsParam compiled path patterns in the order of names
+   */
+  private RequestMappingMatcher(final String[] namesParam, final String[][] valuesParam,
+          final PathPattern[][] patternsParam)
+  {
+    this.names = namesParam;
+    this.values = valuesParam;
+    this.patterns = patternsParam;
+  }
+
+  /**
+   * Compiles a filter map.
+   *
+   * @param filterMap values to filter by, null or empty matches every endpoint
+   * @return {@link RequestMappingMatcher}
+   * @throws IllegalArgumentException if a filter value is null
+   */
+  public static RequestMappingMatcher compile(final Map<String, String[]> filterMap) throws IllegalArgumentException
+  {
+    if (filterMap == null || filterMap.isEmpty()) {
+      return MATCH_ALL;
+    }
+    final String[] compiledNames = new String[filterMap.size()];
+    final String[][] compiledValues = new String[filterMap.size()][];
+    final PathPattern[][] compiledPatterns = new PathPattern[filterMap.size()][];
+    int i = 0;
+    for (final Map.Entry<String, String[]> filter : filterMap.entrySet()) {
+      final String[] filterValues = filter.getValue() == null ? new String[0] : filter.getValue();
+      if (Arrays.asList(filterValues).contains(null)) {
+        throw new IllegalArgumentException("annotation expression values cannot be null (JSR-308 D.3.3)");
+      }
+      compiledNames[i] = filter.getKey();
+      compiledValues[i] = new LinkedHashSet<>(Arrays.asList(filterValues)).toArray(String[]::new);
+      if (isPath(filter.getKey())) {
+        compiledPatterns[i] = Arrays.stream(compiledValues[i]).map(PathPattern::compile).toArray(PathPattern[]::new);
+      }
+      i++;
+    }
+    return new RequestMappingMatcher(compiledNames, compiledValues, compiledPatterns);
+  }
+
+  /**
+   * Compiles a {@link RequestMappingFilter}, null values are treated as missing.
+   *
+   * @param filter filter to compile, null matches every endpoint
+   * @return {@link RequestMappingMatcher}
+   */
+  public static RequestMappingMatcher compile(final RequestMappingFilter filter)
+  {
+    return compile(RequestDocumentation.filterToMap(filter));
+  }
+
+  /**
+   * Returns the matcher of a JSON filter, parsing it only the first time it is seen.
+   *
+   * @param json filter in JSON format (see {@link RequestDocumentation#jsonToFilterMap(java.lang.String)}), null
+   * matches every endpoint
+   * @return {@link RequestMappingMatcher}
+   * @throws JSONException if the input is not proper JSON
+   * @throws IllegalArgumentException if a filter value is null
+   */
+  public static RequestMappingMatcher parse(final String json) throws JSONException, IllegalArgumentException
+  {
+    if (json == null) {
+      return MATCH_ALL;
+    }
+    final RequestMappingMatcher interned = INTERNED.get(json);
+    if (interned != null) {
+      return interned;
+    }
+    final RequestMappingMatcher matcher = compile(RequestDocumentation.jsonToFilterMap(json));
+    if (INTERNED.size() < MAX_INTERNED) {
+      INTERNED.putIfAbsent(json, matcher);
+    }
+    return matcher;
+  }
+
+  /**
+   * Converts attribute values into the pre-hashed sets matched by {@link #matches(Map, boolean)}.
+   *
+   * @param attributes attribute values by name
+   * @return unmodifiable map of unmodifiable value sets
+   */
+  public static Map<String, Set<String>> hash(final Map<String, String[]> attributes)
+  {
+    return hash(attributes, new String[0]);
+  }
+
+  /**
+   * Converts attribute values into the pre-hashed sets matched by {@link #matches(Map, boolean)}. The path and value
+   * sets also contain the paths combined with the class level paths. Mappings declaring attributes but no path are
+   * given the class level paths, which are only matched by path patterns containing a wildcard.
+   *
+   * @param attributes attribute values by name
+   * @param classPaths paths of the class level mapping, empty if none
+   * @return unmodifiable map of unmodifiable value sets
+   */
+  public static Map<String, Set<String>> hash(final Map<String, String[]> attributes, final String[] classPaths)
+  {
+    final Map<String, Set<String>> hashed = new HashMap<>();
+    for (final Map.Entry<String, String[]> attribute : attributes.entrySet()) {
+      final Set<String> attributeValues = new LinkedHashSet<>(Arrays.asList(attribute.getValue()));
+      if (isPath(attribute.getKey())) {
+        for (final String classPath : classPaths) {
+          for (final String path : attribute.getValue()) {
+            attributeValues.add(PathPattern.combine(classPath, path));
+          }
+        }
+      }
+      hashed.put(attribute.getKey(), Collections.unmodifiableSet(attributeValues));
+    }
+    if (!attributes.isEmpty() && classPaths.length > 0 &&
+            !attributes.containsKey(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH)) {
+      final Set<String> paths = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(classPaths)));
+      hashed.put(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH, paths);
+      hashed.put(LangUtils.ANNOTATION_EXPRESSION_VALUE, paths);
+      hashed.put(CLASS_LEVEL_PATHS, paths);
+    }
+    return Collections.unmodifiableMap(hashed);
+  }
+
+  /**
+   * Whether or not this matcher filters by no attribute at all.
+   *
+   * @return true if every endpoint matches
+   */
+  public boolean isEmpty()
+  {
+    return names.length == 0;
+  }
+
+  /**
+   * Returns the distinct values to filter an attribute by.
+   *
+   * @param name attribute name
+   * @return copy of the values or null if the attribute is not filtered
+   */
+  public String[] getValues(final String name)
+  {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return values[i].clone();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the compiled patterns to filter the path or value attribute by.
+   *
+   * @param name path or value
+   * @return copy of the patterns or null if the attribute is not filtered
+   */
+  public PathPattern[] getPathPatterns(final String name)
+  {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name) && patterns[i] != null) {
+        return patterns[i].clone();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the filter as a new map.
+   *
+   * @return {@link Map} of attribute names to values
+   */
+  public Map<String, String[]> toFilterMap()
+  {
+    final Map<String, String[]> filterMap = new HashMap<>();
+    for (int i = 0; i < names.length; i++) {
+      filterMap.put(names[i], values[i].clone());
+    }
+    return filterMap;
+  }
+
+  /**
+   * Whether or not the attributes of a mapping annotation contain the values of this filter.
+   *
+   * @param attributes pre-hashed attribute values by name (see {@link #hash(Map)})
+   * @param requestMapping whether the endpoint is mapped by RequestMapping, otherwise the method is ignored
+   * @return true if a match is found
+   */
+  public boolean matches(final Map<String, Set<String>> attributes, final boolean requestMapping)
+  {
+    boolean matches = true;
+    for (int i = 0; matches && i < names.length; i++) {
+      if (requestMapping || !RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_METHOD.equals(names[i])) {
+        matches = patterns[i] == null ? containsAll(attributes.get(names[i]), values[i]) :
+                matchesAll(attributes.get(names[i]), patterns[i], attributes.containsKey(CLASS_LEVEL_PATHS));
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Whether or not a filter attribute is matched by path patterns.
+   *
+   * @param name attribute name
+   * @return true for path and value
+   */
+  private static boolean isPath(final String name)
+  {
+    return RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH.equals(name) ||
+            LangUtils.ANNOTATION_EXPRESSION_VALUE.equals(name);
+  }
+
+  /**
+   * Whether or not every path pattern matches one of the declared paths. Class level paths of a mapping declaring no
+   * path are not matched by literal patterns.
+   *
+   * @param paths declared paths, null if the attribute is not declared
+   * @param pathPatterns path patterns
+   * @param classLevel whether the paths are the class level paths of a mapping declaring no path
+   * @return true if the attribute is declared and every pattern matches
+   */
+  private static boolean matchesAll(final Set<String> paths, final PathPattern[] pathPatterns,
+          final boolean classLevel)
+  {
+    if (paths == null) {
+      return false;
+    }
+    for (final PathPattern pathPattern : pathPatterns) {
+      if (pathPattern.isLiteral() ? classLevel || !paths.contains(pathPattern.getPattern()) :
+              !matchesAny(paths, pathPattern)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Whether or not a path pattern matches one of the declared paths.
+   *
+   * @param paths declared paths
+   * @param pathPattern path pattern
+   * @return true if a path matches
+   */
+  private static boolean matchesAny(final Set<String> paths, final PathPattern pathPattern)
+  {
+    for (final String path : paths) {
+      if (pathPattern.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Whether or not declared attribute values contain all of the filter values.
+   *
+   * @param attributeValues attribute values, null if the attribute is not declared
+   * @param filterValues filter values
+   * @return true if the attribute is declared and contains all values
+   */
+  private static boolean containsAll(final Set<String> attributeValues, final String[] filterValues)
+  {
+    if (attributeValues == null) {
+      return false;
+    }
+    for (final String filterValue : filterValues) {
+      if (!attributeValues.contains(filterValue)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
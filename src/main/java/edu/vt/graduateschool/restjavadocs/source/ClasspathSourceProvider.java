@@ -0,0 +1,84 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Provides source files packaged as class path resources, i.e. sources JARs added to the test class path or sources
+ * copied to the test resources. Resources in a directory are read from their file on every parse, other resources
+ * (i.e. JAR entries) are read into memory when found.
+ *
+ * @author Graduate School
+ */
+public final class ClasspathSourceProvider implements SourceProvider
+{
+
+  /**
+   * Root of the paths identifying sources which are not files.
+   */
+  private static final Path RESOURCE_ROOT = Paths.get("restjavadocs-classpath");
+
+  /**
+   * Class loader of the resources.
+   */
+  private final ClassLoader classLoader;
+
+  /**
+   * Constructor with values.
+   *
+   * @param classLoaderParam class loader of the resources
+   */
+  public ClasspathSourceProvider(final ClassLoader classLoaderParam)
+  {
+    if (classLoaderParam == null) {
+      throw new IllegalArgumentException("classLoader cannot be null");
+    }
+    this.classLoader = classLoaderParam;
+  }
+
+  /**
+   * Getter for classLoader.
+   *
+   * @return classLoader
+   */
+  public ClassLoader getClassLoader()
+  {
+    return classLoader;
+  }
+
+  @Override
+  public SourceFile find(final String sourceFile) throws IOException
+  {
+    if (sourceFile == null) {
+      throw new IllegalArgumentException("sourceFile cannot be null");
+    }
+    final String name = sourceFile.replace(File.separatorChar, '/');
+    final URL resource = classLoader.getResource(name);
+    if (resource == null) {
+      return null;
+    }
+    if ("file".equals(resource.getProtocol())) {
+      try {
+        return new SourceFile(Paths.get(resource.toURI()));
+      } catch (final URISyntaxException ex) {
+        throw new IOException("invalid resource location " + resource, ex);
+      }
+    }
+    try (InputStream in = resource.openStream()) {
+      return new SourceFile(RESOURCE_ROOT.resolve(name), in.readAllBytes());
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "ClasspathSourceProvider{classLoader=" + classLoader + '}';
+  }
+
+}
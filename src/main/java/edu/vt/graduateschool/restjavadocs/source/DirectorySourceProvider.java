@@ -0,0 +1,69 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Provides source files from one or more source root directories, searched in order, i.e. the source roots of the
+ * modules of a multi-module build.
+ *
+ * @author Graduate School
+ */
+public final class DirectorySourceProvider implements SourceProvider
+{
+
+  /**
+   * Source root directories in search order.
+   */
+  private final List<Path> roots;
+
+  /**
+   * Constructor with values.
+   *
+   * @param rootsParam source root directories in search order
+   */
+  public DirectorySourceProvider(final List<Path> rootsParam)
+  {
+    if (rootsParam == null || rootsParam.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("roots cannot be null or contain null");
+    }
+    this.roots = List.copyOf(rootsParam);
+  }
+
+  /**
+   * Getter for roots.
+   *
+   * @return roots
+   */
+  public List<Path> getRoots()
+  {
+    return roots;
+  }
+
+  @Override
+  public SourceFile find(final String sourceFile)
+  {
+    if (sourceFile == null) {
+      throw new IllegalArgumentException("sourceFile cannot be null");
+    }
+    final String relativePath = sourceFile.replace('/', File.separatorChar);
+    for (final Path root : roots) {
+      final Path file = root.resolve(relativePath);
+      if (Files.isRegularFile(file)) {
+        return new SourceFile(file);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "DirectorySourceProvider{roots=" + roots + '}';
+  }
+
+}
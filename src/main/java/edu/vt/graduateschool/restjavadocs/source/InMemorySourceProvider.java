@@ -0,0 +1,101 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+
+/**
+ * Provides source files held in memory, i.e. sources generated by a test. Sources are added by the name of their top
+ * level class and encoded once when added. A source added again replaces the previous one.
+ *
+ * @author Graduate School
+ */
+public final class InMemorySourceProvider implements SourceProvider
+{
+
+  /**
+   * Root of the paths identifying sources held in memory.
+   */
+  private static final Path MEMORY_ROOT = Paths.get("restjavadocs-memory");
+
+  /**
+   * Encoding of the sources, which must match the encoding of the parser configuration.
+   */
+  private final Charset encoding;
+
+  /**
+   * Sources by their path relative to a source root, separated by '/'.
+   */
+  private final Map<String, SourceFile> sources = new ConcurrentHashMap<>();
+
+  /**
+   * Default constructor, sources are encoded in UTF-8.
+   */
+  public InMemorySourceProvider()
+  {
+    this(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Constructor with values.
+   *
+   * @param encodingParam encoding of the sources, which must match the encoding of the parser configuration
+   */
+  public InMemorySourceProvider(final Charset encodingParam)
+  {
+    if (encodingParam == null) {
+      throw new IllegalArgumentException("encoding cannot be null");
+    }
+    this.encoding = encodingParam;
+  }
+
+  /**
+   * Adds the source of a top level class.
+   *
+   * @param className binary name of the top level class
+   * @param source source of the compilation unit declaring the class
+   * @return this provider
+   */
+  public InMemorySourceProvider add(final String className, final CharSequence source)
+  {
+    if (className == null || source == null) {
+      throw new IllegalArgumentException("neither className nor source may be null");
+    }
+    final String sourceFile = className.replace('.', '/') + LangUtils.JAVA_FILE_EXTENSION;
+    sources.put(sourceFile, new SourceFile(MEMORY_ROOT.resolve(sourceFile),
+            source.toString().getBytes(encoding)));
+    return this;
+  }
+
+  /**
+   * Returns the number of sources held.
+   *
+   * @return size
+   */
+  public int size()
+  {
+    return sources.size();
+  }
+
+  @Override
+  public SourceFile find(final String sourceFile)
+  {
+    if (sourceFile == null) {
+      throw new IllegalArgumentException("sourceFile cannot be null");
+    }
+    return sources.get(sourceFile.replace(File.separatorChar, '/'));
+  }
+
+  @Override
+  public String toString()
+  {
+    return "InMemorySourceProvider{size=" + sources.size() + ", encoding=" + encoding + '}';
+  }
+
+}
@@ -0,0 +1,94 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Source file found by a {@link SourceProvider}. The path identifies the source in caches and is set as the storage of
+ * its compilation unit, it may belong to any file system (i.e. a path within a sources JAR). The content is either read
+ * from the path on every {@link #read()}, so changes are picked up, or held in memory.
+ *
+ * @author Graduate School
+ */
+public final class SourceFile
+{
+
+  /**
+   * Path identifying the source.
+   */
+  private final Path path;
+
+  /**
+   * Content held in memory, null if read from the path.
+   */
+  private final byte[] content;
+
+  /**
+   * Constructor of a source file read from its path.
+   *
+   * @param pathParam path of the source file
+   */
+  public SourceFile(final Path pathParam)
+  {
+    if (pathParam == null) {
+      throw new IllegalArgumentException("path cannot be null");
+    }
+    this.path = pathParam;
+    this.content = null;
+  }
+
+  /**
+   * Constructor of a source file held in memory.
+   *
+   * @param pathParam path identifying the source, it does not have to exist
+   * @param contentParam encoded content of the source file
+   */
+  public SourceFile(final Path pathParam, final byte[] contentParam)
+  {
+    if (pathParam == null || contentParam == null) {
+      throw new IllegalArgumentException("neither path nor content may be null");
+    }
+    this.path = pathParam;
+    this.content = contentParam.clone();
+  }
+
+  /**
+   * Getter for path.
+   *
+   * @return path
+   */
+  public Path getPath()
+  {
+    return path;
+  }
+
+  /**
+   * Whether or not the content is held in memory.
+   *
+   * @return true if held in memory, false if read from the path
+   */
+  public boolean isInMemory()
+  {
+    return content != null;
+  }
+
+  /**
+   * Returns the encoded content of the source file.
+   *
+   * @return content
+   * @throws IOException if the file could not be read
+   */
+  public byte[] read() throws IOException
+  {
+    return content == null ? Files.readAllBytes(path) : content.clone();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "SourceFile{path=" + path + ", inMemory=" + isInMemory() + '}';
+  }
+
+}
@@ -0,0 +1,28 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.IOException;
+
+/**
+ * Service provider interface locating the source files of documented classes. Source roots parse the files their
+ * provider finds (see {@link edu.vt.graduateschool.restjavadocs.util.CachingSourceRoot}), so sources do not have to be
+ * in a single directory relative to the working directory. Implementations must be safe to share between threads.
+ *
+ * @author Graduate School
+ * @see SourceProviderChain
+ */
+public interface SourceProvider
+{
+
+  /**
+   * Returns the source file at a path relative to a source root.
+   *
+   * @param sourceFile path to the .java file relative to its source root (see
+   * {@link edu.vt.graduateschool.restjavadocs.util.JavaParserUtils#getFilePathFromClass(java.lang.Class)}),
+   * separated by either '/' or the platform separator
+   * @return {@link SourceFile} or null if this provider has no such source
+   * @throws IOException if the provider could not be searched
+   */
+  SourceFile find(String sourceFile) throws IOException;
+
+}
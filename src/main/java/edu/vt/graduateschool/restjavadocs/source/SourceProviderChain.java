@@ -0,0 +1,171 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chain of source providers tried in order, the first provider finding a source file wins. Which provider found a
+ * source file, or that none did, is remembered, so the providers are searched once per source file however often it is
+ * parsed. Files read from a path are served from the remembered location, sources held in memory are asked of the
+ * provider which found them again so replaced sources are picked up. Sources added to a provider after a lookup found
+ * none are not seen by the chain.
+ *
+ * @author Graduate School
+ */
+public final class SourceProviderChain implements SourceProvider, Closeable
+{
+
+  /**
+   * Source providers in search order.
+   */
+  private final List<SourceProvider> providers;
+
+  /**
+   * Location of the source files looked up so far by their relative path.
+   */
+  private final Map<String, Location> locations = new ConcurrentHashMap<>();
+
+  /**
+   * Number of lookups which searched the providers.
+   */
+  private final AtomicLong searchCount = new AtomicLong();
+
+  /**
+   * Constructor with values.
+   *
+   * @param providersParam source providers in search order
+   */
+  public SourceProviderChain(final List<SourceProvider> providersParam)
+  {
+    if (providersParam == null || providersParam.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("providers cannot be null or contain null");
+    }
+    this.providers = List.copyOf(providersParam);
+  }
+
+  /**
+   * Getter for providers.
+   *
+   * @return providers
+   */
+  public List<SourceProvider> getProviders()
+  {
+    return providers;
+  }
+
+  /**
+   * Returns the number of lookups which searched the providers rather than a remembered location.
+   *
+   * @return searchCount
+   */
+  public long getSearchCount()
+  {
+    return searchCount.get();
+  }
+
+  @Override
+  public SourceFile find(final String sourceFile) throws IOException
+  {
+    if (sourceFile == null) {
+      throw new IllegalArgumentException("sourceFile cannot be null");
+    }
+    final Location location = locations.get(sourceFile);
+    if (location != null) {
+      return location.file != null && location.file.isInMemory() ? location.provider.find(sourceFile) : location.file;
+    }
+    searchCount.incrementAndGet();
+    Location found = Location.NONE;
+    for (int i = 0; found == Location.NONE && i < providers.size(); i++) {
+      final SourceFile file = providers.get(i).find(sourceFile);
+      if (file != null) {
+        found = new Location(providers.get(i), file);
+      }
+    }
+    locations.putIfAbsent(sourceFile, found);
+    return found.file;
+  }
+
+  /**
+   * Forgets the remembered locations, so source files are searched again.
+   */
+  public void clear()
+  {
+    locations.clear();
+  }
+
+  /**
+   * Closes the closeable providers.
+   *
+   * @throws IOException if a provider could not be closed
+   */
+  @Override
+  public void close() throws IOException
+  {
+    IOException failure = null;
+    for (final SourceProvider provider : providers) {
+      try {
+        if (provider instanceof Closeable) {
+          ((Closeable) provider).close();
+        }
+      } catch (final IOException ex) {
+        if (failure == null) {
+          failure = ex;
+        } else {
+          failure.addSuppressed(ex);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "SourceProviderChain{providers=" + providers + ", located=" + locations.size() + ", searches=" +
+            searchCount.get() + '}';
+  }
+
+  /**
+   * Provider which found a source file and the file it found.
+   */
+  private static final class Location
+  {
+
+    /**
+     * Location of source files no provider found.
+     */
+    private static final Location NONE = new Location(null, null);
+
+    /**
+     * Provider which found the source file, null if none.
+     */
+    private final SourceProvider provider;
+
+    /**
+     * Source file found, null if none.
+     */
+    private final SourceFile file;
+
+    /**
+     * Constructor with values.
+     *
+     * @param providerParam provider which found the source file
+     * @param fileParam source file found
+     */
+    Location(final SourceProvider providerParam, final SourceFile fileParam)
+    {
+      this.provider = providerParam;
+      this.file = fileParam;
+    }
+
+  }
+
+}
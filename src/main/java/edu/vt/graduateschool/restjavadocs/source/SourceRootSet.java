@@ -0,0 +1,142 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+
+/**
+ * Set of source roots, i.e. the source roots of the modules of a reactor build, scanned once into a map from the
+ * fully qualified name of every top level class to its source file. Locating a source file is then a single hash
+ * lookup instead of probing every root. A class declared in several roots is located in the first of them.<br>
+ * <br>
+ * Source roots of a set share one symbol solver combining a source type solver per root (see
+ * {@link edu.vt.graduateschool.restjavadocs.util.JavaParserUtils#getSourceRoot(SourceRootSet,
+ * edu.vt.graduateschool.restjavadocs.util.ParserProfile)}), so types declared in one module resolve from the sources
+ * of another. Files added to the roots after the scan are not located, the set is meant to be built once per test run.
+ *
+ * @author Graduate School
+ */
+public final class SourceRootSet implements SourceProvider
+{
+
+  /**
+   * Absolute, normalized source roots in search order.
+   */
+  private final List<Path> roots;
+
+  /**
+   * Source files by the fully qualified name of their top level class.
+   */
+  private final Map<String, Path> sourceFiles;
+
+  /**
+   * Constructor with values, scans the source roots.
+   *
+   * @param rootsParam source root directories in search order
+   * @throws IOException if a source root could not be walked
+   */
+  public SourceRootSet(final List<Path> rootsParam) throws IOException
+  {
+    if (rootsParam == null || rootsParam.isEmpty() || rootsParam.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("roots cannot be null, empty or contain null");
+    }
+    final List<Path> normalizedRoots = new ArrayList<>(rootsParam.size());
+    final Map<String, Path> scanned = new HashMap<>();
+    for (final Path root : rootsParam) {
+      final Path normalizedRoot = root.toAbsolutePath().normalize();
+      if (!Files.isDirectory(normalizedRoot)) {
+        throw new IllegalArgumentException("source root is not a directory: " + root);
+      }
+      normalizedRoots.add(normalizedRoot);
+      try (Stream<Path> files = Files.walk(normalizedRoot)) {
+        files.filter(file -> file.getFileName().toString().endsWith(LangUtils.JAVA_FILE_EXTENSION))
+                .filter(Files::isRegularFile)
+                .forEach(file -> scanned.putIfAbsent(toClassName(normalizedRoot.relativize(file).toString()), file));
+      }
+    }
+    this.roots = List.copyOf(normalizedRoots);
+    this.sourceFiles = Collections.unmodifiableMap(scanned);
+  }
+
+  /**
+   * Getter for roots.
+   *
+   * @return absolute, normalized source roots in search order
+   */
+  public List<Path> getRoots()
+  {
+    return roots;
+  }
+
+  /**
+   * Returns the number of source files found.
+   *
+   * @return size
+   */
+  public int size()
+  {
+    return sourceFiles.size();
+  }
+
+  /**
+   * Returns the source file of a class. The binary name of a member class is cut at its first '$', the canonical name
+   * of a member class is located by its longest dotted prefix naming a top level class.
+   *
+   * @param className binary or canonical name of a top level or member class
+   * @return path of the source file or null if no root declares the class
+   */
+  public Path getPath(final String className)
+  {
+    if (className == null) {
+      throw new IllegalArgumentException("className cannot be null");
+    }
+    final int member = className.indexOf('$');
+    String name = member < 0 ? className : className.substring(0, member);
+    Path path = sourceFiles.get(name);
+    for (int dot = name.lastIndexOf('.'); path == null && dot > 0; dot = name.lastIndexOf('.')) {
+      name = name.substring(0, dot);
+      path = sourceFiles.get(name);
+    }
+    return path;
+  }
+
+  @Override
+  public SourceFile find(final String sourceFile)
+  {
+    if (sourceFile == null) {
+      throw new IllegalArgumentException("sourceFile cannot be null");
+    }
+    final Path path = sourceFiles.get(toClassName(sourceFile));
+    return path == null ? null : new SourceFile(path);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "SourceRootSet{roots=" + roots + ", size=" + sourceFiles.size() + '}';
+  }
+
+  /**
+   * Returns the fully qualified class name of a source file path.
+   *
+   * @param sourceFile path to the .java file relative to its source root
+   * @return class name
+   */
+  private static String toClassName(final String sourceFile)
+  {
+    final String withoutExtension = sourceFile.endsWith(LangUtils.JAVA_FILE_EXTENSION) ?
+            sourceFile.substring(0, sourceFile.length() - LangUtils.JAVA_FILE_EXTENSION.length()) : sourceFile;
+    return withoutExtension.replace(File.separatorChar, '.').replace('/', '.');
+  }
+
+}
@@ -0,0 +1,78 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Provides source files from a sources JAR (i.e. {@code model-1.0-sources.jar}) opened as a zip file system, so
+ * entries are read in place without extracting the archive. The file system stays open until the provider is closed.
+ *
+ * @author Graduate School
+ */
+public final class SourcesJarSourceProvider implements SourceProvider, Closeable
+{
+
+  /**
+   * Sources JAR.
+   */
+  private final Path jar;
+
+  /**
+   * Zip file system of the sources JAR.
+   */
+  private final FileSystem fileSystem;
+
+  /**
+   * Constructor with values, opens the sources JAR.
+   *
+   * @param jarParam sources JAR
+   * @throws IOException if the sources JAR could not be opened
+   */
+  public SourcesJarSourceProvider(final Path jarParam) throws IOException
+  {
+    if (jarParam == null) {
+      throw new IllegalArgumentException("jar cannot be null");
+    }
+    this.jar = jarParam;
+    this.fileSystem = FileSystems.newFileSystem(jarParam);
+  }
+
+  /**
+   * Getter for jar.
+   *
+   * @return jar
+   */
+  public Path getJar()
+  {
+    return jar;
+  }
+
+  @Override
+  public SourceFile find(final String sourceFile)
+  {
+    if (sourceFile == null) {
+      throw new IllegalArgumentException("sourceFile cannot be null");
+    }
+    final Path entry = fileSystem.getPath(sourceFile.replace(File.separatorChar, '/'));
+    return Files.isRegularFile(entry) ? new SourceFile(entry) : null;
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    fileSystem.close();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "SourcesJarSourceProvider{jar=" + jar + '}';
+  }
+
+}
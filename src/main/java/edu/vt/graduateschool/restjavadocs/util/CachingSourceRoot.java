@@ -0,0 +1,170 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.source.DirectorySourceProvider;
+import edu.vt.graduateschool.restjavadocs.source.SourceFile;
+import edu.vt.graduateschool.restjavadocs.source.SourceProvider;
+
+import static com.github.javaparser.utils.CodeGenerationUtils.fileInPackageRelativePath;
+
+/**
+ * {@link SourceRoot} which serves single file parses from a bounded {@link CompilationUnitCache} instead of the
+ * unbounded cache kept by {@link SourceRoot}. Files parsed this way are not tracked for
+ * {@link SourceRoot#saveAll()}.<br>
+ * <br>
+ * Single files are located by a {@link SourceProvider}, by default the root directory itself. With another provider
+ * (see {@link JavaParserUtils#getSourceRoot(SourceProvider, ParserProfile)}) the root directory is only nominal and the
+ * sources may be spread over several directories, sources JARs, class path resources or memory.
+ *
+ * @author Graduate School
+ */
+public final class CachingSourceRoot extends SourceRoot
+{
+
+  /**
+   * Cache of parsed compilation units.
+   */
+  private final CompilationUnitCache compilationUnitCache;
+
+  /**
+   * Provider locating single files.
+   */
+  private final SourceProvider sourceProvider;
+
+  /**
+   * Constructor with values, single files are located in the root directory.
+   *
+   * @param root the root directory of a set of source files
+   * @param parserConfiguration parser configuration
+   * @param compilationUnitCacheParam cache of parsed compilation units
+   */
+  public CachingSourceRoot(final Path root, final ParserConfiguration parserConfiguration,
+          final CompilationUnitCache compilationUnitCacheParam)
+  {
+    this(root, parserConfiguration, compilationUnitCacheParam, new DirectorySourceProvider(List.of(root)));
+  }
+
+  /**
+   * Constructor with values and a provider locating single files.
+   *
+   * @param root the root directory of a set of source files, only walked by the methods of {@link SourceRoot}
+   * @param parserConfiguration parser configuration
+   * @param compilationUnitCacheParam cache of parsed compilation units
+   * @param sourceProviderParam provider locating single files
+   */
+  public CachingSourceRoot(final Path root, final ParserConfiguration parserConfiguration,
+          final CompilationUnitCache compilationUnitCacheParam, final SourceProvider sourceProviderParam)
+  {
+    super(root, parserConfiguration);
+    if (compilationUnitCacheParam == null || sourceProviderParam == null) {
+      throw new IllegalArgumentException("neither compilationUnitCache nor sourceProvider may be null");
+    }
+    this.compilationUnitCache = compilationUnitCacheParam;
+    this.sourceProvider = sourceProviderParam;
+  }
+
+  /**
+   * Getter for compilationUnitCache.
+   *
+   * @return compilationUnitCache
+   */
+  public CompilationUnitCache getCompilationUnitCache()
+  {
+    return compilationUnitCache;
+  }
+
+  /**
+   * Getter for sourceProvider.
+   *
+   * @return sourceProvider
+   */
+  public SourceProvider getSourceProvider()
+  {
+    return sourceProvider;
+  }
+
+  /**
+   * Whether or not the provider finds a source file.
+   *
+   * @param sourceFile path to the .java file relative to the source root
+   * @return true if found
+   * @throws ParseProblemException if the provider could not be searched
+   */
+  public boolean hasSourceFile(final String sourceFile)
+          throws ParseProblemException
+  {
+    try {
+      return sourceProvider.find(sourceFile) != null;
+    } catch (final IOException ex) {
+      throw new ParseProblemException(ex);
+    }
+  }
+
+  @Override
+  public ParseResult<CompilationUnit> tryToParse(final String startPackage, final String filename,
+          final ParserConfiguration configuration)
+          throws IOException
+  {
+    if (startPackage == null || filename == null) {
+      throw new IllegalArgumentException("neither startPackage nor filename may be null");
+    }
+    return compilationUnitCache.tryToParse(findSourceFile(startPackage, filename), configuration);
+  }
+
+  /**
+   * Returns the value an extractor derives from the compilation unit of a source file, caching the value rather than
+   * the compilation unit (see {@link CompilationUnitCache#extract(Path, ParserConfiguration, Function)}). Problems are
+   * reported the same as by {@link SourceRoot#parse(String, String)}.
+   *
+   * @param <T> type of the extracted value
+   * @param startPackage package of the source file
+   * @param filename name of the source file
+   * @param extractor function deriving the value from the compilation unit, the same instance for the same kind of
+   * value
+   * @return extracted value
+   * @throws ParseProblemException if the file could not be read or parsed
+   */
+  public <T> T extract(final String startPackage, final String filename,
+          final Function<CompilationUnit, T> extractor)
+          throws ParseProblemException
+  {
+    if (startPackage == null || filename == null) {
+      throw new IllegalArgumentException("neither startPackage nor filename may be null");
+    }
+    try {
+      return compilationUnitCache.extract(findSourceFile(startPackage, filename), getParserConfiguration(),
+              extractor);
+    } catch (final IOException ex) {
+      throw new ParseProblemException(ex);
+    }
+  }
+
+  /**
+   * Returns a single file located by the provider.
+   *
+   * @param startPackage package of the source file
+   * @param filename name of the source file
+   * @return {@link SourceFile}
+   * @throws IOException if the provider could not be searched or found no such file
+   */
+  private SourceFile findSourceFile(final String startPackage, final String filename) throws IOException
+  {
+    final String sourceFile = fileInPackageRelativePath(startPackage, filename).toString();
+    final SourceFile found = sourceProvider.find(sourceFile);
+    if (found == null) {
+      throw new NoSuchFileException(sourceFile, null, "not found by " + sourceProvider);
+    }
+    return found;
+  }
+
+}
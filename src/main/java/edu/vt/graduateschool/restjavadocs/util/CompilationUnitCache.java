@@ -0,0 +1,952 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Providers;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.resolution.SymbolResolver;
+import edu.vt.graduateschool.restjavadocs.source.SourceFile;
+
+/**
+ * Bounded cache of parsed {@link CompilationUnit}s keyed by source path, content hash and parser configuration, so a
+ * modified file is never served from the cache. Entries are kept in least recently used order and are bounded both by
+ * count and by an estimated weight, which is the size of the source file in bytes. Entries pushed out of those bounds
+ * are not dropped immediately but demoted to {@link SoftReference}s, which the garbage collector may clear under memory
+ * pressure.<br>
+ * <br>
+ * The parser configuration is part of the key by the settings which change the parsed tree or how its types resolve:
+ * the language level, the symbol resolver (by identity), comment attribution, token storage, the character encoding,
+ * the tab size and the number of processors. Source roots of different configurations may thus share a cache, and a
+ * file parsed again after its source root's configuration was modified is not served from the cache. Replacing a
+ * processor by another one is not detected.<br>
+ * <br>
+ * Values extracted from compilation units, such as documentation models, may be cached instead of the compilation
+ * units themselves (see {@link #extract(Path, ParserConfiguration, Function)}). They are bounded by count only and
+ * dropped when pushed out, as they are meant to be a small fraction of the compilation units they were extracted
+ * from.<br>
+ * <br>
+ * The cache may be shared between threads. A source file looked up by several threads at once is parsed by the first
+ * of them only, the others wait for and share its result.
+ *
+ * @author Graduate School
+ */
+public final class CompilationUnitCache
+{
+
+  /**
+   * Default maximum number of strongly held compilation units.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 512;
+
+  /**
+   * Default maximum estimated weight (bytes of source) of strongly held compilation units.
+   */
+  public static final long DEFAULT_MAX_WEIGHT = 32L * 1024L * 1024L;
+
+  /**
+   * Default maximum number of cached extracted values.
+   */
+  public static final int DEFAULT_MAX_EXTRACTED = 4096;
+
+  /**
+   * Marker of values not extracted yet, as extracted values may be null.
+   */
+  private static final Object NOT_EXTRACTED = new Object();
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(CompilationUnitCache.class.getName());
+
+  /**
+   * Maximum number of strongly held compilation units.
+   */
+  private final int maxEntries;
+
+  /**
+   * Maximum estimated weight of strongly held compilation units.
+   */
+  private final long maxWeight;
+
+  /**
+   * Maximum number of cached extracted values.
+   */
+  private final int maxExtracted;
+
+  /**
+   * Strongly held entries in access order.
+   */
+  private final Map<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Entries evicted from {@link #entries} which have not been cleared by the garbage collector yet.
+   */
+  private final Map<CacheKey, SoftEntry> softEntries = new HashMap<>();
+
+  /**
+   * Queue of cleared soft entries.
+   */
+  private final ReferenceQueue<CompilationUnit> clearedEntries = new ReferenceQueue<>();
+
+  /**
+   * Parses in progress, so concurrent lookups of the same source file parse it only once.
+   */
+  private final Map<CacheKey, CompletableFuture<ParseResult<CompilationUnit>>> parses = new ConcurrentHashMap<>();
+
+  /**
+   * Extracted values in access order, values may be null.
+   */
+  private final Map<ExtractionKey, Object> extracted = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Extractions in progress, so concurrent lookups of the same value extract it only once.
+   */
+  private final Map<ExtractionKey, CompletableFuture<Object>> extractions = new ConcurrentHashMap<>();
+
+  /**
+   * Sum of the weight of strongly held entries.
+   */
+  private long weight;
+
+  /**
+   * Number of lookups served from the cache.
+   */
+  private long hitCount;
+
+  /**
+   * Number of lookups which required parsing.
+   */
+  private long missCount;
+
+  /**
+   * Number of entries demoted from the strongly held entries.
+   */
+  private long evictionCount;
+
+  /**
+   * Number of lookups which waited for a parse of the same source file in progress instead of parsing it again.
+   */
+  private long coalescedCount;
+
+  /**
+   * Default constructor using {@link #DEFAULT_MAX_ENTRIES} and {@link #DEFAULT_MAX_WEIGHT}.
+   */
+  public CompilationUnitCache()
+  {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+  }
+
+  /**
+   * Constructor with bounds.
+   *
+   * @param maxEntriesParam maximum number of strongly held compilation units
+   * @param maxWeightParam maximum estimated weight (bytes of source) of strongly held compilation units
+   */
+  public CompilationUnitCache(final int maxEntriesParam, final long maxWeightParam)
+  {
+    this(maxEntriesParam, maxWeightParam, DEFAULT_MAX_EXTRACTED);
+  }
+
+  /**
+   * Constructor with bounds of compilation units and extracted values.
+   *
+   * @param maxEntriesParam maximum number of strongly held compilation units
+   * @param maxWeightParam maximum estimated weight (bytes of source) of strongly held compilation units
+   * @param maxExtractedParam maximum number of cached extracted values
+   */
+  public CompilationUnitCache(final int maxEntriesParam, final long maxWeightParam, final int maxExtractedParam)
+  {
+    if (maxEntriesParam < 0 || maxWeightParam < 0 || maxExtractedParam < 0) {
+      throw new IllegalArgumentException("cache bounds cannot be negative");
+    }
+    this.maxEntries = maxEntriesParam;
+    this.maxWeight = maxWeightParam;
+    this.maxExtracted = maxExtractedParam;
+  }
+
+  /**
+   * Returns the cached parse result of a source file, parsing it if the file is not cached or has changed since.
+   *
+   * @param path path to the .java file
+   * @param configuration parser configuration used on a cache miss
+   * @return {@link ParseResult}
+   * @throws IOException if the file could not be read
+   */
+  public ParseResult<CompilationUnit> tryToParse(final Path path, final ParserConfiguration configuration)
+          throws IOException
+  {
+    return tryToParse(new SourceFile(path), configuration);
+  }
+
+  /**
+   * Returns the cached parse result of a source file found by a
+   * {@link edu.vt.graduateschool.restjavadocs.source.SourceProvider}, parsing it if the file is not cached or has
+   * changed since.
+   *
+   * @param sourceFile source file
+   * @param configuration parser configuration used on a cache miss
+   * @return {@link ParseResult}
+   * @throws IOException if the file could not be read
+   */
+  public ParseResult<CompilationUnit> tryToParse(final SourceFile sourceFile, final ParserConfiguration configuration)
+          throws IOException
+  {
+    final Path absolutePath = sourceFile.getPath().toAbsolutePath().normalize();
+    final byte[] content = sourceFile.read();
+    final CacheKey key = new CacheKey(absolutePath, LangUtils.contentHash(content), configuration);
+    final CompilationUnit cached = get(key);
+    if (cached != null) {
+      return new ParseResult<>(cached, Collections.emptyList(), null);
+    }
+    final CompletableFuture<ParseResult<CompilationUnit>> parse = new CompletableFuture<>();
+    final CompletableFuture<ParseResult<CompilationUnit>> inFlight = parses.putIfAbsent(key, parse);
+    if (inFlight != null) {
+      return await(key, inFlight);
+    }
+    try {
+      final CompilationUnit completed = recheck(key);
+      final ParseResult<CompilationUnit> result = completed == null ? parse(key, content, configuration) :
+              new ParseResult<>(completed, Collections.emptyList(), null);
+      parse.complete(result);
+      return result;
+    } catch (final RuntimeException | Error ex) {
+      parse.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      parses.remove(key, parse);
+    }
+  }
+
+  /**
+   * Returns the value an extractor derives from the compilation unit of a source file, extracting it if the value is
+   * not cached or the file has changed since. Only the value is cached: on a miss the compilation unit is parsed for
+   * the extractor and released right after, unless it is cached already. Extractors are told apart by identity, so the
+   * same instance must be passed for the same kind of value.
+   *
+   * @param <T> type of the extracted value
+   * @param path path to the .java file
+   * @param configuration parser configuration used if the compilation unit is not cached
+   * @param extractor function deriving the value, which may be null, from a compilation unit parsed from a file
+   * @return extracted value
+   * @throws IOException if the file could not be read
+   * @throws ParseProblemException if the file could not be parsed
+   */
+  public <T> T extract(final Path path, final ParserConfiguration configuration,
+          final Function<CompilationUnit, T> extractor)
+          throws IOException, ParseProblemException
+  {
+    return extract(new SourceFile(path), configuration, extractor);
+  }
+
+  /**
+   * Returns the value an extractor derives from the compilation unit of a source file found by a
+   * {@link edu.vt.graduateschool.restjavadocs.source.SourceProvider}, see
+   * {@link #extract(Path, ParserConfiguration, Function)}.
+   *
+   * @param <T> type of the extracted value
+   * @param sourceFile source file
+   * @param configuration parser configuration used if the compilation unit is not cached
+   * @param extractor function deriving the value, which may be null, from a compilation unit parsed from a file
+   * @return extracted value
+   * @throws IOException if the file could not be read
+   * @throws ParseProblemException if the file could not be parsed
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T extract(final SourceFile sourceFile, final ParserConfiguration configuration,
+          final Function<CompilationUnit, T> extractor)
+          throws IOException, ParseProblemException
+  {
+    if (extractor == null) {
+      throw new IllegalArgumentException("extractor cannot be null");
+    }
+    final Path absolutePath = sourceFile.getPath().toAbsolutePath().normalize();
+    final byte[] content = sourceFile.read();
+    final ExtractionKey key = new ExtractionKey(new CacheKey(absolutePath, LangUtils.contentHash(content),
+            configuration), extractor);
+    final Object cached = getExtracted(key);
+    if (cached != NOT_EXTRACTED) {
+      return (T) cached;
+    }
+    final CompletableFuture<Object> extraction = new CompletableFuture<>();
+    final CompletableFuture<Object> inFlight = extractions.putIfAbsent(key, extraction);
+    if (inFlight != null) {
+      return (T) await(key.cacheKey, inFlight);
+    }
+    try {
+      Object value = getExtracted(key);
+      if (value == NOT_EXTRACTED) {
+        value = extractor.apply(parseForExtraction(key.cacheKey, content, configuration));
+        putExtracted(key, value);
+      }
+      extraction.complete(value);
+      return (T) value;
+    } catch (final RuntimeException | Error ex) {
+      extraction.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      extractions.remove(key, extraction);
+    }
+  }
+
+  /**
+   * Removes all entries and extracted values, counters are retained.
+   */
+  public synchronized void clear()
+  {
+    entries.clear();
+    softEntries.clear();
+    extracted.clear();
+    weight = 0;
+  }
+
+  /**
+   * Returns the number of strongly held entries.
+   *
+   * @return size
+   */
+  public synchronized int size()
+  {
+    return entries.size();
+  }
+
+  /**
+   * Returns the number of soft entries which may still be revived.
+   *
+   * @return soft entry count
+   */
+  public synchronized int softSize()
+  {
+    expungeClearedEntries();
+    return softEntries.size();
+  }
+
+  /**
+   * Returns the number of cached extracted values.
+   *
+   * @return extracted value count
+   */
+  public synchronized int extractedSize()
+  {
+    return extracted.size();
+  }
+
+  /**
+   * Getter for weight.
+   *
+   * @return estimated weight of strongly held entries
+   */
+  public synchronized long getWeight()
+  {
+    return weight;
+  }
+
+  /**
+   * Getter for maxEntries.
+   *
+   * @return maxEntries
+   */
+  public int getMaxEntries()
+  {
+    return maxEntries;
+  }
+
+  /**
+   * Getter for maxWeight.
+   *
+   * @return maxWeight
+   */
+  public long getMaxWeight()
+  {
+    return maxWeight;
+  }
+
+  /**
+   * Getter for maxExtracted.
+   *
+   * @return maxExtracted
+   */
+  public int getMaxExtracted()
+  {
+    return maxExtracted;
+  }
+
+  /**
+   * Getter for hitCount.
+   *
+   * @return hitCount
+   */
+  public synchronized long getHitCount()
+  {
+    return hitCount;
+  }
+
+  /**
+   * Getter for missCount.
+   *
+   * @return missCount
+   */
+  public synchronized long getMissCount()
+  {
+    return missCount;
+  }
+
+  /**
+   * Getter for evictionCount.
+   *
+   * @return evictionCount
+   */
+  public synchronized long getEvictionCount()
+  {
+    return evictionCount;
+  }
+
+  /**
+   * Getter for coalescedCount.
+   *
+   * @return coalescedCount
+   */
+  public synchronized long getCoalescedCount()
+  {
+    return coalescedCount;
+  }
+
+  @Override
+  public synchronized String toString()
+  {
+    return "CompilationUnitCache{size=" + entries.size() + ", weight=" + weight + ", extracted=" + extracted.size() +
+            ", hits=" + hitCount +
+            ", misses=" + missCount + ", evictions=" + evictionCount + ", coalesced=" + coalescedCount + '}';
+  }
+
+  /**
+   * Parses a source file and caches the compilation unit if parsing succeeded.
+   *
+   * @param key cache key
+   * @param content source file content
+   * @param configuration parser configuration
+   * @return {@link ParseResult}
+   */
+  private ParseResult<CompilationUnit> parse(final CacheKey key, final byte[] content,
+          final ParserConfiguration configuration)
+  {
+    final ParseResult<CompilationUnit> result = parseContent(key, content, configuration);
+    if (result.isSuccessful() && result.getResult().isPresent()) {
+      put(key, result.getResult().get(), content.length);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the cached compilation unit of a source file or parses it without caching it.
+   *
+   * @param key cache key
+   * @param content source file content
+   * @param configuration parser configuration
+   * @return {@link CompilationUnit}
+   * @throws ParseProblemException if the source file could not be parsed
+   */
+  private CompilationUnit parseForExtraction(final CacheKey key, final byte[] content,
+          final ParserConfiguration configuration)
+          throws ParseProblemException
+  {
+    final CompilationUnit cached = get(key);
+    if (cached != null) {
+      return cached;
+    }
+    final ParseResult<CompilationUnit> result = parseContent(key, content, configuration);
+    if (!result.isSuccessful() || result.getResult().isEmpty()) {
+      throw new ParseProblemException(result.getProblems());
+    }
+    return result.getResult().get();
+  }
+
+  /**
+   * Parses source file content, setting the storage of the compilation unit if parsing succeeded.
+   *
+   * @param key cache key
+   * @param content source file content
+   * @param configuration parser configuration
+   * @return {@link ParseResult}
+   */
+  private static ParseResult<CompilationUnit> parseContent(final CacheKey key, final byte[] content,
+          final ParserConfiguration configuration)
+  {
+    final ParseResult<CompilationUnit> result = new JavaParser(configuration)
+            .parse(ParseStart.COMPILATION_UNIT, Providers.provider(new ByteArrayInputStream(content),
+                    configuration.getCharacterEncoding()));
+    if (result.isSuccessful() && result.getResult().isPresent()) {
+      result.getResult().get().setStorage(key.path, configuration.getCharacterEncoding());
+    }
+    return result;
+  }
+
+  /**
+   * Waits for the parse or extraction of the same source file started by another thread.
+   *
+   * @param <V> type of the result
+   * @param key cache key
+   * @param inFlight parse or extraction in progress
+   * @return result of the other thread
+   */
+  private <V> V await(final CacheKey key, final CompletableFuture<V> inFlight)
+  {
+    synchronized (this) {
+      coalescedCount++;
+    }
+    LOGGER.log(Level.FINEST, "waiting for parse of {0} in progress", key.path);
+    try {
+      return inFlight.join();
+    } catch (final CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      if (ex.getCause() instanceof Error) {
+        throw (Error) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Returns a cached compilation unit, reviving soft entries, or null if none is cached.
+   *
+   * @param key cache key
+   * @return {@link CompilationUnit} or null
+   */
+  private synchronized CompilationUnit get(final CacheKey key)
+  {
+    final CompilationUnit cached = find(key);
+    if (cached == null) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return cached;
+  }
+
+  /**
+   * Returns a compilation unit cached by another thread since a lookup of this thread missed, counting the lookup as
+   * a hit after all. Parses and extractions check again once they own the key, as the thread which owned it before may
+   * have completed in between.
+   *
+   * @param key cache key
+   * @return {@link CompilationUnit} or null
+   */
+  private synchronized CompilationUnit recheck(final CacheKey key)
+  {
+    final CompilationUnit cached = find(key);
+    if (cached != null) {
+      missCount--;
+      hitCount++;
+    }
+    return cached;
+  }
+
+  /**
+   * Returns a cached compilation unit, reviving soft entries, or null if none is cached. Counters are not updated.
+   *
+   * @param key cache key
+   * @return {@link CompilationUnit} or null
+   */
+  private CompilationUnit find(final CacheKey key)
+  {
+    expungeClearedEntries();
+    final CacheEntry entry = entries.get(key);
+    if (entry != null) {
+      return entry.compilationUnit;
+    }
+    final SoftEntry softEntry = softEntries.remove(key);
+    final CompilationUnit revived = softEntry == null ? null : softEntry.get();
+    if (revived != null) {
+      store(key, new CacheEntry(revived, softEntry.weight));
+    }
+    return revived;
+  }
+
+  /**
+   * Returns a cached extracted value, counting a hit, or {@link #NOT_EXTRACTED} if none is cached.
+   *
+   * @param key extraction key
+   * @return extracted value, which may be null, or {@link #NOT_EXTRACTED}
+   */
+  private synchronized Object getExtracted(final ExtractionKey key)
+  {
+    if (!extracted.containsKey(key)) {
+      return NOT_EXTRACTED;
+    }
+    hitCount++;
+    return extracted.get(key);
+  }
+
+  /**
+   * Caches a parsed compilation unit.
+   *
+   * @param key cache key
+   * @param compilationUnit parsed unit
+   * @param entryWeight estimated weight
+   */
+  private synchronized void put(final CacheKey key, final CompilationUnit compilationUnit, final long entryWeight)
+  {
+    removeStaleEntries(key);
+    store(key, new CacheEntry(compilationUnit, entryWeight));
+  }
+
+  /**
+   * Caches an extracted value, dropping values of previous contents of the path parsed by the same configuration and
+   * the least recently used values exceeding the bound.
+   *
+   * @param key extraction key
+   * @param value extracted value
+   */
+  private synchronized void putExtracted(final ExtractionKey key, final Object value)
+  {
+    extracted.keySet().removeIf(extractedKey -> extractedKey.extractor == key.extractor &&
+            extractedKey.cacheKey.isSameSource(key.cacheKey));
+    extracted.put(key, value);
+    final Iterator<ExtractionKey> iterator = extracted.keySet().iterator();
+    while (iterator.hasNext() && extracted.size() > maxExtracted) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Stores a strongly held entry and demotes the least recently used entries exceeding the bounds.
+   *
+   * @param key cache key
+   * @param entry entry
+   */
+  private void store(final CacheKey key, final CacheEntry entry)
+  {
+    final CacheEntry previous = entries.put(key, entry);
+    if (previous != null) {
+      weight -= previous.weight;
+    }
+    weight += entry.weight;
+    final Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext() && (entries.size() > maxEntries || weight > maxWeight)) {
+      final Map.Entry<CacheKey, CacheEntry> eldest = iterator.next();
+      iterator.remove();
+      weight -= eldest.getValue().weight;
+      evictionCount++;
+      softEntries.put(eldest.getKey(), new SoftEntry(eldest.getKey(), eldest.getValue(), clearedEntries));
+      LOGGER.log(Level.FINEST, "demoted compilation unit {0}", eldest.getKey().path);
+    }
+  }
+
+  /**
+   * Drops entries of previous contents of a path parsed by the same configuration.
+   *
+   * @param key cache key of the current content
+   */
+  private void removeStaleEntries(final CacheKey key)
+  {
+    final Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<CacheKey, CacheEntry> entry = iterator.next();
+      if (entry.getKey().isSameSource(key)) {
+        weight -= entry.getValue().weight;
+        iterator.remove();
+      }
+    }
+    softEntries.keySet().removeIf(softKey -> softKey.isSameSource(key));
+  }
+
+  /**
+   * Removes soft entries cleared by the garbage collector.
+   */
+  private void expungeClearedEntries()
+  {
+    Reference<? extends CompilationUnit> reference = clearedEntries.poll();
+    while (reference != null) {
+      final SoftEntry cleared = (SoftEntry) reference;
+      if (softEntries.get(cleared.key) == cleared) {
+        softEntries.remove(cleared.key);
+      }
+      reference = clearedEntries.poll();
+    }
+  }
+
+  /**
+   * Cache key consisting of the source path, its content hash and the parser configuration.
+   */
+  private static final class CacheKey
+  {
+
+    /**
+     * Absolute source path.
+     */
+    private final Path path;
+
+    /**
+     * Content hash.
+     */
+    private final String hash;
+
+    /**
+     * Settings of the parser configuration.
+     */
+    private final ConfigurationKey configuration;
+
+    /**
+     * Constructor with values.
+     *
+     * @param pathParam absolute source path
+     * @param hashParam content hash
+     * @param configurationParam parser configuration
+     */
+    CacheKey(final Path pathParam, final String hashParam, final ParserConfiguration configurationParam)
+    {
+      this.path = pathParam;
+      this.hash = hashParam;
+      this.configuration = new ConfigurationKey(configurationParam);
+    }
+
+    /**
+     * Whether or not another key is of the same path parsed by the same configuration, whatever its content.
+     *
+     * @param other other key
+     * @return true if path and configuration are equal
+     */
+    boolean isSameSource(final CacheKey other)
+    {
+      return path.equals(other.path) && configuration.equals(other.configuration);
+    }
+
+    @Override
+    public boolean equals(final Object obj)
+    {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      final CacheKey other = (CacheKey) obj;
+      return path.equals(other.path) && hash.equals(other.hash) && configuration.equals(other.configuration);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(path, hash, configuration);
+    }
+
+  }
+
+  /**
+   * Settings of a parser configuration which change the parsed tree or how its types resolve, the symbol resolver is
+   * compared by identity.
+   */
+  private static final class ConfigurationKey
+  {
+
+    /**
+     * Language level.
+     */
+    private final ParserConfiguration.LanguageLevel languageLevel;
+
+    /**
+     * Symbol resolver, null if none.
+     */
+    private final SymbolResolver symbolResolver;
+
+    /**
+     * Character encoding.
+     */
+    private final Charset characterEncoding;
+
+    /**
+     * Boolean settings as bits.
+     */
+    private final int flags;
+
+    /**
+     * Tab size.
+     */
+    private final int tabSize;
+
+    /**
+     * Number of processors.
+     */
+    private final int processorCount;
+
+    /**
+     * Constructor with values.
+     *
+     * @param configuration parser configuration
+     */
+    ConfigurationKey(final ParserConfiguration configuration)
+    {
+      this.languageLevel = configuration.getLanguageLevel();
+      this.symbolResolver = configuration.getSymbolResolver().orElse(null);
+      this.characterEncoding = configuration.getCharacterEncoding();
+      this.flags = (configuration.isStoreTokens() ? 1 : 0) | (configuration.isAttributeComments() ? 2 : 0) |
+              (configuration.isDoNotAssignCommentsPrecedingEmptyLines() ? 4 : 0) |
+              (configuration.isIgnoreAnnotationsWhenAttributingComments() ? 8 : 0) |
+              (configuration.isLexicalPreservationEnabled() ? 16 : 0) |
+              (configuration.isPreprocessUnicodeEscapes() ? 32 : 0);
+      this.tabSize = configuration.getTabSize();
+      this.processorCount = configuration.getProcessors().size();
+    }
+
+    @Override
+    public boolean equals(final Object obj)
+    {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ConfigurationKey)) {
+        return false;
+      }
+      final ConfigurationKey other = (ConfigurationKey) obj;
+      return languageLevel == other.languageLevel && symbolResolver == other.symbolResolver &&
+              Objects.equals(characterEncoding, other.characterEncoding) && flags == other.flags &&
+              tabSize == other.tabSize && processorCount == other.processorCount;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(languageLevel, System.identityHashCode(symbolResolver), characterEncoding, flags, tabSize,
+              processorCount);
+    }
+
+  }
+
+  /**
+   * Key of an extracted value consisting of the cache key of the source file and the extractor, by identity.
+   */
+  private static final class ExtractionKey
+  {
+
+    /**
+     * Cache key of the source file.
+     */
+    private final CacheKey cacheKey;
+
+    /**
+     * Extractor.
+     */
+    private final Function<?, ?> extractor;
+
+    /**
+     * Constructor with values.
+     *
+     * @param cacheKeyParam cache key of the source file
+     * @param extractorParam extractor
+     */
+    ExtractionKey(final CacheKey cacheKeyParam, final Function<?, ?> extractorParam)
+    {
+      this.cacheKey = cacheKeyParam;
+      this.extractor = extractorParam;
+    }
+
+    @Override
+    public boolean equals(final Object obj)
+    {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ExtractionKey)) {
+        return false;
+      }
+      final ExtractionKey other = (ExtractionKey) obj;
+      return cacheKey.equals(other.cacheKey) && extractor == other.extractor;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return cacheKey.hashCode() * 31 + System.identityHashCode(extractor);
+    }
+
+  }
+
+  /**
+   * Strongly held cache entry.
+   */
+  private static final class CacheEntry
+  {
+
+    /**
+     * Parsed unit.
+     */
+    private final CompilationUnit compilationUnit;
+
+    /**
+     * Estimated weight.
+     */
+    private final long weight;
+
+    /**
+     * Constructor with values.
+     *
+     * @param compilationUnitParam parsed unit
+     * @param weightParam estimated weight
+     */
+    CacheEntry(final CompilationUnit compilationUnitParam, final long weightParam)
+    {
+      this.compilationUnit = compilationUnitParam;
+      this.weight = weightParam;
+    }
+
+  }
+
+  /**
+   * Softly held cache entry.
+   */
+  private static final class SoftEntry extends SoftReference<CompilationUnit>
+  {
+
+    /**
+     * Cache key.
+     */
+    private final CacheKey key;
+
+    /**
+     * Estimated weight.
+     */
+    private final long weight;
+
+    /**
+     * Constructor with values.
+     *
+     * @param keyParam cache key
+     * @param entry demoted entry
+     * @param queue queue to register with
+     */
+    SoftEntry(final CacheKey keyParam, final CacheEntry entry, final ReferenceQueue<CompilationUnit> queue)
+    {
+      super(entry.compilationUnit, queue);
+      this.key = keyParam;
+      this.weight = entry.weight;
+    }
+
+  }
+
+}
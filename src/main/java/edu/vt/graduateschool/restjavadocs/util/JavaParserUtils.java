@@ -1,8 +1,9 @@
 /* See LICENSE for licensing and NOTICE for copyright. */
 package edu.vt.graduateschool.restjavadocs.util;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,7 +11,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.TokenRange;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
@@ -23,16 +31,19 @@ import com.github.javaparser.ast.expr.FieldAccessExpr;
 import com.github.javaparser.ast.expr.MemberValuePair;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.printer.configuration.DefaultPrinterConfiguration;
+import com.github.javaparser.printer.configuration.PrinterConfiguration;
+import com.github.javaparser.resolution.SymbolResolver;
 import com.github.javaparser.resolution.UnsolvedSymbolException;
-import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.resolution.cache.Cache;
+import com.github.javaparser.symbolsolver.cache.GuavaCache;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ClassLoaderTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import com.github.javaparser.utils.SourceRoot;
-import org.walkmod.javalang.ast.body.JavadocTag;
-import org.walkmod.javalang.tags.ParseException;
-import org.walkmod.javalang.tags.TagsParser;
+import com.google.common.cache.CacheBuilder;
+import edu.vt.graduateschool.restjavadocs.source.SourceProvider;
+import edu.vt.graduateschool.restjavadocs.source.SourceRootSet;
 
 /**
  * @author Graduate School
@@ -45,6 +56,54 @@ public final class JavaParserUtils
    */
   public static final String ANNOTATION_EXPRESSION_REQUIRED = "required";
 
+  /**
+   * Number of lock stripes guarding symbol resolution.
+   */
+  private static final int RESOLUTION_STRIPES = 4 * Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Lock stripes guarding symbol resolution per compilation unit, the length is a power of two.
+   */
+  private static final Object[] RESOLUTION_LOCKS = new Object[Integer.highestOneBit(RESOLUTION_STRIPES - 1) << 1];
+
+  /**
+   * Symbol resolvers of {@link #getResolvingSourceRoot(java.lang.String)},
+   * {@link #getSourceRoot(SourceProvider, ParserProfile)} and {@link #getSourceRoot(SourceRootSet, ParserProfile)} by
+   * the absolute paths of the source roots they solve.
+   */
+  private static final Map<List<Path>, SymbolResolver> SHARED_SYMBOL_RESOLVERS = new ConcurrentHashMap<>();
+
+  /**
+   * Cache of the compilation units parsed by the source roots of {@link #getResolvingSourceRoot(java.lang.String)}.
+   */
+  private static final CompilationUnitCache SHARED_COMPILATION_UNIT_CACHE = new CompilationUnitCache();
+
+  /**
+   * Cache of the compilation units parsed by the {@link ParserProfile#LEAN} source roots of
+   * {@link #getSourceRoot(java.lang.String, ParserProfile)}.
+   */
+  private static final CompilationUnitCache SHARED_LEAN_COMPILATION_UNIT_CACHE = new CompilationUnitCache();
+
+  /**
+   * Caches of the compilation units parsed by the {@link ParserProfile#RESOLVING} source roots of
+   * {@link #getSourceRoot(SourceProvider, ParserProfile)} and {@link #getSourceRoot(SourceRootSet, ParserProfile)} by
+   * the key of their symbol resolver in
+   * {@link #SHARED_SYMBOL_RESOLVERS}.
+   */
+  private static final Map<List<Path>, CompilationUnitCache> SHARED_RESOLVER_COMPILATION_UNIT_CACHES =
+          new ConcurrentHashMap<>();
+
+  /**
+   * Printer configuration of nodes without tokens.
+   */
+  private static final PrinterConfiguration PRINTER_CONFIGURATION = new DefaultPrinterConfiguration();
+
+  static {
+    for (int i = 0; i < RESOLUTION_LOCKS.length; i++) {
+      RESOLUTION_LOCKS[i] = new Object();
+    }
+  }
+
   /**
    * Private constructor.
    */
@@ -69,7 +128,11 @@ public final class JavaParserUtils
   }
 
   /**
-   * Returns a configured resolving compilation unit source root
+   * Returns a configured resolving compilation unit source root. Source roots of the same path share one symbol
+   * resolver and every source root shares one {@link CompilationUnitCache}, so a source file is parsed once however
+   * many threads document it. The parser configuration is a new one on every call. Settings changed on it (i.e. the
+   * language level) apply to the returned source root only: the cache is keyed by configuration, so its files are
+   * parsed again with the changed settings rather than served from units parsed by other source roots.
    *
    * @param sourceRoot path to source
    * @return Configured {@link SourceRoot}
@@ -79,16 +142,254 @@ public final class JavaParserUtils
     if (sourceRoot == null) {
       throw new IllegalArgumentException("sourceRoot cannot be null");
     }
+    final List<Path> rootPaths = List.of(Paths.get(sourceRoot).toAbsolutePath().normalize());
+    final SymbolResolver symbolResolver =
+            SHARED_SYMBOL_RESOLVERS.computeIfAbsent(rootPaths, JavaParserUtils::newSymbolResolver);
+    return new CachingSourceRoot(Paths.get(sourceRoot), getResolvingParserConfiguration(symbolResolver),
+            SHARED_COMPILATION_UNIT_CACHE);
+  }
+
+  /**
+   * Returns a compilation unit source root configured by a parser profile. Source roots of the same profile share one
+   * {@link CompilationUnitCache}, see {@link #getResolvingSourceRoot(java.lang.String)} for the
+   * {@link ParserProfile#RESOLVING} profile.
+   *
+   * @param sourceRoot path to source
+   * @param profile parser profile
+   * @return Configured {@link SourceRoot}
+   */
+  public static SourceRoot getSourceRoot(final String sourceRoot, final ParserProfile profile)
+  {
+    if (sourceRoot == null || profile == null) {
+      throw new IllegalArgumentException("neither sourceRoot nor profile may be null");
+    }
+    if (profile == ParserProfile.RESOLVING) {
+      return getResolvingSourceRoot(sourceRoot);
+    }
+    return new CachingSourceRoot(Paths.get(sourceRoot), getLeanParserConfiguration(),
+            SHARED_LEAN_COMPILATION_UNIT_CACHE);
+  }
+
+  /**
+   * Returns a compilation unit source root configured by a parser profile which parses files through the provided
+   * bounded cache. The cache may be shared with source roots of other profiles, its entries are keyed by
+   * configuration.
+   *
+   * @param sourceRoot path to source
+   * @param profile parser profile
+   * @param compilationUnitCache cache of parsed compilation units
+   * @return Configured {@link SourceRoot}
+   */
+  public static SourceRoot getSourceRoot(final String sourceRoot, final ParserProfile profile,
+          final CompilationUnitCache compilationUnitCache)
+  {
+    if (sourceRoot == null || profile == null) {
+      throw new IllegalArgumentException("neither sourceRoot nor profile may be null");
+    }
+    if (profile == ParserProfile.RESOLVING) {
+      return getResolvingSourceRoot(sourceRoot, compilationUnitCache);
+    }
+    return new CachingSourceRoot(Paths.get(sourceRoot), getLeanParserConfiguration(), compilationUnitCache);
+  }
+
+  /**
+   * Returns a compilation unit source root configured by a parser profile which parses the files located by a source
+   * provider, i.e. a {@link edu.vt.graduateschool.restjavadocs.source.SourceProviderChain}. The symbol solver of the
+   * {@link ParserProfile#RESOLVING} profile solves types of the class path only, as the sources of a provider cannot be
+   * walked, and its compilation units are cached apart from those of any other symbol solver, so a unit parsed by
+   * {@link #getResolvingSourceRoot(java.lang.String)} is never returned by a provider. Source roots of the
+   * {@link ParserProfile#LEAN} profile share one {@link CompilationUnitCache}. The root directory of the source root is
+   * the working directory and is only nominal.
+   *
+   * @param sourceProvider provider locating the source files
+   * @param profile parser profile
+   * @return Configured {@link SourceRoot}
+   */
+  public static SourceRoot getSourceRoot(final SourceProvider sourceProvider, final ParserProfile profile)
+  {
+    if (sourceProvider == null || profile == null) {
+      throw new IllegalArgumentException("neither sourceProvider nor profile may be null");
+    }
+    final ParserConfiguration configuration = profile == ParserProfile.RESOLVING ? getResolvingParserConfiguration(
+            SHARED_SYMBOL_RESOLVERS.computeIfAbsent(List.of(), JavaParserUtils::newSymbolResolver)) :
+            getLeanParserConfiguration();
+    return new CachingSourceRoot(Paths.get("").toAbsolutePath(), configuration,
+            getSharedCompilationUnitCache(List.of(), profile), sourceProvider);
+  }
+
+  /**
+   * Returns a compilation unit source root configured by a parser profile which parses the files of a set of source
+   * roots, each located by a single lookup. Source roots of sets of the same roots share one symbol solver, which
+   * solves class path types and then the sources of each root in order, and one {@link CompilationUnitCache} apart
+   * from those of any other symbol solver, so a unit parsed by {@link #getResolvingSourceRoot(java.lang.String)} is
+   * never returned by a set and types declared in another root resolve. Source roots of the {@link ParserProfile#LEAN}
+   * profile share one cache. The root directory of the source root is the first root of the set.
+   *
+   * @param sourceRootSet set of source roots
+   * @param profile parser profile
+   * @return Configured {@link SourceRoot}
+   */
+  public static SourceRoot getSourceRoot(final SourceRootSet sourceRootSet, final ParserProfile profile)
+  {
+    if (sourceRootSet == null || profile == null) {
+      throw new IllegalArgumentException("neither sourceRootSet nor profile may be null");
+    }
+    final ParserConfiguration configuration = profile == ParserProfile.RESOLVING ? getResolvingParserConfiguration(
+            SHARED_SYMBOL_RESOLVERS.computeIfAbsent(sourceRootSet.getRoots(), JavaParserUtils::newSymbolResolver)) :
+            getLeanParserConfiguration();
+    return new CachingSourceRoot(sourceRootSet.getRoots().get(0), configuration,
+            getSharedCompilationUnitCache(sourceRootSet.getRoots(), profile), sourceRootSet);
+  }
+
+  /**
+   * Whether or not a source root has a source file, as located by its provider if it is a {@link CachingSourceRoot}.
+   *
+   * @param sourceRoot source root
+   * @param sourceFile path to the .java file relative to the source root
+   * @return true if the source root has the file
+   * @throws ParseProblemException if the provider of the source root could not be searched
+   */
+  public static boolean hasSourceFile(final SourceRoot sourceRoot, final String sourceFile)
+          throws ParseProblemException
+  {
+    if (sourceRoot == null || sourceFile == null) {
+      throw new IllegalArgumentException("neither sourceRoot nor sourceFile may be null");
+    }
+    if (sourceRoot instanceof CachingSourceRoot) {
+      return ((CachingSourceRoot) sourceRoot).hasSourceFile(sourceFile);
+    }
+    return Files.isRegularFile(sourceRoot.getRoot().resolve(sourceFile));
+  }
+
+  /**
+   * Returns a new parser configuration of the {@link ParserProfile#LEAN} profile.
+   *
+   * @return {@link ParserConfiguration}
+   */
+  public static ParserConfiguration getLeanParserConfiguration()
+  {
+    return withSignaturesOnly(new ParserConfiguration()
+            .setStoreTokens(true)
+            .setAttributeComments(true)
+            .setLanguageLevel(ParserProfile.LEAN_LANGUAGE_LEVEL));
+  }
+
+  /**
+   * Returns the cache of the compilation units parsed by the source roots of a profile.
+   *
+   * @param profile parser profile
+   * @return {@link CompilationUnitCache}
+   */
+  public static CompilationUnitCache getSharedCompilationUnitCache(final ParserProfile profile)
+  {
+    return profile == ParserProfile.LEAN ? SHARED_LEAN_COMPILATION_UNIT_CACHE : SHARED_COMPILATION_UNIT_CACHE;
+  }
+
+  /**
+   * Returns the cache of the compilation units parsed by the source roots of a profile whose symbol resolver solves a
+   * list of source roots, one cache per list for the {@link ParserProfile#RESOLVING} profile.
+   *
+   * @param rootPaths absolute paths of the source roots solved, the key of the symbol resolver
+   * @param profile parser profile
+   * @return {@link CompilationUnitCache}
+   */
+  private static CompilationUnitCache getSharedCompilationUnitCache(final List<Path> rootPaths,
+          final ParserProfile profile)
+  {
+    return profile == ParserProfile.LEAN ? SHARED_LEAN_COMPILATION_UNIT_CACHE :
+            SHARED_RESOLVER_COMPILATION_UNIT_CACHES.computeIfAbsent(rootPaths, paths -> new CompilationUnitCache());
+  }
+
+  /**
+   * Returns the cache of the compilation units parsed by the source roots of
+   * {@link #getResolvingSourceRoot(java.lang.String)}.
+   *
+   * @return {@link CompilationUnitCache}
+   */
+  public static CompilationUnitCache getSharedCompilationUnitCache()
+  {
+    return SHARED_COMPILATION_UNIT_CACHE;
+  }
+
+  /**
+   * Returns a configured resolving compilation unit source root which parses files through the provided bounded
+   * cache.
+   *
+   * @param sourceRoot path to source
+   * @param compilationUnitCache cache of parsed compilation units
+   * @return Configured {@link SourceRoot}
+   */
+  public static SourceRoot getResolvingSourceRoot(final String sourceRoot,
+          final CompilationUnitCache compilationUnitCache)
+  {
+    return new CachingSourceRoot(Paths.get(sourceRoot), getResolvingParserConfiguration(sourceRoot),
+            compilationUnitCache);
+  }
+
+  /**
+   * Returns a parser configuration with a symbol resolver for the given source root. The type solver may be shared
+   * between threads, lookups are guarded by a {@link StripedTypeSolver} and the source files it solves are parsed by a
+   * {@link ParsedFileCache}.
+   *
+   * @param sourceRoot path to source
+   * @return {@link ParserConfiguration}
+   */
+  public static ParserConfiguration getResolvingParserConfiguration(final String sourceRoot)
+  {
+    if (sourceRoot == null) {
+      throw new IllegalArgumentException("sourceRoot cannot be null");
+    }
+    return getResolvingParserConfiguration(newSymbolResolver(List.of(Paths.get(sourceRoot))));
+  }
+
+  /**
+   * Returns a new symbol resolver for the given source roots, solving the class path types first and then the sources
+   * of each root in order.
+   *
+   * @param sourceRoots paths to sources, empty solves class path types only
+   * @return {@link SymbolResolver}
+   */
+  private static SymbolResolver newSymbolResolver(final List<Path> sourceRoots)
+  {
     final ClassLoader currentLoader = JavaParserUtils.class.getClassLoader();
+    final ParserConfiguration solverConfiguration = new ParserConfiguration();
     final CombinedTypeSolver typeSolver = new CombinedTypeSolver(
             new ClassLoaderTypeSolver(currentLoader),
-            new ReflectionTypeSolver(),
-            new JavaParserTypeSolver(sourceRoot));
-    final JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
-    return getResolvingSourceRoot(sourceRoot, new ParserConfiguration()
+            new ReflectionTypeSolver());
+    for (final Path sourceRoot : sourceRoots) {
+      typeSolver.add(new JavaParserTypeSolver(sourceRoot, new JavaParser(solverConfiguration),
+              new ParsedFileCache(solverConfiguration), newSolverCache(), newSolverCache()));
+    }
+    return new ResolvingSymbolSolver(new StripedTypeSolver(typeSolver, RESOLUTION_STRIPES));
+  }
+
+  /**
+   * Returns a parser configuration with the given symbol resolver.
+   *
+   * @param symbolResolver symbol resolver
+   * @return {@link ParserConfiguration}
+   */
+  private static ParserConfiguration getResolvingParserConfiguration(final SymbolResolver symbolResolver)
+  {
+    return withSignaturesOnly(new ParserConfiguration()
             .setStoreTokens(true)
             .setLanguageLevel(ParserConfiguration.LanguageLevel.BLEEDING_EDGE)
-            .setSymbolResolver(symbolSolver));
+            .setSymbolResolver(symbolResolver));
+  }
+
+  /**
+   * Adds a {@link SignatureOnlyProcessor} to a parser configuration unless disabled (see
+   * {@link SignatureOnlyProcessor#isEnabled()}), documentation only reads declarations and their comments.
+   *
+   * @param configuration parser configuration
+   * @return the parser configuration
+   */
+  private static ParserConfiguration withSignaturesOnly(final ParserConfiguration configuration)
+  {
+    if (SignatureOnlyProcessor.isEnabled()) {
+      configuration.getProcessors().add(SignatureOnlyProcessor::new);
+    }
+    return configuration;
   }
 
   /**
@@ -171,26 +472,38 @@ public final class JavaParserUtils
   }
 
   /**
-   * Returns the text only content for a comment.
+   * Returns the text only content for a comment. Javadoc comments are stripped of the leading whitespace, asterisks
+   * and the first space after them on every line.
    *
    * @param comment Comment to parse
    * @return text of comment
    */
   public static String getCommentText(final Comment comment)
   {
-    final String commentText;
-    if (comment.isBlockComment()) {
-      commentText = comment.asBlockComment().getContent();
-    } else if (comment.isJavadocComment()) {
-      commentText = comment.asJavadocComment().getContent().replaceAll("^[\\s]*\\*?[\\s]*", "");
-    } else if (comment.isLineComment()) {
-      commentText = comment.asLineComment().getContent();
-    } else {
-      commentText = comment.getContent();
-    }
+    final String commentText = comment.isJavadocComment() ? getJavadocText(comment.getContent()) : comment.getContent();
     return commentText.trim();
   }
 
+  /**
+   * Returns the source text of a node as it was parsed, sliced from its stored tokens. Nodes without tokens (i.e.
+   * created rather than parsed) are printed instead.
+   *
+   * @param node node to return the text for
+   * @return source text
+   */
+  public static String getSourceText(final Node node)
+  {
+    final Optional<TokenRange> tokenRange = node.getTokenRange();
+    if (tokenRange.isEmpty()) {
+      return node.toString(PRINTER_CONFIGURATION);
+    }
+    final StringBuilder text = new StringBuilder();
+    for (final JavaToken token : tokenRange.get()) {
+      text.append(token.getText());
+    }
+    return text.toString();
+  }
+
   /**
    * Collects expression values into a {@link List} as {@link String} literals. Intended to only work with annotation
    * interfaces as their values can only be an enum, {@link String} or a {@link String}[] array.
@@ -236,15 +549,13 @@ public final class JavaParserUtils
     } else if (value.isStringLiteralExpr()) {
       stringValue = value.asStringLiteralExpr().getValue();
     } else if (value.isBooleanLiteralExpr()) {
-      stringValue = value.asBooleanLiteralExpr().toString();
-    } else if (value.isCharLiteralExpr()) {
-      stringValue = value.asCharLiteralExpr().getValue();
-    } else if (value.isLiteralExpr()) {
-      stringValue = value.asLiteralExpr().toString();
+      stringValue = String.valueOf(value.asBooleanLiteralExpr().getValue());
+    } else if (value.isLiteralStringValueExpr()) {
+      stringValue = value.asLiteralStringValueExpr().getValue();
     } else if (value.isBinaryExpr()) {
       stringValue = evaluateBinaryExpr(value.asBinaryExpr());
     } else {
-      stringValue = value.toString(new DefaultPrinterConfiguration());
+      stringValue = getSourceText(value);
     }
     return stringValue;
   }
@@ -352,42 +663,36 @@ public final class JavaParserUtils
   }
 
   /**
-   * Parses Javadoc tags and returns a map consisting of the values
+   * Parses Javadoc tags and returns a map consisting of the values, the words following the first word of each tag
    *
-   * @param tagName tag name (i.e. "@param")
+   * @param tagName tag name (i.e. "@param"), may be enclosed in double quotes
    * @param comments comments to parse tags from
-   * @return map with values
+   * @return map with values split into words
+   * @throws IllegalArgumentException if the comments are malformed
+   * @see JavadocTags
    */
   public static Map<String, String[]> getJavadocTags(final String tagName, final String comments)
+          throws IllegalArgumentException
   {
+    final String unquotedTagName = tagName.length() > 1 && tagName.startsWith("\"") && tagName.endsWith("\"") ?
+            tagName.substring(1, tagName.length() - 1) : tagName;
     final Map<String, String[]> tagsMap = new HashMap<>();
-    try {
-      for (final JavadocTag tag : TagsParser.parse(new ByteArrayInputStream(comments.getBytes()))) {
-        if (("\"" + tag.getName().trim() + "\"").equals(tagName) &&
-                tag.getValues() != null && tag.getValues().size() > 1) {
-          final String tagKey = tag.getValues().get(0);
-          final String[] tagValues = tag.getValues().subList(1, tag.getValues().size()).toArray(new String[0]);
-          tagsMap.put(tagKey, tagValues);
-        }
-      }
-    } catch (final ParseException ex) {
-      throw new IllegalArgumentException(ex);
+    for (final Map.Entry<String, String> tag : JavadocTags.parse(comments).getTag(unquotedTagName).entrySet()) {
+      tagsMap.put(tag.getKey(), tag.getValue().split(" "));
     }
     return tagsMap;
   }
 
   /**
-   * Whether or not resolvable type is assignable from Java 8 {@link Optional} type.
+   * Whether or not resolvable type is assignable from Java 8 {@link java.util.Optional} type. The type is resolved
+   * only if {@link TypeClassifier} cannot decide from the imports.
    *
    * @param resolvableType resolvableType
-   * @return true if {@link Optional}
+   * @return true if {@link java.util.Optional}
    */
   public static boolean isResolvedTypeJava8Optional(final Type resolvableType)
   {
-    final String resolvedTypeDescription = getResolvableTypeName(resolvableType);
-    return Optional.class.getCanonicalName()
-            .equals(resolvedTypeDescription) || resolvedTypeDescription
-            .startsWith(Optional.class.getCanonicalName() + "<");
+    return TypeClassifier.isOptional(resolvableType);
   }
 
   /**
@@ -422,6 +727,18 @@ public final class JavaParserUtils
     return true;
   }
 
+  /**
+   * Returns the explicitly declared attributes of a Spring MVC mapping annotation as a map. Path and value are aliases
+   * of each other, as they are when filtering by {@link #filterAnnotationExpression(AnnotationExpr, Map)}.
+   *
+   * @param annotationExpression annotation expression
+   * @return map of attribute names to values, never null
+   */
+  public static Map<String, String[]> getRequestMappingAnnotationValues(final AnnotationExpr annotationExpression)
+  {
+    return convertRequestMappingAnnotationValues(getAnnotationValuePairs(annotationExpression));
+  }
+
   /**
    * Returns a given string in the format required for a getter method name.
    *
@@ -473,12 +790,9 @@ public final class JavaParserUtils
     final String variableName = variable.getNameAsString();
     final String mutatorName = variableName.toUpperCase().substring(0, 1) +
             variableName.substring(1, variableName.length());
-    final Type variableType = variable.getType();
-    final String resolvedTypeName = getResolvableTypeName(variableType);
     if (isGetter) {
       final String getterPrefix;
-      if (variableType.isPrimitiveType() && !variableType.isArrayType() && resolvedTypeName.equals(
-              boolean.class.getCanonicalName())) {
+      if (TypeClassifier.isPrimitiveBoolean(variable.getType())) {
         getterPrefix = "is";
       } else {
         getterPrefix = "get";
@@ -490,22 +804,108 @@ public final class JavaParserUtils
 
   /**
    * Returns the resolved type name. If the type could not be resolved the simple name is returned. See
-   * {@link UnsolvedSymbolException#getName()}
+   * {@link UnsolvedSymbolException#getName()}. If symbol solving is disabled (see
+   * {@link TypeClassifier#isSymbolSolvingEnabled()}) or the type was parsed without a symbol resolver (i.e. by the
+   * {@link ParserProfile#LEAN} profile) the type is returned as written. Types parsed by a configuration
+   * of {@link #getResolvingParserConfiguration(String)} are resolved by the {@link TypeResolver} of their source root,
+   * which neither throws nor looks up a missing type twice.
    *
    * @param resolvableType resolvableType
    * @return resolved or simple name
    */
   public static String getResolvableTypeName(final Type resolvableType)
   {
+    if (!TypeClassifier.isSymbolSolvingEnabled() || !hasSymbolResolver(resolvableType)) {
+      return resolvableType.asString();
+    }
+    final TypeResolver typeResolver = TypeResolver.of(resolvableType);
+    if (typeResolver != null) {
+      return typeResolver.resolve(resolvableType).getName();
+    }
     String resolvedTypeDescription;
-    try {
-      resolvedTypeDescription = resolvableType.resolve().describe();
-    } catch (UnsolvedSymbolException e) {
-      resolvedTypeDescription = e.getName();
+    synchronized (getResolutionLock(resolvableType)) {
+      try {
+        resolvedTypeDescription = resolvableType.resolve().describe();
+      } catch (UnsolvedSymbolException e) {
+        resolvedTypeDescription = e.getName();
+      }
     }
     return resolvedTypeDescription;
   }
 
+  /**
+   * Whether or not the compilation unit of a node was parsed with a symbol resolver.
+   *
+   * @param node parsed node
+   * @return true if a symbol resolver is configured
+   */
+  private static boolean hasSymbolResolver(final Node node)
+  {
+    final Optional<CompilationUnit> compilationUnit = node.findCompilationUnit();
+    return compilationUnit.isPresent() && compilationUnit.get().containsData(Node.SYMBOL_RESOLVER_KEY);
+  }
+
+  /**
+   * Returns the monitor guarding symbol resolution of a node and the data of its compilation unit. Resolution caches
+   * its results as data of the resolved nodes, which is not safe to access from several threads, so resolution is
+   * serialized per compilation unit. Compilation units are spread over a fixed set of lock stripes, so compilation
+   * units of different stripes are resolved concurrently.
+   *
+   * @param node node to resolve
+   * @return monitor to synchronize on
+   */
+  public static Object getResolutionLock(final Node node)
+  {
+    final int hash = System.identityHashCode(node.findRootNode());
+    return RESOLUTION_LOCKS[(hash ^ (hash >>> 16)) & (RESOLUTION_LOCKS.length - 1)];
+  }
+
+  /**
+   * Returns an empty cache of a type solver, soft valued as the default caches of {@link JavaParserTypeSolver} but
+   * safe to use from several threads.
+   *
+   * @param <K> key type
+   * @param <V> value type
+   * @return {@link Cache}
+   */
+  private static <K, V> Cache<K, V> newSolverCache()
+  {
+    return new GuavaCache<>(CacheBuilder.newBuilder().softValues().build());
+  }
+
+  /**
+   * Returns the text of a Javadoc comment content in one pass, the leading whitespace, asterisks and the first space
+   * after them are dropped from every line and line breaks are kept as '\n'.
+   *
+   * @param content Javadoc comment content
+   * @return text of the comment
+   */
+  private static String getJavadocText(final String content)
+  {
+    final StringBuilder text = new StringBuilder(content.length());
+    boolean leading = true;
+    boolean asterisks = false;
+    for (int i = 0; i < content.length(); i++) {
+      final char character = content.charAt(i);
+      if (character == '\n') {
+        text.append(character);
+        leading = true;
+        asterisks = false;
+      } else if (character == '*' && (leading || asterisks)) {
+        leading = false;
+        asterisks = true;
+      } else if (character != '\r' && !(leading && Character.isWhitespace(character)) &&
+              !(asterisks && character == ' ')) {
+        text.append(character);
+        leading = false;
+        asterisks = false;
+      } else if (asterisks) {
+        asterisks = false;
+      }
+    }
+    return text.toString();
+  }
+
   /**
    * Evaluates a constant expression that may reside as annotation expression values.
    *
@@ -540,13 +940,13 @@ public final class JavaParserUtils
   }
 
   /**
-   * Converts a given {@link NodeList}&lt;{@link MemberValuePair}&gt; to a map.
+   * Converts a given {@link List}&lt;{@link MemberValuePair}&gt; to a map.
    *
    * @param annotationParameters annotationParameters
    * @return Converted map, never null
    */
   private static Map<String, String[]> convertRequestMappingAnnotationValues(
-          final NodeList<MemberValuePair> annotationParameters)
+          final List<MemberValuePair> annotationParameters)
   {
     final Map<String, String[]> annotationMap = new HashMap<>();
     for (final MemberValuePair pair : annotationParameters) {
@@ -0,0 +1,288 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.comments.Comment;
+
+/**
+ * Block tags of a Javadoc comment read in one pass over the raw comment content. Every block tag is keyed by its name
+ * (i.e. "@param") and its first word (i.e. the parameter name), the rest of the tag is its description. Descriptions
+ * spanning multiple lines are joined by single spaces and kept verbatim otherwise, including inline tags and non-ASCII
+ * text, tags without a description are left out. A block tag starts a line outside of any inline tag, an inline tag
+ * left open at the end of the comment makes the comment malformed. The tags of a comment node are parsed once and kept
+ * as data of the node, so looking up every parameter of a method costs one parse.
+ *
+ * @author Graduate School
+ */
+public final class JavadocTags
+{
+
+  /**
+   * Name of the param block tag.
+   */
+  public static final String PARAM_TAG = "@param";
+
+  /**
+   * Key of the tags kept as data of a comment.
+   */
+  private static final DataKey<JavadocTags> DATA_KEY = new DataKey<JavadocTags>()
+  {
+  };
+
+  /**
+   * Descriptions by first word by tag name.
+   */
+  private final Map<String, Map<String, String>> tags;
+
+  /**
+   * Constructor with values.
+   *
+   * @param tagsParam descriptions by first word by tag name
+   */
+  private JavadocTags(final Map<String, Map<String, String>> tagsParam)
+  {
+    final Map<String, Map<String, String>> unmodifiableTags = new HashMap<>();
+    for (final Map.Entry<String, Map<String, String>> tag : tagsParam.entrySet()) {
+      unmodifiableTags.put(tag.getKey(), Collections.unmodifiableMap(tag.getValue()));
+    }
+    this.tags = unmodifiableTags;
+  }
+
+  /**
+   * Returns the tags of a comment node, parsing its content on first use.
+   *
+   * @param comment Javadoc comment
+   * @return {@link JavadocTags}
+   * @throws IllegalArgumentException if the comment is null or malformed
+   */
+  public static JavadocTags of(final Comment comment)
+          throws IllegalArgumentException
+  {
+    if (comment == null) {
+      throw new IllegalArgumentException("comment cannot be null");
+    }
+    synchronized (JavaParserUtils.getResolutionLock(comment)) {
+      if (!comment.containsData(DATA_KEY)) {
+        comment.setData(DATA_KEY, parse(comment.getContent()));
+      }
+      return comment.getData(DATA_KEY);
+    }
+  }
+
+  /**
+   * Parses the block tags of a comment. The comment may be given with or without its delimiters and leading
+   * asterisks.
+   *
+   * @param comment Javadoc comment text
+   * @return {@link JavadocTags}
+   * @throws IllegalArgumentException if the comment is null or malformed
+   */
+  public static JavadocTags parse(final String comment)
+          throws IllegalArgumentException
+  {
+    if (comment == null) {
+      throw new IllegalArgumentException("comment cannot be null");
+    }
+    final Map<String, Map<String, String>> tags = new HashMap<>();
+    final StringBuilder description = new StringBuilder();
+    String tagName = null;
+    String firstWord = null;
+    int depth = 0;
+    int lineStart = 0;
+    while (lineStart <= comment.length()) {
+      int lineEnd = comment.indexOf('\n', lineStart);
+      if (lineEnd < 0) {
+        lineEnd = comment.length();
+      }
+      final int textEnd = skipTrailer(comment, lineStart, lineEnd);
+      int textStart = skipLeader(comment, lineStart, textEnd);
+      if (depth == 0 && textStart < textEnd && comment.charAt(textStart) == '@') {
+        putTag(tags, tagName, firstWord, description);
+        final int nameEnd = skipWord(comment, textStart, textEnd);
+        final int wordStart = skipWhitespace(comment, nameEnd, textEnd);
+        final int wordEnd = skipWord(comment, wordStart, textEnd);
+        tagName = comment.substring(textStart, nameEnd);
+        firstWord = wordStart < wordEnd ? comment.substring(wordStart, wordEnd) : null;
+        description.setLength(0);
+        textStart = wordEnd;
+      }
+      appendNormalized(description, comment, textStart, textEnd);
+      depth = countDepth(comment, textStart, textEnd, depth);
+      lineStart = lineEnd + 1;
+    }
+    if (depth > 0) {
+      throw new IllegalArgumentException("comment has an inline tag which is never closed");
+    }
+    putTag(tags, tagName, firstWord, description);
+    return new JavadocTags(tags);
+  }
+
+  /**
+   * Returns the descriptions of a block tag by the first word of each tag.
+   *
+   * @param tagName tag name (i.e. "@param")
+   * @return unmodifiable descriptions by first word, empty if the tag is not present
+   */
+  public Map<String, String> getTag(final String tagName)
+  {
+    return tags.getOrDefault(tagName, Collections.emptyMap());
+  }
+
+  /**
+   * Returns the descriptions of the param block tags by parameter name.
+   *
+   * @return unmodifiable descriptions by parameter name
+   */
+  public Map<String, String> getParams()
+  {
+    return getTag(PARAM_TAG);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "JavadocTags{tags=" + tags + '}';
+  }
+
+  /**
+   * Adds a described block tag, the first tag of a word is kept.
+   *
+   * @param tags descriptions by first word by tag name
+   * @param tagName tag name, may be null
+   * @param firstWord first word of the tag, may be null
+   * @param description description of the tag
+   */
+  private static void putTag(final Map<String, Map<String, String>> tags, final String tagName,
+          final String firstWord, final StringBuilder description)
+  {
+    final String text = description.toString().trim();
+    if (tagName != null && firstWord != null && !text.isEmpty()) {
+      tags.computeIfAbsent(tagName, name -> new LinkedHashMap<>()).putIfAbsent(firstWord, text);
+    }
+  }
+
+  /**
+   * Appends text with every run of whitespace collapsed into a single space, text already appended is separated by a
+   * space.
+   *
+   * @param description description so far
+   * @param comment comment text
+   * @param start start of the text
+   * @param end end of the text
+   */
+  private static void appendNormalized(final StringBuilder description, final String comment, final int start,
+          final int end)
+  {
+    boolean space = description.length() > 0;
+    for (int i = start; i < end; i++) {
+      final char character = comment.charAt(i);
+      if (Character.isWhitespace(character)) {
+        space = description.length() > 0;
+      } else {
+        if (space) {
+          description.append(' ');
+          space = false;
+        }
+        description.append(character);
+      }
+    }
+  }
+
+  /**
+   * Returns the depth of open inline tags after a line.
+   *
+   * @param comment comment text
+   * @param start start of the line text
+   * @param end end of the line text
+   * @param depth depth before the line
+   * @return depth after the line
+   */
+  private static int countDepth(final String comment, final int start, final int end, final int depth)
+  {
+    int open = depth;
+    for (int i = start; i < end; i++) {
+      if (comment.charAt(i) == '{' && i + 1 < end && comment.charAt(i + 1) == '@') {
+        open++;
+      } else if (comment.charAt(i) == '}' && open > 0) {
+        open--;
+      }
+    }
+    return open;
+  }
+
+  /**
+   * Skips the whitespace, the comment opening and the asterisks at the start of a line.
+   *
+   * @param comment comment text
+   * @param start start of the line
+   * @param end end of the line text
+   * @return start of the line text
+   */
+  private static int skipLeader(final String comment, final int start, final int end)
+  {
+    int position = skipWhitespace(comment, start, end);
+    if (comment.startsWith("/**", position)) {
+      position += 3;
+    }
+    while (position < end && comment.charAt(position) == '*') {
+      position++;
+    }
+    return skipWhitespace(comment, position, end);
+  }
+
+  /**
+   * Skips the whitespace and the comment closing at the end of a line.
+   *
+   * @param comment comment text
+   * @param start start of the line
+   * @param end end of the line
+   * @return end of the line text
+   */
+  private static int skipTrailer(final String comment, final int start, final int end)
+  {
+    int position = end;
+    while (position > start && Character.isWhitespace(comment.charAt(position - 1))) {
+      position--;
+    }
+    return position - start >= 2 && comment.startsWith("*/", position - 2) ? position - 2 : position;
+  }
+
+  /**
+   * Skips whitespace.
+   *
+   * @param comment comment text
+   * @param start position to start from
+   * @param end end of the line text
+   * @return position of the next non whitespace character or end
+   */
+  private static int skipWhitespace(final String comment, final int start, final int end)
+  {
+    int position = start;
+    while (position < end && Character.isWhitespace(comment.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * Skips a word.
+   *
+   * @param comment comment text
+   * @param start position to start from
+   * @param end end of the line text
+   * @return position of the next whitespace character or end
+   */
+  private static int skipWord(final String comment, final int start, final int end)
+  {
+    int position = start;
+    while (position < end && !Character.isWhitespace(comment.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+}
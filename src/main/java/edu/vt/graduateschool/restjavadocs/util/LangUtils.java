@@ -1,10 +1,16 @@
 /* See LICENSE for licensing and NOTICE for copyright. */
 package edu.vt.graduateschool.restjavadocs.util;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Array;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Properties;
 
 /**
  * @author Graduate School
@@ -36,6 +42,26 @@ public final class LangUtils
    */
   public static final String ANNOTATION_EXPRESSION_VALUE = "value";
 
+  /**
+   * Digest algorithm used to compute content hashes
+   */
+  public static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+  /**
+   * Version reported when the library version cannot be determined
+   */
+  public static final String UNKNOWN_VERSION = "unknown";
+
+  /**
+   * Classpath resource holding the library build properties
+   */
+  private static final String LIBRARY_PROPERTIES = "/edu/vt/graduateschool/restjavadocs/restjavadocs.properties";
+
+  /**
+   * Version of this library
+   */
+  private static final String LIBRARY_VERSION = loadLibraryVersion();
+
   /**
    * Private constructor.
    */
@@ -132,4 +158,55 @@ public final class LangUtils
     return initial.toArray((T[]) Array.newInstance(clazz, initial.size()));
   }
 
+  /**
+   * Returns the hex encoded {@link #CONTENT_HASH_ALGORITHM} digest of the given content.
+   *
+   * @param content content to hash
+   * @return hex encoded hash
+   */
+  public static String contentHash(final byte[] content)
+  {
+    if (content == null) {
+      throw new IllegalArgumentException("content cannot be null");
+    }
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance(CONTENT_HASH_ALGORITHM).digest(content));
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Returns the version of this library as built by Maven.
+   *
+   * @return library version or {@link #UNKNOWN_VERSION}
+   */
+  public static String getLibraryVersion()
+  {
+    return LIBRARY_VERSION;
+  }
+
+  /**
+   * Reads the library version from {@link #LIBRARY_PROPERTIES}, falling back to the package implementation version.
+   *
+   * @return library version or {@link #UNKNOWN_VERSION}
+   */
+  private static String loadLibraryVersion()
+  {
+    try (InputStream in = LangUtils.class.getResourceAsStream(LIBRARY_PROPERTIES)) {
+      if (in != null) {
+        final Properties properties = new Properties();
+        properties.load(in);
+        final String version = properties.getProperty("version");
+        if (version != null && !version.isEmpty() && !version.startsWith("${")) {
+          return version;
+        }
+      }
+    } catch (final IOException ex) {
+      // fall through to the package version
+    }
+    final String version = LangUtils.class.getPackage().getImplementationVersion();
+    return version == null ? UNKNOWN_VERSION : version;
+  }
+
 }
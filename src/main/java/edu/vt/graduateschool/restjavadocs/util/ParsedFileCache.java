@@ -0,0 +1,123 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Providers;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.cache.GuavaCache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Cache of the source files parsed by a
+ * {@link com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver} which parses the missing
+ * files itself. The type solver parses with a single {@link JavaParser}, which reuses its generated parser between
+ * calls and may not be shared between threads. This cache always returns an entry so the type solver never parses,
+ * every miss is parsed by a parser of its own and concurrent misses of the same file wait for a single parse. Values
+ * are soft as the default caches of the type solver.
+ *
+ * @author Graduate School
+ */
+final class ParsedFileCache extends GuavaCache<Path, Optional<CompilationUnit>>
+{
+
+  /**
+   * Parsed files by absolute path.
+   */
+  private final LoadingCache<Path, Optional<CompilationUnit>> parsedFiles;
+
+  /**
+   * Parser configuration of the missing files.
+   */
+  private final ParserConfiguration configuration;
+
+  /**
+   * Constructor with a parser configuration.
+   *
+   * @param configurationParam parser configuration of the missing files
+   */
+  ParsedFileCache(final ParserConfiguration configurationParam)
+  {
+    this(configurationParam, CacheBuilder.newBuilder().softValues());
+  }
+
+  /**
+   * Constructor with values.
+   *
+   * @param configurationParam parser configuration of the missing files
+   * @param builder builder of the parsed files
+   */
+  private ParsedFileCache(final ParserConfiguration configurationParam, final CacheBuilder<Object, Object> builder)
+  {
+    this(configurationParam, builder.build(new CacheLoader<Path, Optional<CompilationUnit>>() {
+      @Override
+      public Optional<CompilationUnit> load(final Path path)
+      {
+        return parse(path, configurationParam);
+      }
+    }));
+  }
+
+  /**
+   * Constructor with values.
+   *
+   * @param configurationParam parser configuration of the missing files
+   * @param parsedFilesParam parsed files by absolute path
+   */
+  private ParsedFileCache(final ParserConfiguration configurationParam,
+          final LoadingCache<Path, Optional<CompilationUnit>> parsedFilesParam)
+  {
+    super(parsedFilesParam);
+    this.configuration = configurationParam;
+    this.parsedFiles = parsedFilesParam;
+  }
+
+  /**
+   * Returns the parsed file, parsing it if missing.
+   *
+   * @param path absolute path of a .java file
+   * @return the compilation unit of the file, empty if the file does not exist
+   */
+  @Override
+  public Optional<Optional<CompilationUnit>> get(final Path path)
+  {
+    return Optional.of(parsedFiles.getUnchecked(path));
+  }
+
+  @Override
+  public String toString()
+  {
+    return "ParsedFileCache{size=" + parsedFiles.size() + ", configuration=" + configuration + '}';
+  }
+
+  /**
+   * Parses a source file the same as the type solver.
+   *
+   * @param path absolute path of a .java file
+   * @param configuration parser configuration
+   * @return the compilation unit of the file, empty if the file does not exist or could not be parsed
+   */
+  private static Optional<CompilationUnit> parse(final Path path, final ParserConfiguration configuration)
+  {
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+    try {
+      return new JavaParser(configuration)
+              .parse(ParseStart.COMPILATION_UNIT, Providers.provider(path, configuration.getCharacterEncoding()))
+              .getResult()
+              .map(compilationUnit -> compilationUnit.setStorage(path));
+    } catch (final IOException ex) {
+      throw new UncheckedIOException("Issue while parsing " + path, ex);
+    }
+  }
+
+}
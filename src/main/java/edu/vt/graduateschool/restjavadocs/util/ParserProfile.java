@@ -0,0 +1,46 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import com.github.javaparser.ParserConfiguration;
+
+/**
+ * Named parser configurations. Documentation which only reads comments and annotations is parsed by the
+ * {@link #LEAN} profile, documentation which classifies types by the symbol solver is parsed by the {@link #RESOLVING}
+ * profile (see {@link #forDocumentation()}). The shared caches of both profiles are kept apart (see
+ * {@link JavaParserUtils#getSharedCompilationUnitCache(ParserProfile)}), though a {@link CompilationUnitCache} tells
+ * configurations apart by itself.
+ *
+ * @author Graduate School
+ */
+public enum ParserProfile
+{
+
+  /**
+   * Comments and annotations only: no symbol resolver, comments attributed and a fixed language level. Types are
+   * classified from syntax alone. Tokens are still stored, the parser derives node ranges and thus comment attribution
+   * from them.
+   */
+  LEAN,
+
+  /**
+   * Token storage, the bleeding edge language level and a symbol resolver shared per source root.
+   */
+  RESOLVING;
+
+  /**
+   * Language level of the {@link #LEAN} profile.
+   */
+  public static final ParserConfiguration.LanguageLevel LEAN_LANGUAGE_LEVEL = ParserConfiguration.LanguageLevel.JAVA_21;
+
+  /**
+   * Returns the profile of documentation which classifies types.
+   *
+   * @return {@link #RESOLVING}, or {@link #LEAN} if symbol solving is disabled (see
+   * {@link TypeClassifier#isSymbolSolvingEnabled()})
+   */
+  public static ParserProfile forDocumentation()
+  {
+    return TypeClassifier.isSymbolSolvingEnabled() ? RESOLVING : LEAN;
+  }
+
+}
@@ -0,0 +1,42 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+
+/**
+ * {@link JavaSymbolSolver} carrying the {@link TypeResolver} of its source root, so type names of the compilation units
+ * it is injected into are resolved without exceptions (see {@link TypeResolver#of(com.github.javaparser.ast.Node)}).
+ *
+ * @author Graduate School
+ */
+final class ResolvingSymbolSolver extends JavaSymbolSolver
+{
+
+  /**
+   * Type resolver of the source root.
+   */
+  private final TypeResolver typeResolver;
+
+  /**
+   * Constructor with a type solver.
+   *
+   * @param typeSolver type solver of the source root
+   */
+  ResolvingSymbolSolver(final TypeSolver typeSolver)
+  {
+    super(typeSolver);
+    this.typeResolver = new TypeResolver(typeSolver);
+  }
+
+  /**
+   * Getter for typeResolver.
+   *
+   * @return typeResolver
+   */
+  TypeResolver getTypeResolver()
+  {
+    return typeResolver;
+  }
+
+}
@@ -0,0 +1,453 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import com.github.javaparser.Processor;
+import com.github.javaparser.Provider;
+import com.github.javaparser.Providers;
+
+/**
+ * Parser {@link Processor} which blanks out the bodies of methods, constructors and initializers before a source is
+ * parsed, so the parsed compilation unit holds declarations, annotations and comments but no statements. The content
+ * of a body is replaced by a block comment of the same length keeping its line terminators, so offsets and line
+ * numbers of the remaining source are kept and the body is lexed as a single token rather than a token per blank.
+ * Blocks which cannot be told apart from a class body by their declaration, such as field initializers, anonymous
+ * classes and compact record constructors, are kept as written. Setting the system property {@link #ENABLED_PROPERTY}
+ * to false parses sources as written.
+ *
+ * @author Graduate School
+ */
+public final class SignatureOnlyProcessor extends Processor
+{
+
+  /**
+   * System property which disables blanking of bodies when set to false.
+   */
+  public static final String ENABLED_PROPERTY = "restjavadocs.signaturesOnly";
+
+  /**
+   * Size of the buffer sources are read with.
+   */
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Quote delimiting text blocks.
+   */
+  private static final String TEXT_BLOCK_QUOTE = "\"\"\"";
+
+  /**
+   * Length of the delimiters of an empty block comment, body content of this length or shorter is left blank.
+   */
+  private static final int MIN_COMMENT_LENGTH = 4;
+
+  /**
+   * Returns whether or not sources are parsed for signatures only.
+   *
+   * @return false if {@link #ENABLED_PROPERTY} is set to false
+   */
+  public static boolean isEnabled()
+  {
+    return !Boolean.FALSE.toString().equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+  }
+
+  @Override
+  public Provider preProcess(final Provider innerProvider)
+  {
+    final char[] source;
+    try (Provider provider = innerProvider) {
+      source = read(provider);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    blankBodies(source);
+    return Providers.provider(new CharArrayReader(source));
+  }
+
+  /**
+   * Returns a source with the bodies of its methods, constructors and initializers blanked out.
+   *
+   * @param source Java source
+   * @return source of the same length and line numbers
+   */
+  public static String blankBodies(final String source)
+  {
+    if (source == null) {
+      throw new IllegalArgumentException("source cannot be null");
+    }
+    final char[] chars = source.toCharArray();
+    blankBodies(chars);
+    return new String(chars);
+  }
+
+  /**
+   * Blanks out the bodies of methods, constructors and initializers in place. Braces are tracked as type bodies, in
+   * which declarations are read, or as other blocks, which are kept as written. A brace opening a declaration that is
+   * not a type, not initialized and either has parameters or consists of nothing but static opens a body.
+   * Malformed sources are left for the parser to report.
+   *
+   * @param source Java source
+   */
+  private static void blankBodies(final char[] source)
+  {
+    final Deque<Boolean> typeBodies = new ArrayDeque<>();
+    final Declaration declaration = new Declaration();
+    int parentheses = 0;
+    int position = 0;
+    while (position < source.length) {
+      final int skipped = skipLiteralOrComment(source, position);
+      final char character = source[position];
+      final boolean declarative = typeBodies.isEmpty() || typeBodies.peek();
+      if (skipped > position) {
+        position = skipped;
+      } else if (!declarative) {
+        if (character == '{') {
+          typeBodies.push(Boolean.FALSE);
+        } else if (character == '}') {
+          typeBodies.pop();
+          declaration.resetUnless(parentheses > 0);
+        }
+        position++;
+      } else if (character == '{' && parentheses == 0 && declaration.opensBody()) {
+        position = blankBody(source, position);
+        declaration.reset();
+      } else if (character == '{') {
+        typeBodies.push(parentheses == 0 && declaration.type);
+        declaration.resetUnless(parentheses > 0);
+        position++;
+      } else if (character == '}') {
+        if (!typeBodies.isEmpty()) {
+          typeBodies.pop();
+        }
+        declaration.resetUnless(parentheses > 0);
+        position++;
+      } else if (Character.isJavaIdentifierStart(character)) {
+        position = readWord(source, position, parentheses, declaration);
+      } else {
+        parentheses += character == '(' ? 1 : character == ')' && parentheses > 0 ? -1 : 0;
+        declaration.read(character, parentheses);
+        position++;
+      }
+    }
+  }
+
+  /**
+   * Reads a word of a declaration.
+   *
+   * @param source Java source
+   * @param start start of the word
+   * @param parentheses depth of open parentheses
+   * @param declaration declaration read so far
+   * @return end of the word
+   */
+  private static int readWord(final char[] source, final int start, final int parentheses,
+          final Declaration declaration)
+  {
+    int end = start + 1;
+    while (end < source.length && Character.isJavaIdentifierPart(source[end])) {
+      end++;
+    }
+    if (parentheses == 0) {
+      final String word = new String(source, start, end - start);
+      final boolean member = start > 0 && source[start - 1] == '.';
+      final boolean typeKeyword = "class".equals(word) || "interface".equals(word) || "enum".equals(word) ||
+              "record".equals(word) && Character.isJavaIdentifierStart(source[skipWhitespace(source, end)]);
+      declaration.readWord(word, typeKeyword && !member);
+    }
+    return end;
+  }
+
+  /**
+   * Blanks out a body up to its closing brace, a body which is never closed is left as written.
+   *
+   * @param source Java source
+   * @param open position of the opening brace
+   * @return position after the closing brace, or the end of the source if the body is never closed
+   */
+  private static int blankBody(final char[] source, final int open)
+  {
+    int depth = 1;
+    int position = open + 1;
+    while (position < source.length && depth > 0) {
+      final int skipped = skipLiteralOrComment(source, position);
+      if (skipped > position) {
+        position = skipped;
+      } else {
+        depth += source[position] == '{' ? 1 : source[position] == '}' ? -1 : 0;
+        position++;
+      }
+    }
+    if (depth == 0) {
+      blank(source, open + 1, position - 1);
+    }
+    return position;
+  }
+
+  /**
+   * Replaces every character other than a line terminator by a space, then the blanks by a block comment wherever
+   * there is room for its delimiters within lines.
+   *
+   * @param source Java source
+   * @param start first character to blank
+   * @param end end of the characters to blank
+   */
+  private static void blank(final char[] source, final int start, final int end)
+  {
+    for (int i = start; i < end; i++) {
+      if (!isLineTerminator(source[i])) {
+        source[i] = ' ';
+      }
+    }
+    int commentStart = start;
+    while (commentStart + 1 < end && (isLineTerminator(source[commentStart]) ||
+            isLineTerminator(source[commentStart + 1]))) {
+      commentStart++;
+    }
+    int commentEnd = end;
+    while (commentEnd - 2 > start && (isLineTerminator(source[commentEnd - 1]) ||
+            isLineTerminator(source[commentEnd - 2]))) {
+      commentEnd--;
+    }
+    if (commentEnd - commentStart > MIN_COMMENT_LENGTH) {
+      source[commentStart] = '/';
+      source[commentStart + 1] = '*';
+      source[commentEnd - 2] = '*';
+      source[commentEnd - 1] = '/';
+    }
+  }
+
+  /**
+   * Whether or not a character terminates a line.
+   *
+   * @param character character
+   * @return true for carriage return and line feed
+   */
+  private static boolean isLineTerminator(final char character)
+  {
+    return character == '\n' || character == '\r';
+  }
+
+  /**
+   * Skips a comment, string, text block or character literal.
+   *
+   * @param source Java source
+   * @param start position to start from
+   * @return position after the comment or literal, start if there is none
+   */
+  private static int skipLiteralOrComment(final char[] source, final int start)
+  {
+    final char character = source[start];
+    final char next = start + 1 < source.length ? source[start + 1] : 0;
+    int end = start;
+    if (character == '/' && next == '/') {
+      end = start + 2;
+      while (end < source.length && source[end] != '\n' && source[end] != '\r') {
+        end++;
+      }
+    } else if (character == '/' && next == '*') {
+      final int close = indexOf(source, "*/", start + 2);
+      end = close < 0 ? source.length : close + 2;
+    } else if (startsWith(source, TEXT_BLOCK_QUOTE, start)) {
+      end = skipQuoted(source, start + TEXT_BLOCK_QUOTE.length(), TEXT_BLOCK_QUOTE);
+    } else if (character == '"' || character == '\'') {
+      end = skipQuoted(source, start + 1, String.valueOf(character));
+    }
+    return end;
+  }
+
+  /**
+   * Skips the rest of a quoted literal, escaped characters included.
+   *
+   * @param source Java source
+   * @param start position after the opening quote
+   * @param quote closing quote
+   * @return position after the closing quote, or the end of the source
+   */
+  private static int skipQuoted(final char[] source, final int start, final String quote)
+  {
+    int position = start;
+    while (position < source.length) {
+      if (source[position] == '\\') {
+        position += 2;
+      } else if (startsWith(source, quote, position)) {
+        return position + quote.length();
+      } else {
+        position++;
+      }
+    }
+    return source.length;
+  }
+
+  /**
+   * Returns the position of a text in a source.
+   *
+   * @param source Java source
+   * @param text text to find
+   * @param start position to start from
+   * @return position of the text, -1 if not found
+   */
+  private static int indexOf(final char[] source, final String text, final int start)
+  {
+    for (int i = start; i <= source.length - text.length(); i++) {
+      if (startsWith(source, text, i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Whether or not a source has a text at a position.
+   *
+   * @param source Java source
+   * @param text text to compare
+   * @param position position in the source
+   * @return true if the text is at the position
+   */
+  private static boolean startsWith(final char[] source, final String text, final int position)
+  {
+    if (position + text.length() > source.length) {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (source[position + i] != text.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Skips whitespace.
+   *
+   * @param source Java source
+   * @param start position to start from
+   * @return position of the next non whitespace character, or the last position of the source
+   */
+  private static int skipWhitespace(final char[] source, final int start)
+  {
+    int position = start;
+    while (position < source.length - 1 && Character.isWhitespace(source[position])) {
+      position++;
+    }
+    return Math.min(position, source.length - 1);
+  }
+
+  /**
+   * Reads all characters of a provider.
+   *
+   * @param provider source provider
+   * @return characters
+   * @throws IOException if the source could not be read
+   */
+  private static char[] read(final Provider provider)
+          throws IOException
+  {
+    final StringBuilder source = new StringBuilder();
+    final char[] buffer = new char[BUFFER_SIZE];
+    int count = provider.read(buffer, 0, buffer.length);
+    while (count >= 0) {
+      source.append(buffer, 0, count);
+      count = provider.read(buffer, 0, buffer.length);
+    }
+    final char[] chars = new char[source.length()];
+    source.getChars(0, chars.length, chars, 0);
+    return chars;
+  }
+
+  /**
+   * Declaration read since the last member of a type body, a declaration ends with a semicolon or a brace.
+   */
+  private static final class Declaration
+  {
+
+    /**
+     * Whether or not a type keyword was read.
+     */
+    private boolean type;
+
+    /**
+     * Whether or not parameters were read.
+     */
+    private boolean parameters;
+
+    /**
+     * Whether or not an initializer was read.
+     */
+    private boolean initialized;
+
+    /**
+     * Whether or not anything other than static was read.
+     */
+    private boolean modified;
+
+    /**
+     * Returns whether or not a brace after the declaration opens a body.
+     *
+     * @return true if the declaration is a method, constructor or initializer
+     */
+    boolean opensBody()
+    {
+      return !type && !initialized && (parameters || !modified);
+    }
+
+    /**
+     * Reads a character other than a brace or a word.
+     *
+     * @param character character
+     * @param parentheses depth of open parentheses after the character
+     */
+    void read(final char character, final int parentheses)
+    {
+      if (character == ';' && parentheses == 0) {
+        reset();
+      } else if (character == '(' && parentheses == 1) {
+        parameters = true;
+      } else if (character == '=' && parentheses == 0) {
+        initialized = true;
+      } else if (!Character.isWhitespace(character)) {
+        modified = true;
+      }
+    }
+
+    /**
+     * Reads a word outside of parentheses.
+     *
+     * @param word word
+     * @param typeKeyword whether or not the word declares a type
+     */
+    void readWord(final String word, final boolean typeKeyword)
+    {
+      type |= typeKeyword;
+      modified |= !"static".equals(word);
+    }
+
+    /**
+     * Starts a new declaration unless the braces are enclosed in parentheses.
+     *
+     * @param enclosed whether or not the braces are enclosed in parentheses
+     */
+    void resetUnless(final boolean enclosed)
+    {
+      if (!enclosed) {
+        reset();
+      }
+    }
+
+    /**
+     * Starts a new declaration.
+     */
+    void reset()
+    {
+      type = false;
+      parameters = false;
+      initialized = false;
+      modified = false;
+    }
+
+  }
+
+}
@@ -0,0 +1,121 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+
+/**
+ * {@link TypeSolver} guarding a shared type solver with striped locks. Lookups of the same type name are serialized so
+ * a type is solved once while other threads wait for the cached result, lookups of different names only contend when
+ * their names share a stripe. Lookups nested in another lookup of the same thread are not locked again, which rules out
+ * lock ordering deadlocks between stripes. The delegate and its caches must tolerate concurrent lookups of different
+ * names (see {@link JavaParserUtils#getResolvingParserConfiguration(java.lang.String)}).
+ *
+ * @author Graduate School
+ */
+final class StripedTypeSolver implements TypeSolver
+{
+
+  /**
+   * Whether or not the current thread holds a stripe.
+   */
+  private static final ThreadLocal<Boolean> LOCKED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+  /**
+   * Shared type solver.
+   */
+  private final TypeSolver delegate;
+
+  /**
+   * Lock stripes, the length is a power of two.
+   */
+  private final Object[] stripes;
+
+  /**
+   * Parent type solver (null means none).
+   */
+  private TypeSolver parent;
+
+  /**
+   * Constructor with values.
+   *
+   * @param delegateParam shared type solver, its parent becomes this solver
+   * @param stripeCount minimum number of stripes
+   */
+  StripedTypeSolver(final TypeSolver delegateParam, final int stripeCount)
+  {
+    if (delegateParam == null || stripeCount < 1) {
+      throw new IllegalArgumentException("delegate cannot be null and there must be at least one stripe");
+    }
+    this.delegate = delegateParam;
+    this.stripes = new Object[stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Object();
+    }
+    delegate.setParent(this);
+  }
+
+  /**
+   * Returns the number of stripes.
+   *
+   * @return stripe count
+   */
+  int getStripeCount()
+  {
+    return stripes.length;
+  }
+
+  @Override
+  public TypeSolver getParent()
+  {
+    return parent;
+  }
+
+  @Override
+  public void setParent(final TypeSolver parentParam)
+  {
+    if (parentParam == null || parentParam == this) {
+      throw new IllegalArgumentException("parent cannot be null or this type solver");
+    }
+    if (parent != null) {
+      throw new IllegalStateException("This TypeSolver already has a parent.");
+    }
+    this.parent = parentParam;
+  }
+
+  @Override
+  public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(final String name)
+  {
+    if (LOCKED.get()) {
+      return delegate.tryToSolveType(name);
+    }
+    synchronized (stripes[stripe(name)]) {
+      LOCKED.set(Boolean.TRUE);
+      try {
+        return delegate.tryToSolveType(name);
+      } finally {
+        LOCKED.set(Boolean.FALSE);
+      }
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "StripedTypeSolver{stripes=" + stripes.length + ", delegate=" + delegate + '}';
+  }
+
+  /**
+   * Returns the stripe of a type name.
+   *
+   * @param name type name
+   * @return index in {@link #stripes}
+   */
+  private int stripe(final String name)
+  {
+    final int hash = name.hashCode();
+    return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+  }
+
+}
@@ -0,0 +1,214 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.util.Optional;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.nodeTypes.NodeWithTypeParameters;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.PrimitiveType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.TypeParameter;
+
+/**
+ * Classifies types from their syntax and the import table of their compilation unit, so the symbol solver is only
+ * invoked when a name cannot be told apart otherwise. A simple name is decided by the single type imports of its
+ * compilation unit, it is left to the symbol solver when it may be shadowed by a type declared in the compilation
+ * unit or may come from the same package or an on demand import. Setting the system property
+ * {@link #SYMBOL_SOLVING_PROPERTY} to false disables the symbol solver, those names are then decided by the on demand
+ * imports alone.
+ *
+ * @author Graduate School
+ */
+public final class TypeClassifier
+{
+
+  /**
+   * System property which disables symbol solving when set to false.
+   */
+  public static final String SYMBOL_SOLVING_PROPERTY = "restjavadocs.symbolSolving";
+
+  /**
+   * Private constructor.
+   */
+  private TypeClassifier()
+  {
+  }
+
+  /**
+   * Returns whether or not symbol solving is enabled.
+   *
+   * @return false if {@link #SYMBOL_SOLVING_PROPERTY} is set to false
+   */
+  public static boolean isSymbolSolvingEnabled()
+  {
+    return !Boolean.FALSE.toString().equalsIgnoreCase(System.getProperty(SYMBOL_SOLVING_PROPERTY));
+  }
+
+  /**
+   * Whether or not a type is the Java 8 {@link Optional} type.
+   *
+   * @param type type to classify
+   * @return true if {@link Optional}
+   */
+  public static boolean isOptional(final Type type)
+  {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+    return isOptional(type, isSymbolSolvingEnabled());
+  }
+
+  /**
+   * Whether or not a type is the Java 8 {@link Optional} type.
+   *
+   * @param type type to classify
+   * @param symbolSolving whether or not the symbol solver decides the names syntax cannot
+   * @return true if {@link Optional}
+   */
+  static boolean isOptional(final Type type, final boolean symbolSolving)
+  {
+    final Boolean optional = classifyOptional(type);
+    if (optional != null) {
+      return optional;
+    }
+    if (!symbolSolving) {
+      return isImportedOnDemand(type, Optional.class.getPackageName());
+    }
+    final String resolvedTypeName = JavaParserUtils.getResolvableTypeName(type);
+    return Optional.class.getCanonicalName().equals(resolvedTypeName) ||
+            resolvedTypeName.startsWith(Optional.class.getCanonicalName() + "<");
+  }
+
+  /**
+   * Whether or not a type is the primitive boolean type, which needs no resolution.
+   *
+   * @param type type to classify
+   * @return true if boolean
+   */
+  public static boolean isPrimitiveBoolean(final Type type)
+  {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+    return type.isPrimitiveType() && type.asPrimitiveType().getType() == PrimitiveType.Primitive.BOOLEAN;
+  }
+
+  /**
+   * Classifies a type as the Java 8 {@link Optional} type from syntax alone.
+   *
+   * @param type type to classify
+   * @return true or false, null if the symbol solver must decide
+   */
+  static Boolean classifyOptional(final Type type)
+  {
+    if (!type.isClassOrInterfaceType()) {
+      return Boolean.FALSE;
+    }
+    final ClassOrInterfaceType classType = type.asClassOrInterfaceType();
+    if (classType.getScope().isPresent()) {
+      return Optional.class.getCanonicalName().equals(classType.getNameWithScope());
+    }
+    return classifySimpleName(type, classType.getNameAsString(), Optional.class.getCanonicalName());
+  }
+
+  /**
+   * Classifies a simple type name as a canonical name from the imports of its compilation unit.
+   *
+   * @param type type using the name
+   * @param simpleName simple type name
+   * @param canonicalName canonical name to compare with
+   * @return true or false, null if the symbol solver must decide
+   */
+  private static Boolean classifySimpleName(final Type type, final String simpleName, final String canonicalName)
+  {
+    if (!canonicalName.endsWith("." + simpleName)) {
+      return Boolean.FALSE;
+    }
+    final Optional<CompilationUnit> compilationUnit = type.findCompilationUnit();
+    Boolean classified = null;
+    if (compilationUnit.isPresent() && !isDeclared(type, simpleName)) {
+      for (final ImportDeclaration importDeclaration : compilationUnit.get().getImports()) {
+        if (classified == null && !importDeclaration.isStatic() && !importDeclaration.isAsterisk() &&
+                importDeclaration.getName().getIdentifier().equals(simpleName)) {
+          classified = canonicalName.equals(importDeclaration.getNameAsString());
+        }
+      }
+    }
+    return classified;
+  }
+
+  /**
+   * Whether or not a simple type name may be shadowed by a type or type parameter declared in the compilation unit
+   * that encloses the type.
+   *
+   * @param type type using the name
+   * @param simpleName simple type name
+   * @return true if declared
+   */
+  private static boolean isDeclared(final Type type, final String simpleName)
+  {
+    boolean declared = false;
+    Node node = type;
+    while (!declared && node.getParentNode().isPresent()) {
+      node = node.getParentNode().get();
+      if (node instanceof NodeWithTypeParameters) {
+        for (final TypeParameter parameter : ((NodeWithTypeParameters<?>) node).getTypeParameters()) {
+          declared |= parameter.getNameAsString().equals(simpleName);
+        }
+      }
+      declared |= node instanceof TypeDeclaration && isMemberType((TypeDeclaration<?>) node, simpleName);
+    }
+    if (node instanceof CompilationUnit) {
+      for (final TypeDeclaration<?> declaration : ((CompilationUnit) node).getTypes()) {
+        declared |= declaration.getNameAsString().equals(simpleName);
+      }
+    }
+    return declared;
+  }
+
+  /**
+   * Whether or not a type declares or is a member type of the given name.
+   *
+   * @param declaration type declaration
+   * @param simpleName simple type name
+   * @return true if declared
+   */
+  private static boolean isMemberType(final TypeDeclaration<?> declaration, final String simpleName)
+  {
+    if (declaration.getNameAsString().equals(simpleName)) {
+      return true;
+    }
+    for (final BodyDeclaration<?> member : declaration.getMembers()) {
+      if (member.isTypeDeclaration() && member.asTypeDeclaration().getNameAsString().equals(simpleName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Whether or not the compilation unit of a type imports a package on demand.
+   *
+   * @param type type to classify
+   * @param packageName package name
+   * @return true if imported
+   */
+  private static boolean isImportedOnDemand(final Type type, final String packageName)
+  {
+    final Optional<CompilationUnit> compilationUnit = type.findCompilationUnit();
+    if (compilationUnit.isPresent()) {
+      for (final ImportDeclaration importDeclaration : compilationUnit.get().getImports()) {
+        if (!importDeclaration.isStatic() && importDeclaration.isAsterisk() &&
+                importDeclaration.getNameAsString().equals(packageName)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,405 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.nodeTypes.NodeWithTypeParameters;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.TypeParameter;
+import com.github.javaparser.ast.type.WildcardType;
+import com.github.javaparser.resolution.SymbolResolver;
+import com.github.javaparser.resolution.TypeSolver;
+
+/**
+ * Resolves type names of a source root without exceptions. The canonical names a type name may stand for are derived
+ * from the enclosing declarations and the imports of its compilation unit, in the order of the Java scoping rules, and
+ * looked up with {@link TypeSolver#tryToSolveType(String)}. The outcome of every looked up name is remembered, so a
+ * name outside of the source root and the classpath is looked up once per source root instead of once per use. Member
+ * types inherited from a super class are not looked up.<br>
+ * <br>
+ * A resolver may be shared between threads, it reads the syntax tree only and its type solver must be thread-safe
+ * (see {@link StripedTypeSolver}).
+ *
+ * @author Graduate School
+ */
+public final class TypeResolver
+{
+
+  /**
+   * Outcome of a type resolution.
+   */
+  public static final class Resolution
+  {
+
+    /**
+     * Whether or not the type was resolved.
+     */
+    private final boolean resolved;
+
+    /**
+     * Type name.
+     */
+    private final String name;
+
+    /**
+     * Constructor with values.
+     *
+     * @param resolvedParam whether or not the type was resolved
+     * @param nameParam type name
+     */
+    Resolution(final boolean resolvedParam, final String nameParam)
+    {
+      this.resolved = resolvedParam;
+      this.name = nameParam;
+    }
+
+    /**
+     * Getter for resolved.
+     *
+     * @return resolved
+     */
+    public boolean isResolved()
+    {
+      return resolved;
+    }
+
+    /**
+     * Returns the described type, i.e. java.util.Optional&lt;java.lang.String&gt;, if the type was resolved or the
+     * name as written otherwise.
+     *
+     * @return name
+     */
+    public String getName()
+    {
+      return name;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "Resolution{resolved=" + resolved + ", name=" + name + '}';
+    }
+
+  }
+
+  /**
+   * Type solver of the source root.
+   */
+  private final TypeSolver typeSolver;
+
+  /**
+   * Whether or not each looked up canonical name was solved.
+   */
+  private final Map<String, Boolean> lookups = new ConcurrentHashMap<>();
+
+  /**
+   * Number of resolved types.
+   */
+  private final LongAdder resolvedCount = new LongAdder();
+
+  /**
+   * Number of unresolved types.
+   */
+  private final LongAdder unresolvedCount = new LongAdder();
+
+  /**
+   * Number of canonical name lookups answered from remembered outcomes.
+   */
+  private final LongAdder cachedCount = new LongAdder();
+
+  /**
+   * Constructor with a type solver.
+   *
+   * @param typeSolverParam type solver of the source root
+   */
+  public TypeResolver(final TypeSolver typeSolverParam)
+  {
+    if (typeSolverParam == null) {
+      throw new IllegalArgumentException("typeSolver cannot be null");
+    }
+    this.typeSolver = typeSolverParam;
+  }
+
+  /**
+   * Returns the resolver of the source root a node was parsed from.
+   *
+   * @param node parsed node
+   * @return {@link TypeResolver} or null if the node was not parsed by a configuration of
+   * {@link JavaParserUtils#getResolvingParserConfiguration(java.lang.String)}
+   */
+  public static TypeResolver of(final Node node)
+  {
+    final Optional<CompilationUnit> compilationUnit = node.findCompilationUnit();
+    if (compilationUnit.isPresent() && compilationUnit.get().containsData(Node.SYMBOL_RESOLVER_KEY)) {
+      final SymbolResolver symbolResolver = compilationUnit.get().getData(Node.SYMBOL_RESOLVER_KEY);
+      if (symbolResolver instanceof ResolvingSymbolSolver) {
+        return ((ResolvingSymbolSolver) symbolResolver).getTypeResolver();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Resolves a type.
+   *
+   * @param type type to resolve
+   * @return {@link Resolution}, never null
+   */
+  public Resolution resolve(final Type type)
+  {
+    if (type == null) {
+      throw new IllegalArgumentException("type cannot be null");
+    }
+    final Resolution resolution = describe(type);
+    if (resolution.isResolved()) {
+      resolvedCount.increment();
+    } else {
+      unresolvedCount.increment();
+    }
+    return resolution;
+  }
+
+  /**
+   * Returns the number of resolved types.
+   *
+   * @return resolved count
+   */
+  public long getResolvedCount()
+  {
+    return resolvedCount.sum();
+  }
+
+  /**
+   * Returns the number of unresolved types.
+   *
+   * @return unresolved count
+   */
+  public long getUnresolvedCount()
+  {
+    return unresolvedCount.sum();
+  }
+
+  /**
+   * Returns the number of canonical name lookups answered from remembered outcomes instead of the type solver.
+   *
+   * @return cached count
+   */
+  public long getCachedCount()
+  {
+    return cachedCount.sum();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "TypeResolver{resolved=" + resolvedCount + ", unresolved=" + unresolvedCount + ", cached=" +
+            cachedCount + ", lookups=" + lookups.size() + '}';
+  }
+
+  /**
+   * Describes a type the same as {@link com.github.javaparser.resolution.types.ResolvedType#describe()}.
+   *
+   * @param type type to describe
+   * @return {@link Resolution}
+   */
+  private Resolution describe(final Type type)
+  {
+    final Resolution resolution;
+    if (type.isArrayType()) {
+      final Resolution component = describe(type.asArrayType().getComponentType());
+      resolution = new Resolution(component.isResolved(), component.getName() + "[]");
+    } else if (type.isWildcardType()) {
+      resolution = describeWildcard(type.asWildcardType());
+    } else if (type.isClassOrInterfaceType()) {
+      resolution = describeClass(type.asClassOrInterfaceType());
+    } else {
+      resolution = new Resolution(true, type.asString());
+    }
+    return resolution;
+  }
+
+  /**
+   * Describes a wildcard type.
+   *
+   * @param wildcard wildcard type
+   * @return {@link Resolution}
+   */
+  private Resolution describeWildcard(final WildcardType wildcard)
+  {
+    final Resolution resolution;
+    if (wildcard.getExtendedType().isPresent()) {
+      final Resolution bound = describe(wildcard.getExtendedType().get());
+      resolution = new Resolution(bound.isResolved(), "? extends " + bound.getName());
+    } else if (wildcard.getSuperType().isPresent()) {
+      final Resolution bound = describe(wildcard.getSuperType().get());
+      resolution = new Resolution(bound.isResolved(), "? super " + bound.getName());
+    } else {
+      resolution = new Resolution(true, "?");
+    }
+    return resolution;
+  }
+
+  /**
+   * Describes a class or interface type with its type arguments. Unresolved type arguments are described as written,
+   * and the type is only resolved when its raw type and every type argument are.
+   *
+   * @param classType class or interface type
+   * @return {@link Resolution}
+   */
+  private Resolution describeClass(final ClassOrInterfaceType classType)
+  {
+    final String qualifiedName = solve(classType);
+    if (qualifiedName == null) {
+      return new Resolution(false, classType.getNameWithScope());
+    }
+    boolean resolved = true;
+    final StringBuilder name = new StringBuilder(qualifiedName);
+    if (classType.getTypeArguments().isPresent() && !classType.getTypeArguments().get().isEmpty()) {
+      final List<String> arguments = new ArrayList<>();
+      for (final Type argument : classType.getTypeArguments().get()) {
+        final Resolution resolution = describe(argument);
+        resolved = resolved && resolution.isResolved();
+        arguments.add(resolution.getName());
+      }
+      name.append('<').append(String.join(", ", arguments)).append('>');
+    }
+    return new Resolution(resolved, name.toString());
+  }
+
+  /**
+   * Returns the canonical name of a class or interface type, the name itself for a type variable.
+   *
+   * @param classType class or interface type
+   * @return canonical name or null if unresolved
+   */
+  private String solve(final ClassOrInterfaceType classType)
+  {
+    final String[] segments = classType.getNameWithScope().split("\\.");
+    final String suffix = classType.getNameWithScope().substring(segments[0].length());
+    String solved = null;
+    for (final String candidate : getCandidates(classType, segments[0])) {
+      if (solved == null && (candidate.isEmpty() ? suffix.isEmpty() : isSolved(candidate + suffix))) {
+        solved = candidate.isEmpty() ? segments[0] : candidate + suffix;
+      }
+    }
+    if (solved == null && segments.length > 1 && isSolved(classType.getNameWithScope())) {
+      solved = classType.getNameWithScope();
+    }
+    return solved;
+  }
+
+  /**
+   * Whether or not the type solver solves a canonical name, remembering the outcome.
+   *
+   * @param canonicalName canonical name
+   * @return true if solved
+   */
+  private boolean isSolved(final String canonicalName)
+  {
+    final Boolean solved = lookups.get(canonicalName);
+    if (solved != null) {
+      cachedCount.increment();
+      return solved;
+    }
+    return lookups.computeIfAbsent(canonicalName, name -> typeSolver.tryToSolveType(name).isSolved());
+  }
+
+  /**
+   * Returns the canonical names a simple type name may stand for, in the order of the Java scoping rules. An empty
+   * name stands for a type variable. A name declared by an enclosing type or the compilation unit is returned alone.
+   *
+   * @param type type using the name
+   * @param simpleName simple type name
+   * @return canonical names
+   */
+  private static List<String> getCandidates(final Type type, final String simpleName)
+  {
+    final List<String> candidates = new ArrayList<>();
+    Node node = type;
+    while (candidates.isEmpty() && node.getParentNode().isPresent()) {
+      node = node.getParentNode().get();
+      if (node instanceof NodeWithTypeParameters) {
+        for (final TypeParameter parameter : ((NodeWithTypeParameters<?>) node).getTypeParameters()) {
+          if (candidates.isEmpty() && parameter.getNameAsString().equals(simpleName)) {
+            candidates.add("");
+          }
+        }
+      }
+      if (candidates.isEmpty() && node instanceof TypeDeclaration) {
+        addDeclaredCandidate(candidates, (TypeDeclaration<?>) node, simpleName);
+      }
+    }
+    if (candidates.isEmpty() && node instanceof CompilationUnit) {
+      addImportedCandidates(candidates, (CompilationUnit) node, simpleName);
+    }
+    return candidates;
+  }
+
+  /**
+   * Adds the canonical name of a type declaration or its member type of the given name.
+   *
+   * @param candidates canonical names
+   * @param declaration enclosing type declaration
+   * @param simpleName simple type name
+   */
+  private static void addDeclaredCandidate(final List<String> candidates, final TypeDeclaration<?> declaration,
+          final String simpleName)
+  {
+    final Optional<String> qualifiedName = declaration.getFullyQualifiedName();
+    if (qualifiedName.isPresent()) {
+      if (declaration.getNameAsString().equals(simpleName)) {
+        candidates.add(qualifiedName.get());
+      }
+      for (final BodyDeclaration<?> member : declaration.getMembers()) {
+        if (candidates.isEmpty() && member.isTypeDeclaration() &&
+                member.asTypeDeclaration().getNameAsString().equals(simpleName)) {
+          candidates.add(qualifiedName.get() + "." + simpleName);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the canonical names of the top level types, single type imports, same package and on demand imports.
+   *
+   * @param candidates canonical names
+   * @param compilationUnit compilation unit
+   * @param simpleName simple type name
+   */
+  private static void addImportedCandidates(final List<String> candidates, final CompilationUnit compilationUnit,
+          final String simpleName)
+  {
+    final String packagePrefix = compilationUnit.getPackageDeclaration().isPresent() ?
+            compilationUnit.getPackageDeclaration().get().getNameAsString() + "." : "";
+    for (final TypeDeclaration<?> declaration : compilationUnit.getTypes()) {
+      if (candidates.isEmpty() && declaration.getNameAsString().equals(simpleName)) {
+        candidates.add(packagePrefix + simpleName);
+      }
+    }
+    if (candidates.isEmpty()) {
+      for (final ImportDeclaration importDeclaration : compilationUnit.getImports()) {
+        if (!importDeclaration.isAsterisk() && importDeclaration.getName().getIdentifier().equals(simpleName)) {
+          candidates.add(importDeclaration.getNameAsString());
+        }
+      }
+      candidates.add(packagePrefix + simpleName);
+      for (final ImportDeclaration importDeclaration : compilationUnit.getImports()) {
+        if (importDeclaration.isAsterisk()) {
+          candidates.add(importDeclaration.getNameAsString() + "." + simpleName);
+        }
+      }
+      candidates.add("java.lang." + simpleName);
+    }
+  }
+
+}
@@ -0,0 +1,145 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.visitor.GenericListVisitorAdapter;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getAnnotationValues;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.getFieldName;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.getJsonPropertyName;
+
+/**
+ * Parses fields from source files using the business logic that applies with Jackson annotations, the same as {@link
+ * AbstractJacksonAwareFieldVisitor}, but returns the results of each visit instead of keeping them. The visitor keeps
+ * no state, all of it is held by the {@link VisitorContext} argument, so an instance may be shared between threads.
+ * Every class is visited with its own {@link JsonIgnoreProperties}, its nested classes are visited after its own
+ * fields.
+ *
+ * @param <T> type of the result of each field
+ * @author Graduate School
+ */
+public abstract class AbstractJacksonAwareFieldListVisitor<T> extends GenericListVisitorAdapter<T, VisitorContext>
+{
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(AbstractJacksonAwareFieldListVisitor.class.getName());
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param compilationUnit compilation unit to visit
+   * @param context state of the visit, null means {@link VisitorContext#DEFAULT}
+   * @return unmodifiable results of every class in the compilation unit
+   */
+  @Override
+  public List<T> visit(final CompilationUnit compilationUnit, final VisitorContext context)
+  {
+    return List.copyOf(super.visit(compilationUnit, context));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param foundClass class to visit
+   * @param context state of the visit, null means {@link VisitorContext#DEFAULT}
+   * @return unmodifiable results of the class and its nested classes
+   */
+  @Override
+  public List<T> visit(final ClassOrInterfaceDeclaration foundClass, final VisitorContext context)
+  {
+    final VisitorContext visitContext = context == null ? VisitorContext.DEFAULT : context;
+    final VisitorContext classContext = visitContext.withIgnoredProperties(getIgnoredProperties(foundClass));
+    final List<T> results = new ArrayList<>();
+    for (final FieldDeclaration field : foundClass.getFields()) {
+      if (filterFields(field, classContext)) {
+        for (final VariableDeclarator variable : field.getVariables()) {
+          final T result = filterVariableDeclarators(foundClass, field, variable, classContext) ?
+                  processField(foundClass, field, variable) : null;
+          if (result != null) {
+            results.add(result);
+          }
+        }
+      }
+    }
+    for (final BodyDeclaration<?> member : foundClass.getMembers()) {
+      if (member.isClassOrInterfaceDeclaration()) {
+        results.addAll(visit(member.asClassOrInterfaceDeclaration(), visitContext));
+      }
+    }
+    LOGGER.log(Level.FINEST, "visited class {0}", foundClass.getNameAsString());
+    return List.copyOf(results);
+  }
+
+  /**
+   * Filters each field by the resulting condition of this method, static fields and fields ignored by Jackson are
+   * left out.
+   *
+   * @param field Field declaration
+   * @param context state of the visit
+   * @return true or false
+   */
+  protected boolean filterFields(final FieldDeclaration field, final VisitorContext context)
+  {
+    return !field.isStatic() && !field.isPhantom() &&
+            !field.isAnnotationPresent(JsonIgnore.class) &&
+            !field.isAnnotationPresent(JsonBackReference.class) &&
+            (context.getRequireAnnotated() == null || field.isAnnotationPresent(context.getRequireAnnotated()));
+  }
+
+  /**
+   * Filters each variable declarator of a field by the resulting condition of this method, properties ignored by the
+   * class are left out.
+   *
+   * @param rootClass Class the fields belong to
+   * @param field Field declaration
+   * @param variable Variable declarator present under this field declaration
+   * @param context state of the visit of the class
+   * @return true or false
+   */
+  protected boolean filterVariableDeclarators(final ClassOrInterfaceDeclaration rootClass,
+          final FieldDeclaration field, final VariableDeclarator variable, final VisitorContext context)
+  {
+    return !context.getIgnoredProperties().contains(getFieldName(rootClass, field, variable)) &&
+            !(field.getVariables().size() > 1 && getJsonPropertyName(field) != null);
+  }
+
+  /**
+   * Returns the result of a variable declarator on a field.
+   *
+   * @param rootClass Class the fields belong to
+   * @param field Field declaration
+   * @param variable Variable declarator present under this field declaration
+   * @return result or null to leave the field out
+   */
+  protected abstract T processField(ClassOrInterfaceDeclaration rootClass, FieldDeclaration field,
+          VariableDeclarator variable);
+
+  /**
+   * Returns the names of the properties ignored at the type level by {@link JsonIgnoreProperties}.
+   *
+   * @param foundClass visited class
+   * @return names or null if none
+   */
+  private static String[] getIgnoredProperties(final ClassOrInterfaceDeclaration foundClass)
+  {
+    final Optional<AnnotationExpr> ignoreProperties = foundClass.getAnnotationByClass(JsonIgnoreProperties.class);
+    return ignoreProperties.isPresent() ? getAnnotationValues(ignoreProperties.get()) : null;
+  }
+
+}
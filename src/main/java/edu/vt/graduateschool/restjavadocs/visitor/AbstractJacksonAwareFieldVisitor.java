@@ -8,7 +8,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -16,20 +15,17 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
-import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.comments.Comment;
 import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 
-import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.findGetter;
 import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getAnnotationValue;
 import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getAnnotationValues;
-import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.isAnnotationNotRequired;
-import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.isResolvedTypeJava8Optional;
 
 /**
- * Parses source files using for fields using the business logic that applies with Jackson annotations.
+ * Parses source files using for fields using the business logic that applies with Jackson annotations. The properties
+ * of each class are read from its {@link JacksonPropertyTable}.
  *
  * @author Graduate School
  */
@@ -43,7 +39,9 @@ public abstract class AbstractJacksonAwareFieldVisitor extends AbstractFieldVisi
           Logger.getLogger(AbstractJacksonAwareFieldVisitor.class.getName());
 
   /**
-   * Contains names of fields that are ignored at the type level by {@link JsonIgnoreProperties}.
+   * Contains names of fields that are ignored at the type level by {@link JsonIgnoreProperties}. Visiting a nested
+   * class replaces them, use {@link AbstractJacksonAwareFieldListVisitor} to visit nested classes or from several
+   * threads.
    */
   private final List<String> ignoredFieldsTypeLevel = new ArrayList<>();
 
@@ -51,10 +49,10 @@ public abstract class AbstractJacksonAwareFieldVisitor extends AbstractFieldVisi
   public void visit(final ClassOrInterfaceDeclaration foundClass, final Class<? extends Annotation> requireAnnotated)
   {
     final Optional<AnnotationExpr> ignoreProperties = foundClass.getAnnotationByClass(JsonIgnoreProperties.class);
+    ignoredFieldsTypeLevel.clear();
     if (ignoreProperties.isPresent()) {
       final String[] values = getAnnotationValues(
               foundClass.getAnnotationByClass(JsonIgnoreProperties.class).get());
-      ignoredFieldsTypeLevel.clear();
       if (values != null) {
         ignoredFieldsTypeLevel.addAll(Arrays.asList(values));
         LOGGER.log(Level.FINEST, "found ignored properties while visiting class");
@@ -119,22 +117,7 @@ public abstract class AbstractJacksonAwareFieldVisitor extends AbstractFieldVisi
           final FieldDeclaration field,
           final VariableDeclarator variableDeclarator)
   {
-    if (!field.isAnnotationPresent(JsonProperty.class)) {
-      final MethodDeclaration fieldGetter = findGetter(rootClass, variableDeclarator);
-      if (fieldGetter != null) {
-        if (fieldGetter.getAnnotationByClass(JsonIgnore.class).isEmpty()) {
-          final String foundName = getJsonPropertyName(fieldGetter) != null ? getJsonPropertyName(fieldGetter) :
-                  getJsonGetterName(fieldGetter);
-          if (foundName != null) {
-            return foundName;
-          }
-        }
-      }
-      return getSimpleFieldName(variableDeclarator);
-    } else {
-      final String jsonPropertyName = getJsonPropertyName(field);
-      return jsonPropertyName == null ? getSimpleFieldName(variableDeclarator) : jsonPropertyName;
-    }
+    return JacksonPropertyTable.of(rootClass).getProperty(field, variableDeclarator).getName();
   }
 
   /**
@@ -151,23 +134,7 @@ public abstract class AbstractJacksonAwareFieldVisitor extends AbstractFieldVisi
           final FieldDeclaration field,
           final VariableDeclarator variable)
   {
-    if (isResolvedTypeJava8Optional(variable.getType())) {
-      return true;
-    }
-    boolean isOptional = false;
-    final Optional<AnnotationExpr> jsonPropertyOnField = field.getAnnotationByClass(JsonProperty.class);
-    if (jsonPropertyOnField.isEmpty()) {
-      final MethodDeclaration fieldGetter = findGetter(rootClass, variable);
-      if (fieldGetter != null) {
-        if (fieldGetter.getAnnotationByClass(JsonIgnore.class).isEmpty() &&
-                fieldGetter.isAnnotationPresent(JsonProperty.class)) {
-          isOptional = isAnnotationNotRequired(fieldGetter.getAnnotationByClass(JsonProperty.class).get());
-        }
-      }
-    } else {
-      isOptional = isAnnotationNotRequired(jsonPropertyOnField.get());
-    }
-    return isOptional;
+    return JacksonPropertyTable.of(rootClass).getProperty(field, variable).isOptional();
   }
 
   /**
@@ -182,19 +149,7 @@ public abstract class AbstractJacksonAwareFieldVisitor extends AbstractFieldVisi
           final FieldDeclaration field,
           final VariableDeclarator variableDeclarator)
   {
-    if (!field.isAnnotationPresent(JsonProperty.class)) {
-      final MethodDeclaration fieldGetter = findGetter(rootClass, variableDeclarator);
-      if (fieldGetter != null) {
-        if ((fieldGetter.getAnnotationByClass(JsonIgnore.class).isEmpty() &&
-                fieldGetter.getAnnotationByClass(JsonBackReference.class).isEmpty()) &&
-                (fieldGetter.getAnnotationByClass(JsonProperty.class).isPresent() ||
-                fieldGetter.getAnnotationByClass(JsonGetter.class).isPresent() ||
-                fieldGetter.getAnnotationByClass(JsonAnyGetter.class).isPresent())) {
-          return fieldGetter.getComment();
-        }
-      }
-    }
-    return field.getComment();
+    return JacksonPropertyTable.of(rootClass).getProperty(field, variableDeclarator).getComment();
   }
 
 }
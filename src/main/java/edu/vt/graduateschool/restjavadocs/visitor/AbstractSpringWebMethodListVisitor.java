@@ -0,0 +1,102 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.visitor.GenericListVisitorAdapter;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * Parses source files of controllers with methods annotated by Spring MVC annotations, the same as {@link
+ * AbstractSpringWebMethodVisitor}, but returns the results of each visit instead of keeping them. The visitor keeps no
+ * state, the filter is held by the {@link VisitorContext} argument, so an instance may be shared between threads. The
+ * nested classes of a class are visited after its own methods.
+ *
+ * @param <T> type of the results of each method
+ * @author Graduate School
+ */
+public abstract class AbstractSpringWebMethodListVisitor<T> extends GenericListVisitorAdapter<T, VisitorContext>
+{
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(AbstractSpringWebMethodListVisitor.class.getName());
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param compilationUnit compilation unit to visit
+   * @param context state of the visit, null means {@link VisitorContext#DEFAULT}
+   * @return unmodifiable results of every class in the compilation unit
+   */
+  @Override
+  public List<T> visit(final CompilationUnit compilationUnit, final VisitorContext context)
+  {
+    return List.copyOf(super.visit(compilationUnit, context));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param foundClass class to visit
+   * @param context state of the visit, null means {@link VisitorContext#DEFAULT}
+   * @return unmodifiable results of the class and its nested classes
+   */
+  @Override
+  public List<T> visit(final ClassOrInterfaceDeclaration foundClass, final VisitorContext context)
+  {
+    final VisitorContext visitContext = context == null ? VisitorContext.DEFAULT : context;
+    final String[] classPaths = AbstractSpringWebMethodVisitor.getClassPaths(foundClass);
+    final List<T> results = new ArrayList<>();
+    for (final MethodDeclaration method : foundClass.getMethods()) {
+      if (filterMethods(method, classPaths, visitContext)) {
+        results.addAll(processMethod(foundClass, method));
+      }
+    }
+    for (final BodyDeclaration<?> member : foundClass.getMembers()) {
+      if (member.isClassOrInterfaceDeclaration()) {
+        results.addAll(visit(member.asClassOrInterfaceDeclaration(), visitContext));
+      }
+    }
+    LOGGER.log(Level.FINEST, "visited class {0}", foundClass.getNameAsString());
+    return List.copyOf(results);
+  }
+
+  /**
+   * Filters each {@link MethodDeclaration} by the resulting condition of this method, only mapped methods matching
+   * the filter of the context are kept.
+   *
+   * @param method {@link MethodDeclaration} instance
+   * @param classPaths paths of the class level mapping
+   * @param context state of the visit
+   * @return true or false
+   */
+  protected boolean filterMethods(final MethodDeclaration method, final String[] classPaths,
+          final VisitorContext context)
+  {
+    final AnnotationExpr annotation = AbstractSpringWebMethodVisitor.getMappingAnnotation(method);
+    return annotation != null &&
+            (context.getRequireAnnotated() == null || method.isAnnotationPresent(context.getRequireAnnotated())) &&
+            AbstractSpringWebMethodVisitor.matches(annotation, classPaths,
+                    method.isAnnotationPresent(RequestMapping.class), context.getMatcher());
+  }
+
+  /**
+   * Returns the results of a {@link MethodDeclaration} instance on a class.
+   *
+   * @param rootClass Class the method belongs to
+   * @param method {@link MethodDeclaration} instance
+   * @return results, empty to leave the method out
+   */
+  protected abstract List<T> processMethod(ClassOrInterfaceDeclaration rootClass, MethodDeclaration method);
+
+}
@@ -2,22 +2,32 @@
 package edu.vt.graduateschool.restjavadocs.visitor;
 
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.expr.AnnotationExpr;
 import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import edu.vt.graduateschool.restjavadocs.util.JavadocTags;
+import org.springframework.restdocs.request.ParameterDescriptor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.filterAnnotationExpression;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getRequestMappingAnnotationValues;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.isAnnotationNotRequired;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.isResolvedTypeJava8Optional;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
 
 /**
  * Parses source files of controllers with methods annotated by Spring MVC annotations.
@@ -38,6 +48,16 @@ public abstract class AbstractSpringWebMethodVisitor extends AbstractMethodVisit
    */
   protected Map<String, String[]> filterMap;
 
+  /**
+   * Filter map {@link #matcher} was compiled from.
+   */
+  private Map<String, String[]> compiledFilterMap;
+
+  /**
+   * Compiled {@link #filterMap}.
+   */
+  private RequestMappingMatcher matcher;
+
   /**
    * Getter for filterMap.
    *
@@ -63,33 +83,143 @@ public abstract class AbstractSpringWebMethodVisitor extends AbstractMethodVisit
           final Class<? extends Annotation> annotationArg
   )
   {
-    Map<String, String[]> filter = filterMap == null ? new HashMap<>() : filterMap;
+    final AnnotationExpr annotation = getMappingAnnotation(method);
+    if (annotation != null) {
+      return matches(annotation, getClassPaths(rootClass), method.isAnnotationPresent(RequestMapping.class)) &&
+              super.filterMethods(rootClass, method, annotationArg);
+    }
+    return false;
+  }
+
+  /**
+   * Whether or not a mapping annotation contains the values of {@link #filterMap}, which is compiled once into a
+   * {@link RequestMappingMatcher} and recompiled only when replaced.
+   *
+   * @param annotation mapping annotation
+   * @param classPaths paths of the class level mapping
+   * @param requestMapping whether the annotation is RequestMapping, otherwise the method is ignored
+   * @return true if a match is found
+   */
+  private boolean matches(final AnnotationExpr annotation, final String[] classPaths, final boolean requestMapping)
+  {
+    if (compiledFilterMap != filterMap || matcher == null) {
+      matcher = RequestMappingMatcher.compile(filterMap);
+      compiledFilterMap = filterMap;
+    }
+    return matches(annotation, classPaths, requestMapping, matcher);
+  }
+
+  /**
+   * Whether or not a mapping annotation contains the values of a compiled filter.
+   *
+   * @param annotation mapping annotation
+   * @param classPaths paths of the class level mapping
+   * @param requestMapping whether the annotation is RequestMapping, otherwise the method is ignored
+   * @param filter compiled filter
+   * @return true if a match is found
+   */
+  static boolean matches(final AnnotationExpr annotation, final String[] classPaths, final boolean requestMapping,
+          final RequestMappingMatcher filter)
+  {
+    return annotation.isMarkerAnnotationExpr() || filter.isEmpty() ||
+            filter.matches(RequestMappingMatcher.hash(getRequestMappingAnnotationValues(annotation), classPaths),
+                    requestMapping);
+  }
+
+  /**
+   * Returns the paths of the {@link RequestMapping} of a class, which prefix the paths of its methods.
+   *
+   * @param rootClass class declaring the mapped methods
+   * @return paths, empty if the class is not mapped or declares no path
+   */
+  public static String[] getClassPaths(final ClassOrInterfaceDeclaration rootClass)
+  {
+    final Optional<AnnotationExpr> annotation = rootClass.getAnnotationByClass(RequestMapping.class);
+    final String[] paths = annotation.isPresent() ? getRequestMappingAnnotationValues(annotation.get())
+            .get(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH) : null;
+    return paths == null ? new String[0] : paths;
+  }
+
+  /**
+   * Returns the Spring MVC annotation mapping a method. {@link RequestMapping} takes precedence over the shortcut
+   * annotations.
+   *
+   * @param method {@link MethodDeclaration} instance
+   * @return {@link AnnotationExpr} or null if the method is not mapped
+   */
+  public static AnnotationExpr getMappingAnnotation(final MethodDeclaration method)
+  {
     final AnnotationExpr annotation;
     if (method.isAnnotationPresent(RequestMapping.class)) {
       annotation = method.getAnnotationByClass(RequestMapping.class).get();
+    } else if (method.isAnnotationPresent(GetMapping.class)) {
+      annotation = method.getAnnotationByClass(GetMapping.class).get();
+    } else if (method.isAnnotationPresent(PostMapping.class)) {
+      annotation = method.getAnnotationByClass(PostMapping.class).get();
+    } else if (method.isAnnotationPresent(DeleteMapping.class)) {
+      annotation = method.getAnnotationByClass(DeleteMapping.class).get();
+    } else if (method.isAnnotationPresent(PatchMapping.class)) {
+      annotation = method.getAnnotationByClass(PatchMapping.class).get();
+    } else if (method.isAnnotationPresent(PutMapping.class)) {
+      annotation = method.getAnnotationByClass(PutMapping.class).get();
     } else {
-      filter = filterMap.entrySet().stream()
-              .filter(x -> !x.getKey().equals(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_METHOD))
-              .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-      if (method.isAnnotationPresent(GetMapping.class)) {
-        annotation = method.getAnnotationByClass(GetMapping.class).get();
-      } else if (method.isAnnotationPresent(PostMapping.class)) {
-        annotation = method.getAnnotationByClass(PostMapping.class).get();
-      } else if (method.isAnnotationPresent(DeleteMapping.class)) {
-        annotation = method.getAnnotationByClass(DeleteMapping.class).get();
-      } else if (method.isAnnotationPresent(PatchMapping.class)) {
-        annotation = method.getAnnotationByClass(PatchMapping.class).get();
-      } else if (method.isAnnotationPresent(PutMapping.class)) {
-        annotation = method.getAnnotationByClass(PutMapping.class).get();
-      } else {
-        annotation = null;
+      annotation = null;
+    }
+    return annotation;
+  }
+
+  /**
+   * Returns {@link ParameterDescriptor}s of the {@link RequestParam} parameters of a method described by its
+   * Javadocs. Parameters without a description are left out.
+   *
+   * @param method {@link MethodDeclaration} instance
+   * @return {@link ParameterDescriptor}s in declaration order
+   * @throws IllegalArgumentException if the javadoc comments could not be parsed
+   */
+  public static List<ParameterDescriptor> getRequestParameterDescriptors(final MethodDeclaration method)
+          throws IllegalArgumentException
+  {
+    final List<ParameterDescriptor> descriptors = new ArrayList<>();
+    for (final Parameter parameter : method.getParameters()) {
+      if (parameter.isAnnotationPresent(RequestParam.class)) {
+        final AnnotationExpr requestParam = parameter.getAnnotationByClass(RequestParam.class).get();
+        final boolean isOptional = isResolvedTypeJava8Optional(parameter.getType()) ||
+                isAnnotationNotRequired(requestParam);
+        final String paramName = parameter.getNameAsString();
+        final ParameterDescriptor descriptor = getParameterDescriptor(method, paramName, isOptional);
+        if (descriptor != null) {
+          descriptors.add(descriptor);
+        } else {
+          LOGGER.log(Level.FINE, "could not find descriptor for paramName {0}", paramName);
+        }
       }
     }
-    if (annotation != null) {
-      return filterAnnotationExpression(annotation, filter) &&
-              super.filterMethods(rootClass, method, annotationArg);
+    return descriptors;
+  }
+
+  /**
+   * Traverses through a matching parameter tag and returns a {@link ParameterDescriptor} with the parameter value
+   * described in method's Javadocs.
+   *
+   * @param methodDeclaration method
+   * @param parameterName parameter name to filter
+   * @param optional whether or not descriptor is optional
+   * @return {@link ParameterDescriptor}, null if none could be found
+   * @throws IllegalArgumentException if the javadoc comments could not be parsed
+   */
+  private static ParameterDescriptor getParameterDescriptor(
+          final MethodDeclaration methodDeclaration,
+          final String parameterName,
+          final boolean optional) throws IllegalArgumentException
+  {
+    if (methodDeclaration.getComment().isPresent()) {
+      final String description = JavadocTags.of(methodDeclaration.getComment().get()).getParams().get(parameterName);
+      if (description != null) {
+        final ParameterDescriptor desc = parameterWithName(parameterName).description(description);
+        return optional ? desc.optional() : desc;
+      }
     }
-    return false;
+    return null;
   }
 
 }
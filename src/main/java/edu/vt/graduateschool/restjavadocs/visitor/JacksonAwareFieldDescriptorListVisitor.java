@@ -0,0 +1,40 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.Optional;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.Comment;
+import org.springframework.restdocs.payload.FieldDescriptor;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getCommentText;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.getFieldComment;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.getFieldName;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.isFieldOptional;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+
+/**
+ * Parses {@link FieldDescriptor}(s) from source files using Jackson annotations, the same as {@link
+ * JacksonAwareFieldDescriptorFieldVisitor}, and returns them from each visit. Instances are stateless and may be
+ * shared between threads.
+ *
+ * @author Graduate School
+ */
+public final class JacksonAwareFieldDescriptorListVisitor extends AbstractJacksonAwareFieldListVisitor<FieldDescriptor>
+{
+
+  @Override
+  protected FieldDescriptor processField(final ClassOrInterfaceDeclaration rootClass, final FieldDeclaration field,
+          final VariableDeclarator variable)
+  {
+    final Optional<Comment> comments = getFieldComment(rootClass, field, variable);
+    if (comments.isEmpty()) {
+      return null;
+    }
+    final FieldDescriptor descriptor = subsectionWithPath(getFieldName(rootClass, field, variable))
+            .description(getCommentText(comments.get()));
+    return isFieldOptional(rootClass, field, variable) ? descriptor.optional() : descriptor;
+  }
+
+}
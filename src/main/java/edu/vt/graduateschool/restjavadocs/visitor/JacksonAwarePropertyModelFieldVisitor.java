@@ -0,0 +1,76 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getCommentText;
+
+/**
+ * Parses {@link PropertyModel}(s) from source files using Jackson annotations. The models describe the same fields
+ * as the descriptors of {@link JacksonAwareFieldDescriptorFieldVisitor} and keep the annotations of each field, so
+ * that the filtering by annotation can be done later.
+ *
+ * @author Graduate School
+ */
+public final class JacksonAwarePropertyModelFieldVisitor extends AbstractJacksonAwareFieldVisitor
+{
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER =
+          Logger.getLogger(JacksonAwarePropertyModelFieldVisitor.class.getName());
+
+  /**
+   * List of parsed property models (null means unvisited).
+   */
+  private List<PropertyModel> propertyModels;
+
+  /**
+   * Getter for propertyModels.
+   *
+   * @return propertyModels
+   */
+  public List<PropertyModel> getPropertyModels()
+  {
+    if (propertyModels == null) {
+      throw new IllegalStateException("You must visit the class to parse property models");
+    }
+    return propertyModels;
+  }
+
+  @Override
+  public void visit(final ClassOrInterfaceDeclaration foundClass, final Class<? extends Annotation> requireAnnotated)
+  {
+    this.propertyModels = new ArrayList<>();
+    super.visit(foundClass, requireAnnotated);
+  }
+
+  @Override
+  protected void processField(final ClassOrInterfaceDeclaration rootClass, final FieldDeclaration field,
+          final VariableDeclarator variable)
+  {
+    final Optional<Comment> comments = getFieldComment(rootClass, field, variable);
+    if (comments.isPresent()) {
+      final List<String> annotations = new ArrayList<>();
+      for (final AnnotationExpr annotation : field.getAnnotations()) {
+        annotations.add(annotation.getNameAsString());
+      }
+      propertyModels.add(new PropertyModel(getFieldName(rootClass, field, variable), getCommentText(comments.get()),
+              isFieldOptional(rootClass, field, variable), annotations.toArray(String[]::new)));
+      LOGGER.log(Level.FINEST, "processed property model for variable {0}", variable.getNameAsString());
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getCommentText;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.getFieldComment;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.getFieldName;
+import static edu.vt.graduateschool.restjavadocs.visitor.AbstractJacksonAwareFieldVisitor.isFieldOptional;
+
+/**
+ * Parses {@link PropertyModel}(s) from source files using Jackson annotations, the same as {@link
+ * JacksonAwarePropertyModelFieldVisitor}, and returns them from each visit. Instances are stateless and may be shared
+ * between threads.
+ *
+ * @author Graduate School
+ */
+public final class JacksonAwarePropertyModelListVisitor extends AbstractJacksonAwareFieldListVisitor<PropertyModel>
+{
+
+  @Override
+  protected PropertyModel processField(final ClassOrInterfaceDeclaration rootClass, final FieldDeclaration field,
+          final VariableDeclarator variable)
+  {
+    final Optional<Comment> comments = getFieldComment(rootClass, field, variable);
+    if (comments.isEmpty()) {
+      return null;
+    }
+    final List<String> annotations = new ArrayList<>();
+    for (final AnnotationExpr annotation : field.getAnnotations()) {
+      annotations.add(annotation.getNameAsString());
+    }
+    return new PropertyModel(getFieldName(rootClass, field, variable), getCommentText(comments.get()),
+            isFieldOptional(rootClass, field, variable), annotations.toArray(String[]::new));
+  }
+
+}
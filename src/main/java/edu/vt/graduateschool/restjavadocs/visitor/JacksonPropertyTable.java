@@ -0,0 +1,395 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getAnnotationValue;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getGetterMethodName;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getSetterMethodName;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.isAnnotationNotRequired;
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.isResolvedTypeJava8Optional;
+
+/**
+ * Jackson properties of a class collected in one pass over its members, the same as Jackson collects the properties of
+ * a bean. Every field is paired with its getter and setter and the property name, requiredness and comment are decided
+ * once per field, with the business logic of {@link AbstractJacksonAwareFieldVisitor}. The table is built once per
+ * class and kept as data of the class declaration, so visiting a class again or from several threads reads the same
+ * table.
+ *
+ * @author Graduate School
+ */
+public final class JacksonPropertyTable
+{
+
+  /**
+   * Jackson property backed by a field.
+   */
+  public static final class Property
+  {
+
+    /**
+     * Field declaration.
+     */
+    private final FieldDeclaration field;
+
+    /**
+     * Variable declarator of the field.
+     */
+    private final VariableDeclarator variable;
+
+    /**
+     * Getter of the field (null means none).
+     */
+    private final MethodDeclaration getter;
+
+    /**
+     * Setter of the field (null means none).
+     */
+    private final MethodDeclaration setter;
+
+    /**
+     * Property name.
+     */
+    private final String name;
+
+    /**
+     * Whether or not the property is optional.
+     */
+    private final boolean optional;
+
+    /**
+     * Comment describing the property.
+     */
+    private final Optional<Comment> comment;
+
+    /**
+     * Constructor with the field, its getter and its setter.
+     *
+     * @param fieldParam field declaration
+     * @param variableParam variable declarator of the field
+     * @param getterParam getter of the field, null means none
+     * @param setterParam setter of the field, null means none
+     */
+    Property(final FieldDeclaration fieldParam, final VariableDeclarator variableParam,
+            final MethodDeclaration getterParam, final MethodDeclaration setterParam)
+    {
+      this.field = fieldParam;
+      this.variable = variableParam;
+      this.getter = getterParam;
+      this.setter = setterParam;
+      this.name = decideName(fieldParam, variableParam, getterParam);
+      this.optional = decideOptional(fieldParam, variableParam, getterParam);
+      this.comment = decideComment(fieldParam, getterParam);
+    }
+
+    /**
+     * Getter for field.
+     *
+     * @return field
+     */
+    public FieldDeclaration getField()
+    {
+      return field;
+    }
+
+    /**
+     * Getter for variable.
+     *
+     * @return variable
+     */
+    public VariableDeclarator getVariable()
+    {
+      return variable;
+    }
+
+    /**
+     * Getter for getter.
+     *
+     * @return getter or null if none
+     */
+    public MethodDeclaration getGetter()
+    {
+      return getter;
+    }
+
+    /**
+     * Getter for setter.
+     *
+     * @return setter or null if none
+     */
+    public MethodDeclaration getSetter()
+    {
+      return setter;
+    }
+
+    /**
+     * Returns the field name or the {@link JsonProperty} value of the field, or of the getter when the field is not
+     * annotated.
+     *
+     * @return name
+     */
+    public String getName()
+    {
+      return name;
+    }
+
+    /**
+     * Returns whether or not the property is optional, either by {@link JsonProperty}(required=false) or by being a
+     * Java 8 {@link Optional}.
+     *
+     * @return optional
+     */
+    public boolean isOptional()
+    {
+      return optional;
+    }
+
+    /**
+     * Returns either the field or getter comment depending on which one takes precedence.
+     *
+     * @return {@link Comment} optional
+     */
+    public Optional<Comment> getComment()
+    {
+      return comment;
+    }
+
+    /**
+     * Returns whether or not the field is ignored by {@link JsonIgnore} or {@link JsonBackReference}.
+     *
+     * @return true if ignored
+     */
+    public boolean isIgnored()
+    {
+      return field.isAnnotationPresent(JsonIgnore.class) || field.isAnnotationPresent(JsonBackReference.class);
+    }
+
+    @Override
+    public String toString()
+    {
+      return "Property{name=" + name + ", optional=" + optional + ", getter=" + (getter != null) + ", setter=" +
+              (setter != null) + '}';
+    }
+
+  }
+
+  /**
+   * Key of the table kept as data of a class declaration.
+   */
+  private static final DataKey<JacksonPropertyTable> DATA_KEY = new DataKey<JacksonPropertyTable>()
+  {
+  };
+
+  /**
+   * Methods of the class by name.
+   */
+  private final Map<String, List<MethodDeclaration>> methods;
+
+  /**
+   * Properties by field name in declaration order.
+   */
+  private final Map<String, Property> properties;
+
+  /**
+   * Constructor collecting the properties of a class.
+   *
+   * @param declaration class declaration
+   */
+  private JacksonPropertyTable(final ClassOrInterfaceDeclaration declaration)
+  {
+    final Map<String, List<MethodDeclaration>> methodsByName = new HashMap<>();
+    final List<FieldDeclaration> fields = new ArrayList<>();
+    for (final BodyDeclaration<?> member : declaration.getMembers()) {
+      if (member.isMethodDeclaration()) {
+        methodsByName.computeIfAbsent(member.asMethodDeclaration().getNameAsString(), name -> new ArrayList<>())
+                .add(member.asMethodDeclaration());
+      } else if (member.isFieldDeclaration()) {
+        fields.add(member.asFieldDeclaration());
+      }
+    }
+    this.methods = methodsByName;
+    final Map<String, Property> propertiesByName = new LinkedHashMap<>();
+    for (final FieldDeclaration field : fields) {
+      for (final VariableDeclarator variable : field.getVariables()) {
+        propertiesByName.put(variable.getNameAsString(), createProperty(field, variable));
+      }
+    }
+    this.properties = Collections.unmodifiableMap(propertiesByName);
+  }
+
+  /**
+   * Returns the property table of a class, collecting it on first use.
+   *
+   * @param declaration class declaration
+   * @return {@link JacksonPropertyTable}
+   */
+  public static JacksonPropertyTable of(final ClassOrInterfaceDeclaration declaration)
+  {
+    if (declaration == null) {
+      throw new IllegalArgumentException("declaration cannot be null");
+    }
+    synchronized (JavaParserUtils.getResolutionLock(declaration)) {
+      if (!declaration.containsData(DATA_KEY)) {
+        declaration.setData(DATA_KEY, new JacksonPropertyTable(declaration));
+      }
+      return declaration.getData(DATA_KEY);
+    }
+  }
+
+  /**
+   * Returns the properties by field name in declaration order.
+   *
+   * @return unmodifiable properties
+   */
+  public Map<String, Property> getProperties()
+  {
+    return properties;
+  }
+
+  /**
+   * Returns the property of a field variable. Variables which are not fields of the class are collected anew with
+   * the methods of the class.
+   *
+   * @param field field declaration
+   * @param variable variable declarator of the field
+   * @return {@link Property}
+   */
+  public Property getProperty(final FieldDeclaration field, final VariableDeclarator variable)
+  {
+    final Property property = properties.get(variable.getNameAsString());
+    return property != null && property.getVariable() == variable ? property : createProperty(field, variable);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "JacksonPropertyTable{properties=" + properties.values() + '}';
+  }
+
+  /**
+   * Pairs a field variable with its getter and setter.
+   *
+   * @param field field declaration
+   * @param variable variable declarator of the field
+   * @return {@link Property}
+   */
+  private Property createProperty(final FieldDeclaration field, final VariableDeclarator variable)
+  {
+    MethodDeclaration getter = null;
+    for (final MethodDeclaration method : methods.getOrDefault(getGetterMethodName(variable), List.of())) {
+      if (getter == null && method.getParameters().isEmpty() && method.getType().equals(variable.getType())) {
+        getter = method;
+      }
+    }
+    MethodDeclaration setter = null;
+    for (final MethodDeclaration method : methods.getOrDefault(getSetterMethodName(variable), List.of())) {
+      if (setter == null && method.getParameters().size() == 1 &&
+              method.getParameters().get(0).getType().equals(variable.getType())) {
+        setter = method;
+      }
+    }
+    return new Property(field, variable, getter, setter);
+  }
+
+  /**
+   * Returns the field name or the {@link JsonProperty} value specified. Latter takes precedence. If the field is not
+   * annotated with {@link JsonProperty} and the getter is annotated as such with a value defined than the getter's
+   * property name is used.
+   *
+   * @param field field
+   * @param variable variable declarator
+   * @param getter getter of the field or null
+   * @return property name
+   */
+  private static String decideName(final FieldDeclaration field, final VariableDeclarator variable,
+          final MethodDeclaration getter)
+  {
+    String name = null;
+    if (field.isAnnotationPresent(JsonProperty.class)) {
+      name = getAnnotationValueOf(field, JsonProperty.class);
+    } else if (getter != null && !getter.isAnnotationPresent(JsonIgnore.class)) {
+      name = getAnnotationValueOf(getter, JsonProperty.class) != null ?
+              getAnnotationValueOf(getter, JsonProperty.class) : getAnnotationValueOf(getter, JsonGetter.class);
+    }
+    return name == null ? variable.getNameAsString() : name;
+  }
+
+  /**
+   * Returns whether or not the field is optional by {@link JsonProperty}(required=false) on the field, or on the getter
+   * when the field is not annotated, or by its declared type being Java 8 {@link Optional}.
+   *
+   * @param field field
+   * @param variable variable declarator
+   * @param getter getter of the field or null
+   * @return true if optional
+   */
+  private static boolean decideOptional(final FieldDeclaration field, final VariableDeclarator variable,
+          final MethodDeclaration getter)
+  {
+    boolean optional = isResolvedTypeJava8Optional(variable.getType());
+    final Optional<AnnotationExpr> jsonPropertyOnField = field.getAnnotationByClass(JsonProperty.class);
+    if (!optional && jsonPropertyOnField.isPresent()) {
+      optional = isAnnotationNotRequired(jsonPropertyOnField.get());
+    } else if (!optional && getter != null && !getter.isAnnotationPresent(JsonIgnore.class) &&
+            getter.isAnnotationPresent(JsonProperty.class)) {
+      optional = isAnnotationNotRequired(getter.getAnnotationByClass(JsonProperty.class).get());
+    }
+    return optional;
+  }
+
+  /**
+   * Returns the getter comment if the getter is a serialized Jackson property and the field is not annotated with
+   * {@link JsonProperty}, the field comment otherwise.
+   *
+   * @param field field
+   * @param getter getter of the field or null
+   * @return {@link Comment} optional
+   */
+  private static Optional<Comment> decideComment(final FieldDeclaration field, final MethodDeclaration getter)
+  {
+    if (!field.isAnnotationPresent(JsonProperty.class) && getter != null &&
+            !getter.isAnnotationPresent(JsonIgnore.class) && !getter.isAnnotationPresent(JsonBackReference.class) &&
+            (getter.isAnnotationPresent(JsonProperty.class) || getter.isAnnotationPresent(JsonGetter.class) ||
+            getter.isAnnotationPresent(JsonAnyGetter.class))) {
+      return getter.getComment();
+    }
+    return field.getComment();
+  }
+
+  /**
+   * Returns the value of an annotation of a node if the node is annotated.
+   *
+   * @param node {@link NodeWithAnnotations} to check
+   * @param annotation annotation class
+   * @return found value, or null if none exists
+   */
+  private static String getAnnotationValueOf(final NodeWithAnnotations<?> node,
+          final Class<? extends Annotation> annotation)
+  {
+    final Optional<AnnotationExpr> expression = node.getAnnotationByClass(annotation);
+    return expression.isPresent() ? getAnnotationValue(expression.get()) : null;
+  }
+
+}
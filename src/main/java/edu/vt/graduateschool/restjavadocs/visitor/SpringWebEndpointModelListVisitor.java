@@ -0,0 +1,70 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.List;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+
+/**
+ * Parses {@link EndpointModel}s of every method annotated by a Spring MVC mapping annotation, the same as {@link
+ * SpringWebEndpointModelMethodVisitor}, and returns them from each visit. Instances are stateless and may be shared
+ * between threads.
+ *
+ * @author Graduate School
+ */
+public final class SpringWebEndpointModelListVisitor extends AbstractSpringWebMethodListVisitor<EndpointModel>
+{
+
+  /**
+   * Whether or not request parameters are described from Javadocs while visiting.
+   */
+  private final boolean describeParameters;
+
+  /**
+   * Whether or not Javadocs which could not be parsed are kept as the problem of the endpoint instead of failing.
+   */
+  private final boolean keepProblems;
+
+  /**
+   * Default constructor, the request parameters of every mapped method are described.
+   */
+  public SpringWebEndpointModelListVisitor()
+  {
+    this(true);
+  }
+
+  /**
+   * Constructor which may defer describing request parameters.
+   *
+   * @param describeParametersParam whether or not request parameters are described from Javadocs while visiting
+   */
+  public SpringWebEndpointModelListVisitor(final boolean describeParametersParam)
+  {
+    this(describeParametersParam, false);
+  }
+
+  /**
+   * Constructor which may defer describing request parameters or keep the problems of describing them.
+   *
+   * @param describeParametersParam whether or not request parameters are described from Javadocs while visiting
+   * @param keepProblemsParam whether or not Javadocs which could not be parsed are kept as the problem of the endpoint
+   * (see {@link SpringWebEndpointModelMethodVisitor#createEndpointModelKeepingProblems}) instead of failing the visit
+   */
+  public SpringWebEndpointModelListVisitor(final boolean describeParametersParam, final boolean keepProblemsParam)
+  {
+    this.describeParameters = describeParametersParam;
+    this.keepProblems = keepProblemsParam;
+  }
+
+  @Override
+  protected List<EndpointModel> processMethod(final ClassOrInterfaceDeclaration rootClass,
+          final MethodDeclaration method)
+  {
+    if (keepProblems && describeParameters) {
+      return List.of(SpringWebEndpointModelMethodVisitor.createEndpointModelKeepingProblems(rootClass, method));
+    }
+    return List.of(SpringWebEndpointModelMethodVisitor.createEndpointModel(rootClass, method, describeParameters));
+  }
+
+}
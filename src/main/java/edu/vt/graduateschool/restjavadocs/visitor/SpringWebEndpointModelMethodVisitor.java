@@ -0,0 +1,149 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getRequestMappingAnnotationValues;
+
+/**
+ * Parses {@link EndpointModel}s of every method annotated by a Spring MVC mapping annotation. The models keep the
+ * mapping attributes so filtering can be done later by {@link EndpointModel#matches(java.util.Map)}. Describing the
+ * request parameters may be deferred, in which case the models have none and the visited method declarations are kept
+ * instead.
+ *
+ * @author Graduate School
+ */
+public final class SpringWebEndpointModelMethodVisitor extends AbstractSpringWebMethodVisitor
+{
+
+  /**
+   * List of parsed endpoint models (null means unvisited).
+   */
+  private List<EndpointModel> endpointModels;
+
+  /**
+   * Visited method declarations in the order of {@link #endpointModels} (null means unvisited).
+   */
+  private List<MethodDeclaration> methodDeclarations;
+
+  /**
+   * Whether or not request parameters are described from Javadocs while visiting.
+   */
+  private final boolean describeParameters;
+
+  /**
+   * Default constructor, every mapped method is visited and its request parameters are described.
+   */
+  public SpringWebEndpointModelMethodVisitor()
+  {
+    this(true);
+  }
+
+  /**
+   * Constructor which may defer describing request parameters.
+   *
+   * @param describeParametersParam whether or not request parameters are described from Javadocs while visiting
+   */
+  public SpringWebEndpointModelMethodVisitor(final boolean describeParametersParam)
+  {
+    this.filterMap = new HashMap<>();
+    this.describeParameters = describeParametersParam;
+  }
+
+  /**
+   * Getter for endpointModels.
+   *
+   * @return endpointModels
+   */
+  public List<EndpointModel> getEndpointModels()
+  {
+    if (endpointModels == null) {
+      throw new IllegalStateException("You must visit the class to parse endpoint models");
+    }
+    return endpointModels;
+  }
+
+  /**
+   * Getter for methodDeclarations.
+   *
+   * @return methodDeclarations
+   */
+  public List<MethodDeclaration> getMethodDeclarations()
+  {
+    if (methodDeclarations == null) {
+      throw new IllegalStateException("You must visit the class to parse endpoint models");
+    }
+    return methodDeclarations;
+  }
+
+  @Override
+  public void visit(final ClassOrInterfaceDeclaration foundClass, final Class<? extends Annotation> requireAnnotated)
+  {
+    this.endpointModels = new ArrayList<>();
+    this.methodDeclarations = new ArrayList<>();
+    super.visit(foundClass, requireAnnotated);
+  }
+
+  @Override
+  protected void processMethod(final ClassOrInterfaceDeclaration rootClass, final MethodDeclaration method)
+  {
+    super.processMethod(rootClass, method);
+    methodDeclarations.add(method);
+    endpointModels.add(createEndpointModel(rootClass, method, describeParameters));
+  }
+
+  /**
+   * Returns the {@link EndpointModel} of a mapped method.
+   *
+   * @param rootClass class declaring the method
+   * @param method mapped {@link MethodDeclaration}
+   * @param describeParametersParam whether or not request parameters are described from Javadocs
+   * @return {@link EndpointModel}
+   * @throws IllegalArgumentException if the javadoc comments could not be parsed
+   */
+  public static EndpointModel createEndpointModel(final ClassOrInterfaceDeclaration rootClass,
+          final MethodDeclaration method, final boolean describeParametersParam) throws IllegalArgumentException
+  {
+    final List<DescriptorModel> parameters = new ArrayList<>();
+    if (describeParametersParam) {
+      for (final ParameterDescriptor descriptor : getRequestParameterDescriptors(method)) {
+        parameters.add(DescriptorModel.of(descriptor));
+      }
+    }
+    return new EndpointModel(getSimpleMethodName(method), method.isAnnotationPresent(RequestMapping.class),
+            getRequestMappingAnnotationValues(getMappingAnnotation(method)), getClassPaths(rootClass),
+            parameters.toArray(DescriptorModel[]::new));
+  }
+
+  /**
+   * Returns the {@link EndpointModel} of a mapped method describing its request parameters. Unlike
+   * {@link #createEndpointModel(ClassOrInterfaceDeclaration, MethodDeclaration, boolean)}, Javadocs which could not be
+   * parsed don't fail: the model has no parameters and keeps the problem instead, which is raised once descriptors of
+   * the endpoint are requested (see {@link edu.vt.graduateschool.restjavadocs.model.SourceModel#matchingDescriptors}).
+   *
+   * @param rootClass class declaring the method
+   * @param method mapped {@link MethodDeclaration}
+   * @return {@link EndpointModel}
+   */
+  public static EndpointModel createEndpointModelKeepingProblems(final ClassOrInterfaceDeclaration rootClass,
+          final MethodDeclaration method)
+  {
+    try {
+      return createEndpointModel(rootClass, method, true);
+    } catch (final IllegalArgumentException ex) {
+      return new EndpointModel(getSimpleMethodName(method), method.isAnnotationPresent(RequestMapping.class),
+              getRequestMappingAnnotationValues(getMappingAnnotation(method)), getClassPaths(rootClass),
+              new DescriptorModel[0], ex.getMessage() == null ? ex.toString() : ex.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,27 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.List;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.springframework.restdocs.request.ParameterDescriptor;
+
+/**
+ * Parses {@link ParameterDescriptor}s of controllers with methods annotated by Spring MVC annotations, the same as
+ * {@link SpringWebParameterDescriptorMethodVisitor}, and returns them from each visit. Instances are stateless and may
+ * be shared between threads.
+ *
+ * @author Graduate School
+ */
+public final class SpringWebParameterDescriptorListVisitor
+        extends AbstractSpringWebMethodListVisitor<ParameterDescriptor>
+{
+
+  @Override
+  protected List<ParameterDescriptor> processMethod(final ClassOrInterfaceDeclaration rootClass,
+          final MethodDeclaration method)
+  {
+    return AbstractSpringWebMethodVisitor.getRequestParameterDescriptors(method);
+  }
+
+}
@@ -0,0 +1,132 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+
+/**
+ * Immutable argument of the list visitors holding all of the state of a visit, so a single visitor instance may visit
+ * any number of classes from any number of threads. Per class state, such as the properties ignored by a class, is
+ * derived into a new context rather than kept by the visitor.
+ *
+ * @author Graduate School
+ */
+public final class VisitorContext
+{
+
+  /**
+   * Context requiring no annotation and matching every endpoint.
+   */
+  public static final VisitorContext DEFAULT = new VisitorContext(null);
+
+  /**
+   * Annotation required on visited fields or methods (null means none).
+   */
+  private final Class<? extends Annotation> requireAnnotated;
+
+  /**
+   * Compiled filter of the visited mapping annotations.
+   */
+  private final RequestMappingMatcher matcher;
+
+  /**
+   * Names of the properties ignored by the visited class.
+   */
+  private final Set<String> ignoredProperties;
+
+  /**
+   * Constructor with an annotation to work with per field or method.
+   *
+   * @param requireAnnotatedParam annotation required on visited fields or methods, null means none
+   */
+  public VisitorContext(final Class<? extends Annotation> requireAnnotatedParam)
+  {
+    this(requireAnnotatedParam, RequestMappingMatcher.MATCH_ALL);
+  }
+
+  /**
+   * Constructor with an annotation and a filter of the mapping annotations.
+   *
+   * @param requireAnnotatedParam annotation required on visited fields or methods, null means none
+   * @param matcherParam compiled filter of the visited mapping annotations, null matches every endpoint
+   */
+  public VisitorContext(final Class<? extends Annotation> requireAnnotatedParam,
+          final RequestMappingMatcher matcherParam)
+  {
+    this(requireAnnotatedParam, matcherParam == null ? RequestMappingMatcher.MATCH_ALL : matcherParam,
+            Collections.emptySet());
+  }
+
+  /**
+   * Constructor with values.
+   *
+   * @param requireAnnotatedParam annotation required on visited fields or methods, null means none
+   * @param matcherParam compiled filter of the visited mapping annotations
+   * @param ignoredPropertiesParam unmodifiable names of the properties ignored by the visited class
+   */
+  private VisitorContext(final Class<? extends Annotation> requireAnnotatedParam,
+          final RequestMappingMatcher matcherParam, final Set<String> ignoredPropertiesParam)
+  {
+    this.requireAnnotated = requireAnnotatedParam;
+    this.matcher = matcherParam;
+    this.ignoredProperties = ignoredPropertiesParam;
+  }
+
+  /**
+   * Getter for requireAnnotated.
+   *
+   * @return requireAnnotated
+   */
+  public Class<? extends Annotation> getRequireAnnotated()
+  {
+    return requireAnnotated;
+  }
+
+  /**
+   * Getter for matcher.
+   *
+   * @return matcher
+   */
+  public RequestMappingMatcher getMatcher()
+  {
+    return matcher;
+  }
+
+  /**
+   * Getter for ignoredProperties.
+   *
+   * @return unmodifiable ignoredProperties
+   */
+  public Set<String> getIgnoredProperties()
+  {
+    return ignoredProperties;
+  }
+
+  /**
+   * Returns a context for visiting a class which ignores properties, this context is left unchanged.
+   *
+   * @param properties names of the properties ignored by the class, null means none
+   * @return {@link VisitorContext}
+   */
+  public VisitorContext withIgnoredProperties(final String[] properties)
+  {
+    if (properties == null || properties.length == 0) {
+      return ignoredProperties.isEmpty() ? this : new VisitorContext(requireAnnotated, matcher,
+              Collections.emptySet());
+    }
+    return new VisitorContext(requireAnnotated, matcher,
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(properties))));
+  }
+
+  @Override
+  public String toString()
+  {
+    return "VisitorContext{requireAnnotated=" + requireAnnotated + ", matcher=" + matcher +
+            ", ignoredProperties=" + ignoredProperties + '}';
+  }
+
+}
@@ -0,0 +1,153 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJOIgnoreProperties;
+import edu.vt.graduateschool.restjavadocs.beans.LessCommonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.util.CompilationUnitCache;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingSourceRoot;
+
+/**
+ * Stress tests the static entry points from many threads at once, sharing source roots and parsed compilation units
+ * between threads, and compares every result to the result of a single thread.
+ *
+ * @author Graduate School
+ */
+public class ConcurrentDocumentationTest
+{
+
+  /**
+   * Number of threads documenting at once.
+   */
+  private static final int THREADS = 16;
+
+  /**
+   * Number of times each class is documented.
+   */
+  private static final int ROUNDS = 50;
+
+  /**
+   * Documented beans.
+   */
+  private static final Class[] BEANS = {
+    JacksonPOJO.class, JacksonPOJOIgnoreProperties.class, LessCommonPOJO.class, NestedPOJO.class,
+  };
+
+  /**
+   * Documented controllers.
+   */
+  private static final Class[] CONTROLLERS = {SpringRestController.class, StudentController.class};
+
+  /**
+   * Source root shared by every thread.
+   */
+  private static final SourceRoot SHARED_ROOT = getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH,
+          new CompilationUnitCache());
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   *
+   * @throws Exception if a documenting thread failed
+   */
+  @Test
+  public void test_00_shared_source_root() throws Exception
+  {
+    final List<String> expected = document(getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH));
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final List<Callable<List<String>>> tasks = new ArrayList<>();
+      for (int i = 0; i < ROUNDS; i++) {
+        tasks.add(() -> document(SHARED_ROOT));
+      }
+      for (final Future<List<String>> result : executor.invokeAll(tasks)) {
+        Assert.assertEquals(result.get(), expected);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Test 01
+   */
+  @Test(threadPoolSize = THREADS, invocationCount = ROUNDS)
+  public void test_01_static_entry_points()
+  {
+    Assert.assertEquals(describe(PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH,
+            JacksonPOJOIgnoreProperties.class)), "[nameFromGetter, notAnnotatedOptional?, optionalOnGetter?]");
+    Assert.assertEquals(describe(RequestDocumentation.descriptors(LangUtils.JAVA_SOURCE_TEST_PATH,
+            StudentController.class, new RequestMappingFilter(new String[]{"/students/*/courses"}))), "[term]");
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Documents every bean and controller with a source root.
+   *
+   * @param sourceRoot source root
+   * @return descriptions of the descriptors
+   */
+  private static List<String> document(final SourceRoot sourceRoot)
+  {
+    final List<String> descriptions = new ArrayList<>();
+    for (final Class beanClass : BEANS) {
+      descriptions.add(describe(PayloadDocumentation.fields(sourceRoot, beanClass, null)));
+    }
+    for (final Class controllerClass : CONTROLLERS) {
+      descriptions.add(describe(RequestDocumentation.descriptorsFromRoot(sourceRoot, controllerClass,
+              (RequestMappingFilter) null)));
+    }
+    return descriptions;
+  }
+
+  /**
+   * Describes field descriptors by path, optional ones being suffixed by a question mark.
+   *
+   * @param descriptors field descriptors
+   * @return description
+   */
+  private static String describe(final FieldDescriptor[] descriptors)
+  {
+    final String[] paths = new String[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      paths[i] = descriptors[i].getPath() + (descriptors[i].isOptional() ? "?" : "");
+    }
+    return Arrays.toString(paths);
+  }
+
+  /**
+   * Describes parameter descriptors by name, optional ones being suffixed by a question mark.
+   *
+   * @param descriptors parameter descriptors
+   * @return description
+   */
+  private static String describe(final ParameterDescriptor[] descriptors)
+  {
+    final String[] names = new String[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      names[i] = descriptors[i].getName() + (descriptors[i].isOptional() ? "?" : "");
+    }
+    return Arrays.toString(names);
+  }
+
+}
@@ -0,0 +1,61 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.beans;
+
+import java.io.Serializable;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * @author Graduate School
+ */
+public class NestedPOJO implements Serializable
+{
+
+  /**
+   * name of the entry
+   */
+  private String name;
+
+  /**
+   * zip code of the entry
+   */
+  private String zip;
+
+  /**
+   * address of the entry
+   */
+  private Address address;
+
+  /**
+   * Default constructor
+   */
+  public NestedPOJO()
+  {
+  }
+
+  /**
+   * Address ignoring its own zip code.
+   */
+  @JsonIgnoreProperties("zip")
+  public static class Address implements Serializable
+  {
+
+    /**
+     * street of the address
+     */
+    private String street;
+
+    /**
+     * zip code of the address
+     */
+    private String zip;
+
+    /**
+     * Default constructor
+     */
+    public Address()
+    {
+    }
+
+  }
+
+}
@@ -0,0 +1,166 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.context;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.restdocs.payload.SubsectionDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.springframework.restdocs.snippet.Attributes;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+
+/**
+ * Tests {@link DescriptorCache} methods.
+ *
+ * @author Graduate School
+ */
+public class DescriptorCacheTest
+{
+
+  /**
+   * Source file used as key.
+   */
+  private static final Path SOURCE_FILE = Paths.get("Source.java").toAbsolutePath();
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test
+  public void test_00_fields_hit_and_miss()
+  {
+    final DescriptorCache cache = new DescriptorCache();
+    final AtomicInteger loads = new AtomicInteger();
+    final Supplier<FieldDescriptor[]> loader = () -> fieldDescriptors(loads);
+    for (int i = 0; i < 3; i++) {
+      final FieldDescriptor[] descriptors = cache.fields(SOURCE_FILE, "hash", JacksonPOJO.class, null, false, loader);
+      Assert.assertEquals(descriptors.length, 2);
+      Assert.assertEquals(descriptors[0].getPath(), "name");
+      Assert.assertEquals(descriptors[0].getDescription(), "Name");
+      Assert.assertEquals(descriptors[0].getType(), JsonFieldType.STRING);
+      Assert.assertTrue(descriptors[0].isOptional());
+      Assert.assertTrue(descriptors[1] instanceof SubsectionDescriptor);
+    }
+    Assert.assertEquals(loads.get(), 1);
+    Assert.assertEquals(cache.getMissCount(), 1);
+    Assert.assertEquals(cache.getHitCount(), 2);
+    cache.fields(SOURCE_FILE, "hash", JacksonPOJO.class, null, true, () -> new FieldDescriptor[0]);
+    Assert.assertEquals(cache.size(), 2);
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_returned_descriptors_are_copies()
+  {
+    final DescriptorCache cache = new DescriptorCache();
+    final Supplier<ParameterDescriptor[]> loader = DescriptorCacheTest::parameterDescriptors;
+    final ParameterDescriptor[] first = cache.descriptors(SOURCE_FILE, "hash", SpringRestController.class,
+            (Map<String, String[]>) null, loader);
+    first[0].description("changed").optional();
+    final ParameterDescriptor[] second = cache.descriptors(SOURCE_FILE, "hash", SpringRestController.class,
+            (Map<String, String[]>) null, () -> new ParameterDescriptor[0]);
+    Assert.assertNotSame(first[0], second[0]);
+    Assert.assertEquals(second[0].getDescription(), "Id");
+    Assert.assertFalse(second[0].isOptional());
+    Assert.assertEquals(second[0].getAttributes().get("type"), "Long");
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_changed_content_hash()
+  {
+    final DescriptorCache cache = new DescriptorCache();
+    cache.fields(SOURCE_FILE, "first", JacksonPOJO.class, null, false, () -> new FieldDescriptor[0]);
+    cache.fields(SOURCE_FILE, "second", JacksonPOJO.class, null, false, () -> new FieldDescriptor[0]);
+    Assert.assertEquals(cache.getMissCount(), 2);
+    Assert.assertEquals(cache.size(), 1);
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_filter_keys()
+  {
+    final DescriptorCache cache = new DescriptorCache();
+    final Supplier<ParameterDescriptor[]> loader = () -> new ParameterDescriptor[0];
+    final Map<String, String[]> filter = new HashMap<>();
+    filter.put("path", new String[]{"/path"});
+    cache.descriptors(SOURCE_FILE, "hash", SpringRestController.class, filter, loader);
+    final Map<String, String[]> equalFilter = new HashMap<>();
+    equalFilter.put("path", new String[]{"/path"});
+    cache.descriptors(SOURCE_FILE, "hash", SpringRestController.class, equalFilter, loader);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    final Map<String, String[]> otherFilter = new HashMap<>();
+    otherFilter.put("path", new String[]{"/other"});
+    cache.descriptors(SOURCE_FILE, "hash", SpringRestController.class, otherFilter, loader);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    Assert.assertEquals(cache.size(), 2);
+  }
+
+  /**
+   * Test 04
+   */
+  @Test
+  public void test_04_bounded_entries()
+  {
+    final DescriptorCache cache = new DescriptorCache(null, 2);
+    final Supplier<FieldDescriptor[]> loader = () -> new FieldDescriptor[0];
+    for (int i = 0; i < 5; i++) {
+      cache.fields(SOURCE_FILE, "hash" + i, JacksonPOJO.class, null, false, loader);
+      cache.fields(SOURCE_FILE, "hash" + i, JacksonPOJO.class, null, true, loader);
+    }
+    Assert.assertEquals(cache.size(), 2);
+    cache.fields(SOURCE_FILE, "hash4", JacksonPOJO.class, null, false, loader);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    cache.fields(Paths.get("Other.java").toAbsolutePath(), "hash", JacksonPOJO.class, null, false, loader);
+    Assert.assertEquals(cache.size(), 2);
+    cache.fields(SOURCE_FILE, "hash4", JacksonPOJO.class, null, false, loader);
+    Assert.assertEquals(cache.getHitCount(), 2);
+    Assert.assertEquals(cache.getMaxEntries(), 2);
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Returns field descriptors and counts the invocations.
+   *
+   * @param loads number of invocations
+   * @return {@link FieldDescriptor}[]
+   */
+  private static FieldDescriptor[] fieldDescriptors(final AtomicInteger loads)
+  {
+    loads.incrementAndGet();
+    return new FieldDescriptor[]{
+      fieldWithPath("name").description("Name").type(JsonFieldType.STRING).optional(),
+      subsectionWithPath("child").description("Child"),
+    };
+  }
+
+  /**
+   * Returns parameter descriptors.
+   *
+   * @return {@link ParameterDescriptor}[]
+   */
+  private static ParameterDescriptor[] parameterDescriptors()
+  {
+    return new ParameterDescriptor[]{
+      parameterWithName("id").description("Id").attributes(Attributes.key("type").value("Long")),
+    };
+  }
+}
@@ -0,0 +1,255 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.context;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.ParseProblemException;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import edu.vt.graduateschool.restjavadocs.util.CompilationUnitCache;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link DocumentationContext} methods.
+ *
+ * @author Graduate School
+ */
+public class DocumentationContextTest
+{
+
+  /**
+   * Context shared by all tests of this class.
+   */
+  private static final DocumentationContext CONTEXT = new DocumentationContext(LangUtils.JAVA_SOURCE_TEST_PATH);
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_default_source_root()
+  {
+    new DocumentationContext(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_source_root_is_reused()
+  {
+    Assert.assertSame(CONTEXT.getSourceRoot(null), CONTEXT.getSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH));
+    Assert.assertSame(CONTEXT.getSourceRoot("./" + LangUtils.JAVA_SOURCE_TEST_PATH),
+            CONTEXT.getSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH));
+    Assert.assertNotSame(CONTEXT.getSourceRoot(LangUtils.JAVA_SOURCE_MAIN_PATH),
+            CONTEXT.getSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH));
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_fields_match_static_fields()
+  {
+    final FieldDescriptor[] expected = PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH,
+            JacksonPOJO.class);
+    for (int i = 0; i < 2; i++) {
+      final FieldDescriptor[] descriptors = CONTEXT.fields(JacksonPOJO.class);
+      Assert.assertEquals(descriptors.length, expected.length);
+      for (int j = 0; j < descriptors.length; j++) {
+        Assert.assertEquals(descriptors[j].getPath(), expected[j].getPath());
+        Assert.assertEquals(descriptors[j].getDescription(), expected[j].getDescription());
+        Assert.assertEquals(descriptors[j].isOptional(), expected[j].isOptional());
+      }
+    }
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_paginated_fields()
+  {
+    Assert.assertEquals(CONTEXT.paginatedFields(JacksonPOJO.class).length,
+            PayloadDocumentation.paginatedFields(LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJO.class).length);
+  }
+
+  /**
+   * Test 04
+   */
+  @Test
+  public void test_04_descriptors_match_static_descriptors()
+  {
+    final RequestMappingFilter filter = new RequestMappingFilter(new String[]{"/stringEndpointWithParams"});
+    final ParameterDescriptor[] expected = RequestDocumentation.descriptors(LangUtils.JAVA_SOURCE_TEST_PATH,
+            SpringRestController.class, filter);
+    final ParameterDescriptor[] descriptors = CONTEXT.descriptors(SpringRestController.class, filter);
+    Assert.assertEquals(descriptors.length, expected.length);
+    for (int i = 0; i < descriptors.length; i++) {
+      Assert.assertEquals(descriptors[i].getName(), expected[i].getName());
+      Assert.assertEquals(descriptors[i].isOptional(), expected[i].isOptional());
+    }
+    Assert.assertEquals(CONTEXT.descriptors(SpringRestController.class,
+            "{path:'/stringEndpointNonRequiredParams'}").length, 2);
+    Assert.assertEquals(CONTEXT.descriptors(SpringRestController.class).length,
+            RequestDocumentation.descriptors(LangUtils.JAVA_SOURCE_TEST_PATH, SpringRestController.class).length);
+  }
+
+  /**
+   * Test 05
+   */
+  @Test(expectedExceptions = ParseProblemException.class)
+  public void test_05_nonexistent_source_file()
+  {
+    new DocumentationContext().fields(JacksonPOJO.class);
+  }
+
+  /**
+   * Test 06
+   */
+  @Test
+  public void test_06_sources_are_parsed_once()
+  {
+    final DocumentationContext context = new DocumentationContext(LangUtils.JAVA_SOURCE_TEST_PATH);
+    context.fields(JacksonPOJO.class);
+    context.paginatedFields(JacksonPOJO.class);
+    Assert.assertEquals(context.getCompilationUnitCache().getMissCount(), 1);
+    Assert.assertEquals(context.getCompilationUnitCache().getHitCount(), 1);
+  }
+
+  /**
+   * Test 07
+   */
+  @Test
+  public void test_07_descriptors_are_memoized()
+  {
+    final DocumentationContext context = new DocumentationContext(LangUtils.JAVA_SOURCE_TEST_PATH,
+            new CompilationUnitCache(), new DescriptorCache());
+    final FieldDescriptor[] first = context.fields(JacksonPOJO.class);
+    final FieldDescriptor[] second = context.fields(JacksonPOJO.class);
+    Assert.assertEquals(second.length, first.length);
+    Assert.assertNotSame(second[0], first[0]);
+    Assert.assertEquals(context.getDescriptorCache().getHitCount(), 1);
+    Assert.assertEquals(context.getCompilationUnitCache().getMissCount(), 1);
+    Assert.assertEquals(context.descriptors(SpringRestController.class, "{path:'/stringEndpointNonRequiredParams'}")
+            .length, 2);
+    Assert.assertEquals(context.descriptors(SpringRestController.class, "{path:'/stringEndpointNonRequiredParams'}")
+            .length, 2);
+    Assert.assertEquals(context.getDescriptorCache().getHitCount(), 2);
+  }
+
+  /**
+   * Test 08
+   */
+  @Test(expectedExceptions = ParseProblemException.class)
+  public void test_08_memoized_nonexistent_source_file()
+  {
+    new DocumentationContext(LangUtils.JAVA_SOURCE_MAIN_PATH, new CompilationUnitCache(), new DescriptorCache())
+            .fields(JacksonPOJO.class);
+  }
+
+  /**
+   * Test 09
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_09_warm_build_skips_parsing() throws IOException
+  {
+    final Path directory = Files.createTempDirectory("restjavadocs-cache");
+    try {
+      final FieldDescriptor[] expected = new DocumentationContext(LangUtils.JAVA_SOURCE_TEST_PATH,
+              new CompilationUnitCache(), new DescriptorCache(new PersistentDescriptorCache(directory)))
+              .fields(JacksonPOJO.class);
+      final DocumentationContext context = new DocumentationContext(LangUtils.JAVA_SOURCE_TEST_PATH,
+              new CompilationUnitCache(), new DescriptorCache(new PersistentDescriptorCache(directory)));
+      final FieldDescriptor[] descriptors = context.fields(JacksonPOJO.class);
+      Assert.assertEquals(descriptors.length, expected.length);
+      for (int i = 0; i < descriptors.length; i++) {
+        Assert.assertEquals(descriptors[i].getPath(), expected[i].getPath());
+        Assert.assertEquals(descriptors[i].getDescription(), expected[i].getDescription());
+        Assert.assertEquals(descriptors[i].isOptional(), expected[i].isOptional());
+      }
+      Assert.assertEquals(context.getCompilationUnitCache().getMissCount(), 0);
+      Assert.assertEquals(context.getDescriptorCache().getPersistentCache().getHitCount(), 1);
+    } finally {
+      PersistentDescriptorCacheTest.delete(directory);
+    }
+  }
+
+  /**
+   * Test 10
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_10_indexed_source_root_skips_parsing() throws IOException
+  {
+    final DocumentationContext context = new DocumentationContext(LangUtils.JAVA_SOURCE_TEST_PATH);
+    Assert.assertNull(context.getIndex(null));
+    Assert.assertTrue(context.index(null, 2).size() > 0);
+    Assert.assertNotNull(context.getIndex(LangUtils.JAVA_SOURCE_TEST_PATH));
+    final FieldDescriptor[] expected = PayloadDocumentation.paginatedFields(LangUtils.JAVA_SOURCE_TEST_PATH,
+            JacksonPOJO.class, null);
+    final FieldDescriptor[] descriptors = context.paginatedFields(JacksonPOJO.class);
+    Assert.assertEquals(descriptors.length, expected.length);
+    for (int i = 0; i < descriptors.length; i++) {
+      Assert.assertEquals(descriptors[i].getPath(), expected[i].getPath());
+      Assert.assertEquals(descriptors[i].getDescription(), expected[i].getDescription());
+    }
+    final ParameterDescriptor[] parameters = context.descriptors(SpringRestController.class,
+            "{path:'/stringEndpointNonRequiredParams'}");
+    Assert.assertEquals(parameters.length, 2);
+    Assert.assertEquals(context.getCompilationUnitCache().getMissCount(), 0);
+  }
+
+  /**
+   * Test 11
+   */
+  @Test
+  public void test_11_introspected_fields_match_static_fields()
+  {
+    final ObjectMapper mapper = new ObjectMapper();
+    final FieldDescriptor[] expected = PayloadDocumentation.introspectedFields(mapper, LangUtils.JAVA_SOURCE_TEST_PATH,
+            JacksonPOJO.class, null);
+    final FieldDescriptor[] descriptors = CONTEXT.introspectedFields(mapper, JacksonPOJO.class);
+    Assert.assertEquals(descriptors.length, expected.length);
+    for (int i = 0; i < descriptors.length; i++) {
+      Assert.assertEquals(descriptors[i].getPath(), expected[i].getPath());
+      Assert.assertEquals(descriptors[i].getDescription(), expected[i].getDescription());
+    }
+  }
+
+  /**
+   * Test 12
+   */
+  @Test
+  public void test_12_json_filter_is_compiled_once()
+  {
+    final String filter = "{path:'/stringEndpointNonRequiredParams'}";
+    final DocumentationContext context = new DocumentationContext(LangUtils.JAVA_SOURCE_TEST_PATH,
+            new CompilationUnitCache(), new DescriptorCache());
+    final ParameterDescriptor[] descriptors = context.descriptors(SpringRestController.class, filter);
+    Assert.assertEquals(descriptors.length, 2);
+    Assert.assertEquals(context.descriptors(null, SpringRestController.class, RequestMappingMatcher.parse(filter))
+            .length, 2);
+    Assert.assertEquals(context.descriptors(SpringRestController.class, RequestDocumentation.jsonToFilterMap(filter))
+            .length, 2);
+    Assert.assertEquals(context.descriptors(SpringRestController.class,
+            new RequestMappingFilter(new String[]{"/stringEndpointNonRequiredParams"})).length, 2);
+    Assert.assertEquals(context.getDescriptorCache().getMissCount(), 1);
+    Assert.assertEquals(context.getDescriptorCache().getHitCount(), 3);
+  }
+  //CheckStyle:MethodName ON
+}
@@ -0,0 +1,181 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.context;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+
+/**
+ * Tests {@link PersistentDescriptorCache} methods.
+ *
+ * @author Graduate School
+ */
+public class PersistentDescriptorCacheTest
+{
+
+  /**
+   * Models used as cache values.
+   */
+  private static final DescriptorModel[] MODELS = new DescriptorModel[]{
+    new DescriptorModel(DescriptorModel.Kind.SUBSECTION, "name", "Name", null, true, false),
+    new DescriptorModel(DescriptorModel.Kind.FIELD, "id", null, null, false, false),
+  };
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_directory()
+  {
+    new PersistentDescriptorCache(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_01_put_and_get() throws IOException
+  {
+    final Path directory = Files.createTempDirectory("restjavadocs-cache");
+    try {
+      final PersistentDescriptorCache cache = new PersistentDescriptorCache(directory.resolve("entries"));
+      Assert.assertNull(cache.get("key"));
+      cache.put("key", MODELS);
+      Assert.assertTrue(cache.contains("key"));
+      Assert.assertEquals(new PersistentDescriptorCache(directory.resolve("entries")).get("key"), MODELS);
+      Assert.assertEquals(cache.get("key"), MODELS);
+      Assert.assertEquals(cache.getMissCount(), 1);
+      Assert.assertEquals(cache.getHitCount(), 1);
+      Assert.assertEquals(cache.getWriteCount(), 1);
+      Assert.assertEquals(countFiles(cache.getDirectory()), 1);
+    } finally {
+      delete(directory);
+    }
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_library_version_mismatch() throws IOException
+  {
+    final Path directory = Files.createTempDirectory("restjavadocs-cache");
+    try {
+      new PersistentDescriptorCache(directory, "1.0").put("key", MODELS);
+      Assert.assertNull(new PersistentDescriptorCache(directory, "2.0").get("key"));
+      Assert.assertEquals(new PersistentDescriptorCache(directory, "1.0").get("key"), MODELS);
+    } finally {
+      delete(directory);
+    }
+  }
+
+  /**
+   * Test 03
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_03_corrupt_entry_is_a_miss() throws IOException
+  {
+    final Path directory = Files.createTempDirectory("restjavadocs-cache");
+    try {
+      final PersistentDescriptorCache cache = new PersistentDescriptorCache(directory);
+      cache.put("key", MODELS);
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+        for (final Path entry : entries) {
+          Files.write(entry, "corrupt".getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      Assert.assertNull(cache.get("key"));
+      cache.put("key", MODELS);
+      Assert.assertEquals(cache.get("key"), MODELS);
+      cache.clear();
+      Assert.assertFalse(cache.contains("key"));
+    } finally {
+      delete(directory);
+    }
+  }
+
+  /**
+   * Test 04
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_04_descriptor_cache_second_level() throws IOException
+  {
+    final Path directory = Files.createTempDirectory("restjavadocs-cache");
+    try {
+      final Path sourceFile = Paths.get("Source.java").toAbsolutePath();
+      final Supplier<FieldDescriptor[]> loader = () -> new FieldDescriptor[]{subsectionWithPath("name").optional()};
+      new DescriptorCache(new PersistentDescriptorCache(directory)).fields(sourceFile, "hash", JacksonPOJO.class,
+              null, false, loader);
+      final DescriptorCache cache = new DescriptorCache(new PersistentDescriptorCache(directory));
+      final Supplier<FieldDescriptor[]> failingLoader = () -> {
+        throw new IllegalStateException("descriptors should have been read from disk");
+      };
+      final FieldDescriptor[] descriptors = cache.fields(sourceFile, "hash", JacksonPOJO.class, null, false,
+              failingLoader);
+      Assert.assertEquals(descriptors.length, 1);
+      Assert.assertEquals(descriptors[0].getPath(), "name");
+      Assert.assertTrue(descriptors[0].isOptional());
+      Assert.assertEquals(cache.getPersistentCache().getHitCount(), 1);
+    } finally {
+      delete(directory);
+    }
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Counts the files of a directory.
+   *
+   * @param directory directory
+   * @return number of files
+   * @throws IOException on failure
+   */
+  private static int countFiles(final Path directory) throws IOException
+  {
+    int count = 0;
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+      for (final Path entry : entries) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Deletes a directory and its files.
+   *
+   * @param directory directory
+   * @throws IOException on failure
+   */
+  static void delete(final Path directory) throws IOException
+  {
+    if (Files.isDirectory(directory)) {
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+        for (final Path entry : entries) {
+          delete(entry);
+        }
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+}
@@ -0,0 +1,70 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * @author Graduate School
+ */
+@RequestMapping("/students")
+public class StudentController
+{
+
+  /**
+   * Sample text response
+   */
+  private static final String RESPONSE = "Hello";
+
+  /**
+   * Student by id.
+   *
+   * @param fields fields to include
+   * @return {@link #RESPONSE}
+   */
+  @GetMapping("/{id}")
+  public String student(@RequestParam(required = false) final String fields)
+  {
+    return RESPONSE;
+  }
+
+  /**
+   * Courses of a student.
+   *
+   * @param term academic term
+   * @return {@link #RESPONSE}
+   */
+  @GetMapping(path = "/{id}/courses", produces = "application/json")
+  public String courses(@RequestParam final String term)
+  {
+    return RESPONSE;
+  }
+
+  /**
+   * Creates a student.
+   *
+   * @param notify whether or not to notify the student
+   * @return {@link #RESPONSE}
+   */
+  @PostMapping(consumes = "application/json")
+  public String create(@RequestParam final boolean notify)
+  {
+    return RESPONSE;
+  }
+
+  /**
+   * Searches students.
+   *
+   * @param query search query
+   * @return {@link #RESPONSE}
+   */
+  @RequestMapping(path = "/search.json", method = RequestMethod.GET)
+  public String search(@RequestParam final String query)
+  {
+    return RESPONSE;
+  }
+
+}
@@ -0,0 +1,69 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link DescriptorIndex} methods.
+ *
+ * @author Graduate School
+ */
+public class DescriptorIndexTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_type()
+  {
+    DescriptorIndex.find(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_resource_name()
+  {
+    Assert.assertEquals(DescriptorIndex.getResourceName(JacksonPOJO.class.getName()),
+            "META-INF/restjavadocs/edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO.idx");
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_not_indexed()
+  {
+    Assert.assertNull(DescriptorIndex.find(JacksonPOJO.class));
+    Assert.assertNull(DescriptorIndex.find(String.class));
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_disabled()
+  {
+    final String previous = System.getProperty(DescriptorIndex.ENABLED_PROPERTY);
+    try {
+      System.setProperty(DescriptorIndex.ENABLED_PROPERTY, "false");
+      Assert.assertFalse(DescriptorIndex.isEnabled());
+      Assert.assertNull(DescriptorIndex.find(JacksonPOJO.class));
+    } finally {
+      if (previous == null) {
+        System.clearProperty(DescriptorIndex.ENABLED_PROPERTY);
+      } else {
+        System.setProperty(DescriptorIndex.ENABLED_PROPERTY, previous);
+      }
+    }
+    Assert.assertTrue(DescriptorIndex.isEnabled());
+  }
+  //CheckStyle:MethodName ON
+
+}
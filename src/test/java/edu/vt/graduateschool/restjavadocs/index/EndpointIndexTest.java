@@ -0,0 +1,186 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link EndpointIndex} methods.
+ *
+ * @author Graduate School
+ */
+public class EndpointIndexTest
+{
+
+  /**
+   * Indexed endpoints.
+   */
+  private static final EndpointModel[] ENDPOINTS = new EndpointModel[]{
+    endpoint("getUser", true, "/users", "RequestMethod.GET", "application/json"),
+    endpoint("postUser", true, "/users", "RequestMethod.POST", "application/json"),
+    endpoint("listUsers", false, "/users", null, "text/plain"),
+    endpoint("anything", true, null, null, null),
+    endpoint("getOrPutItem", true, "/items", "RequestMethod.GET,RequestMethod.PUT", null),
+    endpoint("itemsWithoutMethod", true, "/items", null, "text/plain"),
+    endpoint("patchOrder", false, "/orders,/orders/all", null, null),
+  };
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_endpoints()
+  {
+    new EndpointIndex(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_01_null_filter_value()
+  {
+    final Map<String, String[]> filter = new HashMap<>();
+    filter.put("path", new String[]{null});
+    new EndpointIndex(ENDPOINTS).find(filter);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_lookups()
+  {
+    final EndpointIndex index = new EndpointIndex(ENDPOINTS);
+    Assert.assertEquals(index.size(), ENDPOINTS.length);
+    Assert.assertEquals(index.find(null), new int[]{0, 1, 2, 3, 4, 5, 6});
+    Assert.assertEquals(index.find(filter("/users", "RequestMethod.GET", null)), new int[]{0, 2, 3});
+    Assert.assertEquals(index.find(filter("/items", "RequestMethod.PUT", null)), new int[]{3, 4});
+    Assert.assertEquals(index.find(filter(null, null, "text/plain")), new int[]{2, 3, 5});
+    Assert.assertEquals(index.find(filter("/orders/all", "RequestMethod.DELETE", null)), new int[]{3, 6});
+    Assert.assertEquals(index.find(filter("/missing", null, null)), new int[]{3});
+    Assert.assertEquals(index.findEndpoints(filter("/users", "RequestMethod.POST", "application/json")).get(0)
+            .getMethodName(), "postUser");
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_same_as_linear_scan()
+  {
+    final EndpointIndex index = new EndpointIndex(ENDPOINTS);
+    final String[] paths = {null, "/users", "/items", "/orders", "/missing"};
+    final String[] methods = {null, "RequestMethod.GET", "RequestMethod.PUT", "RequestMethod.POST"};
+    final String[] produces = {null, "text/plain", "application/json"};
+    for (final String path : paths) {
+      for (final String method : methods) {
+        for (final String produce : produces) {
+          final Map<String, String[]> filter = filter(path, method, produce);
+          final List<Integer> expected = new ArrayList<>();
+          for (int i = 0; i < ENDPOINTS.length; i++) {
+            if (ENDPOINTS[i].matches(filter)) {
+              expected.add(i);
+            }
+          }
+          Assert.assertEquals(index.find(filter), expected.stream().mapToInt(Integer::intValue).toArray(),
+                  filter.keySet().toString());
+        }
+      }
+    }
+  }
+
+  /**
+   * Test 04
+   */
+  @Test
+  public void test_04_path_patterns_with_class_paths()
+  {
+    final Map<String, String[]> student = new HashMap<>();
+    student.put("path", new String[]{"/{id}"});
+    student.put("value", new String[]{"/{id}"});
+    final Map<String, String[]> create = new HashMap<>();
+    create.put("consumes", new String[]{"application/json"});
+    final EndpointModel[] endpoints = {
+      new EndpointModel("student", false, student, new String[]{"/students"}, new DescriptorModel[0]),
+      new EndpointModel("create", false, create, new String[]{"/students"}, new DescriptorModel[0]),
+      new EndpointModel("anything", true, new HashMap<>(), new String[]{"/students"}, new DescriptorModel[0]),
+      ENDPOINTS[4],
+    };
+    final EndpointIndex index = new EndpointIndex(endpoints);
+    Assert.assertEquals(index.find(filter("/students/*", null, null)), new int[]{0, 2});
+    Assert.assertEquals(index.find(filter("/{id}", null, null)), new int[]{0, 2});
+    Assert.assertEquals(index.find(filter("/students", null, null)), new int[]{2});
+    Assert.assertEquals(index.find(filter("/**", null, null)), new int[]{0, 1, 2, 3});
+    Assert.assertEquals(index.find(filter("/*", null, null)), new int[]{0, 1, 2, 3});
+    Assert.assertEquals(index.find(filter("/items/**", null, null)), new int[]{2, 3});
+    for (final String path : new String[]{"/students/*", "/students", "/**", "/*", "/{x}/*", "/{id}", "/{x}"}) {
+      final Map<String, String[]> filter = filter(path, null, null);
+      final List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < endpoints.length; i++) {
+        if (endpoints[i].matches(filter)) {
+          expected.add(i);
+        }
+      }
+      Assert.assertEquals(index.find(filter), expected.stream().mapToInt(Integer::intValue).toArray(), path);
+    }
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Creates an endpoint without parameters.
+   *
+   * @param name method name
+   * @param requestMapping whether the method is mapped by RequestMapping
+   * @param paths comma delimited paths or null
+   * @param methods comma delimited HTTP methods or null
+   * @param produces produced media type or null
+   * @return {@link EndpointModel}
+   */
+  private static EndpointModel endpoint(final String name, final boolean requestMapping, final String paths,
+          final String methods, final String produces)
+  {
+    final Map<String, String[]> attributes = filter(paths, methods, produces);
+    if (paths != null) {
+      attributes.put("path", paths.split(","));
+      attributes.put("value", paths.split(","));
+    }
+    if (methods != null) {
+      attributes.put("method", methods.split(","));
+    }
+    return new EndpointModel(name, requestMapping, attributes, new DescriptorModel[0]);
+  }
+
+  /**
+   * Creates a filter map.
+   *
+   * @param path path or null
+   * @param method HTTP method or null
+   * @param produces produced media type or null
+   * @return filter map
+   */
+  private static Map<String, String[]> filter(final String path, final String method, final String produces)
+  {
+    final Map<String, String[]> filter = new HashMap<>();
+    if (path != null) {
+      filter.put("path", new String[]{path});
+    }
+    if (method != null) {
+      filter.put("method", new String[]{method});
+    }
+    if (produces != null) {
+      filter.put("produces", new String[]{produces});
+    }
+    return filter;
+  }
+
+}
@@ -0,0 +1,235 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.LessCommonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingSourceRoot;
+
+/**
+ * Tests {@link MappedSourceRootIndex} methods.
+ *
+ * @author Graduate School
+ */
+public class MappedSourceRootIndexTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_00_mapped_index_matches_columns() throws IOException
+  {
+    final Path file = Files.createTempFile("restjavadocs", ".index");
+    try {
+      final SourceRootIndex index = new SourceRootIndexer(2).index(LangUtils.JAVA_SOURCE_TEST_PATH, file);
+      final MappedSourceRootIndex mapped = MappedSourceRootIndex.open(file);
+      Assert.assertEquals(mapped.size(), index.size());
+      Assert.assertEquals(mapped.getSymbolCount(), index.getSymbolCount());
+      Assert.assertEquals(mapped.getClassNames(), new ArrayList<>(new TreeSet<>(index.getClassNames())));
+      for (final Class<?> documentedClass : new Class<?>[]{
+        JacksonPOJO.class, LessCommonPOJO.class, NestedPOJO.class, SpringRestController.class, StudentController.class,
+      }) {
+        Assert.assertEquals(mapped.find(documentedClass), index.find(documentedClass), documentedClass.getName());
+        assertEquals(mapped.fields(documentedClass, null), index.fields(documentedClass, null));
+        assertEquals(mapped.fields(documentedClass, JsonProperty.class), index.fields(documentedClass,
+                JsonProperty.class));
+        for (final String filter : new String[]{null, "{path:'/patchMapping'}", "{path:'/students/**'}"}) {
+          assertEquals(mapped.descriptors(documentedClass, RequestDocumentation.jsonToFilterMap(filter)),
+                  index.descriptors(documentedClass, RequestDocumentation.jsonToFilterMap(filter)));
+        }
+      }
+      Assert.assertNull(mapped.fields(String.class, null));
+      Assert.assertNull(mapped.descriptors(String.class, null));
+      Assert.assertNull(mapped.find(String.class));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test 01
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_01_hash_section_finds_every_class() throws IOException
+  {
+    final Map<String, SourceModel> models = new HashMap<>();
+    for (int i = 0; i < 500; i++) {
+      final String className = "edu.vt.Dto" + i;
+      models.put(className, new SourceModel(className, new PropertyModel[]{
+        new PropertyModel("id", "Identifiant unique n°" + i, false, new String[]{"JsonProperty"}),
+      }, new EndpointModel[0]));
+    }
+    models.put(String.class.getName(), new SourceModel(String.class.getName(), new PropertyModel[0],
+            new EndpointModel[0]));
+    final Path file = Files.createTempFile("restjavadocs", ".index");
+    try {
+      MappedSourceRootIndex.write(new SourceRootIndex(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH), models), file);
+      final MappedSourceRootIndex mapped = MappedSourceRootIndex.open(file);
+      Assert.assertEquals(mapped.size(), models.size());
+      Assert.assertEquals(mapped.getClassNames(), new ArrayList<>(new TreeSet<>(models.keySet())));
+      Assert.assertEquals(mapped.fields(String.class, null).length, 0);
+      Assert.assertEquals(mapped.descriptors(String.class, null).length, 0);
+      Assert.assertNull(mapped.find(Integer.class));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_02_endpoint_problems_are_kept() throws IOException
+  {
+    final Map<String, SourceModel> models = Map.of(String.class.getName(), new SourceModel(String.class.getName(),
+            new PropertyModel[0], new EndpointModel[]{
+              new EndpointModel("bad", false, Map.of(), new String[0], new DescriptorModel[0], "malformed"),
+            }));
+    final Path file = Files.createTempFile("restjavadocs", ".index");
+    try {
+      MappedSourceRootIndex.write(new SourceRootIndex(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH), models), file);
+      final MappedSourceRootIndex mapped = MappedSourceRootIndex.open(file);
+      Assert.assertEquals(mapped.find(String.class), models.get(String.class.getName()));
+      mapped.descriptors(String.class, null);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 03
+   *
+   * @throws IOException on failure
+   */
+  @Test(expectedExceptions = IOException.class)
+  public void test_03_not_an_index_file() throws IOException
+  {
+    final Path file = Files.createTempFile("restjavadocs", ".index");
+    try {
+      Files.write(file, "class A {}".getBytes(StandardCharsets.UTF_8));
+      MappedSourceRootIndex.open(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 04
+   *
+   * @throws IOException on failure
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_04_null_file() throws IOException
+  {
+    MappedSourceRootIndex.open(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+  /**
+   * Test 05
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_05_explicit_source_root_is_parsed() throws IOException
+  {
+    final String className = MappedSourceRootIndexTest.class.getName();
+    final Map<String, SourceModel> models = Map.of(className, new SourceModel(className, new PropertyModel[]{
+      new PropertyModel("mapped", "only in the index file", false, new String[0]),
+    }, new EndpointModel[]{
+      new EndpointModel("mapped", true, Map.of(), new DescriptorModel[]{
+        new DescriptorModel(DescriptorModel.Kind.PARAMETER, "mapped", "only in the index file", null, false, false),
+      }),
+    }));
+    final Path file = Files.createTempFile("restjavadocs", ".index");
+    final String previous = System.getProperty(MappedSourceRootIndex.FILE_PROPERTY);
+    try {
+      MappedSourceRootIndex.write(new SourceRootIndex(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH), models), file);
+      System.setProperty(MappedSourceRootIndex.FILE_PROPERTY, file.toString());
+      Assert.assertEquals(PayloadDocumentation.fields((String) null, MappedSourceRootIndexTest.class, null).length, 1);
+      Assert.assertEquals(RequestDocumentation.descriptors(null, MappedSourceRootIndexTest.class,
+              (String) null).length, 1);
+      final SourceRoot sourceRoot = getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH);
+      Assert.assertEquals(PayloadDocumentation.fields(sourceRoot, MappedSourceRootIndexTest.class, null).length, 0);
+      Assert.assertEquals(RequestDocumentation.descriptorsFromRoot(sourceRoot, MappedSourceRootIndexTest.class,
+              (String) null).length, 0);
+      Assert.assertEquals(PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH, MappedSourceRootIndexTest.class,
+              null).length, 0);
+    } finally {
+      if (previous == null) {
+        System.clearProperty(MappedSourceRootIndex.FILE_PROPERTY);
+      } else {
+        System.setProperty(MappedSourceRootIndex.FILE_PROPERTY, previous);
+      }
+      Files.deleteIfExists(file);
+    }
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Asserts that field descriptors are equal by path, description and optionality.
+   *
+   * @param actual actual descriptors
+   * @param expected expected descriptors
+   */
+  private static void assertEquals(final FieldDescriptor[] actual, final FieldDescriptor[] expected)
+  {
+    Assert.assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(actual[i].getPath(), expected[i].getPath());
+      Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+      Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+    }
+  }
+
+  /**
+   * Asserts that parameter descriptors are equal by name, description and optionality.
+   *
+   * @param actual actual descriptors
+   * @param expected expected descriptors
+   */
+  private static void assertEquals(final ParameterDescriptor[] actual, final ParameterDescriptor[] expected)
+  {
+    Assert.assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(actual[i].getName(), expected[i].getName());
+      Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+      Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+    }
+  }
+
+}
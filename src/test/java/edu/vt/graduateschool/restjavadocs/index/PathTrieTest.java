@@ -0,0 +1,57 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.util.BitSet;
+import edu.vt.graduateschool.restjavadocs.request.PathPattern;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link PathTrie} methods.
+ *
+ * @author Graduate School
+ */
+public class PathTrieTest
+{
+
+  /**
+   * Indexed paths.
+   */
+  private static final String[] PATHS = {
+    "/students",
+    "/students/{id}",
+    "/students/{id}/courses",
+    "/students/search.json",
+    "/courses/{id}",
+    "/",
+  };
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test
+  public void test_00_same_as_pattern_matching()
+  {
+    final PathTrie trie = new PathTrie();
+    for (int i = 0; i < PATHS.length; i++) {
+      trie.add(PATHS[i], i);
+    }
+    final String[] patterns = {
+      "/students", "/students/*", "/students/{sid}", "/students/**", "/**", "/**/courses", "/*/{id}",
+      "/students/*.json", "/stud?nts/*", "/", "/missing", "/students/{id}/courses/**", "/**/{id}/**",
+    };
+    for (final String pattern : patterns) {
+      final PathPattern compiled = PathPattern.compile(pattern);
+      final BitSet expected = new BitSet();
+      for (int i = 0; i < PATHS.length; i++) {
+        if (compiled.matches(PATHS[i])) {
+          expected.set(i);
+        }
+      }
+      Assert.assertEquals(trie.find(compiled), expected, pattern);
+    }
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -0,0 +1,80 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SourcePreScan} methods.
+ *
+ * @author Graduate School
+ */
+public class SourcePreScanTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_names()
+  {
+    new SourcePreScan(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_01_empty_name()
+  {
+    new SourcePreScan(Arrays.asList("Json", ""));
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_candidates() throws IOException
+  {
+    final Path controller = Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH,
+            JavaParserUtils.getFilePathFromClass(StudentController.class));
+    final Path bean = Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH,
+            JavaParserUtils.getFilePathFromClass(NestedPOJO.class));
+    final SourcePreScan controllers = new SourcePreScan(SourcePreScan.CONTROLLER_NAMES);
+    Assert.assertTrue(SourcePreScan.DEFAULT.isCandidate(controller));
+    Assert.assertTrue(SourcePreScan.DEFAULT.isCandidate(bean));
+    Assert.assertTrue(controllers.isCandidate(controller));
+    Assert.assertFalse(controllers.isCandidate(bean));
+    final Path plain = Files.createTempFile("Plain", LangUtils.JAVA_FILE_EXTENSION);
+    final Path empty = Files.createTempFile("Empty", LangUtils.JAVA_FILE_EXTENSION);
+    try {
+      Files.write(plain, List.of("/** Größe. */", "public class Plain { String json; String Jso; }"),
+              StandardCharsets.UTF_8);
+      Assert.assertFalse(SourcePreScan.DEFAULT.isCandidate(plain));
+      Assert.assertFalse(SourcePreScan.DEFAULT.isCandidate(empty));
+      Assert.assertTrue(SourcePreScan.NONE.isCandidate(plain));
+      Assert.assertTrue(new SourcePreScan(List.of("Plain")).isCandidate(plain));
+    } finally {
+      Files.delete(plain);
+      Files.delete(empty);
+    }
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -0,0 +1,382 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJOIgnoreProperties;
+import edu.vt.graduateschool.restjavadocs.beans.LessCommonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.NoParametersController;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestControllerMalformedComments;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
+import edu.vt.graduateschool.restjavadocs.controller.VerySimpleRestController;
+import edu.vt.graduateschool.restjavadocs.model.DescriptorModel;
+import edu.vt.graduateschool.restjavadocs.model.EndpointModel;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.util.CompilationUnitCache;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import edu.vt.graduateschool.restjavadocs.visitor.JacksonAwareFieldDescriptorListVisitor;
+import edu.vt.graduateschool.restjavadocs.visitor.SpringWebParameterDescriptorMethodVisitor;
+import edu.vt.graduateschool.restjavadocs.visitor.VisitorContext;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SourceRootIndexer} and {@link SourceRootIndex} methods.
+ *
+ * @author Graduate School
+ */
+public class SourceRootIndexerTest
+{
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER = Logger.getLogger(SourceRootIndexerTest.class.getName());
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_non_positive_parallelism()
+  {
+    new SourceRootIndexer(0);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   *
+   * @throws IOException on failure
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_01_null_source_root() throws IOException
+  {
+    new SourceRootIndexer(1).index(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_fields_match_source_parsing() throws IOException
+  {
+    final SourceRootIndex index = new SourceRootIndexer(2).index(LangUtils.JAVA_SOURCE_TEST_PATH);
+    for (final Class<?> beanClass : new Class<?>[]{
+      JacksonPOJO.class, JacksonPOJOIgnoreProperties.class, LessCommonPOJO.class,
+    }) {
+      Assert.assertNotNull(index.find(beanClass), beanClass.getName());
+      assertEquals(index.find(beanClass).fields(null),
+              PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH, beanClass, null));
+      assertEquals(index.find(beanClass).fields(JsonProperty.class),
+              PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH, beanClass, JsonProperty.class));
+    }
+  }
+
+  /**
+   * Test 03
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_03_descriptors_match_source_parsing() throws IOException
+  {
+    final SourceRootIndex index = new SourceRootIndexer(3).index(LangUtils.JAVA_SOURCE_TEST_PATH);
+    final String[] filters = {
+      null,
+      "{path:'/patchMapping'}",
+      "{produces:'text/plain',path:'/stringEndpointNonRequiredParams'}",
+      "{method:'RequestMethod.GET',path:'/stringEndpointNoParams'}",
+      "{path:'/students/**'}",
+      "{path:'/*/{id}',method:'RequestMethod.GET'}",
+    };
+    for (final Class<?> controllerClass : new Class<?>[]{
+      SpringRestController.class, NoParametersController.class, VerySimpleRestController.class,
+      StudentController.class,
+    }) {
+      for (final String filter : filters) {
+        assertEquals(index.find(controllerClass).descriptors(RequestDocumentation.jsonToFilterMap(filter)),
+                RequestDocumentation.descriptors(LangUtils.JAVA_SOURCE_TEST_PATH, controllerClass, filter));
+      }
+    }
+  }
+
+  /**
+   * Test 04
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_04_unindexable_sources_are_skipped() throws IOException
+  {
+    final SourceRootIndex index = new SourceRootIndexer(1).index(LangUtils.JAVA_SOURCE_TEST_PATH);
+    Assert.assertNull(index.find(SpringRestControllerMalformedComments.class));
+    Assert.assertNull(index.find(String.class));
+    Assert.assertTrue(index.getClassNames().contains(SourceRootIndexerTest.class.getName()));
+  }
+
+  /**
+   * Test 05
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_05_pre_scanned_sources_are_indexed() throws IOException
+  {
+    final SourceRootIndexer indexer = new SourceRootIndexer(2, new SourcePreScan(SourcePreScan.CONTROLLER_NAMES));
+    final SourceRootIndex index = indexer.index(LangUtils.JAVA_SOURCE_TEST_PATH);
+    Assert.assertNotNull(index.find(StudentController.class));
+    Assert.assertNull(index.find(NestedPOJO.class));
+    Assert.assertNotNull(new SourceRootIndexer(2).index(LangUtils.JAVA_SOURCE_TEST_PATH).find(NestedPOJO.class));
+    Assert.assertTrue(index.size() < new SourceRootIndexer(2, SourcePreScan.NONE)
+            .index(LangUtils.JAVA_SOURCE_TEST_PATH).size());
+  }
+
+  /**
+   * Test 06
+   */
+  @Test
+  public void test_06_documentation_models_match_visitors()
+  {
+    final SourceRoot sourceRoot = JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH);
+    for (final Class<?> beanClass : new Class<?>[]{JacksonPOJO.class, LessCommonPOJO.class, NestedPOJO.class}) {
+      final String sourceFile = JavaParserUtils.getFilePathFromClass(beanClass);
+      final SourceModel model = SourceRootIndexer.getDocumentationModel(sourceRoot, sourceFile);
+      assertEquals(model.fields(null), sourceRoot.parse("", sourceFile).accept(
+              new JacksonAwareFieldDescriptorListVisitor(), VisitorContext.DEFAULT).toArray(FieldDescriptor[]::new));
+      assertEquals(model.fields(JsonProperty.class), sourceRoot.parse("", sourceFile).accept(
+              new JacksonAwareFieldDescriptorListVisitor(), new VisitorContext(JsonProperty.class))
+              .toArray(FieldDescriptor[]::new));
+    }
+    final String[] filters = {
+      null,
+      "{path:'/patchMapping'}",
+      "{path:'/patchMapping',name:'patchyness'}",
+      "{produces:'text/plain',path:'/stringEndpointNonRequiredParams'}",
+      "{method:'RequestMethod.GET',path:'/stringEndpointNoParams'}",
+      "{path:'/nonexistent'}",
+    };
+    final String sourceFile = JavaParserUtils.getFilePathFromClass(SpringRestController.class);
+    final SourceModel model = SourceRootIndexer.getDocumentationModel(sourceRoot, sourceFile);
+    for (final String filter : filters) {
+      final SpringWebParameterDescriptorMethodVisitor visitor = new SpringWebParameterDescriptorMethodVisitor(
+              RequestDocumentation.jsonToFilterMap(filter));
+      visitor.visit(sourceRoot.parse("", sourceFile), null);
+      assertEquals(model.descriptors(RequestDocumentation.jsonToFilterMap(filter)),
+              visitor.getParameterDescriptors().toArray(ParameterDescriptor[]::new));
+    }
+  }
+
+  /**
+   * Test 07
+   */
+  @Test
+  public void test_07_malformed_comments_of_unmatched_methods_are_kept()
+  {
+    final SourceModel model = SourceRootIndexer.getDocumentationModel(JavaParserUtils.getResolvingSourceRoot(
+            LangUtils.JAVA_SOURCE_TEST_PATH, new CompilationUnitCache()),
+            JavaParserUtils.getFilePathFromClass(SpringRestControllerMalformedComments.class));
+    Assert.assertNotNull(model);
+    for (final ParameterDescriptor descriptor : model.descriptors(
+            RequestDocumentation.jsonToFilterMap("{path:'/nonexistent'}"))) {
+      Assert.assertEquals(descriptor.getName(), "requiredOne");
+    }
+  }
+
+  /**
+   * Test 08
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_08_malformed_comments_of_matched_methods()
+  {
+    SourceRootIndexer.getDocumentationModel(JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH),
+            JavaParserUtils.getFilePathFromClass(SpringRestControllerMalformedComments.class))
+            .descriptors(RequestDocumentation.filterToMap(new RequestMappingFilter("badcomments")));
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 09
+   */
+  @Test
+  public void test_09_documentation_keeps_models_only()
+  {
+    final CompilationUnitCache cache = new CompilationUnitCache();
+    final SourceRoot sourceRoot = JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH, cache);
+    final FieldDescriptor[] fields = PayloadDocumentation.fields(sourceRoot, NestedPOJO.class, null);
+    Assert.assertTrue(fields.length > 0);
+    assertEquals(PayloadDocumentation.fields(sourceRoot, NestedPOJO.class, null), fields);
+    Assert.assertTrue(RequestDocumentation.descriptorsFromRoot(sourceRoot, StudentController.class,
+            (String) null).length > 0);
+    Assert.assertEquals(cache.size(), 0);
+    Assert.assertEquals(cache.softSize(), 0);
+    Assert.assertEquals(cache.extractedSize(), 2);
+    Assert.assertEquals(cache.getHitCount(), 1);
+  }
+
+  /**
+   * Test 10
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_10_retained_heap_of_models_and_compilation_units() throws IOException
+  {
+    final List<Path> sourceFiles;
+    try (Stream<Path> paths = Files.walk(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH))) {
+      sourceFiles = paths.filter(path -> path.toString().endsWith(LangUtils.JAVA_FILE_EXTENSION))
+              .collect(Collectors.toList());
+    }
+    final JavaParser parser = new JavaParser(JavaParserUtils.getLeanParserConfiguration());
+    final Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    final long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+    final List<CompilationUnit> compilationUnits = new ArrayList<>();
+    for (final Path sourceFile : sourceFiles) {
+      compilationUnits.add(parser.parse(sourceFile).getResult().get());
+    }
+    System.gc();
+    final long heapOfCompilationUnits = runtime.totalMemory() - runtime.freeMemory() - heapBefore;
+    final List<SourceModel> models = new ArrayList<>();
+    for (final CompilationUnit compilationUnit : compilationUnits) {
+      models.add(SourceRootIndexer.createDocumentationModel(compilationUnit));
+    }
+    compilationUnits.clear();
+    System.gc();
+    final long heapOfModels = runtime.totalMemory() - runtime.freeMemory() - heapBefore;
+    LOGGER.log(Level.INFO, "{0} files: {1} KiB retained by compilation units, {2} KiB retained by models",
+            new Object[]{sourceFiles.size(), heapOfCompilationUnits / 1024, heapOfModels / 1024});
+    Assert.assertEquals(models.size(), sourceFiles.size());
+  }
+
+  /**
+   * Test 11
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_11_columns_match_models() throws IOException
+  {
+    final SourceRootIndex index = new SourceRootIndexer(2).index(LangUtils.JAVA_SOURCE_TEST_PATH);
+    for (final Class<?> documentedClass : new Class<?>[]{
+      JacksonPOJO.class, LessCommonPOJO.class, NestedPOJO.class, SpringRestController.class, StudentController.class,
+    }) {
+      final SourceModel model = index.find(documentedClass);
+      Assert.assertNotNull(model, documentedClass.getName());
+      assertEquals(index.fields(documentedClass, null), model.fields(null));
+      assertEquals(index.fields(documentedClass, JsonProperty.class), model.fields(JsonProperty.class));
+      for (final String filter : new String[]{null, "{path:'/patchMapping'}", "{path:'/students/**'}"}) {
+        assertEquals(index.descriptors(documentedClass, RequestDocumentation.jsonToFilterMap(filter)),
+                model.descriptors(RequestDocumentation.jsonToFilterMap(filter)));
+      }
+    }
+    Assert.assertNull(index.fields(String.class, null));
+    Assert.assertNull(index.descriptors(String.class, null));
+  }
+
+  /**
+   * Test 12
+   */
+  @Test
+  public void test_12_repeated_strings_are_interned_once()
+  {
+    final String description = "Unique identifier";
+    final Map<String, SourceModel> models = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      final String className = "edu.vt.Dto" + i;
+      models.put(className, new SourceModel(className, new PropertyModel[]{
+        new PropertyModel("id", new String(description), false, new String[]{"JsonProperty"}),
+        new PropertyModel("created", "Date created", true, new String[0]),
+      }, new EndpointModel[]{
+        new EndpointModel("get", false, Map.of("path", new String[]{"/dto" + i}), new DescriptorModel[]{
+          new DescriptorModel(DescriptorModel.Kind.PARAMETER, "id", description, null, false, false),
+        }),
+      }));
+    }
+    final SourceRootIndex index = new SourceRootIndex(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH), models);
+    Assert.assertEquals(index.size(), 10);
+    Assert.assertEquals(index.getClassNames(), models.keySet());
+    Assert.assertEquals(index.getSymbolCount(), 10 + 10 + 7);
+    for (final SourceModel model : models.values()) {
+      Assert.assertEquals(new SourceRootIndex(index.getRoot(), Map.of(model.getClassName(), model)).getSymbolCount(),
+              9);
+    }
+  }
+
+  /**
+   * Test 13
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_13_columns_keep_endpoint_problems()
+  {
+    final Map<String, SourceModel> models = Map.of(String.class.getName(), new SourceModel(String.class.getName(),
+            new PropertyModel[0], new EndpointModel[]{
+              new EndpointModel("bad", false, Map.of(), new String[0], new DescriptorModel[0], "malformed"),
+            }));
+    final SourceRootIndex index = new SourceRootIndex(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH), models);
+    Assert.assertEquals(index.find(String.class), models.get(String.class.getName()));
+    index.descriptors(String.class, null);
+    Assert.fail("Test should have failed but it did not");
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Asserts that field descriptors are equal by path, description and optionality.
+   *
+   * @param actual actual descriptors
+   * @param expected expected descriptors
+   */
+  private static void assertEquals(final FieldDescriptor[] actual, final FieldDescriptor[] expected)
+  {
+    Assert.assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(actual[i].getPath(), expected[i].getPath());
+      Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+      Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+    }
+  }
+
+  /**
+   * Asserts that parameter descriptors are equal by name, description and optionality.
+   *
+   * @param actual actual descriptors
+   * @param expected expected descriptors
+   */
+  private static void assertEquals(final ParameterDescriptor[] actual, final ParameterDescriptor[] expected)
+  {
+    Assert.assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(actual[i].getName(), expected[i].getName());
+      Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+      Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.index;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SymbolTable} methods.
+ *
+ * @author Graduate School
+ */
+public class SymbolTableTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test
+  public void test_00_interned_once()
+  {
+    final SymbolTable symbols = new SymbolTable();
+    final int id = symbols.intern("Unique identifier");
+    Assert.assertEquals(id, 0);
+    Assert.assertEquals(symbols.intern(new String("Unique identifier")), id);
+    Assert.assertEquals(symbols.intern("Date created"), 1);
+    Assert.assertEquals(symbols.size(), 2);
+    Assert.assertEquals(symbols.get(id), "Unique identifier");
+    Assert.assertEquals(symbols.find("Date created"), 1);
+    Assert.assertEquals(symbols.find("Date modified"), SymbolTable.NONE);
+    Assert.assertEquals(symbols.size(), 2);
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_null_symbol()
+  {
+    final SymbolTable symbols = new SymbolTable();
+    Assert.assertEquals(symbols.intern(null), SymbolTable.NONE);
+    Assert.assertEquals(symbols.find(null), SymbolTable.NONE);
+    Assert.assertNull(symbols.get(SymbolTable.NONE));
+    Assert.assertEquals(symbols.size(), 0);
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_growth_after_trim()
+  {
+    final SymbolTable symbols = new SymbolTable();
+    symbols.trim();
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(symbols.intern("symbol" + i), i);
+      if (i % 10 == 0) {
+        symbols.trim();
+      }
+    }
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(symbols.get(i), "symbol" + i);
+    }
+  }
+
+  /**
+   * Test 03
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_03_unknown_id()
+  {
+    new SymbolTable().get(0);
+    Assert.fail("Test should have failed but it did not");
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -0,0 +1,122 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.restdocs.payload.SubsectionDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.springframework.restdocs.snippet.Attributes;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+
+/**
+ * Tests {@link DescriptorModel} methods.
+ *
+ * @author Graduate School
+ */
+public class DescriptorModelTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_name()
+  {
+    new DescriptorModel(DescriptorModel.Kind.FIELD, null, null, null, false, false);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_field_descriptor_round_trip()
+  {
+    final DescriptorModel model = DescriptorModel.of(fieldWithPath("content[].name").description("Name")
+            .type(JsonFieldType.STRING).optional());
+    Assert.assertEquals(model.getKind(), DescriptorModel.Kind.FIELD);
+    final FieldDescriptor descriptor = model.toFieldDescriptor();
+    Assert.assertFalse(descriptor instanceof SubsectionDescriptor);
+    Assert.assertEquals(descriptor.getPath(), "content[].name");
+    Assert.assertEquals(descriptor.getDescription(), "Name");
+    Assert.assertEquals(descriptor.getType(), JsonFieldType.STRING);
+    Assert.assertTrue(descriptor.isOptional());
+    Assert.assertFalse(descriptor.isIgnored());
+    Assert.assertEquals(DescriptorModel.of(descriptor), model);
+    final FieldDescriptor subsection = DescriptorModel.of(subsectionWithPath("child")).toFieldDescriptor();
+    Assert.assertTrue(subsection instanceof SubsectionDescriptor);
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_parameter_descriptor_round_trip()
+  {
+    final DescriptorModel model = DescriptorModel.of(parameterWithName("id").description("Id").ignored());
+    final ParameterDescriptor descriptor = model.toParameterDescriptor();
+    Assert.assertEquals(descriptor.getName(), "id");
+    Assert.assertEquals(descriptor.getDescription(), "Id");
+    Assert.assertTrue(descriptor.isIgnored());
+    Assert.assertFalse(descriptor.isOptional());
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_is_representable()
+  {
+    Assert.assertTrue(DescriptorModel.isRepresentable(fieldWithPath("name")));
+    Assert.assertFalse(DescriptorModel.isRepresentable(fieldWithPath("name").type("custom")));
+    Assert.assertFalse(DescriptorModel.isRepresentable(parameterWithName("id")
+            .attributes(Attributes.key("key").value("value"))));
+    Assert.assertFalse(DescriptorModel.isRepresentable(null));
+  }
+
+  /**
+   * Test 04
+   */
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void test_04_wrong_conversion()
+  {
+    DescriptorModel.of(parameterWithName("id")).toFieldDescriptor();
+  }
+
+  /**
+   * Test 05
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_05_write_and_read() throws IOException
+  {
+    final DescriptorModel[] models = new DescriptorModel[]{
+      new DescriptorModel(DescriptorModel.Kind.SUBSECTION, "child", null, JsonFieldType.OBJECT, true, false),
+      new DescriptorModel(DescriptorModel.Kind.PARAMETER, "id", "Identifier", null, false, true),
+    };
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      for (final DescriptorModel model : models) {
+        model.writeTo(out);
+      }
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      for (final DescriptorModel model : models) {
+        Assert.assertEquals(DescriptorModel.readFrom(in), model);
+      }
+    }
+  }
+  //CheckStyle:MethodName ON
+}
@@ -0,0 +1,153 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.payload.SubsectionDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SourceModel}, {@link PropertyModel} and {@link EndpointModel} methods.
+ *
+ * @author Graduate School
+ */
+public class SourceModelTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_class_name()
+  {
+    new SourceModel(null, new PropertyModel[0], new EndpointModel[0]);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_01_endpoint_field_parameter()
+  {
+    new EndpointModel("get", true, new HashMap<>(), new DescriptorModel[]{
+      new DescriptorModel(DescriptorModel.Kind.FIELD, "name", "Name", null, false, false),
+    });
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_fields()
+  {
+    final FieldDescriptor[] all = createModel().fields(null);
+    Assert.assertEquals(all.length, 2);
+    Assert.assertTrue(all[0] instanceof SubsectionDescriptor);
+    Assert.assertEquals(all[0].getPath(), "name");
+    Assert.assertEquals(all[0].getDescription(), "Name");
+    Assert.assertTrue(all[0].isOptional());
+    Assert.assertFalse(all[1].isOptional());
+    final FieldDescriptor[] deprecated = createModel().fields(Deprecated.class);
+    Assert.assertEquals(deprecated.length, 1);
+    Assert.assertEquals(deprecated[0].getPath(), "other");
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_descriptors()
+  {
+    final SourceModel model = createModel();
+    Assert.assertEquals(model.descriptors(null).length, 2);
+    Assert.assertEquals(model.descriptors(new HashMap<>()).length, 2);
+    final Map<String, String[]> filter = new HashMap<>();
+    filter.put("path", new String[]{"/search"});
+    filter.put("method", new String[]{"RequestMethod.POST"});
+    final ParameterDescriptor[] descriptors = model.descriptors(filter);
+    Assert.assertEquals(descriptors.length, 1);
+    Assert.assertEquals(descriptors[0].getName(), "query");
+    Assert.assertTrue(descriptors[0].isOptional());
+    filter.put("produces", new String[]{"text/plain"});
+    Assert.assertEquals(model.descriptors(filter).length, 0);
+  }
+
+  /**
+   * Test 04
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_04_null_filter_value()
+  {
+    final Map<String, String[]> filter = new HashMap<>();
+    filter.put("path", new String[]{null});
+    createModel().descriptors(filter);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 05
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_05_serialization() throws IOException
+  {
+    final SourceModel model = createModel();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    model.writeTo(new DataOutputStream(bytes));
+    final SourceModel read = SourceModel.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    Assert.assertEquals(read, model);
+    Assert.assertEquals(read.hashCode(), model.hashCode());
+    Assert.assertEquals(read.getEndpoints()[0].getAttribute("value"), new String[]{"/search"});
+  }
+
+  /**
+   * Test 06
+   */
+  @Test(expectedExceptions = IOException.class)
+  public void test_06_unsupported_format() throws IOException
+  {
+    SourceModel.readFrom(new DataInputStream(new ByteArrayInputStream(new byte[]{0, 0, 0, 0, 0, 0, 0, 1})));
+    Assert.fail("Test should have failed but it did not");
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Creates a model with two properties, a RequestMapping endpoint and a GetMapping endpoint.
+   *
+   * @return {@link SourceModel}
+   */
+  private static SourceModel createModel()
+  {
+    final Map<String, String[]> search = new HashMap<>();
+    search.put("path", new String[]{"/search"});
+    search.put("value", new String[]{"/search"});
+    search.put("method", new String[]{"RequestMethod.GET", "RequestMethod.POST"});
+    final Map<String, String[]> list = new HashMap<>();
+    list.put("path", new String[]{"/list"});
+    list.put("value", new String[]{"/list"});
+    return new SourceModel("example.Bean", new PropertyModel[]{
+      new PropertyModel("name", "Name", true, new String[0]),
+      new PropertyModel("other", "Other", false, new String[]{Deprecated.class.getName()}),
+    }, new EndpointModel[]{
+      new EndpointModel("search", true, search, new DescriptorModel[]{
+        new DescriptorModel(DescriptorModel.Kind.PARAMETER, "query", "Query", null, true, false),
+      }),
+      new EndpointModel("list", false, list, new DescriptorModel[]{
+        new DescriptorModel(DescriptorModel.Kind.PARAMETER, "page", "Page", null, false, false),
+      }),
+    });
+  }
+
+}
@@ -2,12 +2,23 @@
 package edu.vt.graduateschool.restjavadocs.payload;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.utils.SourceRoot;
 import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJOIgnoreProperties;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
 import edu.vt.graduateschool.restjavadocs.util.LangUtils;
 import org.springframework.restdocs.payload.FieldDescriptor;
 import org.testng.Assert;
@@ -188,5 +199,130 @@ public class PayloadDocumentationTest
     Assert.assertEquals(descriptors[2].getPath(), "notAnnotated");
     Assert.assertEquals(descriptors[3].getPath(), "differentNameWithValue");
   }
+
+  /**
+   * Test 12
+   */
+  @Test
+  public void test_12_introspected_fields_match_source_fields()
+  {
+    final FieldDescriptor[] expected = PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJO.class);
+    final FieldDescriptor[] descriptors = PayloadDocumentation.introspectedFields(new ObjectMapper(),
+            LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJO.class, null);
+    final Map<String, FieldDescriptor> expectedDescriptors = Arrays.stream(expected)
+            .collect(Collectors.toMap(FieldDescriptor::getPath, Function.identity()));
+    Assert.assertEquals(descriptors.length, expected.length);
+    for (final FieldDescriptor descriptor : descriptors) {
+      Assert.assertEquals(descriptor.getDescription(), expectedDescriptors.get(descriptor.getPath()).getDescription());
+      Assert.assertEquals(descriptor.isOptional(), expectedDescriptors.get(descriptor.getPath()).isOptional());
+    }
+    Assert.assertFalse(expectedDescriptors.get("id").isOptional());
+    final Map<String, FieldDescriptor> getterDescriptors = Arrays.stream(PayloadDocumentation.introspectedFields(
+            new ObjectMapper(), LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJOIgnoreProperties.class, null))
+            .collect(Collectors.toMap(FieldDescriptor::getPath, Function.identity()));
+    Assert.assertTrue(getterDescriptors.get("optionalOnGetter").isOptional());
+    Assert.assertFalse(getterDescriptors.get("nameFromGetter").isOptional());
+  }
+
+  /**
+   * Test 13
+   */
+  @Test
+  public void test_13_introspected_fields_naming_strategy_and_mixin()
+  {
+    final ObjectMapper mapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .addMixIn(JacksonPOJO.class, AbstractJacksonPOJOMixin.class);
+    final FieldDescriptor[] descriptors = PayloadDocumentation.introspectedFields(mapper,
+            LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJO.class, null);
+    Assert.assertEquals(descriptors.length, 3);
+    Assert.assertEquals(descriptors[0].getPath(), "id");
+    Assert.assertFalse(descriptors[0].isOptional());
+    Assert.assertEquals(descriptors[1].getPath(), "not_annotated");
+    Assert.assertTrue(descriptors[1].getDescription().toString().contains("not annotated but included"));
+    Assert.assertEquals(descriptors[2].getPath(), "differentName");
+    Assert.assertFalse(descriptors[2].isOptional());
+  }
+
+  /**
+   * Test 14
+   */
+  @Test
+  public void test_14_introspected_fields_unwrapped_member_class()
+  {
+    final ObjectMapper mapper = new ObjectMapper()
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .addMixIn(NestedPOJO.class, AbstractNestedPOJOMixin.class);
+    final FieldDescriptor[] descriptors = PayloadDocumentation.introspectedFields(mapper,
+            LangUtils.JAVA_SOURCE_TEST_PATH, NestedPOJO.class, null);
+    Assert.assertEquals(descriptors.length, 3);
+    Assert.assertEquals(descriptors[0].getPath(), "name");
+    Assert.assertEquals(descriptors[1].getPath(), "zip");
+    Assert.assertEquals(descriptors[2].getPath(), "address_street");
+    Assert.assertEquals(descriptors[2].getDescription(), "street of the address");
+  }
+
+  /**
+   * Test 15
+   */
+  @Test
+  public void test_15_introspected_fields_annotated()
+  {
+    final FieldDescriptor[] descriptors = PayloadDocumentation.introspectedFields(new ObjectMapper(),
+            LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJO.class, JsonProperty.class);
+    Assert.assertEquals(descriptors.length, 3);
+    Assert.assertEquals(descriptors[0].getPath(), "id");
+    Assert.assertEquals(descriptors[1].getPath(), "differentName");
+    Assert.assertEquals(descriptors[2].getPath(), "differentNameWithValue");
+  }
+
+  /**
+   * Test 16
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_16_introspected_fields_null_mapper()
+  {
+    PayloadDocumentation.introspectedFields(null, LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJO.class, null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 17
+   */
+  @Test
+  public void test_17_null_source_root_is_the_default()
+  {
+    Assert.assertEquals(PayloadDocumentation.fields(null, LangUtils.class).length, 0);
+  }
   //CheckStyle:MethodName ON
+
+  /**
+   * Mixin requiring the id and ignoring the differentNameWithValue property of {@link JacksonPOJO}.
+   */
+  @JsonIgnoreProperties("differentNameWithValue")
+  private abstract static class AbstractJacksonPOJOMixin
+  {
+
+    /**
+     * id of the entry
+     */
+    @JsonProperty(required = true)
+    private long id;
+
+  }
+
+  /**
+   * Mixin unwrapping the address of {@link NestedPOJO}.
+   */
+  private abstract static class AbstractNestedPOJOMixin
+  {
+
+    /**
+     * address of the entry
+     */
+    @JsonUnwrapped(prefix = "address_")
+    private NestedPOJO.Address address;
+
+  }
+
 }
@@ -0,0 +1,246 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.processor;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import com.github.javaparser.ParseProblemException;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import edu.vt.graduateschool.restjavadocs.index.DescriptorIndex;
+import edu.vt.graduateschool.restjavadocs.model.PropertyModel;
+import edu.vt.graduateschool.restjavadocs.model.SourceModel;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static edu.vt.graduateschool.restjavadocs.util.LangUtils.JAVA_SOURCE_TEST_PATH;
+
+/**
+ * Tests {@link DescriptorIndexProcessor} by running it over test sources.
+ *
+ * @author Graduate School
+ */
+public class DescriptorIndexProcessorTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_00_controller_endpoints() throws IOException
+  {
+    final Path output = Files.createTempDirectory("restjavadocs-index");
+    try {
+      final SourceModel model = process(output, SpringRestController.class);
+      Assert.assertEquals(model.getClassName(), SpringRestController.class.getName());
+      Assert.assertEquals(model.getProperties().length, 0);
+      final ParameterDescriptor[] descriptors = model.descriptors(
+              RequestDocumentation.jsonToFilterMap("{path:'/stringEndpointNonRequiredParams'}"));
+      Assert.assertEquals(descriptors.length, 2);
+      Assert.assertEquals(descriptors[0].getName(), "nonRequiredOne");
+      Assert.assertTrue(descriptors[0].isOptional());
+      Assert.assertEquals(descriptors[1].getName(), "nonRequiredTwo");
+      Assert.assertTrue(descriptors[1].isOptional());
+      Assert.assertEquals(model.descriptors(
+              RequestDocumentation.jsonToFilterMap("{method:'RequestMethod.GET',path:'/stringEndpointNoParams'}"))
+              .length, 0);
+    } finally {
+      delete(output);
+    }
+  }
+
+  /**
+   * Test 01
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_01_matches_source_parsing() throws IOException
+  {
+    final Path output = Files.createTempDirectory("restjavadocs-index");
+    try {
+      final SourceModel model = process(output, SpringRestController.class);
+      final String[] filters = {
+        null,
+        "{path:'/patchMapping'}",
+        "{produces:'text/plain',path:'/stringEndpointNonRequiredParams'}",
+        "{method:'RequestMethod.GET'}",
+      };
+      for (final String filter : filters) {
+        final ParameterDescriptor[] expected = RequestDocumentation.descriptors(JAVA_SOURCE_TEST_PATH,
+                SpringRestController.class, filter);
+        final ParameterDescriptor[] actual = model.descriptors(RequestDocumentation.jsonToFilterMap(filter));
+        Assert.assertEquals(actual.length, expected.length, String.valueOf(filter));
+        for (int i = 0; i < expected.length; i++) {
+          Assert.assertEquals(actual[i].getName(), expected[i].getName());
+          Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+          Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+        }
+      }
+    } finally {
+      delete(output);
+    }
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_bean_properties() throws IOException
+  {
+    final Path output = Files.createTempDirectory("restjavadocs-index");
+    try {
+      final SourceModel model = process(output, JacksonPOJO.class);
+      final List<String> names = new ArrayList<>();
+      for (final PropertyModel property : model.getProperties()) {
+        names.add(property.getName());
+      }
+      Assert.assertTrue(names.contains("differentName"));
+      Assert.assertTrue(names.contains("differentNameWithValue"));
+      Assert.assertFalse(names.contains("uupid"));
+      Assert.assertFalse(names.contains("ignored"));
+      Assert.assertFalse(names.contains("optionalString"));
+      Assert.assertFalse(names.contains("notCommented"));
+      final FieldDescriptor[] descriptors = model.fields(Deprecated.class);
+      Assert.assertEquals(descriptors.length, 1);
+      Assert.assertEquals(descriptors[0].getPath(), "differentNameWithValue");
+    } finally {
+      delete(output);
+    }
+  }
+
+  /**
+   * Test 03
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_03_index_lookup() throws IOException
+  {
+    final Path output = Files.createTempDirectory("restjavadocs-index");
+    try {
+      final SourceModel model = process(output, SpringRestController.class);
+      try (URLClassLoader loader = newIndexLoader(output)) {
+        final Class<?> controllerClass = loader.loadClass(SpringRestController.class.getName());
+        Assert.assertEquals(DescriptorIndex.find(controllerClass), model);
+        Assert.assertNull(DescriptorIndex.find(SpringRestController.class));
+      } catch (final ClassNotFoundException ex) {
+        Assert.fail(ex.getMessage());
+      }
+    } finally {
+      delete(output);
+    }
+  }
+
+  /**
+   * Test 04
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_04_explicit_source_root_is_parsed() throws IOException
+  {
+    final Path output = Files.createTempDirectory("restjavadocs-index");
+    try {
+      final SourceModel controllerModel = process(output, SpringRestController.class);
+      final SourceModel beanModel = process(output, JacksonPOJO.class);
+      try (URLClassLoader loader = newIndexLoader(output)) {
+        final Class<?> controllerClass = loader.loadClass(SpringRestController.class.getName());
+        final Class<?> beanClass = loader.loadClass(JacksonPOJO.class.getName());
+        Assert.assertEquals(RequestDocumentation.descriptors(controllerClass).length,
+                controllerModel.descriptors(null).length);
+        Assert.assertEquals(PayloadDocumentation.fields(beanClass).length, beanModel.fields(null).length);
+        Assert.assertThrows(ParseProblemException.class, () -> RequestDocumentation.descriptors(
+                LangUtils.JAVA_SOURCE_MAIN_PATH, controllerClass));
+        Assert.assertThrows(ParseProblemException.class, () -> PayloadDocumentation.fields(
+                LangUtils.JAVA_SOURCE_MAIN_PATH, beanClass));
+        Assert.assertEquals(RequestDocumentation.descriptors(JAVA_SOURCE_TEST_PATH, controllerClass).length,
+                controllerModel.descriptors(null).length);
+      } catch (final ClassNotFoundException ex) {
+        Assert.fail(ex.getMessage());
+      }
+    } finally {
+      delete(output);
+    }
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Returns a class loader which loads the classes of the class path and finds the index entries written to a class
+   * output directory.
+   *
+   * @param output class output directory
+   * @return {@link URLClassLoader}
+   * @throws IOException if a class path entry cannot be converted to a URL
+   */
+  private static URLClassLoader newIndexLoader(final Path output) throws IOException
+  {
+    final List<URL> urls = new ArrayList<>();
+    urls.add(output.toUri().toURL());
+    for (final String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      urls.add(Paths.get(entry).toUri().toURL());
+    }
+    return new URLClassLoader(urls.toArray(URL[]::new), ClassLoader.getPlatformClassLoader());
+  }
+
+  /**
+   * Runs the processor over the test source of a class and reads back its index entry.
+   *
+   * @param output class output directory
+   * @param type class to process
+   * @return {@link SourceModel}
+   * @throws IOException if the index entry cannot be read
+   */
+  private static SourceModel process(final Path output, final Class<?> type) throws IOException
+  {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final String source = Paths.get(JAVA_SOURCE_TEST_PATH, type.getName().replace('.', '/') + ".java").toString();
+    final int result = compiler.run(null, null, null, "-proc:only", "-processor",
+            DescriptorIndexProcessor.class.getName(), "-classpath", System.getProperty("java.class.path"),
+            "-d", output.toString(), source);
+    Assert.assertEquals(result, 0);
+    final Path entry = output.resolve(DescriptorIndex.getResourceName(type.getName()));
+    try (InputStream in = Files.newInputStream(entry)) {
+      return SourceModel.readFrom(new DataInputStream(new BufferedInputStream(in)));
+    }
+  }
+
+  /**
+   * Deletes a directory tree.
+   *
+   * @param path directory
+   * @throws IOException if the tree cannot be deleted
+   */
+  private static void delete(final Path path) throws IOException
+  {
+    try (Stream<Path> paths = Files.walk(path)) {
+      for (final Path file : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+        Files.delete(file);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.request;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link PathPattern} methods.
+ *
+ * @author Graduate School
+ */
+public class PathPatternTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_pattern()
+  {
+    PathPattern.compile(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_literal()
+  {
+    Assert.assertFalse(PathPattern.compile("/students/*/courses").isLiteral());
+    Assert.assertTrue(PathPattern.compile("/students/{id}/courses").isLiteral());
+    Assert.assertTrue(PathPattern.compile("/students").isLiteral());
+    Assert.assertTrue(PathPattern.compile("/students").matches("/students"));
+    Assert.assertFalse(PathPattern.compile("/students").matches("/students/"));
+    Assert.assertFalse(PathPattern.compile("/students").matches("/students/1"));
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_wildcards()
+  {
+    Assert.assertTrue(PathPattern.compile("/students/*").matches("/students/{id}"));
+    Assert.assertTrue(PathPattern.compile("/students/*").matches("/students/1/"));
+    Assert.assertFalse(PathPattern.compile("/students/*").matches("/students"));
+    Assert.assertFalse(PathPattern.compile("/students/*").matches("/students/1/courses"));
+    Assert.assertFalse(PathPattern.compile("/students/{studentId}").matches("/students/{id}"));
+    Assert.assertFalse(PathPattern.compile("/students/{id}").matches("/students/1"));
+    Assert.assertTrue(PathPattern.compile("/students/{id}").matches("/students/{id}"));
+    Assert.assertTrue(PathPattern.compile("/students/**").matches("/students"));
+    Assert.assertTrue(PathPattern.compile("/students/**").matches("/students/1/courses"));
+    Assert.assertTrue(PathPattern.compile("/**/courses").matches("/students/1/courses"));
+    Assert.assertFalse(PathPattern.compile("/**/courses").matches("/students/1/courses/2"));
+    Assert.assertTrue(PathPattern.compile("/students/*.json").matches("/students/search.json"));
+    Assert.assertFalse(PathPattern.compile("/students/*.json").matches("/students/searchjson"));
+    Assert.assertTrue(PathPattern.compile("/stud?nts").matches("/students"));
+    Assert.assertFalse(PathPattern.compile("/stud?nts").matches("/studnts"));
+    Assert.assertTrue(PathPattern.compile("/a+b/*").matches("/a+b/c"));
+    Assert.assertFalse(PathPattern.compile("/a+b/*").matches("/aab/c"));
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_segments_and_combine()
+  {
+    Assert.assertEquals(PathPattern.segments("//students/1/"), new String[]{"students", "1"});
+    Assert.assertEquals(PathPattern.segments("/"), new String[0]);
+    Assert.assertEquals(PathPattern.combine("/students", "/{id}"), "/students/{id}");
+    Assert.assertEquals(PathPattern.combine("students/", "{id}"), "/students/{id}");
+    Assert.assertEquals(PathPattern.combine("/students", ""), "/students");
+    Assert.assertEquals(PathPattern.combine("/", "/students"), "/students");
+    Assert.assertTrue(PathPattern.isVariable("{id}"));
+    Assert.assertFalse(PathPattern.isVariable("id}"));
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 import edu.vt.graduateschool.restjavadocs.controller.NoParametersController;
 import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
 import edu.vt.graduateschool.restjavadocs.controller.VerySimpleRestController;
 import edu.vt.graduateschool.restjavadocs.util.LangUtils;
 import org.json.JSONException;
@@ -336,5 +337,61 @@ public class RequestDocumentationTest
     Assert.assertEquals(filterMap.keySet().size(), 1);
     Assert.assertEquals(filterMapFromNull.isEmpty(), true);
   }
+
+  /**
+   * Test 21
+   */
+  @Test
+  public void test_21_path_patterns()
+  {
+    final String[][] expectations = {
+      {"{path:'/students/**'}", "fields", "term", "notify", "query"},
+      {"{path:'/**'}", "fields", "term", "notify", "query"},
+      {"{path:'/students/{studentId}'}"},
+      {"{path:'/students/{id}'}", "fields"},
+      {"{path:'/students/*/courses'}", "term"},
+      {"{value:'/students/*/courses',produces:'application/json'}", "term"},
+      {"{path:'/*'}", "fields", "notify", "query"},
+      {"{path:'/students/{id}',method:'RequestMethod.GET'}", "fields"},
+      {"{path:'/students',consumes:'application/json'}"},
+      {"{path:'/stud*',consumes:'application/json'}", "notify"},
+      {"{path:'/students/*.json',method:'RequestMethod.GET'}", "query"},
+      {"{path:'/students/sea?ch.*'}", "query"},
+      {"{path:'/stud*/**/courses'}", "term"},
+      {"{path:'/courses/**'}"},
+      {"{path:['/students/*','/students/{id}/courses']}"},
+    };
+    for (final String[] expectation : expectations) {
+      final ParameterDescriptor[] descriptors = RequestDocumentation.descriptors(LangUtils.JAVA_SOURCE_TEST_PATH,
+              StudentController.class, expectation[0]);
+      Assert.assertEquals(descriptors.length, expectation.length - 1, expectation[0]);
+      for (int i = 0; i < descriptors.length; i++) {
+        Assert.assertEquals(descriptors[i].getName(), expectation[i + 1], expectation[0]);
+      }
+    }
+  }
+
+  /**
+   * Test 22
+   */
+  @Test
+  public void test_22_null_source_root_is_the_default()
+  {
+    Assert.assertEquals(RequestDocumentation.descriptors(null, LangUtils.class, "{}").length, 0);
+    Assert.assertEquals(RequestDocumentation.descriptors(null, LangUtils.class, new RequestMappingFilter()).length, 0);
+    Assert.assertEquals(RequestDocumentation.descriptors(null, LangUtils.class, new HashMap<>()).length, 0);
+  }
+
+  /**
+   * Test 23
+   */
+  @Test
+  public void test_23_template_variable_excludes_siblings()
+  {
+    final ParameterDescriptor[] descriptors = RequestDocumentation.descriptors(LangUtils.JAVA_SOURCE_TEST_PATH,
+            StudentController.class, "{path:'/{id}'}");
+    Assert.assertEquals(descriptors.length, 1);
+    Assert.assertEquals(descriptors[0].getName(), "fields");
+  }
   //CheckStyle:MethodName ON
 }
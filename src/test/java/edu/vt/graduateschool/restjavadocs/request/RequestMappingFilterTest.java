@@ -239,6 +239,37 @@ public class RequestMappingFilterTest
     assertArrayEquals(producesParam, instance.getProduces());
   }
 
+  /**
+   * Test of equals and hashCode methods, of class RequestMappingFilter.
+   */
+  @Test
+  public void test_16_equals_and_hash_code()
+  {
+    final RequestMappingFilter instance = new RequestMappingFilter(new String[]{"/path"});
+    instance.setMethod(new String[]{"RequestMethod.GET"});
+    final RequestMappingFilter other = new RequestMappingFilter(new String[]{"/path"});
+    other.setMethod(new String[]{"RequestMethod.GET"});
+    Assert.assertEquals(instance, other);
+    Assert.assertEquals(instance.hashCode(), other.hashCode());
+    other.setName("name");
+    Assert.assertNotEquals(instance, other);
+  }
+
+  /**
+   * Test of copy constructor, of class RequestMappingFilter.
+   */
+  @Test
+  public void test_17_copy_constructor()
+  {
+    final String[] pathParam = new String[]{"/path"};
+    final RequestMappingFilter instance = new RequestMappingFilter(pathParam);
+    final RequestMappingFilter copy = new RequestMappingFilter(instance);
+    Assert.assertEquals(copy, instance);
+    pathParam[0] = "/other";
+    Assert.assertNotEquals(copy, instance);
+    assertArrayEquals(copy.getPath(), new String[]{"/path"});
+  }
+
   //CheckStyle:MethodName ON
   /**
    * Compares two arrays
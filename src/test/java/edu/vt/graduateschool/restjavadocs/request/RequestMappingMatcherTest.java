@@ -0,0 +1,94 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.request;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link RequestMappingMatcher} methods.
+ *
+ * @author Graduate School
+ */
+public class RequestMappingMatcherTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*JSR-308.*")
+  public void test_00_null_filter_value()
+  {
+    final Map<String, String[]> filter = new HashMap<>();
+    filter.put(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH, new String[]{"/path", null});
+    RequestMappingMatcher.compile(filter);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test(expectedExceptions = JSONException.class)
+  public void test_01_malformed_json()
+  {
+    RequestMappingMatcher.parse("{path:");
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_empty_filters()
+  {
+    Assert.assertSame(RequestMappingMatcher.compile((Map<String, String[]>) null), RequestMappingMatcher.MATCH_ALL);
+    Assert.assertSame(RequestMappingMatcher.compile(new HashMap<>()), RequestMappingMatcher.MATCH_ALL);
+    Assert.assertSame(RequestMappingMatcher.compile((RequestMappingFilter) null), RequestMappingMatcher.MATCH_ALL);
+    Assert.assertSame(RequestMappingMatcher.parse(null), RequestMappingMatcher.MATCH_ALL);
+    Assert.assertTrue(RequestMappingMatcher.MATCH_ALL.isEmpty());
+    Assert.assertTrue(RequestMappingMatcher.MATCH_ALL.matches(new HashMap<>(), true));
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_json_filters_are_interned()
+  {
+    final String json = "{path:['/a','/b'],method:'RequestMethod.GET'}";
+    final RequestMappingMatcher matcher = RequestMappingMatcher.parse(json);
+    Assert.assertSame(RequestMappingMatcher.parse(new String(json)), matcher);
+    Assert.assertEquals(matcher.getValues(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH),
+            new String[]{"/a", "/b"});
+    Assert.assertEquals(matcher.getValues(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_METHOD),
+            new String[]{"RequestMethod.GET"});
+    Assert.assertNull(matcher.getValues(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_NAME));
+    Assert.assertEquals(matcher.toFilterMap().keySet(), RequestDocumentation.jsonToFilterMap(json).keySet());
+  }
+
+  /**
+   * Test 04
+   */
+  @Test
+  public void test_04_matches()
+  {
+    final Map<String, String[]> attributes = new HashMap<>();
+    attributes.put(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PATH, new String[]{"/a", "/b"});
+    attributes.put(RequestMappingFilter.REQUEST_MAPPING_EXPRESSION_PRODUCES, new String[]{"text/plain"});
+    final Map<String, Set<String>> hashed = RequestMappingMatcher.hash(attributes);
+    Assert.assertTrue(RequestMappingMatcher.parse("{path:['/b','/a','/b']}").matches(hashed, true));
+    Assert.assertTrue(RequestMappingMatcher.parse("{path:'/a',produces:'text/plain'}").matches(hashed, true));
+    Assert.assertFalse(RequestMappingMatcher.parse("{path:['/a','/c']}").matches(hashed, true));
+    Assert.assertFalse(RequestMappingMatcher.parse("{consumes:'text/plain'}").matches(hashed, true));
+    Assert.assertFalse(RequestMappingMatcher.parse("{method:'RequestMethod.GET'}").matches(hashed, true));
+    Assert.assertTrue(RequestMappingMatcher.parse("{method:'RequestMethod.GET'}").matches(hashed, false));
+    Assert.assertTrue(RequestMappingMatcher.compile(new RequestMappingFilter(new String[]{"/a"}))
+            .matches(hashed, true));
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -0,0 +1,241 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.util.CachingSourceRoot;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import edu.vt.graduateschool.restjavadocs.util.ParserProfile;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SourceProvider} implementations and {@link SourceProviderChain} methods.
+ *
+ * @author Graduate School
+ */
+public class SourceProviderTest
+{
+
+  /**
+   * Source file of {@link JacksonPOJO} relative to the test source root.
+   */
+  private static final String POJO_SOURCE = JavaParserUtils.getFilePathFromClass(JacksonPOJO.class);
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_00_directories_in_order() throws IOException
+  {
+    final Path empty = Files.createTempDirectory("restjavadocs-sources");
+    try {
+      final DirectorySourceProvider provider = new DirectorySourceProvider(List.of(empty,
+              Paths.get(LangUtils.JAVA_SOURCE_MAIN_PATH), Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)));
+      final SourceFile found = provider.find(POJO_SOURCE);
+      Assert.assertNotNull(found);
+      Assert.assertFalse(found.isInMemory());
+      Assert.assertEquals(found.getPath(), Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH).resolve(POJO_SOURCE));
+      Assert.assertEquals(provider.find(POJO_SOURCE.replace('\\', '/')).getPath(), found.getPath());
+      Assert.assertNull(provider.find("edu/vt/Missing.java"));
+    } finally {
+      Files.deleteIfExists(empty);
+    }
+  }
+
+  /**
+   * Test 01
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_01_sources_jar_is_read_in_place() throws IOException
+  {
+    final Path jar = createSourcesJar();
+    try (SourcesJarSourceProvider provider = new SourcesJarSourceProvider(jar)) {
+      final SourceFile found = provider.find(POJO_SOURCE);
+      Assert.assertNotNull(found);
+      Assert.assertFalse(found.isInMemory());
+      Assert.assertEquals(found.read(), Files.readAllBytes(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)
+              .resolve(POJO_SOURCE)));
+      Assert.assertNull(provider.find("edu/vt/Missing.java"));
+      assertFieldsOfPojo(JavaParserUtils.getSourceRoot(provider, ParserProfile.LEAN));
+      assertFieldsOfPojo(JavaParserUtils.getSourceRoot(provider, ParserProfile.RESOLVING));
+    } finally {
+      Files.deleteIfExists(jar);
+    }
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_classpath_resources() throws IOException
+  {
+    final Path jar = createSourcesJar();
+    try (URLClassLoader jarLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null);
+            URLClassLoader directoryLoader = new URLClassLoader(new URL[]{
+              Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH).toUri().toURL(),
+            }, null)) {
+      final SourceFile fromJar = new ClasspathSourceProvider(jarLoader).find(POJO_SOURCE);
+      Assert.assertTrue(fromJar.isInMemory());
+      final SourceFile fromDirectory = new ClasspathSourceProvider(directoryLoader).find(POJO_SOURCE);
+      Assert.assertFalse(fromDirectory.isInMemory());
+      Assert.assertEquals(fromDirectory.getPath(), Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH).resolve(POJO_SOURCE)
+              .toAbsolutePath());
+      Assert.assertEquals(fromJar.read(), fromDirectory.read());
+      Assert.assertNull(new ClasspathSourceProvider(jarLoader).find("edu/vt/Missing.java"));
+      assertFieldsOfPojo(JavaParserUtils.getSourceRoot(new ClasspathSourceProvider(jarLoader), ParserProfile.LEAN));
+    } finally {
+      Files.deleteIfExists(jar);
+    }
+  }
+
+  /**
+   * Test 03
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_03_in_memory_sources() throws IOException
+  {
+    final String source = new String(Files.readAllBytes(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)
+            .resolve(POJO_SOURCE)), StandardCharsets.UTF_8);
+    final InMemorySourceProvider provider = new InMemorySourceProvider().add(JacksonPOJO.class.getName(), source);
+    Assert.assertEquals(provider.size(), 1);
+    Assert.assertTrue(provider.find(POJO_SOURCE).isInMemory());
+    final SourceRoot sourceRoot = JavaParserUtils.getSourceRoot(provider, ParserProfile.LEAN);
+    assertFieldsOfPojo(sourceRoot);
+    provider.add(JacksonPOJO.class.getName(), source.replace("different name than the field\n",
+            "renamed in memory\n"));
+    Assert.assertEquals(provider.size(), 1);
+    final FieldDescriptor renamed = Arrays.stream(PayloadDocumentation.fields(sourceRoot, JacksonPOJO.class, null))
+            .filter(field -> "differentName".equals(field.getPath())).findFirst().get();
+    Assert.assertEquals(renamed.getDescription(), "renamed in memory");
+  }
+
+  /**
+   * Test 04
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_04_chain_remembers_locations() throws IOException
+  {
+    final AtomicInteger lookups = new AtomicInteger();
+    final InMemorySourceProvider memory = new InMemorySourceProvider().add(StudentController.class.getName(),
+            "class StudentController {}");
+    final DirectorySourceProvider directory = new DirectorySourceProvider(List.of(
+            Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)));
+    try (SourceProviderChain chain = new SourceProviderChain(List.of(sourceFile -> {
+      lookups.incrementAndGet();
+      return null;
+    }, memory, directory))) {
+      final String controllerSource = JavaParserUtils.getFilePathFromClass(StudentController.class);
+      for (int i = 0; i < 3; i++) {
+        Assert.assertEquals(chain.find(POJO_SOURCE).getPath(), directory.find(POJO_SOURCE).getPath());
+        Assert.assertTrue(chain.find(controllerSource).isInMemory());
+        Assert.assertNull(chain.find("edu/vt/Missing.java"));
+      }
+      Assert.assertEquals(lookups.get(), 3);
+      Assert.assertEquals(chain.getSearchCount(), 3);
+      memory.add(StudentController.class.getName(), "class Replaced {}");
+      Assert.assertEquals(new String(chain.find(controllerSource).read(), StandardCharsets.UTF_8),
+              "class Replaced {}");
+      chain.clear();
+      chain.find(POJO_SOURCE);
+      Assert.assertEquals(lookups.get(), 4);
+    }
+  }
+
+  /**
+   * Test 05
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_05_null_provider()
+  {
+    new SourceProviderChain(Arrays.asList(new InMemorySourceProvider(), null));
+    Assert.fail("Test should have failed but it did not");
+  }
+  /**
+   * Test 06
+   */
+  @Test
+  public void test_06_resolving_units_are_cached_per_solver()
+  {
+    final CompilationUnit single = JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH)
+            .parse("", POJO_SOURCE);
+    final SourceRoot sourceRoot = JavaParserUtils.getSourceRoot(new DirectorySourceProvider(
+            List.of(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH))), ParserProfile.RESOLVING);
+    final CompilationUnit provided = sourceRoot.parse("", POJO_SOURCE);
+    Assert.assertNotSame(provided, single);
+    Assert.assertSame(provided.getData(Node.SYMBOL_RESOLVER_KEY),
+            sourceRoot.getParserConfiguration().getSymbolResolver().get());
+    Assert.assertNotSame(((CachingSourceRoot) sourceRoot).getCompilationUnitCache(),
+            JavaParserUtils.getSharedCompilationUnitCache(ParserProfile.RESOLVING));
+    Assert.assertSame(((CachingSourceRoot) JavaParserUtils.getSourceRoot(new InMemorySourceProvider(),
+            ParserProfile.LEAN)).getCompilationUnitCache(),
+            JavaParserUtils.getSharedCompilationUnitCache(ParserProfile.LEAN));
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Asserts that a source root documents {@link JacksonPOJO} the same as the test source root.
+   *
+   * @param sourceRoot source root
+   */
+  private static void assertFieldsOfPojo(final SourceRoot sourceRoot)
+  {
+    final FieldDescriptor[] actual = PayloadDocumentation.fields(sourceRoot, JacksonPOJO.class, null);
+    final FieldDescriptor[] expected = PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH,
+            JacksonPOJO.class, null);
+    Assert.assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(actual[i].getPath(), expected[i].getPath());
+      Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+      Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+    }
+  }
+
+  /**
+   * Creates a sources JAR holding the source of {@link JacksonPOJO}.
+   *
+   * @return sources JAR
+   * @throws IOException on failure
+   */
+  private static Path createSourcesJar() throws IOException
+  {
+    final Path jar = Files.createTempFile("restjavadocs", "-sources.jar");
+    try (OutputStream os = Files.newOutputStream(jar); ZipOutputStream out = new ZipOutputStream(os)) {
+      out.putNextEntry(new ZipEntry(POJO_SOURCE.replace('\\', '/')));
+      out.write(Files.readAllBytes(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH).resolve(POJO_SOURCE)));
+      out.closeEntry();
+    }
+    return jar;
+  }
+
+}
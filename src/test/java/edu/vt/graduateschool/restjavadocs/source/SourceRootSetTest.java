@@ -0,0 +1,190 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.source;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.util.CachingSourceRoot;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import edu.vt.graduateschool.restjavadocs.util.ParserProfile;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SourceRootSet} methods.
+ *
+ * @author Graduate School
+ */
+public class SourceRootSetTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_00_classes_of_every_root() throws IOException
+  {
+    final SourceRootSet set = new SourceRootSet(List.of(Paths.get(LangUtils.JAVA_SOURCE_MAIN_PATH),
+            Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)));
+    Assert.assertEquals(set.size(), countSourceFiles(LangUtils.JAVA_SOURCE_MAIN_PATH) +
+            countSourceFiles(LangUtils.JAVA_SOURCE_TEST_PATH));
+    Assert.assertEquals(set.getPath(JacksonPOJO.class.getName()), Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)
+            .resolve(JavaParserUtils.getFilePathFromClass(JacksonPOJO.class)).toAbsolutePath());
+    Assert.assertEquals(set.getPath(JavaParserUtils.class.getName()), Paths.get(LangUtils.JAVA_SOURCE_MAIN_PATH)
+            .resolve(JavaParserUtils.getFilePathFromClass(JavaParserUtils.class)).toAbsolutePath());
+    Assert.assertEquals(set.getPath(NestedPOJO.Address.class.getName()), set.getPath(NestedPOJO.class.getName()));
+    Assert.assertEquals(set.getPath(NestedPOJO.Address.class.getCanonicalName()),
+            set.getPath(NestedPOJO.class.getName()));
+    Assert.assertNull(set.getPath("edu.vt.Missing"));
+    Assert.assertNull(set.getPath("edu.vt.Missing.Member"));
+    Assert.assertEquals(set.find(JavaParserUtils.getFilePathFromClass(JacksonPOJO.class)).getPath(),
+            set.getPath(JacksonPOJO.class.getName()));
+    Assert.assertNull(set.find("edu/vt/Missing.java"));
+  }
+
+  /**
+   * Test 01
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_01_first_root_wins() throws IOException
+  {
+    final Path shadow = Files.createTempDirectory("restjavadocs-sources");
+    final Path shadowed = shadow.resolve(JavaParserUtils.getFilePathFromClass(JacksonPOJO.class));
+    try {
+      Files.createDirectories(shadowed.getParent());
+      Files.write(shadowed, "class JacksonPOJO {}".getBytes(StandardCharsets.UTF_8));
+      final SourceRootSet set = new SourceRootSet(List.of(shadow, Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)));
+      Assert.assertEquals(set.getPath(JacksonPOJO.class.getName()), shadowed.toAbsolutePath().normalize());
+      Assert.assertEquals(set.size(), countSourceFiles(LangUtils.JAVA_SOURCE_TEST_PATH));
+    } finally {
+      Files.deleteIfExists(shadowed);
+    }
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_documentation_shares_one_solver() throws IOException
+  {
+    final SourceRootSet set = new SourceRootSet(List.of(Paths.get(LangUtils.JAVA_SOURCE_MAIN_PATH),
+            Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)));
+    final SourceRoot first = JavaParserUtils.getSourceRoot(set, ParserProfile.RESOLVING);
+    final SourceRoot second = JavaParserUtils.getSourceRoot(new SourceRootSet(set.getRoots()),
+            ParserProfile.RESOLVING);
+    Assert.assertSame(first.getParserConfiguration().getSymbolResolver().get(),
+            second.getParserConfiguration().getSymbolResolver().get());
+    for (final ParserProfile profile : ParserProfile.values()) {
+      final SourceRoot sourceRoot = JavaParserUtils.getSourceRoot(set, profile);
+      assertEquals(PayloadDocumentation.fields(sourceRoot, JacksonPOJO.class, null),
+              PayloadDocumentation.fields(LangUtils.JAVA_SOURCE_TEST_PATH, JacksonPOJO.class, null));
+      assertEquals(RequestDocumentation.descriptorsFromRoot(sourceRoot, StudentController.class, (String) null),
+              RequestDocumentation.descriptors(LangUtils.JAVA_SOURCE_TEST_PATH, StudentController.class,
+                      (String) null));
+    }
+  }
+
+  /**
+   * Test 03
+   *
+   * @throws IOException on failure
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_03_root_is_not_a_directory() throws IOException
+  {
+    new SourceRootSet(List.of(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH)
+            .resolve(JavaParserUtils.getFilePathFromClass(JacksonPOJO.class))));
+    Assert.fail("Test should have failed but it did not");
+  }
+  /**
+   * Test 04
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_04_resolving_units_are_cached_per_set() throws IOException
+  {
+    final String sourceFile = JavaParserUtils.getFilePathFromClass(JacksonPOJO.class);
+    final CompilationUnit single = JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH)
+            .parse("", sourceFile);
+    final SourceRoot sourceRoot = JavaParserUtils.getSourceRoot(new SourceRootSet(List.of(
+            Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH), Paths.get(LangUtils.JAVA_SOURCE_MAIN_PATH))),
+            ParserProfile.RESOLVING);
+    final CompilationUnit fromSet = sourceRoot.parse("", sourceFile);
+    Assert.assertNotSame(fromSet, single);
+    Assert.assertSame(fromSet.getData(Node.SYMBOL_RESOLVER_KEY),
+            sourceRoot.getParserConfiguration().getSymbolResolver().get());
+    Assert.assertNotSame(((CachingSourceRoot) sourceRoot).getCompilationUnitCache(),
+            JavaParserUtils.getSharedCompilationUnitCache(ParserProfile.RESOLVING));
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Returns the number of source files under a source root.
+   *
+   * @param sourceRoot source root
+   * @return number of .java files
+   * @throws IOException on failure
+   */
+  private static long countSourceFiles(final String sourceRoot) throws IOException
+  {
+    try (Stream<Path> files = Files.walk(Paths.get(sourceRoot))) {
+      return files.filter(file -> file.toString().endsWith(LangUtils.JAVA_FILE_EXTENSION)).count();
+    }
+  }
+
+  /**
+   * Asserts that field descriptors are equal by path, description and optionality.
+   *
+   * @param actual actual descriptors
+   * @param expected expected descriptors
+   */
+  private static void assertEquals(final FieldDescriptor[] actual, final FieldDescriptor[] expected)
+  {
+    Assert.assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(actual[i].getPath(), expected[i].getPath());
+      Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+      Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+    }
+  }
+
+  /**
+   * Asserts that parameter descriptors are equal by name, description and optionality.
+   *
+   * @param actual actual descriptors
+   * @param expected expected descriptors
+   */
+  private static void assertEquals(final ParameterDescriptor[] actual, final ParameterDescriptor[] expected)
+  {
+    Assert.assertEquals(actual.length, expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(actual[i].getName(), expected[i].getName());
+      Assert.assertEquals(actual[i].getDescription(), expected[i].getDescription());
+      Assert.assertEquals(actual[i].isOptional(), expected[i].isOptional());
+    }
+  }
+
+}
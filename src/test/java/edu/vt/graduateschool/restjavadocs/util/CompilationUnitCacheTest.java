@@ -0,0 +1,387 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Processor;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.LessCommonPOJO;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link CompilationUnitCache} methods.
+ *
+ * @author Graduate School
+ */
+public class CompilationUnitCacheTest
+{
+
+  /**
+   * Path of a test source file.
+   */
+  private static final Path JACKSON_POJO = Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH,
+          JavaParserUtils.getFilePathFromClass(JacksonPOJO.class));
+
+  /**
+   * Path of another test source file.
+   */
+  private static final Path LESS_COMMON_POJO = Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH,
+          JavaParserUtils.getFilePathFromClass(LessCommonPOJO.class));
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_negative_bounds()
+  {
+    new CompilationUnitCache(-1, 1);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_01_hit_and_miss() throws IOException
+  {
+    final CompilationUnitCache cache = new CompilationUnitCache();
+    final ParserConfiguration configuration = new ParserConfiguration();
+    final CompilationUnit first = cache.tryToParse(JACKSON_POJO, configuration).getResult().get();
+    final CompilationUnit second = cache.tryToParse(JACKSON_POJO, configuration).getResult().get();
+    Assert.assertSame(first, second);
+    Assert.assertEquals(cache.getMissCount(), 1);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    Assert.assertEquals(cache.size(), 1);
+    Assert.assertEquals(cache.getWeight(), Files.size(JACKSON_POJO));
+    Assert.assertTrue(first.getStorage().isPresent());
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_eviction_by_entries() throws IOException
+  {
+    final CompilationUnitCache cache = new CompilationUnitCache(1, CompilationUnitCache.DEFAULT_MAX_WEIGHT);
+    final ParserConfiguration configuration = new ParserConfiguration();
+    cache.tryToParse(JACKSON_POJO, configuration);
+    cache.tryToParse(LESS_COMMON_POJO, configuration);
+    Assert.assertEquals(cache.size(), 1);
+    Assert.assertEquals(cache.getEvictionCount(), 1);
+    Assert.assertTrue(cache.softSize() <= 1);
+  }
+
+  /**
+   * Test 03
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_03_eviction_by_weight() throws IOException
+  {
+    final CompilationUnitCache cache = new CompilationUnitCache(CompilationUnitCache.DEFAULT_MAX_ENTRIES,
+            Files.size(JACKSON_POJO));
+    final ParserConfiguration configuration = new ParserConfiguration();
+    cache.tryToParse(JACKSON_POJO, configuration);
+    Assert.assertEquals(cache.getEvictionCount(), 0);
+    cache.tryToParse(LESS_COMMON_POJO, configuration);
+    Assert.assertEquals(cache.getEvictionCount(), 1);
+    Assert.assertTrue(cache.getWeight() <= cache.getMaxWeight());
+  }
+
+  /**
+   * Test 04
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_04_changed_content_is_reparsed() throws IOException
+  {
+    final Path file = Files.createTempFile("restjavadocs", LangUtils.JAVA_FILE_EXTENSION);
+    try {
+      final CompilationUnitCache cache = new CompilationUnitCache();
+      final ParserConfiguration configuration = new ParserConfiguration();
+      Files.write(file, "class A {}".getBytes(StandardCharsets.UTF_8));
+      final CompilationUnit first = cache.tryToParse(file, configuration).getResult().get();
+      Files.write(file, "class B {}".getBytes(StandardCharsets.UTF_8));
+      final CompilationUnit second = cache.tryToParse(file, configuration).getResult().get();
+      Assert.assertNotSame(first, second);
+      Assert.assertTrue(second.getClassByName("B").isPresent());
+      Assert.assertEquals(cache.getMissCount(), 2);
+      Assert.assertEquals(cache.size(), 1);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test 05
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_05_unsuccessful_parse_is_not_cached() throws IOException
+  {
+    final Path file = Files.createTempFile("restjavadocs", LangUtils.JAVA_FILE_EXTENSION);
+    try {
+      final CompilationUnitCache cache = new CompilationUnitCache();
+      Files.write(file, "class {".getBytes(StandardCharsets.UTF_8));
+      final ParseResult<CompilationUnit> result = cache.tryToParse(file, new ParserConfiguration());
+      Assert.assertFalse(result.isSuccessful());
+      Assert.assertEquals(cache.size(), 0);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test 06
+   *
+   * @throws IOException on failure
+   */
+  @Test(expectedExceptions = NoSuchFileException.class)
+  public void test_06_missing_file() throws IOException
+  {
+    new CompilationUnitCache().tryToParse(Paths.get(LangUtils.JAVA_SOURCE_MAIN_PATH,
+            JavaParserUtils.getFilePathFromClass(JacksonPOJO.class)), new ParserConfiguration());
+  }
+
+  /**
+   * Test 07
+   */
+  @Test
+  public void test_07_caching_source_root()
+  {
+    final CompilationUnitCache cache = new CompilationUnitCache();
+    final SourceRoot root = JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH, cache);
+    final String sourceFile = JavaParserUtils.getFilePathFromClass(JacksonPOJO.class);
+    Assert.assertSame(root.parse("", sourceFile), root.parse("", sourceFile));
+    Assert.assertEquals(cache.getHitCount(), 1);
+    Assert.assertTrue(root.getCache().isEmpty());
+  }
+
+  /**
+   * Test 08
+   */
+  @Test(expectedExceptions = ParseProblemException.class)
+  public void test_08_caching_source_root_missing_file()
+  {
+    JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_MAIN_PATH, new CompilationUnitCache())
+            .parse("", JavaParserUtils.getFilePathFromClass(JacksonPOJO.class));
+  }
+
+  /**
+   * Test 09
+   *
+   * @throws Exception on failure
+   */
+  @Test
+  public void test_09_concurrent_parses_coalesced() throws Exception
+  {
+    final int threads = 8;
+    final CompilationUnitCache cache = new CompilationUnitCache();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<ParseResult<CompilationUnit>>> results = new ArrayList<>();
+      final ParserConfiguration configuration = awaitingConfiguration(cache, threads - 1, null);
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(() -> cache.tryToParse(JACKSON_POJO, configuration)));
+      }
+      final CompilationUnit compilationUnit = results.get(0).get().getResult().get();
+      for (final Future<ParseResult<CompilationUnit>> result : results) {
+        Assert.assertSame(result.get().getResult().get(), compilationUnit);
+      }
+      Assert.assertEquals(cache.getCoalescedCount(), threads - 1);
+      Assert.assertEquals(cache.size(), 1);
+      Assert.assertSame(cache.tryToParse(JACKSON_POJO, configuration).getResult().get(), compilationUnit);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Test 10
+   *
+   * @throws Exception on failure
+   */
+  @Test
+  public void test_10_concurrent_parse_problem_shared() throws Exception
+  {
+    final int threads = 4;
+    final CompilationUnitCache cache = new CompilationUnitCache();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<ParseResult<CompilationUnit>>> results = new ArrayList<>();
+      final ParserConfiguration configuration = awaitingConfiguration(cache, threads - 1,
+              new IllegalStateException("parse failed"));
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(() -> cache.tryToParse(JACKSON_POJO, configuration)));
+      }
+      final ParseResult<CompilationUnit> failure = results.get(0).get();
+      Assert.assertFalse(failure.isSuccessful());
+      for (final Future<ParseResult<CompilationUnit>> result : results) {
+        Assert.assertSame(result.get(), failure);
+      }
+      Assert.assertEquals(cache.size(), 0);
+      Assert.assertTrue(cache.tryToParse(JACKSON_POJO, new ParserConfiguration()).isSuccessful());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Test 11
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_11_extracted_value_cached_without_compilation_unit() throws IOException
+  {
+    final CompilationUnitCache cache = new CompilationUnitCache();
+    final AtomicInteger extractions = new AtomicInteger();
+    final Function<CompilationUnit, String> extractor = compilationUnit -> {
+      extractions.incrementAndGet();
+      return compilationUnit.getPrimaryTypeName().orElse(null);
+    };
+    Assert.assertEquals(cache.extract(JACKSON_POJO, new ParserConfiguration(), extractor), "JacksonPOJO");
+    Assert.assertEquals(cache.extract(JACKSON_POJO, new ParserConfiguration(), extractor), "JacksonPOJO");
+    Assert.assertEquals(extractions.get(), 1);
+    Assert.assertEquals(cache.size(), 0);
+    Assert.assertEquals(cache.extractedSize(), 1);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    Assert.assertEquals(cache.getMissCount(), 1);
+    final CompilationUnit parsed = cache.tryToParse(LESS_COMMON_POJO, new ParserConfiguration()).getResult().get();
+    Assert.assertSame(cache.extract(LESS_COMMON_POJO, new ParserConfiguration(), Function.identity()), parsed);
+    Assert.assertEquals(cache.extractedSize(), 2);
+  }
+
+  /**
+   * Test 12
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_12_extracted_value_of_changed_content() throws IOException
+  {
+    final Path file = Files.createTempFile("restjavadocs", LangUtils.JAVA_FILE_EXTENSION);
+    try {
+      final CompilationUnitCache cache = new CompilationUnitCache(1, 1, 1);
+      final Function<CompilationUnit, Integer> extractor = compilationUnit -> compilationUnit.getTypes().size();
+      Files.write(file, "class A {}".getBytes(StandardCharsets.UTF_8));
+      Assert.assertEquals(cache.extract(file, new ParserConfiguration(), extractor), Integer.valueOf(1));
+      Files.write(file, "class A {} class B {}".getBytes(StandardCharsets.UTF_8));
+      Assert.assertEquals(cache.extract(file, new ParserConfiguration(), extractor), Integer.valueOf(2));
+      Assert.assertEquals(cache.extractedSize(), 1);
+      Assert.assertEquals(cache.extract(JACKSON_POJO, new ParserConfiguration(), extractor), Integer.valueOf(1));
+      Assert.assertEquals(cache.extractedSize(), 1);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test 13
+   *
+   * @throws IOException on failure
+   */
+  @Test(expectedExceptions = ParseProblemException.class)
+  public void test_13_extract_unsuccessful_parse() throws IOException
+  {
+    final Path file = Files.createTempFile("restjavadocs", LangUtils.JAVA_FILE_EXTENSION);
+    try {
+      Files.write(file, "class {".getBytes(StandardCharsets.UTF_8));
+      new CompilationUnitCache().extract(file, new ParserConfiguration(), Function.identity());
+      Assert.fail("Test should have failed but it did not");
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test 14
+   */
+  @Test(expectedExceptions = ParseProblemException.class)
+  public void test_14_caching_source_root_extract_missing_file()
+  {
+    ((CachingSourceRoot) JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_MAIN_PATH,
+            new CompilationUnitCache())).extract("", JavaParserUtils.getFilePathFromClass(JacksonPOJO.class),
+            Function.identity());
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 15
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_15_keyed_by_configuration() throws IOException
+  {
+    final CompilationUnitCache cache = new CompilationUnitCache();
+    final ParserConfiguration configuration = new ParserConfiguration();
+    final CompilationUnit first = cache.tryToParse(JACKSON_POJO, configuration).getResult().get();
+    Assert.assertSame(cache.tryToParse(JACKSON_POJO, new ParserConfiguration()).getResult().get(), first);
+    configuration.setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_1_0);
+    Assert.assertFalse(cache.tryToParse(JACKSON_POJO, configuration).isSuccessful());
+    final ParserConfiguration resolving = JavaParserUtils.getResolvingParserConfiguration(
+            LangUtils.JAVA_SOURCE_TEST_PATH);
+    final CompilationUnit resolved = cache.tryToParse(JACKSON_POJO, resolving).getResult().get();
+    Assert.assertNotSame(resolved, first);
+    Assert.assertSame(resolved.getData(Node.SYMBOL_RESOLVER_KEY), resolving.getSymbolResolver().get());
+    Assert.assertSame(cache.tryToParse(JACKSON_POJO, new ParserConfiguration()).getResult().get(), first);
+    Assert.assertEquals(cache.size(), 2);
+    Assert.assertEquals(cache.extract(JACKSON_POJO, resolving, Function.identity()), resolved);
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Returns a parser configuration which holds a parse until the given number of parses are coalesced.
+   *
+   * @param cache cache counting the coalesced parses
+   * @param coalesced number of parses to wait for
+   * @param failure thrown by the parse once the others are coalesced, null means none
+   * @return {@link ParserConfiguration}
+   */
+  private static ParserConfiguration awaitingConfiguration(final CompilationUnitCache cache, final long coalesced,
+          final RuntimeException failure)
+  {
+    final ParserConfiguration configuration = new ParserConfiguration();
+    configuration.getProcessors().add(() -> new Processor() {
+      @Override
+      public void postProcess(final ParseResult<? extends Node> result, final ParserConfiguration config)
+      {
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (cache.getCoalescedCount() < coalesced && System.currentTimeMillis() < deadline) {
+          Thread.onSpinWait();
+        }
+        if (failure != null) {
+          throw failure;
+        }
+      }
+    });
+    return configuration;
+  }
+}
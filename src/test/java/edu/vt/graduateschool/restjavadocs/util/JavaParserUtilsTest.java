@@ -1,7 +1,14 @@
 /* See LICENSE for licensing and NOTICE for copyright. */
 package edu.vt.graduateschool.restjavadocs.util;
 
+import java.util.List;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -115,5 +122,55 @@ public class JavaParserUtilsTest
   {
 
   }
+
+  /**
+   * Test 07
+   */
+  @Test
+  public void test_07_get_resolving_source_root_shared()
+  {
+    final SourceRoot root = getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH);
+    final SourceRoot other = getResolvingSourceRoot("./" + LangUtils.JAVA_SOURCE_TEST_PATH);
+    Assert.assertNotSame(root.getParserConfiguration(), other.getParserConfiguration());
+    Assert.assertSame(root.getParserConfiguration().getSymbolResolver().get(),
+            other.getParserConfiguration().getSymbolResolver().get());
+    Assert.assertSame(((CachingSourceRoot) root).getCompilationUnitCache(),
+            JavaParserUtils.getSharedCompilationUnitCache());
+    final String sourceFile = JavaParserUtils.getFilePathFromClass(JacksonPOJO.class);
+    Assert.assertSame(root.parse("", sourceFile), other.parse("", sourceFile));
+    Assert.assertNotNull(JavaParserUtils.getResolutionLock(root.parse("", sourceFile)));
+  }
+
+  /**
+   * Test 08
+   */
+  @Test
+  public void test_08_get_comment_text_every_line()
+  {
+    final CompilationUnit compilationUnit = new JavaParser().parse("class Bean {\n" +
+            "  /**\n   * first line\n   *   indented\n   **\n   * Größe * 2\n   */\n  int size;\n" +
+            "  /* block */\n  int block;\n}").getResult().get();
+    final List<FieldDeclaration> fields = compilationUnit.getType(0).getFields();
+    Assert.assertEquals(JavaParserUtils.getCommentText(fields.get(0).getComment().get()),
+            "first line\n  indented\n\nGröße * 2");
+    Assert.assertEquals(JavaParserUtils.getCommentText(fields.get(1).getComment().get()), "block");
+  }
+
+  /**
+   * Test 09
+   */
+  @Test
+  public void test_09_get_string_literal_from_tokens()
+  {
+    final CompilationUnit compilationUnit = new JavaParser().parse("@Mapping(value = \"a\" + \"b\", " +
+            "type = String.class, size = 10L, flag = true, call = List.of( 1,2 ))\nclass Bean { }").getResult().get();
+    final AnnotationExpr annotation = compilationUnit.getType(0).getAnnotation(0);
+    Assert.assertEquals(JavaParserUtils.getAnnotationValue(annotation), "ab");
+    Assert.assertEquals(JavaParserUtils.getAnnotationValue(annotation, "type", null), "String.class");
+    Assert.assertEquals(JavaParserUtils.getAnnotationValue(annotation, "size", null), "10L");
+    Assert.assertEquals(JavaParserUtils.getAnnotationValue(annotation, "flag", null), "true");
+    Assert.assertEquals(JavaParserUtils.getAnnotationValue(annotation, "call", null), "List.of( 1,2 )");
+    Assert.assertEquals(JavaParserUtils.getSourceText(new NameExpr("created")), "created");
+  }
   //CheckStyle:MethodName ON
 }
@@ -0,0 +1,94 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.util.Map;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.comments.Comment;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link JavadocTags} methods.
+ *
+ * @author Graduate School
+ */
+public class JavadocTagsTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_comment()
+  {
+    JavadocTags.parse(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_multiline_and_non_ascii_params()
+  {
+    final Map<String, String> params = JavadocTags.parse("/**\n" +
+            "   * Method with {@link String} params.\n" +
+            "   *\n" +
+            "   * @param one first line of one\n" +
+            "   *        second line of one {@link #RESPONSE}\n" +
+            "   * @param two  Größe der Seite\n" +
+            "   * @param three\n" +
+            "   * @param two duplicate\n" +
+            "   * @return {@link #RESPONSE}\n" +
+            "   */").getParams();
+    Assert.assertEquals(params.size(), 2);
+    Assert.assertEquals(params.get("one"), "first line of one second line of one {@link #RESPONSE}");
+    Assert.assertEquals(params.get("two"), "Größe der Seite");
+    Assert.assertFalse(params.containsKey("three"));
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_content_without_delimiters()
+  {
+    final JavadocTags tags = JavadocTags.parse(" text\n @param one {@code\n @param} inside\n @throws Exception if bad");
+    Assert.assertEquals(tags.getParams().get("one"), "{@code @param} inside");
+    Assert.assertEquals(tags.getTag("@throws").get("Exception"), "if bad");
+    Assert.assertTrue(tags.getTag("@return").isEmpty());
+    Assert.assertEquals(JavaParserUtils.getJavadocTags("\"@param\"", " @param one first")
+            .get("one"), new String[]{"first"});
+    Assert.assertEquals(JavaParserUtils.getJavadocTags("@param", " @param one first\n   and  second\n @param two")
+            .get("one"), new String[]{"first", "and", "second"});
+    Assert.assertFalse(JavaParserUtils.getJavadocTags("@param", " @param one first\n @param two").containsKey("two"));
+  }
+
+  /**
+   * Test 03
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_03_inline_tag_never_closed()
+  {
+    JavadocTags.parse("/**\n * text {@inheritDoc {@link\n *\n * @param one one\n */");
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 04
+   */
+  @Test
+  public void test_04_tags_parsed_once_per_comment()
+  {
+    final CompilationUnit compilationUnit = new JavaParser().parse("class Controller {\n" +
+            "  /**\n   * @param one one\n   * @param two two\n   */\n" +
+            "  String get(String one, String two) { return one; }\n}").getResult().get();
+    final Comment comment = compilationUnit.getType(0).getMethods().get(0).getComment().get();
+    final JavadocTags tags = JavadocTags.of(comment);
+    Assert.assertSame(JavadocTags.of(comment), tags);
+    Assert.assertEquals(tags.getParams().get("two"), "two");
+  }
+  //CheckStyle:MethodName ON
+}
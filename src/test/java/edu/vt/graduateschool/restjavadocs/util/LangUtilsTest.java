@@ -257,5 +257,16 @@ public class LangUtilsTest
     LangUtils.spaghettify(10, String.class, null, new Object[]{});
     Assert.fail("Test should have failed but it did not");
   }
+
+  /**
+   * Test 18
+   */
+  @Test
+  public void test_18_library_version()
+  {
+    Assert.assertNotNull(LangUtils.getLibraryVersion());
+    Assert.assertNotEquals(LangUtils.getLibraryVersion(), LangUtils.UNKNOWN_VERSION);
+    Assert.assertFalse(LangUtils.getLibraryVersion().startsWith("${"));
+  }
   //CheckStyle:MethodName ON
 }
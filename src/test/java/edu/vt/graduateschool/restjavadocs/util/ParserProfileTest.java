@@ -0,0 +1,160 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.payload.PayloadDocumentation;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link ParserProfile} source roots.
+ *
+ * @author Graduate School
+ */
+public class ParserProfileTest
+{
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER = Logger.getLogger(ParserProfileTest.class.getName());
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_profile()
+  {
+    JavaParserUtils.getSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH, null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_lean_compilation_unit()
+  {
+    final String sourceFile = JavaParserUtils.getFilePathFromClass(JacksonPOJO.class);
+    final CompilationUnit lean = JavaParserUtils.getSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH, ParserProfile.LEAN,
+            new CompilationUnitCache()).parse("", sourceFile);
+    final CompilationUnit resolving = JavaParserUtils.getSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH,
+            ParserProfile.RESOLVING, new CompilationUnitCache()).parse("", sourceFile);
+    Assert.assertFalse(lean.containsData(Node.SYMBOL_RESOLVER_KEY));
+    Assert.assertTrue(resolving.containsData(Node.SYMBOL_RESOLVER_KEY));
+    Assert.assertEquals(lean.getParsed(), Node.Parsedness.PARSED);
+    final FieldDeclaration leanField = lean.getType(0).getFieldByName("optionalString").get();
+    final FieldDeclaration resolvingField = resolving.getType(0).getFieldByName("optionalString").get();
+    Assert.assertEquals(leanField.getComment(), resolvingField.getComment());
+    Assert.assertEquals(JavaParserUtils.getResolvableTypeName(leanField.getElementType()), "Optional<String>");
+    Assert.assertEquals(JavaParserUtils.getResolvableTypeName(resolvingField.getElementType()),
+            "java.util.Optional<java.lang.String>");
+    Assert.assertEquals(JavaParserUtils.getAnnotationValue(lean.getType(0).getFieldByName("diffy").get()
+            .getAnnotationByName("JsonProperty").get()), "differentNameWithValue");
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws IOException on failure
+   */
+  @Test
+  public void test_02_heap_and_time_per_profile() throws IOException
+  {
+    final List<Path> sourceFiles;
+    try (Stream<Path> paths = Files.walk(Paths.get(LangUtils.JAVA_SOURCE_TEST_PATH))) {
+      sourceFiles = paths.filter(path -> path.toString().endsWith(LangUtils.JAVA_FILE_EXTENSION))
+              .collect(Collectors.toList());
+    }
+    final long[] lean = measure(ParserProfile.LEAN, JavaParserUtils.getLeanParserConfiguration(), sourceFiles);
+    final long[] resolving = measure(ParserProfile.RESOLVING,
+            JavaParserUtils.getResolvingParserConfiguration(LangUtils.JAVA_SOURCE_TEST_PATH), sourceFiles);
+    Assert.assertEquals(lean[0], resolving[0]);
+    Assert.assertEquals(lean[1], resolving[1]);
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_introspected_fields_are_parsed_lean()
+  {
+    final CompilationUnitCache leanCache = JavaParserUtils.getSharedCompilationUnitCache(ParserProfile.LEAN);
+    Assert.assertNotSame(leanCache, JavaParserUtils.getSharedCompilationUnitCache(ParserProfile.RESOLVING));
+    Assert.assertTrue(PayloadDocumentation.introspectedFields(new ObjectMapper(), LangUtils.JAVA_SOURCE_TEST_PATH,
+            JacksonPOJO.class, null).length > 0);
+    Assert.assertTrue(leanCache.getHitCount() + leanCache.getMissCount() > 0);
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Parses source files with a configuration, keeping every compilation unit until the heap is measured.
+   *
+   * @param profile profile of the configuration
+   * @param configuration parser configuration
+   * @param sourceFiles source files to parse
+   * @return count of types and count of stored tokens
+   * @throws IOException on failure
+   */
+  private static long[] measure(final ParserProfile profile, final ParserConfiguration configuration,
+          final List<Path> sourceFiles) throws IOException
+  {
+    final Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    final long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+    final long start = System.nanoTime();
+    final List<CompilationUnit> compilationUnits = new ArrayList<>();
+    for (final Path sourceFile : sourceFiles) {
+      compilationUnits.add(new JavaParser(configuration).parse(sourceFile).getResult().get());
+    }
+    final long elapsed = System.nanoTime() - start;
+    System.gc();
+    final long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+    long types = 0;
+    long tokens = 0;
+    for (final CompilationUnit compilationUnit : compilationUnits) {
+      types += compilationUnit.getTypes().size();
+      tokens += countTokens(compilationUnit);
+    }
+    LOGGER.log(Level.INFO, "{0}: {1} files in {2} ms, {3} KiB retained, {4} tokens stored", new Object[]{
+      profile, sourceFiles.size(), elapsed / 1_000_000, (heapAfter - heapBefore) / 1024, tokens,
+    });
+    return new long[]{types, tokens};
+  }
+
+  /**
+   * Returns the number of tokens stored for a compilation unit.
+   *
+   * @param compilationUnit compilation unit
+   * @return token count
+   */
+  private static long countTokens(final CompilationUnit compilationUnit)
+  {
+    long count = 0;
+    if (compilationUnit.getTokenRange().isPresent()) {
+      for (final JavaToken token : compilationUnit.getTokenRange().get()) {
+        count += token.getText().isEmpty() ? 0 : 1;
+      }
+    }
+    return count;
+  }
+
+}
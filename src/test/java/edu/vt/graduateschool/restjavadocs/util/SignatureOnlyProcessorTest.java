@@ -0,0 +1,178 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SignatureOnlyProcessor} methods.
+ *
+ * @author Graduate School
+ */
+public class SignatureOnlyProcessorTest
+{
+
+  /**
+   * Logger instance
+   */
+  private static final Logger LOGGER = Logger.getLogger(SignatureOnlyProcessorTest.class.getName());
+
+  /**
+   * Number of times the body heavy source is parsed per configuration.
+   */
+  private static final int BENCHMARK_PARSES = 3;
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_source()
+  {
+    SignatureOnlyProcessor.blankBodies(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_bodies_blanked_declarations_kept()
+  {
+    final String source = "@Names({\"a\", \"b\"})\n" +
+            "public class Sample<A, B> implements Cloneable, Comparable<Sample<A, B>>\n{\n" +
+            "  /** Field {@code f}. */\n" +
+            "  private int[] f = {1, 2};\n" +
+            "  private Runnable r = () -> { run(\"}\"); };\n" +
+            "  static { init('{'); }\n" +
+            "  { instance(); }\n" +
+            "  /** Method. */\n" +
+            "  public <T> T get(@Param(\"{\") final String s) throws Exception\n  {\n" +
+            "    // }\n    return \"\"\"\n      }\n      \"\"\";\n  }\n" +
+            "  /* } */ enum E { A(1) { int x() { return 1; } }, B { }; E() { } }\n" +
+            "  record R(int a) { R { check(a); } int b() { return a; } }\n" +
+            "  @interface Names { String[] value() default {}; }\n" +
+            "  Object o = new Object() { public String toString() { return \"o\"; } };\n" +
+            "}\n";
+    final String blanked = SignatureOnlyProcessor.blankBodies(source);
+    Assert.assertEquals(blanked.length(), source.length());
+    Assert.assertEquals(blanked.lines().count(), source.lines().count());
+    Assert.assertTrue(blanked.contains("private int[] f = {1, 2};"));
+    Assert.assertTrue(blanked.contains("private Runnable r = () -> { run(\"}\"); };"));
+    Assert.assertTrue(blanked.contains("static {/*        */}"));
+    Assert.assertTrue(blanked.contains("  {/*         */}"));
+    Assert.assertTrue(blanked.contains("public <T> T get(@Param(\"{\") final String s) throws Exception\n  {\n" +
+            "/*      \n              \n       \n          \n*/}"));
+    Assert.assertTrue(blanked.contains("/* } */ enum E { A(1) {/*                   */}, B { }; E() { } }"));
+    Assert.assertTrue(blanked.contains("record R(int a) { R { check(a); } int b() {/*       */} }"));
+    Assert.assertTrue(blanked.contains("String[] value() default {};"));
+    Assert.assertTrue(blanked.contains("Object o = new Object() { public String toString() {"));
+    Assert.assertTrue(new JavaParser(JavaParserUtils.getLeanParserConfiguration()).parse(source).isSuccessful());
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_signatures_parsed_with_comments_and_positions()
+  {
+    final String sourceFile = JavaParserUtils.getFilePathFromClass(SpringRestController.class);
+    final CompilationUnit signatures = JavaParserUtils.getSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH,
+            ParserProfile.LEAN, new CompilationUnitCache()).parse("", sourceFile);
+    final CompilationUnit full = JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH,
+            new ParserConfiguration()).parse("", sourceFile);
+    final TypeDeclaration<?> signatureType = signatures.getType(0);
+    final TypeDeclaration<?> fullType = full.getType(0);
+    Assert.assertEquals(signatureType.getMethods().size(), fullType.getMethods().size());
+    for (int i = 0; i < fullType.getMethods().size(); i++) {
+      final MethodDeclaration signature = signatureType.getMethods().get(i);
+      final MethodDeclaration method = fullType.getMethods().get(i);
+      Assert.assertEquals(signature.getDeclarationAsString(), method.getDeclarationAsString());
+      Assert.assertEquals(signature.getComment(), method.getComment());
+      Assert.assertEquals(signature.getRange(), method.getRange());
+      Assert.assertTrue(signature.getBody().map(BlockStmt::isEmpty).orElse(true));
+    }
+    Assert.assertTrue(fullType.getMethods().stream().anyMatch(method -> method.getBody().isPresent() &&
+            !method.getBody().get().isEmpty()));
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_benchmark_body_heavy_source()
+  {
+    final String source = bodyHeavySource(100, 20);
+    final long[] full = benchmark("full", new ParserConfiguration().setStoreTokens(true), source);
+    final long[] signatures = benchmark("signatures only", JavaParserUtils.getLeanParserConfiguration(), source);
+    Assert.assertEquals(signatures[0], full[0]);
+    if (signatures[1] >= 0 && full[1] >= 0) {
+      Assert.assertTrue(signatures[1] < full[1], "signature parsing should allocate less than full parsing");
+    }
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Parses a source repeatedly and logs the time and bytes allocated by the current thread.
+   *
+   * @param name name of the configuration
+   * @param configuration parser configuration
+   * @param source source to parse
+   * @return count of methods parsed and bytes allocated, -1 if allocation is not measurable
+   */
+  private static long[] benchmark(final String name, final ParserConfiguration configuration, final String source)
+  {
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    final com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean ?
+            (com.sun.management.ThreadMXBean) threads : null;
+    new JavaParser(configuration).parse(source);
+    final long allocatedBefore = allocations == null ? 0 : allocations.getCurrentThreadAllocatedBytes();
+    final long start = System.nanoTime();
+    long methods = 0;
+    for (int i = 0; i < BENCHMARK_PARSES; i++) {
+      methods = new JavaParser(configuration).parse(source).getResult().get().findAll(MethodDeclaration.class).size();
+    }
+    final long elapsed = System.nanoTime() - start;
+    final long allocated = allocations == null ? -1 :
+            (allocations.getCurrentThreadAllocatedBytes() - allocatedBefore) / BENCHMARK_PARSES;
+    LOGGER.log(Level.INFO, "{0}: {1} methods in {2} us, {3} KiB allocated per parse", new Object[]{
+      name, methods, elapsed / 1_000 / BENCHMARK_PARSES, allocated / 1024,
+    });
+    return new long[]{methods, allocated};
+  }
+
+  /**
+   * Returns the source of a class with many documented methods with long bodies.
+   *
+   * @param methods number of methods
+   * @param statements number of statements per method
+   * @return Java source
+   */
+  private static String bodyHeavySource(final int methods, final int statements)
+  {
+    final StringBuilder source = new StringBuilder("public class BodyHeavy\n{\n");
+    for (int i = 0; i < methods; i++) {
+      source.append("  /**\n   * Method ").append(i).append(".\n   *\n   * @param value value\n   */\n")
+              .append("  public String method").append(i).append("(final String value)\n  {\n")
+              .append("    final StringBuilder builder = new StringBuilder();\n");
+      for (int j = 0; j < statements; j++) {
+        source.append("    if (value.length() > ").append(j).append(") { builder.append(value.charAt(").append(j)
+                .append(")).append(\"-\"); }\n");
+      }
+      source.append("    return builder.toString();\n  }\n");
+    }
+    return source.append("}\n").toString();
+  }
+
+}
@@ -0,0 +1,102 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.LessCommonPOJO;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link StripedTypeSolver} methods.
+ *
+ * @author Graduate School
+ */
+public class StripedTypeSolverTest
+{
+
+  /**
+   * Names of the types solved concurrently.
+   */
+  private static final String[] TYPE_NAMES = {
+    JacksonPOJO.class.getName(),
+    LessCommonPOJO.class.getName(),
+    String.class.getName(),
+    List.class.getName(),
+  };
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_delegate()
+  {
+    new StripedTypeSolver(null, 1);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_stripes_and_parent()
+  {
+    Assert.assertEquals(new StripedTypeSolver(new ReflectionTypeSolver(), 1).getStripeCount(), 1);
+    Assert.assertEquals(new StripedTypeSolver(new ReflectionTypeSolver(), 5).getStripeCount(), 8);
+    Assert.assertEquals(new StripedTypeSolver(new ReflectionTypeSolver(), 64).getStripeCount(), 64);
+    final TypeSolver delegate = new ReflectionTypeSolver();
+    final StripedTypeSolver solver = new StripedTypeSolver(delegate, 4);
+    Assert.assertSame(delegate.getParent(), solver);
+    Assert.assertSame(solver.getRoot(), solver);
+    final TypeSolver parent = new ReflectionTypeSolver();
+    solver.setParent(parent);
+    Assert.assertSame(delegate.getRoot(), parent);
+    try {
+      solver.setParent(new ReflectionTypeSolver());
+      Assert.fail("Parent should not have been replaced");
+    } catch (final IllegalStateException ex) {
+      Assert.assertSame(solver.getParent(), parent);
+    }
+  }
+
+  /**
+   * Test 02
+   *
+   * @throws Exception on failure
+   */
+  @Test
+  public void test_02_concurrent_lookups() throws Exception
+  {
+    final StripedTypeSolver solver = new StripedTypeSolver(new CombinedTypeSolver(new ReflectionTypeSolver(),
+            new JavaParserTypeSolver(LangUtils.JAVA_SOURCE_TEST_PATH)), 4);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<SymbolReference<ResolvedReferenceTypeDeclaration>>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        final String name = TYPE_NAMES[i % TYPE_NAMES.length];
+        results.add(executor.submit(() -> solver.tryToSolveType(name)));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        Assert.assertTrue(results.get(i).get().isSolved(), TYPE_NAMES[i % TYPE_NAMES.length]);
+        Assert.assertEquals(results.get(i).get().getCorrespondingDeclaration().getQualifiedName(),
+                TYPE_NAMES[i % TYPE_NAMES.length]);
+      }
+      Assert.assertFalse(solver.tryToSolveType("edu.vt.Missing").isSolved());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -0,0 +1,112 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.type.Type;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link TypeClassifier} methods.
+ *
+ * @author Graduate School
+ */
+public class TypeClassifierTest
+{
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_type()
+  {
+    TypeClassifier.isOptional(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_classified_by_imports()
+  {
+    final String imports = "import java.util.Optional;\n";
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType(imports, "Optional<String>")), Boolean.TRUE);
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType(imports, "Optional")), Boolean.TRUE);
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType("", "java.util.Optional<String>")), Boolean.TRUE);
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType(imports, "String")), Boolean.FALSE);
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType(imports, "Optional<String>[]")), Boolean.FALSE);
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType(imports, "int")), Boolean.FALSE);
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType("import com.google.common.base.Optional;\n",
+            "Optional<String>")), Boolean.FALSE);
+    Assert.assertEquals(TypeClassifier.classifyOptional(fieldType("", "com.google.common.base.Optional<String>")),
+            Boolean.FALSE);
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_ambiguous_names()
+  {
+    Assert.assertNull(TypeClassifier.classifyOptional(fieldType("import java.util.*;\n", "Optional<String>")));
+    Assert.assertNull(TypeClassifier.classifyOptional(fieldType("", "Optional<String>")));
+    Assert.assertNull(TypeClassifier.classifyOptional(fieldType("import java.util.Optional;\n", "Optional",
+            "static class Optional { }")));
+    final CompilationUnit generic = parse("import java.util.Optional;\nclass Bean<Optional> { Optional value; }");
+    Assert.assertNull(TypeClassifier.classifyOptional(generic.getType(0).getFields().get(0).getElementType()));
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_symbol_solving_disabled()
+  {
+    Assert.assertTrue(TypeClassifier.isOptional(fieldType("import java.util.*;\n", "Optional<String>"), false));
+    Assert.assertFalse(TypeClassifier.isOptional(fieldType("", "Optional<String>"), false));
+    Assert.assertTrue(TypeClassifier.isOptional(fieldType("import java.util.Optional;\n", "Optional"), false));
+    Assert.assertTrue(TypeClassifier.isSymbolSolvingEnabled());
+  }
+
+  /**
+   * Test 04
+   */
+  @Test
+  public void test_04_primitive_boolean()
+  {
+    Assert.assertTrue(TypeClassifier.isPrimitiveBoolean(fieldType("", "boolean")));
+    Assert.assertFalse(TypeClassifier.isPrimitiveBoolean(fieldType("", "Boolean")));
+    Assert.assertFalse(TypeClassifier.isPrimitiveBoolean(fieldType("", "boolean[]")));
+    Assert.assertFalse(TypeClassifier.isPrimitiveBoolean(fieldType("", "int")));
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Returns the type of the field of a bean class.
+   *
+   * @param imports import declarations of the compilation unit
+   * @param type type of the field as written
+   * @param members other members of the bean class
+   * @return {@link Type}
+   */
+  private static Type fieldType(final String imports, final String type, final String... members)
+  {
+    return parse(imports + "class Bean { private " + type + " value; " + String.join(" ", members) + " }")
+            .getType(0).getFields().get(0).getVariable(0).getType();
+  }
+
+  /**
+   * Parses a compilation unit.
+   *
+   * @param source source code
+   * @return {@link CompilationUnit}
+   */
+  private static CompilationUnit parse(final String source)
+  {
+    return new JavaParser().parse(source).getResult().get();
+  }
+
+}
@@ -0,0 +1,126 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.util;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.LessCommonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link TypeResolver} methods.
+ *
+ * @author Graduate School
+ */
+public class TypeResolverTest
+{
+
+  /**
+   * Documented classes whose field types are resolved.
+   */
+  private static final Class[] BEANS = {
+    JacksonPOJO.class,
+    LessCommonPOJO.class,
+    NestedPOJO.class,
+  };
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_type_solver()
+  {
+    new TypeResolver(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_same_as_symbol_solver()
+  {
+    final SourceRoot root = JavaParserUtils.getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH,
+            new CompilationUnitCache());
+    for (final Class bean : BEANS) {
+      final CompilationUnit compilationUnit = root.parse("", JavaParserUtils.getFilePathFromClass(bean));
+      final TypeResolver typeResolver = TypeResolver.of(compilationUnit);
+      Assert.assertNotNull(typeResolver);
+      for (final FieldDeclaration field : compilationUnit.findAll(FieldDeclaration.class)) {
+        final Type type = field.getVariable(0).getType();
+        final TypeResolver.Resolution resolution = typeResolver.resolve(type);
+        Assert.assertTrue(resolution.isResolved(), type.asString());
+        Assert.assertEquals(resolution.getName(), type.resolve().describe());
+      }
+      Assert.assertEquals(typeResolver.getUnresolvedCount(), 0);
+    }
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_unresolved_remembered()
+  {
+    final CompilationUnit compilationUnit = new JavaParser(
+            JavaParserUtils.getResolvingParserConfiguration(LangUtils.JAVA_SOURCE_TEST_PATH))
+            .parse("import com.example.missing.Missing;\nimport java.util.List;\n" +
+                    "class Bean { Missing first; Missing second; List<Missing> third; }").getResult().get();
+    final TypeResolver typeResolver = TypeResolver.of(compilationUnit);
+    final FieldDeclaration[] fields = compilationUnit.findAll(FieldDeclaration.class).toArray(new FieldDeclaration[0]);
+    final TypeResolver.Resolution first = typeResolver.resolve(fields[0].getElementType());
+    Assert.assertFalse(first.isResolved());
+    Assert.assertEquals(first.getName(), "Missing");
+    final long cached = typeResolver.getCachedCount();
+    Assert.assertFalse(typeResolver.resolve(fields[1].getElementType()).isResolved());
+    Assert.assertTrue(typeResolver.getCachedCount() > cached);
+    final TypeResolver.Resolution third = typeResolver.resolve(fields[2].getElementType());
+    Assert.assertFalse(third.isResolved());
+    Assert.assertEquals(third.getName(), "java.util.List<Missing>");
+    Assert.assertEquals(typeResolver.getUnresolvedCount(), 3);
+    Assert.assertEquals(typeResolver.getResolvedCount(), 0);
+    Assert.assertEquals(JavaParserUtils.getResolvableTypeName(fields[0].getElementType()), "Missing");
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_without_resolver()
+  {
+    final CompilationUnit compilationUnit = new JavaParser().parse("class Bean { String value; }").getResult().get();
+    Assert.assertNull(TypeResolver.of(compilationUnit));
+  }
+
+  /**
+   * Test 04
+   */
+  @Test
+  public void test_04_unresolved_type_argument()
+  {
+    final CompilationUnit compilationUnit = new JavaParser(
+            JavaParserUtils.getResolvingParserConfiguration(LangUtils.JAVA_SOURCE_TEST_PATH))
+            .parse("import java.util.List;\nimport java.util.Map;\n" +
+                    "class Bean { List<Unknown> first; Map<String, List<? extends Unknown>> second; " +
+                    "Map<String, List<? extends Number>> third; }").getResult().get();
+    final TypeResolver typeResolver = TypeResolver.of(compilationUnit);
+    final FieldDeclaration[] fields = compilationUnit.findAll(FieldDeclaration.class).toArray(new FieldDeclaration[0]);
+    final TypeResolver.Resolution first = typeResolver.resolve(fields[0].getElementType());
+    Assert.assertFalse(first.isResolved());
+    Assert.assertEquals(first.getName(), "java.util.List<Unknown>");
+    final TypeResolver.Resolution second = typeResolver.resolve(fields[1].getElementType());
+    Assert.assertFalse(second.isResolved());
+    Assert.assertEquals(second.getName(), "java.util.Map<java.lang.String, java.util.List<? extends Unknown>>");
+    final TypeResolver.Resolution third = typeResolver.resolve(fields[2].getElementType());
+    Assert.assertTrue(third.isResolved());
+    Assert.assertEquals(third.getName(), fields[2].getElementType().resolve().describe());
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -0,0 +1,95 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.List;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJO;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJOIgnoreProperties;
+import edu.vt.graduateschool.restjavadocs.beans.NestedPOJO;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.springframework.restdocs.payload.FieldDescriptor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingSourceRoot;
+
+/**
+ * Tests {@link JacksonAwareFieldDescriptorListVisitor} methods.
+ *
+ * @author Graduate School
+ */
+public class JacksonAwareFieldDescriptorListVisitorTest
+{
+
+  /**
+   * Source root of the test classes.
+   */
+  private final SourceRoot root = getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH);
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test
+  public void test_00_same_as_field_visitor()
+  {
+    final JacksonAwareFieldDescriptorListVisitor listVisitor = new JacksonAwareFieldDescriptorListVisitor();
+    for (final Class beanClass : new Class[]{JacksonPOJO.class, JacksonPOJOIgnoreProperties.class}) {
+      final CompilationUnit compilationUnit = root.parse("", JavaParserUtils.getFilePathFromClass(beanClass));
+      final JacksonAwareFieldDescriptorFieldVisitor visitor = new JacksonAwareFieldDescriptorFieldVisitor();
+      visitor.visit(compilationUnit, null);
+      final List<FieldDescriptor> expected = visitor.getFieldDescriptors();
+      final List<FieldDescriptor> descriptors = compilationUnit.accept(listVisitor, null);
+      Assert.assertEquals(descriptors.size(), expected.size());
+      for (int i = 0; i < expected.size(); i++) {
+        Assert.assertEquals(descriptors.get(i).getPath(), expected.get(i).getPath());
+        Assert.assertEquals(descriptors.get(i).getDescription(), expected.get(i).getDescription());
+        Assert.assertEquals(descriptors.get(i).isOptional(), expected.get(i).isOptional());
+      }
+    }
+  }
+
+  /**
+   * Test 01
+   */
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void test_01_unmodifiable_result()
+  {
+    final CompilationUnit compilationUnit = root.parse("", JavaParserUtils.getFilePathFromClass(JacksonPOJO.class));
+    compilationUnit.accept(new JacksonAwareFieldDescriptorListVisitor(), VisitorContext.DEFAULT).clear();
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_nested_class()
+  {
+    final CompilationUnit compilationUnit = root.parse("", JavaParserUtils.getFilePathFromClass(NestedPOJO.class));
+    final List<FieldDescriptor> descriptors = compilationUnit.accept(new JacksonAwareFieldDescriptorListVisitor(),
+            VisitorContext.DEFAULT);
+    Assert.assertEquals(descriptors.size(), 4);
+    Assert.assertEquals(descriptors.get(0).getPath(), "name");
+    Assert.assertEquals(descriptors.get(1).getPath(), "zip");
+    Assert.assertEquals(descriptors.get(2).getPath(), "address");
+    Assert.assertEquals(descriptors.get(3).getPath(), "street");
+  }
+
+  /**
+   * Test 03
+   */
+  @Test
+  public void test_03_required_annotation()
+  {
+    final CompilationUnit compilationUnit = root.parse("", JavaParserUtils.getFilePathFromClass(JacksonPOJO.class));
+    final List<FieldDescriptor> descriptors = compilationUnit.accept(new JacksonAwareFieldDescriptorListVisitor(),
+            new VisitorContext(Deprecated.class));
+    Assert.assertEquals(descriptors.size(), 1);
+    Assert.assertEquals(descriptors.get(0).getPath(), "differentNameWithValue");
+  }
+  //CheckStyle:MethodName ON
+
+}
@@ -0,0 +1,99 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.Map;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.beans.JacksonPOJOIgnoreProperties;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingSourceRoot;
+
+/**
+ * Tests {@link JacksonPropertyTable} methods.
+ *
+ * @author Graduate School
+ */
+public class JacksonPropertyTableTest
+{
+
+  /**
+   * Source root of the test classes.
+   */
+  private final SourceRoot root = getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH);
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_00_null_declaration()
+  {
+    JacksonPropertyTable.of(null);
+    Assert.fail("Test should have failed but it did not");
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_properties()
+  {
+    final Map<String, JacksonPropertyTable.Property> properties = JacksonPropertyTable.of(getDeclaration())
+            .getProperties();
+    Assert.assertEquals(properties.keySet().toArray(), new String[]{
+      "id", "uupid", "annotatedOnGetterWithDifferentName", "annotatedOnGetter", "notAnnotatedOptional",
+      "optionalOnGetter", "notAnnotatedOptionalIgnored",
+    });
+    Assert.assertEquals(properties.get("id").getName(), "id");
+    Assert.assertNotNull(properties.get("id").getGetter());
+    Assert.assertNotNull(properties.get("id").getSetter());
+    Assert.assertEquals(properties.get("uupid").getName(), "differentName");
+    Assert.assertEquals(properties.get("annotatedOnGetterWithDifferentName").getName(), "ignoreMeToo");
+    Assert.assertEquals(properties.get("annotatedOnGetter").getName(), "nameFromGetter");
+    Assert.assertEquals(properties.get("annotatedOnGetter").getComment(),
+            properties.get("annotatedOnGetter").getGetter().getComment());
+    Assert.assertTrue(properties.get("notAnnotatedOptional").isOptional());
+    Assert.assertNull(properties.get("notAnnotatedOptional").getGetter());
+    Assert.assertTrue(properties.get("optionalOnGetter").isOptional());
+    Assert.assertFalse(properties.get("uupid").isOptional());
+    Assert.assertTrue(properties.get("notAnnotatedOptionalIgnored").isIgnored());
+    Assert.assertFalse(properties.get("optionalOnGetter").isIgnored());
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_collected_once()
+  {
+    final ClassOrInterfaceDeclaration declaration = getDeclaration();
+    final JacksonPropertyTable table = JacksonPropertyTable.of(declaration);
+    Assert.assertSame(JacksonPropertyTable.of(declaration), table);
+    final JacksonPropertyTable.Property property = table.getProperties().get("uupid");
+    Assert.assertSame(table.getProperty(property.getField(), property.getVariable()), property);
+    final ClassOrInterfaceDeclaration copy = declaration.clone();
+    final JacksonPropertyTable.Property other = table.getProperty(copy.getFieldByName("uupid").get(),
+            copy.getFieldByName("uupid").get().getVariable(0));
+    Assert.assertNotSame(other, property);
+    Assert.assertEquals(other.getName(), property.getName());
+  }
+  //CheckStyle:MethodName ON
+
+  /**
+   * Returns the declaration of {@link JacksonPOJOIgnoreProperties}.
+   *
+   * @return {@link ClassOrInterfaceDeclaration}
+   */
+  private ClassOrInterfaceDeclaration getDeclaration()
+  {
+    final CompilationUnit compilationUnit = root.parse("",
+            JavaParserUtils.getFilePathFromClass(JacksonPOJOIgnoreProperties.class));
+    return compilationUnit.getClassByName(JacksonPOJOIgnoreProperties.class.getSimpleName()).get();
+  }
+
+}
@@ -0,0 +1,99 @@
+/* See LICENSE for licensing and NOTICE for copyright. */
+package edu.vt.graduateschool.restjavadocs.visitor;
+
+import java.util.List;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.utils.SourceRoot;
+import edu.vt.graduateschool.restjavadocs.controller.SpringRestController;
+import edu.vt.graduateschool.restjavadocs.controller.StudentController;
+import edu.vt.graduateschool.restjavadocs.request.RequestDocumentation;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingFilter;
+import edu.vt.graduateschool.restjavadocs.request.RequestMappingMatcher;
+import edu.vt.graduateschool.restjavadocs.util.JavaParserUtils;
+import edu.vt.graduateschool.restjavadocs.util.LangUtils;
+import org.springframework.restdocs.request.ParameterDescriptor;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static edu.vt.graduateschool.restjavadocs.util.JavaParserUtils.getResolvingSourceRoot;
+
+/**
+ * Tests {@link SpringWebParameterDescriptorListVisitor} methods.
+ *
+ * @author Graduate School
+ */
+public class SpringWebParameterDescriptorListVisitorTest
+{
+
+  /**
+   * Source root of the test classes.
+   */
+  private final SourceRoot root = getResolvingSourceRoot(LangUtils.JAVA_SOURCE_TEST_PATH);
+
+  //CheckStyle:MethodName OFF
+  /**
+   * Test 00
+   */
+  @Test
+  public void test_00_same_as_method_visitor()
+  {
+    final CompilationUnit compilationUnit = root.parse("",
+            JavaParserUtils.getFilePathFromClass(SpringRestController.class));
+    final SpringWebParameterDescriptorListVisitor listVisitor = new SpringWebParameterDescriptorListVisitor();
+    final RequestMappingFilter[] filters = {
+      new RequestMappingFilter(new String[]{"/stringEndpointRequiredParams"}),
+      new RequestMappingFilter("all"),
+      new RequestMappingFilter("nocomments"),
+      new RequestMappingFilter(),
+    };
+    for (final RequestMappingFilter filter : filters) {
+      final SpringWebParameterDescriptorMethodVisitor visitor = new SpringWebParameterDescriptorMethodVisitor(
+              RequestDocumentation.filterToMap(filter));
+      visitor.visit(compilationUnit, null);
+      final List<ParameterDescriptor> expected = visitor.getParameterDescriptors();
+      final List<ParameterDescriptor> descriptors = compilationUnit.accept(listVisitor,
+              new VisitorContext(null, RequestMappingMatcher.compile(filter)));
+      Assert.assertEquals(descriptors.size(), expected.size());
+      for (int i = 0; i < expected.size(); i++) {
+        Assert.assertEquals(descriptors.get(i).getName(), expected.get(i).getName());
+        Assert.assertEquals(descriptors.get(i).getDescription(), expected.get(i).getDescription());
+        Assert.assertEquals(descriptors.get(i).isOptional(), expected.get(i).isOptional());
+      }
+    }
+  }
+
+  /**
+   * Test 01
+   */
+  @Test
+  public void test_01_required_annotation()
+  {
+    final RequestMappingFilter filter = new RequestMappingFilter();
+    filter.setConsumes(new String[]{"patchyness"});
+    final CompilationUnit compilationUnit = root.parse("",
+            JavaParserUtils.getFilePathFromClass(SpringRestController.class));
+    final List<ParameterDescriptor> descriptors = compilationUnit.accept(
+            new SpringWebParameterDescriptorListVisitor(),
+            new VisitorContext(InitBinder.class, RequestMappingMatcher.compile(filter)));
+    Assert.assertEquals(descriptors.size(), 2);
+  }
+
+  /**
+   * Test 02
+   */
+  @Test
+  public void test_02_class_paths()
+  {
+    final CompilationUnit compilationUnit = root.parse("",
+            JavaParserUtils.getFilePathFromClass(StudentController.class));
+    final List<ParameterDescriptor> descriptors = compilationUnit.accept(
+            new SpringWebParameterDescriptorListVisitor(),
+            new VisitorContext(null, RequestMappingMatcher.compile(
+                    new RequestMappingFilter(new String[]{"/students/*/courses"}))));
+    Assert.assertEquals(descriptors.size(), 1);
+    Assert.assertEquals(descriptors.get(0).getName(), "term");
+  }
+  //CheckStyle:MethodName ON
+
+}